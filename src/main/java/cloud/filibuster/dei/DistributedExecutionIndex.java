@@ -2,6 +2,9 @@ package cloud.filibuster.dei;
 
 import cloud.filibuster.instrumentation.datatypes.Callsite;
 
+import java.util.List;
+import java.util.Map;
+
 public interface DistributedExecutionIndex extends Cloneable, Comparable<DistributedExecutionIndex> {
 
     DistributedExecutionIndexKey convertCallsiteToDistributedExecutionIndexKey(Callsite callsite);
@@ -12,6 +15,9 @@ public interface DistributedExecutionIndex extends Cloneable, Comparable<Distrib
 
     DistributedExecutionIndex deserialize(String serialized);
 
+    // Serialized keys of the callstack with their counters, in order.
+    List<Map.Entry<String, Integer>> getSerializedCallstack();
+
     Object clone();
 
     String projectionLastKeyWithOnlyMetadataAndSignature();
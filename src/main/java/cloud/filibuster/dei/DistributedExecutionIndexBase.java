@@ -1,18 +1,128 @@
 package cloud.filibuster.dei;
 
+import cloud.filibuster.dei.DistributedExecutionIndexKeyTable.InternedKey;
 import cloud.filibuster.exceptions.distributed_execution_index.DistributedExecutionIndexCloneException;
 import cloud.filibuster.exceptions.distributed_execution_index.DistributedExecutionIndexSerializationException;
 import cloud.filibuster.instrumentation.datatypes.Callsite;
 import cloud.filibuster.instrumentation.datatypes.Pair;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
 public abstract class DistributedExecutionIndexBase implements Cloneable {
-    protected HashMap<DistributedExecutionIndexKey, Integer> counters = new HashMap<>();
-    protected ArrayList<Map.Entry<DistributedExecutionIndexKey, Integer>> callstack = new ArrayList<>();
+    // Number of times each key was pushed, by interned key, as an open-addressing table placed by key fingerprint.
+    private static final class Counters {
+        // Null for an empty slot.
+        private InternedKey[] keys;
+
+        private int[] values;
+
+        private int size;
+
+        Counters() {
+            this.keys = new InternedKey[8];
+            this.values = new int[8];
+        }
+
+        Counters(Counters counters) {
+            this.keys = counters.keys.clone();
+            this.values = counters.values.clone();
+            this.size = counters.size;
+        }
+
+        int increment(InternedKey key) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+
+            int slot = slot(keys, key);
+
+            if (keys[slot] == null) {
+                keys[slot] = key;
+                size++;
+            }
+
+            return ++values[slot];
+        }
+
+        private void resize() {
+            InternedKey[] oldKeys = keys;
+            int[] oldValues = values;
+
+            keys = new InternedKey[oldKeys.length * 2];
+            values = new int[oldValues.length * 2];
+
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    int slot = slot(keys, oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int slot(InternedKey[] keys, InternedKey key) {
+            int mask = keys.length - 1;
+            int slot = (int) (key.fingerprint >>> 32) & mask;
+
+            while (keys[slot] != null && !keys[slot].sameKey(key)) {
+                slot = (slot + 1) & mask;
+            }
+
+            return slot;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Counters)) {
+                return false;
+            }
+
+            Counters counters = (Counters) o;
+
+            if (size != counters.size) {
+                return false;
+            }
+
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null) {
+                    int slot = slot(counters.keys, keys[i]);
+
+                    if (counters.keys[slot] == null || counters.values[slot] != values[i]) {
+                        return false;
+                    }
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hashCode = 0;
+
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null) {
+                    hashCode += Long.hashCode(keys[i].fingerprint) * 31 + values[i];
+                }
+            }
+
+            return hashCode;
+        }
+    }
+
+    // Top of the callstack, or null if it is empty.
+    @Nullable
+    private DistributedExecutionIndexFrame top;
+
+    // Null until the first push.  Shared with clones until either side pushes again.
+    @Nullable
+    private Counters counters;
+
+    private boolean countersShared = false;
 
     @Override
     @SuppressWarnings("Varifier")
@@ -20,35 +130,80 @@ public abstract class DistributedExecutionIndexBase implements Cloneable {
         if (!(o instanceof DistributedExecutionIndexBase)) {
             return false;
         }
+
         DistributedExecutionIndexBase dei = (DistributedExecutionIndexBase) o;
-        return Objects.equals(this.counters, dei.counters) && Objects.equals(this.callstack, dei.callstack);
+
+        if (getDepth() != dei.getDepth() || getFingerprint() != dei.getFingerprint()) {
+            return false;
+        }
+
+        // Fingerprints match: confirm, stopping as soon as the callstacks share their remaining frames.
+        DistributedExecutionIndexFrame frame = top;
+        DistributedExecutionIndexFrame otherFrame = dei.top;
+
+        while (frame != otherFrame) {
+            if (frame == null || otherFrame == null || frame.counter != otherFrame.counter || !frame.internedKey.sameKey(otherFrame.internedKey)) {
+                return false;
+            }
+
+            frame = frame.parent;
+            otherFrame = otherFrame.parent;
+        }
+
+        return Objects.equals(getCounters(), dei.getCounters());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.counters, this.callstack);
+        long fingerprint = getFingerprint();
+        return (int) (fingerprint ^ (fingerprint >>> 32));
+    }
+
+    // Fingerprint of the callstack, updated on push and pop.
+    public long getFingerprint() {
+        return top == null ? 0L : top.fingerprint;
+    }
+
+    public int getDepth() {
+        return top == null ? 0 : top.depth;
+    }
+
+    @Nullable
+    private Counters getCounters() {
+        return counters == null || counters.size == 0 ? null : counters;
     }
 
     @SuppressWarnings("Varifier")
     public void push(Callsite callsite) {
         DistributedExecutionIndex dei = (DistributedExecutionIndex) this;
         DistributedExecutionIndexKey key = dei.convertCallsiteToDistributedExecutionIndexKey(callsite);
+        InternedKey internedKey = DistributedExecutionIndexKeyTable.intern(key);
 
-        int currentValue = 0;
-
-        if(counters.containsKey(key)) {
-            currentValue = counters.get(key);
-            counters.replace(key, currentValue + 1);
-        } else {
-            counters.put(key, currentValue + 1);
+        if (counters == null) {
+            counters = new Counters();
+        } else if (countersShared) {
+            counters = new Counters(counters);
+            countersShared = false;
         }
 
-        callstack.add(Pair.of(key, currentValue + 1));
+        int counter = counters.increment(internedKey);
+        top = new DistributedExecutionIndexFrame(internedKey, counter, top);
     }
 
     public void pop() {
-        int lastIndex = callstack.size() - 1;
-        callstack.remove(lastIndex);
+        if (top == null) {
+            throw new IndexOutOfBoundsException("cannot pop an empty distributed execution index.");
+        }
+
+        top = top.parent;
+    }
+
+    protected DistributedExecutionIndexKey getLastKey() {
+        if (top == null) {
+            throw new IndexOutOfBoundsException("distributed execution index is empty.");
+        }
+
+        return top.getKey();
     }
 
     public DistributedExecutionIndex deserialize(String serialized) {
@@ -56,58 +211,77 @@ public abstract class DistributedExecutionIndexBase implements Cloneable {
             throw new DistributedExecutionIndexSerializationException("cannot deserialize an empty string.");
         }
 
-        if (serialized.equals("")) {
-            return (DistributedExecutionIndex) this;
-        }
+        DistributedExecutionIndexFrame deserialized = DistributedExecutionIndexCodec.deserialize(serialized);
 
-        String normalized = serialized.substring(1, serialized.length() - 1);
-        String[] parts = normalized.split(",");
-        String key = null;
+        if (top == null && !requiresTranslation(deserialized)) {
+            // The parsed callstack is immutable, so it is shared as is.
+            top = deserialized;
+        } else {
+            // As before, deserializing into a non-empty index appends to its callstack, without advancing the counters.
+            for (DistributedExecutionIndexFrame frame : DistributedExecutionIndexFrame.toArray(deserialized)) {
+                DistributedExecutionIndexKey key = frame.getKey();
+                DistributedExecutionIndexKey translatedKey = translateKey(key);
+                InternedKey internedKey = translatedKey == key ? frame.internedKey : DistributedExecutionIndexKeyTable.intern(translatedKey);
+                top = new DistributedExecutionIndexFrame(internedKey, frame.counter, top);
+            }
+        }
 
-        for (int counter = 0; counter < parts.length; counter++) {
-            if (!parts[0].isEmpty()) {
-                if (key == null) {
-                    if (counter == 0) {
-                        // Remove beginning bracket and quote.
-                        key = parts[counter].substring(2);
-                    }
+        return (DistributedExecutionIndex) this;
+    }
 
-                    if (counter > 0) {
-                        // Remove leading space, beginning bracket and quote.
-                        key = parts[counter].substring(3);
-                    }
+    /**
+     * Translate a deserialized key into a key of this index's version; by default, keys are used as is.
+     *
+     * @param key a deserialized key.
+     * @return the key to use in this index.
+     */
+    protected DistributedExecutionIndexKey translateKey(DistributedExecutionIndexKey key) {
+        return key;
+    }
 
-                    // Remove end quote.
-                    key = key.substring(0, key.length() - 1);
-                } else {
-                    // Remove end quote.
-                    String value = parts[counter].substring(0, parts[counter].length() - 1);
-                    // Remove leading space.
-                    value = value.substring(1);
-                    callstack.add(Pair.of(DistributedExecutionIndexKey.deserialize(key), Integer.valueOf(value)));
-                    key = null;
-                }
+    private boolean requiresTranslation(@Nullable DistributedExecutionIndexFrame deserialized) {
+        for (DistributedExecutionIndexFrame frame = deserialized; frame != null; frame = frame.parent) {
+            if (translateKey(frame.getKey()) != frame.getKey()) {
+                return true;
             }
         }
 
-        return (DistributedExecutionIndex) this;
+        return false;
     }
 
-    private String serialize() {
-        ArrayList<String> entryList = new ArrayList<>();
+    @Nullable
+    DistributedExecutionIndexFrame getTop() {
+        return top;
+    }
+
+    public List<Map.Entry<String, Integer>> getSerializedCallstack() {
+        List<Map.Entry<String, Integer>> serializedCallstack = new ArrayList<>();
 
-        for (Map.Entry<DistributedExecutionIndexKey, Integer> stringIntegerEntry : callstack) {
-            ArrayList<String> innerOutput = new ArrayList<>();
-            innerOutput.add("[\"");
-            innerOutput.add(stringIntegerEntry.getKey().serialize());
-            innerOutput.add("\", ");
-            innerOutput.add(String.valueOf(stringIntegerEntry.getValue()));
-            innerOutput.add("]");
-            String innerOutputString = String.join("", innerOutput);
-            entryList.add(innerOutputString);
+        for (DistributedExecutionIndexFrame frame : DistributedExecutionIndexFrame.toArray(top)) {
+            serializedCallstack.add(Pair.of(frame.getKey().serialize(), frame.counter));
         }
 
-        return "[" + String.join(", ", entryList) + "]";
+        return serializedCallstack;
+    }
+
+    /**
+     * Serialize a callstack, as returned by getSerializedCallstack, to the same string as the index it came from.
+     *
+     * @param serializedCallstack serialized keys and their counters.
+     * @return serialized distributed execution index.
+     */
+    public static String serializeCallstack(List<Map.Entry<String, Integer>> serializedCallstack) {
+        StringBuilder sb = new StringBuilder(serializedCallstack.size() * 128).append('[');
+
+        for (Map.Entry<String, Integer> entry : serializedCallstack) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+
+            DistributedExecutionIndexCodec.appendEntry(sb, entry.getKey(), entry.getValue());
+        }
+
+        return sb.append(']').toString();
     }
 
     @Override
@@ -120,18 +294,10 @@ public abstract class DistributedExecutionIndexBase implements Cloneable {
             throw new DistributedExecutionIndexCloneException("cloning not supported for distributed execution index subtype", e);
         }
 
-        // Deep clone member fields here
-
-        newDistributedExecutionIndex.counters = new HashMap<>();
-
-        for (Map.Entry<DistributedExecutionIndexKey, Integer> entry : this.counters.entrySet()) {
-            newDistributedExecutionIndex.counters.put(entry.getKey(), entry.getValue());
-        }
-
-        newDistributedExecutionIndex.callstack = new ArrayList<>();
-
-        for (Map.Entry<DistributedExecutionIndexKey, Integer> entry : this.callstack) {
-            newDistributedExecutionIndex.callstack.add(Pair.of(entry.getKey(), entry.getValue()));
+        // Frames are immutable, so the callstack is shared as is; the counters are copied by whichever side pushes first.
+        if (counters != null) {
+            countersShared = true;
+            newDistributedExecutionIndex.countersShared = true;
         }
 
         return newDistributedExecutionIndex;
@@ -139,6 +305,6 @@ public abstract class DistributedExecutionIndexBase implements Cloneable {
 
     @Override
     public String toString() {
-        return serialize();
+        return DistributedExecutionIndexCodec.serialize(top);
     }
 }
@@ -0,0 +1,237 @@
+package cloud.filibuster.dei;
+
+import cloud.filibuster.dei.DistributedExecutionIndexKeyTable.InternedKey;
+import cloud.filibuster.exceptions.distributed_execution_index.DistributedExecutionIndexSerializationException;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-pass parser and serializer for the string form of a distributed execution index:
+ * [["key", counter], ["key", counter], ...]
+ *
+ * Parsed callstacks are immutable, so they are cached by the raw string and shared by every index deserialized from
+ * it; serialized strings are cached on the frame they were produced for.
+ */
+final class DistributedExecutionIndexCodec {
+    private DistributedExecutionIndexCodec() {
+
+    }
+
+    // Bound on the number of distinct strings cached; the cache is dropped once it is reached.
+    static final int DESERIALIZATION_CACHE_SIZE = 16384;
+
+    private static final ConcurrentHashMap<String, DistributedExecutionIndexFrame> deserializationCache = new ConcurrentHashMap<>();
+
+    /**
+     * Parse a serialized callstack.
+     *
+     * Entries without a counter are skipped.
+     *
+     * @param serialized the serialized index.
+     * @return top frame of the callstack, or null if it is empty.
+     */
+    @Nullable
+    static DistributedExecutionIndexFrame deserialize(String serialized) {
+        if (serialized.isEmpty()) {
+            return null;
+        }
+
+        DistributedExecutionIndexFrame top = deserializationCache.get(serialized);
+
+        if (top != null) {
+            return top;
+        }
+
+        top = parse(serialized);
+
+        if (top != null) {
+            cache(serialized, top);
+        }
+
+        return top;
+    }
+
+    // Cache a callstack by a string that deserializes to it.
+    static void cache(String serialized, DistributedExecutionIndexFrame top) {
+        if (deserializationCache.size() >= DESERIALIZATION_CACHE_SIZE) {
+            deserializationCache.clear();
+        }
+
+        deserializationCache.put(serialized, top);
+    }
+
+    // Drop every cached callstack, e.g., once the keys they refer to are no longer interned.
+    static void clear() {
+        deserializationCache.clear();
+    }
+
+    @Nullable
+    private static DistributedExecutionIndexFrame parse(String serialized) {
+        int length = serialized.length();
+
+        if (length < 2 || serialized.charAt(0) != '[' || serialized.charAt(length - 1) != ']') {
+            throw new DistributedExecutionIndexSerializationException("malformed distributed execution index: " + serialized);
+        }
+
+        DistributedExecutionIndexFrame top = null;
+
+        // Whether the input is exactly what serialize would produce, so it can be reused as the serialized form.
+        boolean canonical = true;
+
+        int end = length - 1;
+        int position = skipWhitespace(serialized, 1, end);
+        canonical &= position == 1;
+
+        boolean first = true;
+
+        while (position < end) {
+            if (!first) {
+                position = expect(serialized, position, end, ',');
+                int next = skipWhitespace(serialized, position, end);
+                canonical &= next == position + 1 && serialized.charAt(position) == ' ';
+                position = next;
+            }
+
+            first = false;
+
+            // Key.
+            position = expect(serialized, position, end, '[');
+            position = expect(serialized, position, end, '"');
+
+            int keyEnd = serialized.indexOf('"', position);
+
+            if (keyEnd < 0 || keyEnd >= end) {
+                throw malformed(serialized, position);
+            }
+
+            String serializedKey = serialized.substring(position, keyEnd);
+            position = skipWhitespace(serialized, keyEnd + 1, end);
+            canonical &= position == keyEnd + 1;
+
+            if (position < end && serialized.charAt(position) == ']') {
+                // No counter: skip the entry.
+                canonical = false;
+                position = skipWhitespace(serialized, position + 1, end);
+                continue;
+            }
+
+            // Counter.
+            position = expect(serialized, position, end, ',');
+            int counterStart = skipWhitespace(serialized, position, end);
+            canonical &= counterStart == position + 1 && serialized.charAt(position) == ' ';
+            position = counterStart;
+
+            long counter = 0;
+
+            while (position < end && serialized.charAt(position) >= '0' && serialized.charAt(position) <= '9') {
+                counter = counter * 10 + (serialized.charAt(position) - '0');
+
+                if (counter > Integer.MAX_VALUE) {
+                    throw malformed(serialized, position);
+                }
+
+                position++;
+            }
+
+            if (position == counterStart) {
+                throw malformed(serialized, position);
+            }
+
+            canonical &= position == counterStart + 1 || serialized.charAt(counterStart) != '0';
+
+            int counterEnd = position;
+            position = skipWhitespace(serialized, position, end);
+            canonical &= position == counterEnd;
+            position = expect(serialized, position, end, ']');
+
+            InternedKey internedKey = DistributedExecutionIndexKeyTable.internSerialized(serializedKey);
+            top = new DistributedExecutionIndexFrame(internedKey, (int) counter, top);
+
+            int next = skipWhitespace(serialized, position, end);
+            canonical &= next == position;
+            position = next;
+        }
+
+        if (top != null && canonical) {
+            top.serialized = serialized;
+        }
+
+        return top;
+    }
+
+    private static int skipWhitespace(String serialized, int position, int end) {
+        int result = position;
+
+        while (result < end && Character.isWhitespace(serialized.charAt(result))) {
+            result++;
+        }
+
+        return result;
+    }
+
+    private static int expect(String serialized, int position, int end, char expected) {
+        if (position >= end || serialized.charAt(position) != expected) {
+            throw malformed(serialized, position);
+        }
+
+        return position + 1;
+    }
+
+    private static DistributedExecutionIndexSerializationException malformed(String serialized, int position) {
+        return new DistributedExecutionIndexSerializationException("malformed distributed execution index at position " + position + ": " + serialized);
+    }
+
+    /**
+     * Serialize the callstack ending at a frame.
+     *
+     * @param top top frame of the callstack, or null if it is empty.
+     * @return the serialized index.
+     */
+    static String serialize(@Nullable DistributedExecutionIndexFrame top) {
+        if (top == null) {
+            return "[]";
+        }
+
+        String serialized = top.serialized;
+
+        if (serialized != null) {
+            return serialized;
+        }
+
+        // Extend the closest serialized ancestor, if any, rather than serializing the whole callstack.
+        DistributedExecutionIndexFrame[] frames = DistributedExecutionIndexFrame.toArray(top);
+        int start = frames.length - 1;
+
+        while (start > 0 && frames[start - 1].serialized == null) {
+            start--;
+        }
+
+        StringBuilder sb;
+
+        if (start > 0) {
+            String prefix = frames[start - 1].serialized;
+            sb = new StringBuilder(prefix.length() + (frames.length - start) * 128);
+            sb.append(prefix, 0, prefix.length() - 1);
+        } else {
+            sb = new StringBuilder(frames.length * 128);
+            sb.append('[');
+        }
+
+        for (int i = start; i < frames.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+
+            appendEntry(sb, frames[i].getKey().serialize(), frames[i].counter);
+        }
+
+        serialized = sb.append(']').toString();
+        top.serialized = serialized;
+        return serialized;
+    }
+
+    static void appendEntry(StringBuilder sb, String serializedKey, int counter) {
+        sb.append("[\"").append(serializedKey).append("\", ").append(counter).append(']');
+    }
+}
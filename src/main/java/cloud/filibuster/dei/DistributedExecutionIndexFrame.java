@@ -0,0 +1,54 @@
+package cloud.filibuster.dei;
+
+import cloud.filibuster.dei.DistributedExecutionIndexKeyTable.InternedKey;
+
+import javax.annotation.Nullable;
+
+// One entry of the callstack of a distributed execution index.
+//
+// Frames are immutable and shared: the callstack is a persistent linked list, so clones share all of it and pop
+// only moves to the parent.  Each frame carries the fingerprint of the callstack ending at it.
+final class DistributedExecutionIndexFrame {
+    final InternedKey internedKey;
+
+    final int counter;
+
+    @Nullable
+    final DistributedExecutionIndexFrame parent;
+
+    final int depth;
+
+    final long fingerprint;
+
+    // Serialized form of the callstack ending at this frame, filled in on first use.
+    // Strings are immutable, so racing writers only compute the same value twice.
+    @Nullable
+    String serialized;
+
+    DistributedExecutionIndexFrame(InternedKey internedKey, int counter, @Nullable DistributedExecutionIndexFrame parent) {
+        this.internedKey = internedKey;
+        this.counter = counter;
+        this.parent = parent;
+        this.depth = parent == null ? 1 : parent.depth + 1;
+
+        long parentFingerprint = parent == null ? 0L : parent.fingerprint;
+        this.fingerprint = parentFingerprint * 0x9e3779b97f4a7c15L + DistributedExecutionIndexKeyTable.mix(internedKey.fingerprint ^ (counter * 0xc2b2ae3d27d4eb4fL));
+    }
+
+    DistributedExecutionIndexKey getKey() {
+        return internedKey.key;
+    }
+
+    // Frames of the callstack ending at the given frame, bottom first.
+    static DistributedExecutionIndexFrame[] toArray(@Nullable DistributedExecutionIndexFrame top) {
+        DistributedExecutionIndexFrame[] frames = new DistributedExecutionIndexFrame[top == null ? 0 : top.depth];
+        DistributedExecutionIndexFrame frame = top;
+
+        for (int i = frames.length - 1; i >= 0; i--) {
+            frames[i] = frame;
+            frame = frame.parent;
+        }
+
+        return frames;
+    }
+}
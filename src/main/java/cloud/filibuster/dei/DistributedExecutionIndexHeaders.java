@@ -0,0 +1,274 @@
+package cloud.filibuster.dei;
+
+import cloud.filibuster.dei.DistributedExecutionIndexKeyTable.InternedKey;
+import cloud.filibuster.exceptions.distributed_execution_index.DistributedExecutionIndexSerializationException;
+
+import javax.annotation.Nullable;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static cloud.filibuster.dei.implementations.DistributedExecutionIndexV2.COMPONENT_LENGTH;
+
+/**
+ * Encoding of distributed execution indexes in the x-filibuster-execution-index propagation header.
+ *
+ * Indexes are propagated in their serialized form, unless all of their keys are V2 keys, in which case they are
+ * propagated in the V2 binary format, base64url encoded without padding:
+ *
+ *   the format version (2), then, for each entry, bottom first:
+ *     a flags byte, with bit i set when component i of the key is the same as in the previous entry;
+ *     the 8 byte fingerprint of each of the other components, in serialization order;
+ *     the counter, as an unsigned varint.
+ *
+ * Serialized indexes start with '[', which is not in the base64url alphabet, so either form can be received, and
+ * receivers translate both to the serialized form.
+ */
+public final class DistributedExecutionIndexHeaders {
+    private DistributedExecutionIndexHeaders() {
+
+    }
+
+    static final byte BINARY_FORMAT_VERSION = 2;
+
+    private static final int COMPONENTS = 5;
+
+    private static final int FINGERPRINT_BYTES = 8;
+
+    // Largest encoding of an int as an unsigned varint.
+    private static final int MAX_VARINT_BYTES = 5;
+
+    private static final String V2_KEY_PREFIX = DistributedExecutionIndexType.V2.name() + "-";
+
+    // V2 prefix, then the components, separated by '-'.
+    private static final int V2_KEY_LENGTH = V2_KEY_PREFIX.length() + COMPONENTS * (COMPONENT_LENGTH + 1) - 1;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // Serialized index, by binary header.
+    private static final ConcurrentHashMap<String, String> decodedHeaders = new ConcurrentHashMap<>();
+
+    /**
+     * Encode an execution index for the propagation header.
+     *
+     * @param distributedExecutionIndex the execution index.
+     * @return header value.
+     */
+    public static String toHeader(DistributedExecutionIndex distributedExecutionIndex) {
+        if (distributedExecutionIndex instanceof DistributedExecutionIndexBase) {
+            byte[] encoded = encode(((DistributedExecutionIndexBase) distributedExecutionIndex).getTop());
+
+            if (encoded != null) {
+                return Base64.getUrlEncoder().withoutPadding().encodeToString(encoded);
+            }
+        }
+
+        return distributedExecutionIndex.toString();
+    }
+
+    /**
+     * Translate a received propagation header to a serialized execution index.
+     *
+     * @param header header value, in either form.
+     * @return serialized execution index, or null if no header was received.
+     */
+    @Nullable
+    public static String fromHeader(@Nullable String header) {
+        if (header == null || header.isEmpty() || header.charAt(0) == '[') {
+            return header;
+        }
+
+        String serialized = decodedHeaders.get(header);
+
+        if (serialized == null) {
+            DistributedExecutionIndexFrame top = decode(header);
+            serialized = DistributedExecutionIndexCodec.serialize(top);
+
+            if (top != null) {
+                // Whoever received the header deserializes the index next.
+                DistributedExecutionIndexCodec.cache(serialized, top);
+            }
+
+            if (decodedHeaders.size() >= DistributedExecutionIndexCodec.DESERIALIZATION_CACHE_SIZE) {
+                decodedHeaders.clear();
+            }
+
+            decodedHeaders.put(header, serialized);
+        }
+
+        return serialized;
+    }
+
+    // Binary encoding of a callstack, or null if it is empty or has keys that are not V2 keys.
+    @Nullable
+    private static byte[] encode(@Nullable DistributedExecutionIndexFrame top) {
+        if (top == null) {
+            return null;
+        }
+
+        DistributedExecutionIndexFrame[] frames = DistributedExecutionIndexFrame.toArray(top);
+        byte[] encoded = new byte[1 + frames.length * (1 + COMPONENTS * FINGERPRINT_BYTES + MAX_VARINT_BYTES)];
+        int position = 0;
+        encoded[position++] = BINARY_FORMAT_VERSION;
+
+        long[] components = new long[COMPONENTS];
+        long[] previousComponents = new long[COMPONENTS];
+
+        for (int i = 0; i < frames.length; i++) {
+            if (!parseV2Key(frames[i].getKey().serialize(), components)) {
+                return null;
+            }
+
+            int flagsPosition = position++;
+            int flags = 0;
+
+            for (int j = 0; j < COMPONENTS; j++) {
+                if (i > 0 && components[j] == previousComponents[j]) {
+                    flags |= 1 << j;
+                } else {
+                    for (int k = FINGERPRINT_BYTES - 1; k >= 0; k--) {
+                        encoded[position++] = (byte) (components[j] >>> (k * 8));
+                    }
+                }
+            }
+
+            encoded[flagsPosition] = (byte) flags;
+
+            int counter = frames[i].counter;
+
+            while ((counter & ~0x7f) != 0) {
+                encoded[position++] = (byte) ((counter & 0x7f) | 0x80);
+                counter >>>= 7;
+            }
+
+            encoded[position++] = (byte) counter;
+
+            long[] swap = previousComponents;
+            previousComponents = components;
+            components = swap;
+        }
+
+        byte[] result = new byte[position];
+        System.arraycopy(encoded, 0, result, 0, position);
+        return result;
+    }
+
+    // Parse the components of a serialized V2 key, returning false if it is not one.
+    private static boolean parseV2Key(String serializedKey, long[] components) {
+        if (serializedKey.length() != V2_KEY_LENGTH || !serializedKey.startsWith(V2_KEY_PREFIX)) {
+            return false;
+        }
+
+        for (int i = 0; i < COMPONENTS; i++) {
+            int start = V2_KEY_PREFIX.length() + i * (COMPONENT_LENGTH + 1);
+
+            if (i > 0 && serializedKey.charAt(start - 1) != '-') {
+                return false;
+            }
+
+            long component = 0;
+
+            for (int j = start; j < start + COMPONENT_LENGTH; j++) {
+                int digit = Character.digit(serializedKey.charAt(j), 16);
+
+                // Upper case digits would not survive the round trip.
+                if (digit < 0 || Character.isUpperCase(serializedKey.charAt(j))) {
+                    return false;
+                }
+
+                component = component << 4 | digit;
+            }
+
+            components[i] = component;
+        }
+
+        return true;
+    }
+
+    @Nullable
+    private static DistributedExecutionIndexFrame decode(String header) {
+        byte[] encoded;
+
+        try {
+            encoded = Base64.getUrlDecoder().decode(header);
+        } catch (IllegalArgumentException e) {
+            throw new DistributedExecutionIndexSerializationException("malformed distributed execution index header: " + header, e);
+        }
+
+        if (encoded.length == 0 || encoded[0] != BINARY_FORMAT_VERSION) {
+            throw malformed(header);
+        }
+
+        DistributedExecutionIndexFrame top = null;
+        long[] components = new long[COMPONENTS];
+        int position = 1;
+
+        while (position < encoded.length) {
+            int flags = encoded[position++] & 0xff;
+
+            if (flags >>> COMPONENTS != 0 || (top == null && flags != 0)) {
+                throw malformed(header);
+            }
+
+            for (int j = 0; j < COMPONENTS; j++) {
+                if ((flags & (1 << j)) == 0) {
+                    if (position + FINGERPRINT_BYTES > encoded.length) {
+                        throw malformed(header);
+                    }
+
+                    long component = 0;
+
+                    for (int k = 0; k < FINGERPRINT_BYTES; k++) {
+                        component = component << 8 | (encoded[position++] & 0xff);
+                    }
+
+                    components[j] = component;
+                }
+            }
+
+            long counter = 0;
+            int shift = 0;
+            byte b;
+
+            do {
+                if (position >= encoded.length || shift >= MAX_VARINT_BYTES * 7) {
+                    throw malformed(header);
+                }
+
+                b = encoded[position++];
+                counter |= (long) (b & 0x7f) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+
+            if (counter > Integer.MAX_VALUE) {
+                throw malformed(header);
+            }
+
+            InternedKey internedKey = DistributedExecutionIndexKeyTable.internSerialized(formatV2Key(components));
+            top = new DistributedExecutionIndexFrame(internedKey, (int) counter, top);
+        }
+
+        return top;
+    }
+
+    private static String formatV2Key(long[] components) {
+        char[] serializedKey = new char[V2_KEY_LENGTH];
+        V2_KEY_PREFIX.getChars(0, V2_KEY_PREFIX.length(), serializedKey, 0);
+        int position = V2_KEY_PREFIX.length();
+
+        for (int i = 0; i < COMPONENTS; i++) {
+            if (i > 0) {
+                serializedKey[position++] = '-';
+            }
+
+            for (int j = COMPONENT_LENGTH - 1; j >= 0; j--) {
+                serializedKey[position++] = HEX[(int) (components[i] >>> (j * 4)) & 0xf];
+            }
+        }
+
+        return new String(serializedKey);
+    }
+
+    private static DistributedExecutionIndexSerializationException malformed(String header) {
+        return new DistributedExecutionIndexSerializationException("malformed distributed execution index header: " + header);
+    }
+}
@@ -22,8 +22,11 @@ public interface DistributedExecutionIndexKey {
     static DistributedExecutionIndexKey deserialize(String serialized) {
         String[] stringArray = serialized.split("-", 6);
 
-        // Assuming only a single version right now.
+        // V2 keys only differ from V1 keys in the width of their components.
+        DistributedExecutionIndexType version = DistributedExecutionIndexType.V2.name().equals(stringArray[0]) ? DistributedExecutionIndexType.V2 : DistributedExecutionIndexType.V1;
+
         return new DistributedExecutionIndexV1.Key.Builder()
+                .version(version)
                 .metadata(stringArray[1])
                 .source(stringArray[2])
                 .signature(stringArray[3])
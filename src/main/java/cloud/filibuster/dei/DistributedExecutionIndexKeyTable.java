@@ -0,0 +1,165 @@
+package cloud.filibuster.dei;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Process-wide table of the distributed execution index keys seen so far.
+ *
+ * Keys are interned on push, so an execution index only stores small integer ids and per-key fingerprints, and keys
+ * built for the same callsite over and over are shared rather than retained once per index.
+ *
+ * Keys are interned in generations: once the current generation is full, it becomes the previous one and the one
+ * before is dropped.  Keys still in use are carried over to the new generation, keeping their id, the first time they
+ * are interned again; a key dropped and interned again gets a new id.  Ids are never reused, and indexes compare
+ * key ids only as a fast path, falling back to the keys themselves, so indexes built from either stay equal.
+ */
+public final class DistributedExecutionIndexKeyTable {
+    private static final Logger logger = Logger.getLogger(DistributedExecutionIndexKeyTable.class.getName());
+
+    // Bound on the number of distinct keys interned in a generation.
+    public static final int INTERNED_KEYS_SIZE = 65536;
+
+    private DistributedExecutionIndexKeyTable() {
+
+    }
+
+    // An interned key, with its id and fingerprint.
+    static final class InternedKey {
+        final DistributedExecutionIndexKey key;
+
+        final int id;
+
+        final long fingerprint;
+
+        InternedKey(DistributedExecutionIndexKey key, int id, long fingerprint) {
+            this.key = key;
+            this.id = id;
+            this.fingerprint = fingerprint;
+        }
+
+        // Same id, or, for a key interned again after it was dropped, same key; destinations are ignored.
+        boolean sameKey(InternedKey internedKey) {
+            return id == internedKey.id || (fingerprint == internedKey.fingerprint && key.equals(internedKey.key));
+        }
+    }
+
+    // Keyed by key equality, which ignores the destination, as do the counters of an execution index.
+    private static volatile ConcurrentHashMap<DistributedExecutionIndexKey, InternedKey> internedKeys = new ConcurrentHashMap<>();
+
+    private static volatile ConcurrentHashMap<DistributedExecutionIndexKey, InternedKey> previousInternedKeys = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger nextId = new AtomicInteger();
+
+    // Keyed by serialized key, for deserialization; the interned keys carry the key as deserialized.
+    private static final ConcurrentHashMap<String, InternedKey> deserializedKeys = new ConcurrentHashMap<>();
+
+    // Intern a key, returning the interned instance unless this key has a different destination, which key
+    // equality ignores.
+    static InternedKey intern(DistributedExecutionIndexKey key) {
+        ConcurrentHashMap<DistributedExecutionIndexKey, InternedKey> currentInternedKeys = internedKeys;
+        InternedKey internedKey = currentInternedKeys.get(key);
+
+        if (internedKey == null) {
+            if (currentInternedKeys.size() >= INTERNED_KEYS_SIZE) {
+                startGeneration(currentInternedKeys);
+                currentInternedKeys = internedKeys;
+            }
+
+            InternedKey previousInternedKey = previousInternedKeys.get(key);
+
+            if (previousInternedKey == null) {
+                internedKey = currentInternedKeys.computeIfAbsent(key, k -> new InternedKey(k, nextId.getAndIncrement(), fingerprint(k.serialize())));
+            } else {
+                InternedKey existingInternedKey = currentInternedKeys.putIfAbsent(key, previousInternedKey);
+                internedKey = existingInternedKey == null ? previousInternedKey : existingInternedKey;
+            }
+        }
+
+        if (internedKey.key != key && !Objects.equals(internedKey.key.onlyDestination(), key.onlyDestination())) {
+            return new InternedKey(key, internedKey.id, internedKey.fingerprint);
+        }
+
+        return internedKey;
+    }
+
+    // Start a new generation, unless another thread already started one since the given generation was read.
+    private static synchronized void startGeneration(ConcurrentHashMap<DistributedExecutionIndexKey, InternedKey> fullInternedKeys) {
+        if (internedKeys != fullInternedKeys) {
+            return;
+        }
+
+        logger.info("[FILIBUSTER-DEI-KEY-TABLE]: generation full, starting a new one, size: " + fullInternedKeys.size());
+
+        previousInternedKeys = fullInternedKeys;
+        internedKeys = new ConcurrentHashMap<>();
+
+        // Deserialized callstacks refer to keys of either generation, so they are dropped to carry keys over by interning.
+        deserializedKeys.clear();
+        DistributedExecutionIndexCodec.clear();
+    }
+
+    // Intern a serialized key, deserializing it only the first time it is seen.
+    static InternedKey internSerialized(String serializedKey) {
+        InternedKey internedKey = deserializedKeys.get(serializedKey);
+
+        if (internedKey == null) {
+            // Only a cache of the interned keys, so dropped once full.
+            if (deserializedKeys.size() >= DistributedExecutionIndexCodec.DESERIALIZATION_CACHE_SIZE) {
+                deserializedKeys.clear();
+            }
+
+            // Not computeIfAbsent: interning may clear this map.
+            internedKey = intern(DistributedExecutionIndexKey.deserialize(serializedKey));
+            deserializedKeys.put(serializedKey, internedKey);
+        }
+
+        return internedKey;
+    }
+
+    /**
+     * Remove every interned key, of both generations, along with the deserialized callstacks that refer to them.
+     *
+     * Execution indexes built before stay equal to those built after, only comparing more slowly.
+     */
+    public static synchronized void clear() {
+        internedKeys = new ConcurrentHashMap<>();
+        previousInternedKeys = new ConcurrentHashMap<>();
+        deserializedKeys.clear();
+        DistributedExecutionIndexCodec.clear();
+    }
+
+    /**
+     * Number of distinct keys interned in the current generation.
+     *
+     * @return number of keys.
+     */
+    public static int size() {
+        return internedKeys.size();
+    }
+
+    // 64-bit FNV-1a of the serialized key, finalized with the MurmurHash3 mixer; stable across processes.
+    private static long fingerprint(String serializedKey) {
+        long hash = 0xcbf29ce484222325L;
+
+        for (byte b : serializedKey.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+
+        return mix(hash);
+    }
+
+    static long mix(long value) {
+        long result = value;
+        result ^= result >>> 33;
+        result *= 0xff51afd7ed558ccdL;
+        result ^= result >>> 33;
+        result *= 0xc4ceb9fe1a85ec53L;
+        result ^= result >>> 33;
+        return result;
+    }
+}
@@ -1,6 +1,7 @@
 package cloud.filibuster.dei;
 
 import cloud.filibuster.dei.implementations.DistributedExecutionIndexV1;
+import cloud.filibuster.dei.implementations.DistributedExecutionIndexV2;
 
 import static cloud.filibuster.instrumentation.helpers.Property.getDeiVersionProperty;
 
@@ -10,6 +11,12 @@ public enum DistributedExecutionIndexType {
         public DistributedExecutionIndex createImpl() {
             return new DistributedExecutionIndexV1();
         }
+    },
+    V2 {
+        @Override
+        public DistributedExecutionIndex createImpl() {
+            return new DistributedExecutionIndexV2();
+        }
     };
 
     public abstract DistributedExecutionIndex createImpl();
@@ -7,11 +7,13 @@ import cloud.filibuster.dei.DistributedExecutionIndexType;
 import cloud.filibuster.dei.implementations.DistributedExecutionIndexV1.Key.Builder;
 import cloud.filibuster.instrumentation.datatypes.Callsite;
 import cloud.filibuster.instrumentation.datatypes.CallsiteArguments;
+import cloud.filibuster.instrumentation.datatypes.FilibusterDigestType;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import org.jetbrains.annotations.NotNull;
 
+import javax.annotation.Nullable;
+
 import java.util.ArrayList;
-import java.util.Map;
 import java.util.Objects;
 
 import static cloud.filibuster.dei.DistributedExecutionIndexType.V1;
@@ -280,6 +282,7 @@ public class DistributedExecutionIndexV1 extends DistributedExecutionIndexBase i
     }
 
     public static class Key implements DistributedExecutionIndexKey {
+        private final DistributedExecutionIndexType version;
         private final String source;
         private final String destination;
         private final String signature;
@@ -287,7 +290,12 @@ public class DistributedExecutionIndexV1 extends DistributedExecutionIndexBase i
         private final String asynchronous;
         private final String metadata;
 
+        // Keys are immutable, and serialized on every hop, so the serialized form is computed once.
+        @Nullable
+        private String serialized;
+
         public Key(Builder builder) {
+            this.version = builder.version;
             this.source = builder.source;
             this.destination = builder.destination;
             this.signature = builder.signature;
@@ -312,7 +320,7 @@ public class DistributedExecutionIndexV1 extends DistributedExecutionIndexBase i
             }
 
             Key k = (Key) o;
-            return Objects.equals(this.metadata, k.metadata) && Objects.equals(this.source, k.source) && Objects.equals(this.signature, k.signature) && Objects.equals(this.synchronous, k.synchronous) && Objects.equals(this.asynchronous, k.asynchronous);
+            return this.version == k.version && Objects.equals(this.metadata, k.metadata) && Objects.equals(this.source, k.source) && Objects.equals(this.signature, k.signature) && Objects.equals(this.synchronous, k.synchronous) && Objects.equals(this.asynchronous, k.asynchronous);
         }
 
         @Override
@@ -337,13 +345,24 @@ public class DistributedExecutionIndexV1 extends DistributedExecutionIndexBase i
 
         @Override
         public int hashCode() {
-            return Objects.hash(VERSION, metadata, source, signature, synchronous, asynchronous);
+            return Objects.hash(version, metadata, source, signature, synchronous, asynchronous);
         }
 
         @Override
         public String serialize() {
+            String result = serialized;
+
+            if (result == null) {
+                result = serializeComponents();
+                serialized = result;
+            }
+
+            return result;
+        }
+
+        private String serializeComponents() {
             ArrayList<String> deiElements = new ArrayList<>();
-            deiElements.add(VERSION.name());
+            deiElements.add(version.name());
             deiElements.add(metadata);
             deiElements.add(source);
             deiElements.add(signature);
@@ -353,7 +372,7 @@ public class DistributedExecutionIndexV1 extends DistributedExecutionIndexBase i
         }
 
         public static class Builder {
-            private static final DistributedExecutionIndexType version = V1;
+            private DistributedExecutionIndexType version = V1;
             private String source;
             private String destination;
             private String signature;
@@ -361,6 +380,12 @@ public class DistributedExecutionIndexV1 extends DistributedExecutionIndexBase i
             private String asynchronous;
             private String metadata;
 
+            @CanIgnoreReturnValue
+            public Builder version(DistributedExecutionIndexType version) {
+                this.version = version;
+                return this;
+            }
+
             @CanIgnoreReturnValue
             public Builder source(String source) {
                 this.source = source;
@@ -404,18 +429,29 @@ public class DistributedExecutionIndexV1 extends DistributedExecutionIndexBase i
     }
 
     public static class Components {
+        // Components that only depend on the call path and RPC of a callsite are computed once per callsite descriptor,
+        // under a name that identifies the properties they are computed with.
+        private static String getComponentName(String component, boolean include, boolean digest) {
+            return component + "," + include + "," + digest + (digest ? "," + FilibusterDigestType.getImplType() : "");
+        }
+
         public static String generateRpcSourceFromCallsite(Callsite callsite) {
-            String rpcSource = "";
+            boolean include = getSourceInclude();
+            boolean digest = getSourceDigest();
 
-            if (getSourceInclude()) {
-                rpcSource = callsite.getServiceName();
-            }
+            return callsite.getDescriptor().getComponent(getComponentName("source", include, digest), () -> {
+                String rpcSource = "";
 
-            if (getSourceDigest()) {
-                return createDigest(rpcSource);
-            } else {
-                return '[' + rpcSource + ']';
-            }
+                if (include) {
+                    rpcSource = callsite.getServiceName();
+                }
+
+                if (digest) {
+                    return createDigest(rpcSource);
+                } else {
+                    return '[' + rpcSource + ']';
+                }
+            });
         }
 
         public static String generateRpcMetadataFromCallsite(Callsite callsite) {
@@ -438,39 +474,49 @@ public class DistributedExecutionIndexV1 extends DistributedExecutionIndexBase i
         }
 
         public static String generateRpcSignatureFromCallsite(Callsite callsite) {
-            ArrayList<String> rpcSignatureElements = new ArrayList<>();
-            rpcSignatureElements.add(callsite.getClassOrModuleName());
-            rpcSignatureElements.add(callsite.getMethodOrFunctionName());
-            rpcSignatureElements.add(callsite.getParameterList());
-            String rpcSignature = "";
-
-            if (getSignatureInclude()) {
-                rpcSignature = String.join(",", rpcSignatureElements);
-            }
+            boolean include = getSignatureInclude();
+            boolean digest = getSignatureDigest();
+
+            return callsite.getDescriptor().getComponent(getComponentName("signature", include, digest), () -> {
+                ArrayList<String> rpcSignatureElements = new ArrayList<>();
+                rpcSignatureElements.add(callsite.getClassOrModuleName());
+                rpcSignatureElements.add(callsite.getMethodOrFunctionName());
+                rpcSignatureElements.add(callsite.getParameterList());
+                String rpcSignature = "";
+
+                if (include) {
+                    rpcSignature = String.join(",", rpcSignatureElements);
+                }
 
-            if (getSignatureDigest()) {
-                return createDigest(rpcSignature);
-            } else {
-                return '[' + rpcSignature + ']';
-            }
+                if (digest) {
+                    return createDigest(rpcSignature);
+                } else {
+                    return '[' + rpcSignature + ']';
+                }
+            });
         }
 
         public static String generateRpcSynchronousComponentFromCallsite(Callsite callsite) {
-            ArrayList<String> rpcSynchronousElements = new ArrayList<>();
-            rpcSynchronousElements.add(callsite.getFileName());
-            rpcSynchronousElements.add(callsite.getLineNumber());
-            rpcSynchronousElements.add(callsite.getSerializedStackTrace());
-            String rpcSynchronous = "";
-
-            if (getSynchronousInclude()) {
-                rpcSynchronous = String.join(",", rpcSynchronousElements);
-            }
+            boolean include = getSynchronousInclude();
+            boolean digest = getSynchronousDigest();
+
+            return callsite.getDescriptor().getComponent(getComponentName("synchronous", include, digest), () -> {
+                ArrayList<String> rpcSynchronousElements = new ArrayList<>();
+                rpcSynchronousElements.add(callsite.getFileName());
+                rpcSynchronousElements.add(callsite.getLineNumber());
+                rpcSynchronousElements.add(callsite.getSerializedStackTrace());
+                String rpcSynchronous = "";
+
+                if (include) {
+                    rpcSynchronous = String.join(",", rpcSynchronousElements);
+                }
 
-            if (getSynchronousDigest()) {
-                return createDigest(rpcSynchronous);
-            } else {
-                return '[' + rpcSynchronous + ']';
-            }
+                if (digest) {
+                    return createDigest(rpcSynchronous);
+                } else {
+                    return '[' + rpcSynchronous + ']';
+                }
+            });
         }
 
         public static String generateRpcAsynchronousComponentFromCallsite(Callsite callsite) {
@@ -507,29 +553,25 @@ public class DistributedExecutionIndexV1 extends DistributedExecutionIndexBase i
 
     @Override
     public String projectionLastKeyWithOnlyMetadata() {
-        Map.Entry<DistributedExecutionIndexKey, Integer> lastCallstackEntry = callstack.get(callstack.size() - 1);
-        DistributedExecutionIndexKey key = lastCallstackEntry.getKey();
+        DistributedExecutionIndexKey key = getLastKey();
         return key.onlyMetadata().toString();
     }
 
     @Override
     public String projectionLastKeyWithOnlyMetadataAndSignature() {
-        Map.Entry<DistributedExecutionIndexKey, Integer> lastCallstackEntry = callstack.get(callstack.size() - 1);
-        DistributedExecutionIndexKey key = lastCallstackEntry.getKey();
+        DistributedExecutionIndexKey key = getLastKey();
         return key.onlyMetadataAndSignature().toString();
     }
 
     @Override
     public String projectionLastKeyWithOnlySignature() {
-        Map.Entry<DistributedExecutionIndexKey, Integer> lastCallstackEntry = callstack.get(callstack.size() - 1);
-        DistributedExecutionIndexKey key = lastCallstackEntry.getKey();
+        DistributedExecutionIndexKey key = getLastKey();
         return key.onlySignature().toString();
     }
 
     @Override
     public String projectionLastKeyWithOnlyDestination() {
-        Map.Entry<DistributedExecutionIndexKey, Integer> lastCallstackEntry = callstack.get(callstack.size() - 1);
-        DistributedExecutionIndexKey key = lastCallstackEntry.getKey();
+        DistributedExecutionIndexKey key = getLastKey();
         return key.onlyDestination().toString();
     }
 }
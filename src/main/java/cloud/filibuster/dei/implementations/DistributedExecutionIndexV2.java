@@ -0,0 +1,80 @@
+package cloud.filibuster.dei.implementations;
+
+import cloud.filibuster.dei.DistributedExecutionIndexKey;
+import cloud.filibuster.dei.DistributedExecutionIndexType;
+import cloud.filibuster.instrumentation.datatypes.Callsite;
+
+import static cloud.filibuster.dei.DistributedExecutionIndexType.V2;
+import static cloud.filibuster.dei.implementations.DistributedExecutionIndexV1.Components.generateRpcAsynchronousComponentFromCallsite;
+import static cloud.filibuster.dei.implementations.DistributedExecutionIndexV1.Components.generateRpcMetadataFromCallsite;
+import static cloud.filibuster.dei.implementations.DistributedExecutionIndexV1.Components.generateRpcSignatureFromCallsite;
+import static cloud.filibuster.dei.implementations.DistributedExecutionIndexV1.Components.generateRpcSourceFromCallsite;
+import static cloud.filibuster.dei.implementations.DistributedExecutionIndexV1.Components.generateRpcSynchronousComponentFromCallsite;
+import static cloud.filibuster.instrumentation.helpers.Hashing.createDigest;
+
+/**
+ * Distributed execution index with compact keys.
+ *
+ * Keys have the same components as V1 keys, configured by the same filibuster.dei.v1 properties, but each component
+ * is a fixed-width 64-bit fingerprint (16 hex characters) of the V1 component.  Indexes whose keys are all V2 keys
+ * are propagated between services in the binary header format of {@link cloud.filibuster.dei.DistributedExecutionIndexHeaders}.
+ */
+public class DistributedExecutionIndexV2 extends DistributedExecutionIndexV1 {
+    public static final DistributedExecutionIndexType VERSION = V2;
+
+    // Width, in hex characters, of each component of a key.
+    public static final int COMPONENT_LENGTH = 16;
+
+    public static class Components {
+        /**
+         * Convert a V1 component to the fixed-width fingerprint used by V2 keys.
+         *
+         * @param component a V1 component, either a digest or a bracketed raw value.
+         * @return 16 hex character fingerprint.
+         */
+        public static String fingerprint(String component) {
+            // Digested components are already uniformly distributed, so they are truncated rather than hashed again.
+            if (component.length() >= COMPONENT_LENGTH && component.charAt(0) != '[') {
+                return component.substring(0, COMPONENT_LENGTH);
+            }
+
+            return createDigest(component).substring(0, COMPONENT_LENGTH);
+        }
+    }
+
+    @Override
+    public DistributedExecutionIndexKey convertCallsiteToDistributedExecutionIndexKey(Callsite callsite) {
+        Key key = new Key.Builder()
+                .version(VERSION)
+                .metadata(Components.fingerprint(generateRpcMetadataFromCallsite(callsite)))
+                .source(Components.fingerprint(generateRpcSourceFromCallsite(callsite)))
+                .destination(callsite.getClassOrModuleName())
+                .signature(Components.fingerprint(generateRpcSignatureFromCallsite(callsite)))
+                .synchronous(Components.fingerprint(generateRpcSynchronousComponentFromCallsite(callsite)))
+                .asynchronous(Components.fingerprint(generateRpcAsynchronousComponentFromCallsite(callsite)))
+                .build();
+        return key;
+    }
+
+    // Keys received from V1 services are converted, so that the index can still be propagated in the binary format.
+    @Override
+    protected DistributedExecutionIndexKey translateKey(DistributedExecutionIndexKey key) {
+        String serialized = key.serialize();
+
+        if (serialized.startsWith(VERSION.name() + "-")) {
+            return key;
+        }
+
+        String[] components = serialized.split("-", 6);
+
+        return new Key.Builder()
+                .version(VERSION)
+                .metadata(Components.fingerprint(components[1]))
+                .source(Components.fingerprint(components[2]))
+                .destination(key.onlyDestination())
+                .signature(Components.fingerprint(components[3]))
+                .synchronous(Components.fingerprint(components[4]))
+                .asynchronous(Components.fingerprint(components[5]))
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package cloud.filibuster.instrumentation.datatypes;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Identity of the path to a callsite: the RPC being issued, the frames of the stack that may be part of the callsite,
+ * and the properties that change how a callsite is computed from them.
+ *
+ * Frames are identified by class name, method name and position, which is the bytecode index when walking the stack
+ * and the line number otherwise; a position in a method always maps to the same line.
+ */
+final class CallPath {
+    private final String serviceName;
+    private final String classOrModuleName;
+    private final String methodOrFunctionName;
+    private final boolean removeImports;
+    private final boolean lineNumber;
+
+    // Class and method name of each frame, interleaved.
+    private final String[] names;
+
+    private final int[] positions;
+
+    private final int hashCode;
+
+    private CallPath(Builder builder) {
+        this.serviceName = builder.serviceName;
+        this.classOrModuleName = builder.classOrModuleName;
+        this.methodOrFunctionName = builder.methodOrFunctionName;
+        this.removeImports = builder.removeImports;
+        this.lineNumber = builder.lineNumber;
+        this.names = builder.names.toArray(new String[0]);
+        this.positions = Arrays.copyOf(builder.positions, builder.size);
+
+        int result = Objects.hash(serviceName, classOrModuleName, methodOrFunctionName, removeImports, lineNumber);
+        result = 31 * result + Arrays.hashCode(names);
+        result = 31 * result + Arrays.hashCode(positions);
+        this.hashCode = result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof CallPath)) {
+            return false;
+        }
+
+        CallPath callPath = (CallPath) o;
+
+        // Cheapest first: paths that collide on hash code mostly differ in their positions.
+        return hashCode == callPath.hashCode &&
+                removeImports == callPath.removeImports &&
+                lineNumber == callPath.lineNumber &&
+                Arrays.equals(positions, callPath.positions) &&
+                Arrays.equals(names, callPath.names) &&
+                serviceName.equals(callPath.serviceName) &&
+                classOrModuleName.equals(callPath.classOrModuleName) &&
+                methodOrFunctionName.equals(callPath.methodOrFunctionName);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    static class Builder {
+        private final String serviceName;
+        private final String classOrModuleName;
+        private final String methodOrFunctionName;
+        private final boolean removeImports;
+        private final boolean lineNumber;
+        private final ArrayList<String> names = new ArrayList<>();
+        private int[] positions = new int[16];
+        private int size;
+
+        Builder(String serviceName, String classOrModuleName, String methodOrFunctionName, boolean removeImports, boolean lineNumber) {
+            this.serviceName = serviceName;
+            this.classOrModuleName = classOrModuleName;
+            this.methodOrFunctionName = methodOrFunctionName;
+            this.removeImports = removeImports;
+            this.lineNumber = lineNumber;
+        }
+
+        @CanIgnoreReturnValue
+        Builder frame(String className, String methodName, int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+
+            names.add(className);
+            names.add(methodName);
+            positions[size++] = position;
+            return this;
+        }
+
+        CallPath build() {
+            return new CallPath(this);
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package cloud.filibuster.instrumentation.datatypes;
 
 import cloud.filibuster.exceptions.filibuster.FilibusterCallsiteGenerationException;
-import cloud.filibuster.exceptions.filibuster.FilibusterUnknownCallsiteException;
 import cloud.filibuster.junit.server.core.FilibusterCore;
 
+import javax.annotation.Nullable;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
@@ -12,8 +12,6 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Map;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -25,20 +23,18 @@ import static cloud.filibuster.instrumentation.helpers.Property.getCallsiteStack
  * Generate a callsite that is used to in the generation of a distributed execution index.
  */
 public class Callsite {
-    private static final Logger logger = Logger.getLogger(Callsite.class.getName());
-
     private final static ArrayList<String> standardImportedLibraries = new ArrayList<>();
     private final static ArrayList<String> importedLibrariesFromGradle = new ArrayList<>();
 
+    // Null before Java 9, where the stack trace is taken with Thread.getStackTrace.
+    @Nullable
+    private final static CallsiteStackWalker stackWalker;
+
     private final String serviceName;
     private final String classOrModuleName;
     private final String methodOrFunctionName;
     private final CallsiteArguments callsiteArguments;
-    private final String serializedStackTrace;
-    private final String fileName;
-    private final String lineNumber;
-
-    private final ArrayList<Map.Entry<String, String>> filteredStackTrace = new ArrayList<>();
+    private final CallsiteDescriptor descriptor;
 
     static {
         standardImportedLibraries.add("jdk.internal");
@@ -51,6 +47,12 @@ public class Callsite {
         standardImportedLibraries.add("io.grpc");
 
         generateImportedLibrariesListFromGradle();
+
+        if (CallsiteStackWalker.isAvailable()) {
+            stackWalker = new CallsiteStackWalker(standardImportedLibraries, importedLibrariesFromGradle);
+        } else {
+            stackWalker = null;
+        }
     }
 
     /**
@@ -72,41 +74,7 @@ public class Callsite {
         this.methodOrFunctionName = methodOrFunctionName;
         this.callsiteArguments = callsiteArguments;
 
-        computeFilteredStackTrace();
-
-        // If we have no frames, just abort everything.
-        if (filteredStackTrace.size() == 0) {
-            throw new FilibusterUnknownCallsiteException("Filibuster cannot determine the callsite of the remote request.");
-        }
-
-        // When we serialize, should we use hash codes instead?
-        ArrayList<String> arraySerializedArguments = new ArrayList<>();
-        for (Map.Entry<String, String> filteredStackTraceElement : filteredStackTrace) {
-            arraySerializedArguments.add(filteredStackTraceElement.getValue());
-        }
-        this.serializedStackTrace = String.join("", arraySerializedArguments);
-
-        // Get last element and compute callsite file name and line number.
-        Map.Entry<String, String> lastStackTraceElement = filteredStackTrace.get(0);
-        String lastStackTraceElementString = lastStackTraceElement.getValue();
-
-        try {
-            this.fileName = lastStackTraceElementString.substring(lastStackTraceElementString.indexOf('(') + 1, lastStackTraceElementString.indexOf(':'));
-        } catch (StringIndexOutOfBoundsException e) {
-            for (Map.Entry<String, String> filteredStackTraceElement : filteredStackTrace) {
-                logger.log(Level.WARNING, filteredStackTraceElement.getValue());
-            }
-
-            logger.log(Level.SEVERE, "lastStackTraceElementString: " + lastStackTraceElementString);
-
-            throw e;
-        }
-
-        if (getCallsiteLineNumberProperty()) {
-            this.lineNumber = lastStackTraceElementString.substring(lastStackTraceElementString.indexOf(':') + 1, lastStackTraceElementString.indexOf(')'));
-        } else {
-            this.lineNumber = "0";
-        }
+        this.descriptor = computeDescriptor(serviceName, classOrModuleName, methodOrFunctionName);
     }
 
     /**
@@ -173,7 +141,7 @@ public class Callsite {
      * @return string of serialized stack trace.
      */
     public String getSerializedStackTrace() {
-        return serializedStackTrace;
+        return descriptor.getSerializedStackTrace();
     }
 
     /**
@@ -182,7 +150,7 @@ public class Callsite {
      * @return return the filename of the RPC invocation site.
      */
     public String getFileName() {
-        return fileName;
+        return descriptor.getFileName();
     }
 
     /**
@@ -191,45 +159,93 @@ public class Callsite {
      * @return return the line number of the RPC invocation site.
      */
     public String getLineNumber() {
-        return lineNumber;
+        return descriptor.getLineNumber();
     }
 
-    private void computeFilteredStackTrace() {
+    /**
+     * Return the descriptor of the callsite, shared by every callsite with the same call path.
+     *
+     * @return the callsite descriptor.
+     */
+    public CallsiteDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    private static CallsiteDescriptor computeDescriptor(String serviceName, String classOrModuleName, String methodOrFunctionName) {
+        if (stackWalker != null) {
+            return stackWalker.getDescriptor(serviceName, classOrModuleName, methodOrFunctionName);
+        }
+
+        boolean removeImports = getCallsiteRemoveImportsFromStackTraceProperty();
+        boolean includeLineNumber = getCallsiteLineNumberProperty();
+
         StackTraceElement[] ste = Thread.currentThread().getStackTrace();
+        CallPath.Builder callPathBuilder = new CallPath.Builder(serviceName, classOrModuleName, methodOrFunctionName, removeImports, includeLineNumber);
+
         for (StackTraceElement stackTraceElement : ste) {
-            int hashCode = stackTraceElement.hashCode();
-            String stringStackTraceElement = stackTraceElement.toString();
+            callPathBuilder.frame(stackTraceElement.getClassName(), stackTraceElement.getMethodName(), stackTraceElement.getLineNumber());
+        }
 
-            boolean foundInStandardImportedLibraries = false;
+        return CallsiteCache.getDescriptor(callPathBuilder.build(), () -> {
+            ArrayList<Map.Entry<String, String>> filteredStackTrace = new ArrayList<>();
 
-            for (String i : standardImportedLibraries) {
-                if (stringStackTraceElement.contains(i)) {
-                    foundInStandardImportedLibraries = true;
-                    break;
+            for (StackTraceElement stackTraceElement : ste) {
+                int hashCode = stackTraceElement.hashCode();
+                String stringStackTraceElement = stackTraceElement.toString();
+
+                if (! isFilteredStackTraceElement(stringStackTraceElement, removeImports)) {
+                    filteredStackTrace.add(Pair.of(String.valueOf(hashCode), stringStackTraceElement));
                 }
             }
 
-            boolean foundInImportedLibrariesFromGradle = false;
+            return new CallsiteDescriptor(filteredStackTrace, includeLineNumber);
+        });
+    }
 
-            if (getCallsiteRemoveImportsFromStackTraceProperty()) {
-                for (String i : importedLibrariesFromGradle) {
-                    if (stringStackTraceElement.contains(i)) {
-                        foundInImportedLibrariesFromGradle = true;
-                        break;
-                    }
-                }
-            }
+    /**
+     * Whether a frame of the stack trace is left out of the callsite.
+     *
+     * @param stringStackTraceElement printed form of the frame.
+     * @param removeImports whether libraries imported in build.gradle are left out.
+     * @return true if the frame is left out.
+     */
+    static boolean isFilteredStackTraceElement(String stringStackTraceElement, boolean removeImports) {
+        if (containsImportedLibrary(stringStackTraceElement, removeImports)) {
+            return true;
+        }
+
+        boolean notFilibusterOrFilibusterTest =
+                !stringStackTraceElement.contains("cloud.filibuster") ||
+                (stringStackTraceElement.contains("cloud.filibuster") && (stringStackTraceElement.contains("test") || stringStackTraceElement.contains("tutorial")));
+
+        boolean notProxy = !stringStackTraceElement.contains("$Proxy");
 
-            boolean notFilibusterOrFilibusterTest =
-                    !stringStackTraceElement.contains("cloud.filibuster") ||
-                    (stringStackTraceElement.contains("cloud.filibuster") && (stringStackTraceElement.contains("test") || stringStackTraceElement.contains("tutorial")));
+        return ! notFilibusterOrFilibusterTest || ! notProxy;
+    }
 
-            boolean notProxy = !stringStackTraceElement.contains("$Proxy");
+    /**
+     * Whether a frame of the stack trace is in a library that is left out of the callsite.
+     *
+     * @param stringStackTraceElement printed form of the frame, or part of it.
+     * @param removeImports whether libraries imported in build.gradle are left out.
+     * @return true if the frame is in a library that is left out.
+     */
+    static boolean containsImportedLibrary(String stringStackTraceElement, boolean removeImports) {
+        for (String i : standardImportedLibraries) {
+            if (stringStackTraceElement.contains(i)) {
+                return true;
+            }
+        }
 
-            if (! foundInStandardImportedLibraries && ! foundInImportedLibrariesFromGradle && notFilibusterOrFilibusterTest && notProxy) {
-                filteredStackTrace.add(Pair.of(String.valueOf(hashCode), stringStackTraceElement));
+        if (removeImports) {
+            for (String i : importedLibrariesFromGradle) {
+                if (stringStackTraceElement.contains(i)) {
+                    return true;
+                }
             }
         }
+
+        return false;
     }
 
     @SuppressWarnings({"DefaultCharset", "CatchAndPrintStackTrace", "SystemOut"})
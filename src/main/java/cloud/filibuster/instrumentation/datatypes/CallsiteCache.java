@@ -0,0 +1,80 @@
+package cloud.filibuster.instrumentation.datatypes;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Callsite descriptors, by call path.
+ *
+ * Most RPCs are issued from a few call paths, each many times per test, so the stack trace of a path is filtered,
+ * serialized and digested once instead of on every call.  The cache is bounded: when full, it is cleared, as call paths
+ * that are still in use are added back on their next call.
+ */
+public final class CallsiteCache {
+    private static final Logger logger = Logger.getLogger(CallsiteCache.class.getName());
+
+    public static final int CALLSITE_CACHE_SIZE = 1024;
+
+    private static final ConcurrentHashMap<CallPath, CallsiteDescriptor> descriptors = new ConcurrentHashMap<>();
+
+    private static final AtomicLong hits = new AtomicLong();
+
+    private static final AtomicLong misses = new AtomicLong();
+
+    private static final AtomicLong evictions = new AtomicLong();
+
+    private CallsiteCache() {
+
+    }
+
+    static CallsiteDescriptor getDescriptor(CallPath callPath, Supplier<CallsiteDescriptor> descriptorSupplier) {
+        CallsiteDescriptor descriptor = descriptors.get(callPath);
+
+        if (descriptor != null) {
+            hits.incrementAndGet();
+            return descriptor;
+        }
+
+        misses.incrementAndGet();
+        descriptor = descriptorSupplier.get();
+
+        if (descriptors.size() >= CALLSITE_CACHE_SIZE) {
+            int size = descriptors.size();
+            descriptors.clear();
+            evictions.addAndGet(size);
+
+            logger.info("[FILIBUSTER-CALLSITE-CACHE]: cache full, cleared, " +
+                    "hits: " + hits.get() + ", " +
+                    "misses: " + misses.get() + ", " +
+                    "evictions: " + evictions.get());
+        }
+
+        CallsiteDescriptor previousDescriptor = descriptors.putIfAbsent(callPath, descriptor);
+        return previousDescriptor == null ? descriptor : previousDescriptor;
+    }
+
+    /**
+     * Remove every descriptor; metrics are kept.
+     */
+    public static void clear() {
+        descriptors.clear();
+    }
+
+    public static long getHits() {
+        return hits.get();
+    }
+
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    public static long getEvictions() {
+        return evictions.get();
+    }
+
+    public static int getSize() {
+        return descriptors.size();
+    }
+}
@@ -0,0 +1,101 @@
+package cloud.filibuster.instrumentation.datatypes;
+
+import cloud.filibuster.exceptions.filibuster.FilibusterUnknownCallsiteException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The parts of a callsite that only depend on its call path, computed once per path and shared by every callsite issued
+ * from it, along with the execution index components computed from them.
+ */
+public final class CallsiteDescriptor {
+    private static final Logger logger = Logger.getLogger(CallsiteDescriptor.class.getName());
+
+    private final String serializedStackTrace;
+    private final String fileName;
+    private final String lineNumber;
+
+    // Component name and configuration => component.
+    private final ConcurrentHashMap<String, String> components = new ConcurrentHashMap<>();
+
+    /**
+     * Describe a callsite from the frames of its stack trace that are kept.
+     *
+     * @param filteredStackTrace hash code and printed form of each frame, innermost first.
+     * @param includeLineNumber whether the line number of the callsite is recorded.
+     */
+    CallsiteDescriptor(List<Map.Entry<String, String>> filteredStackTrace, boolean includeLineNumber) {
+        // If we have no frames, just abort everything.
+        if (filteredStackTrace.size() == 0) {
+            throw new FilibusterUnknownCallsiteException("Filibuster cannot determine the callsite of the remote request.");
+        }
+
+        // When we serialize, should we use hash codes instead?
+        ArrayList<String> arraySerializedArguments = new ArrayList<>();
+        for (Map.Entry<String, String> filteredStackTraceElement : filteredStackTrace) {
+            arraySerializedArguments.add(filteredStackTraceElement.getValue());
+        }
+        this.serializedStackTrace = String.join("", arraySerializedArguments);
+
+        // Get last element and compute callsite file name and line number.
+        Map.Entry<String, String> lastStackTraceElement = filteredStackTrace.get(0);
+        String lastStackTraceElementString = lastStackTraceElement.getValue();
+
+        try {
+            this.fileName = lastStackTraceElementString.substring(lastStackTraceElementString.indexOf('(') + 1, lastStackTraceElementString.indexOf(':'));
+        } catch (StringIndexOutOfBoundsException e) {
+            for (Map.Entry<String, String> filteredStackTraceElement : filteredStackTrace) {
+                logger.log(Level.WARNING, filteredStackTraceElement.getValue());
+            }
+
+            logger.log(Level.SEVERE, "lastStackTraceElementString: " + lastStackTraceElementString);
+
+            throw e;
+        }
+
+        if (includeLineNumber) {
+            this.lineNumber = lastStackTraceElementString.substring(lastStackTraceElementString.indexOf(':') + 1, lastStackTraceElementString.indexOf(')'));
+        } else {
+            this.lineNumber = "0";
+        }
+    }
+
+    public String getSerializedStackTrace() {
+        return serializedStackTrace;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Return a component computed from this callsite, computing it on first use.
+     *
+     * Components must only depend on the descriptor and the RPC of the callsite, and the name must identify everything
+     * else the component depends on, such as the properties it was computed with.
+     *
+     * @param name name of the component and of its configuration.
+     * @param componentSupplier computes the component.
+     * @return the component.
+     */
+    public String getComponent(String name, Supplier<String> componentSupplier) {
+        String component = components.get(name);
+
+        if (component == null) {
+            component = componentSupplier.get();
+            components.putIfAbsent(name, component);
+        }
+
+        return component;
+    }
+}
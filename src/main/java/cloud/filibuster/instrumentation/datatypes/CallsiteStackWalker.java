@@ -0,0 +1,360 @@
+package cloud.filibuster.instrumentation.datatypes;
+
+import cloud.filibuster.exceptions.filibuster.FilibusterCallsiteGenerationException;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static cloud.filibuster.instrumentation.helpers.Property.getCallsiteLineNumberProperty;
+import static cloud.filibuster.instrumentation.helpers.Property.getCallsiteRemoveImportsFromStackTraceProperty;
+
+/**
+ * Callsite capture through StackWalker, on Java 9 and later.
+ *
+ * Printing a frame is what makes a stack trace expensive, so frames are classified by class, without printing them,
+ * wherever the class decides the outcome: classes under a filtered library, by a prefix trie of class names, and
+ * otherwise by the parts of the printed frame that only depend on the class (class loader, module and file names.)
+ * Filibuster's own frames depend on their method name, which is classified once per class and method.  The frames that
+ * remain make up the call path of the callsite, by class, method and bytecode index; they are only printed, exactly as
+ * Thread.getStackTrace would, and checked, the first time the call path is seen.
+ *
+ * The whole stack is still walked, as every frame that is kept is part of the serialized stack trace.
+ */
+final class CallsiteStackWalker {
+    // Filtered whatever filibuster.callsite.remove_imports_from_stack_trace is set to.
+    private static final int FILTERED = 1;
+
+    // Filtered when filibuster.callsite.remove_imports_from_stack_trace is set.
+    private static final int FILTERED_WHEN_REMOVING_IMPORTS = 2;
+
+    // The method name decides whether the frame is filtered.
+    private static final int BY_METHOD = 4;
+
+    // StackWalker is looked up reflectively, so this compiles against the Java 8 baseline.
+    @Nullable
+    private static final Object stackWalker;
+
+    // (StackWalker, Function) -> Object
+    @Nullable
+    private static final MethodHandle walk;
+
+    // (StackFrame) -> String
+    @Nullable
+    private static final MethodHandle getClassName;
+
+    // (StackFrame) -> String
+    @Nullable
+    private static final MethodHandle getMethodName;
+
+    // (StackFrame) -> int
+    @Nullable
+    private static final MethodHandle getByteCodeIndex;
+
+    // (StackFrame) -> StackTraceElement
+    @Nullable
+    private static final MethodHandle toStackTraceElement;
+
+    static {
+        Object resolvedStackWalker;
+        MethodHandle resolvedWalk;
+        MethodHandle resolvedGetClassName;
+        MethodHandle resolvedGetMethodName;
+        MethodHandle resolvedGetByteCodeIndex;
+        MethodHandle resolvedToStackTraceElement;
+
+        try {
+            Class<?> stackWalkerClass = Class.forName("java.lang.StackWalker");
+            Class<?> optionClass = Class.forName("java.lang.StackWalker$Option");
+            Class<?> stackFrameClass = Class.forName("java.lang.StackWalker$StackFrame");
+
+            // Thread.getStackTrace includes reflection frames, so they are walked as well.
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Object showReflectFrames = Enum.valueOf((Class<? extends Enum>) optionClass, "SHOW_REFLECT_FRAMES");
+
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            resolvedStackWalker = stackWalkerClass.getMethod("getInstance", optionClass).invoke(null, showReflectFrames);
+            resolvedWalk = lookup.unreflect(stackWalkerClass.getMethod("walk", Function.class))
+                    .asType(MethodType.methodType(Object.class, Object.class, Function.class));
+            resolvedGetClassName = lookup.unreflect(stackFrameClass.getMethod("getClassName"))
+                    .asType(MethodType.methodType(String.class, Object.class));
+            resolvedGetMethodName = lookup.unreflect(stackFrameClass.getMethod("getMethodName"))
+                    .asType(MethodType.methodType(String.class, Object.class));
+            resolvedGetByteCodeIndex = lookup.unreflect(stackFrameClass.getMethod("getByteCodeIndex"))
+                    .asType(MethodType.methodType(int.class, Object.class));
+            resolvedToStackTraceElement = lookup.unreflect(stackFrameClass.getMethod("toStackTraceElement"))
+                    .asType(MethodType.methodType(StackTraceElement.class, Object.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            resolvedStackWalker = null;
+            resolvedWalk = null;
+            resolvedGetClassName = null;
+            resolvedGetMethodName = null;
+            resolvedGetByteCodeIndex = null;
+            resolvedToStackTraceElement = null;
+        }
+
+        stackWalker = resolvedStackWalker;
+        walk = resolvedWalk;
+        getClassName = resolvedGetClassName;
+        getMethodName = resolvedGetMethodName;
+        getByteCodeIndex = resolvedGetByteCodeIndex;
+        toStackTraceElement = resolvedToStackTraceElement;
+    }
+
+    // Trie of class name prefixes.
+    private static final class PrefixTrie {
+        private final Map<Character, PrefixTrie> children = new HashMap<>();
+
+        private boolean terminal;
+
+        PrefixTrie(List<String> prefixes) {
+            for (String prefix : prefixes) {
+                PrefixTrie node = this;
+
+                for (int i = 0; i < prefix.length(); i++) {
+                    node = node.children.computeIfAbsent(prefix.charAt(i), c -> new PrefixTrie());
+                }
+
+                node.terminal = true;
+            }
+        }
+
+        private PrefixTrie() {
+
+        }
+
+        boolean matchesPrefixOf(String className) {
+            PrefixTrie node = this;
+
+            for (int i = 0; i < className.length(); i++) {
+                if (node.terminal) {
+                    return true;
+                }
+
+                node = node.children.get(className.charAt(i));
+
+                if (node == null) {
+                    return false;
+                }
+            }
+
+            return node.terminal;
+        }
+    }
+
+    // Classification of the frames of one class.
+    private static final class ClassClassification {
+        final int classification;
+
+        // Classification by method name, when the class has BY_METHOD set.
+        final ConcurrentHashMap<String, Integer> methodClassifications = new ConcurrentHashMap<>();
+
+        ClassClassification(int classification) {
+            this.classification = classification;
+        }
+    }
+
+    private final PrefixTrie standardImportedLibraries;
+
+    private final PrefixTrie importedLibrariesFromGradle;
+
+    private final ConcurrentHashMap<String, ClassClassification> classClassifications = new ConcurrentHashMap<>();
+
+    CallsiteStackWalker(List<String> standardImportedLibraries, List<String> importedLibrariesFromGradle) {
+        this.standardImportedLibraries = new PrefixTrie(standardImportedLibraries);
+        this.importedLibrariesFromGradle = new PrefixTrie(importedLibrariesFromGradle);
+    }
+
+    static boolean isAvailable() {
+        return stackWalker != null;
+    }
+
+    /**
+     * Return the descriptor of the callsite of the current stack, computing it if its call path was not seen before.
+     *
+     * The call path is made of the frames that are not filtered by class or, for Filibuster's own classes, by method,
+     * without printing any of them; frames are only printed when the descriptor is computed.
+     *
+     * @param serviceName service name that is being invoked.
+     * @param classOrModuleName class or module name of the stub that is being used during the invocation.
+     * @param methodOrFunctionName remote RPC method that is being invoked.
+     * @return the callsite descriptor.
+     */
+    @SuppressWarnings("NullAway")
+    CallsiteDescriptor getDescriptor(String serviceName, String classOrModuleName, String methodOrFunctionName) {
+        boolean removeImports = getCallsiteRemoveImportsFromStackTraceProperty();
+        boolean includeLineNumber = getCallsiteLineNumberProperty();
+        int filteredMask = removeImports ? FILTERED | FILTERED_WHEN_REMOVING_IMPORTS : FILTERED;
+
+        CallPath.Builder callPathBuilder = new CallPath.Builder(serviceName, classOrModuleName, methodOrFunctionName, removeImports, includeLineNumber);
+        List<Object> unfilteredFrames = new ArrayList<>();
+
+        Function<Stream<Object>, Void> walkFunction = frames -> {
+            frames.forEach(frame -> {
+                String className = invokeGetClassName(frame);
+                ClassClassification classClassification = classClassifications.get(className);
+
+                if (classClassification == null) {
+                    classClassification = classClassifications.computeIfAbsent(className, k -> classifyClass(k, frame));
+                }
+
+                int classification = classClassification.classification;
+
+                if ((classification & filteredMask) != 0) {
+                    return;
+                }
+
+                String methodName = invokeGetMethodName(frame);
+
+                if ((classification & BY_METHOD) != 0 && (classifyMethod(classClassification, methodName, frame) & filteredMask) != 0) {
+                    return;
+                }
+
+                callPathBuilder.frame(className, methodName, invokeGetByteCodeIndex(frame));
+                unfilteredFrames.add(frame);
+            });
+
+            return null;
+        };
+
+        try {
+            Object unused = walk.invokeExact(stackWalker, walkFunction);
+        } catch (Throwable t) {
+            throw new FilibusterCallsiteGenerationException("cannot walk the stack to generate the callsite.", t);
+        }
+
+        return CallsiteCache.getDescriptor(callPathBuilder.build(), () -> {
+            List<Map.Entry<String, String>> filteredStackTrace = new ArrayList<>();
+
+            for (Object frame : unfilteredFrames) {
+                StackTraceElement stackTraceElement = invokeToStackTraceElement(frame);
+                String stringStackTraceElement = stackTraceElement.toString();
+
+                if (!Callsite.isFilteredStackTraceElement(stringStackTraceElement, removeImports)) {
+                    filteredStackTrace.add(Pair.of(String.valueOf(stackTraceElement.hashCode()), stringStackTraceElement));
+                }
+            }
+
+            return new CallsiteDescriptor(filteredStackTrace, includeLineNumber);
+        });
+    }
+
+    // Classify a class by the first of its frames that is walked.
+    private ClassClassification classifyClass(String className, Object frame) {
+        // A printed frame contains its class name, so a class under a filtered library is always filtered.
+        if (standardImportedLibraries.matchesPrefixOf(className)) {
+            return new ClassClassification(FILTERED);
+        }
+
+        int classification = 0;
+
+        if (importedLibrariesFromGradle.matchesPrefixOf(className)) {
+            classification |= FILTERED_WHEN_REMOVING_IMPORTS;
+        }
+
+        // Parts of the printed frame that only depend on the class, separated by a line feed where the method name and
+        // line number are, so that no pattern matches across them.
+        String methodName = invokeGetMethodName(frame);
+        String stringStackTraceElement = invokeToStackTraceElement(frame).toString();
+        int methodStart = stringStackTraceElement.lastIndexOf('.' + methodName + '(');
+        int lineNumberStart = stringStackTraceElement.lastIndexOf(':');
+
+        if (methodStart < 0) {
+            return new ClassClassification(classification | BY_METHOD);
+        }
+
+        StringBuilder classString = new StringBuilder();
+        classString.append(stringStackTraceElement, 0, methodStart).append('\n');
+
+        if (lineNumberStart > methodStart) {
+            classString.append(stringStackTraceElement, methodStart + methodName.length() + 2, lineNumberStart).append('\n');
+        } else {
+            classString.append(stringStackTraceElement, methodStart + methodName.length() + 2, stringStackTraceElement.length());
+        }
+
+        // Patterns only ever add to the printed frame, so a pattern found here is found in every frame of the class.
+        if (Callsite.containsImportedLibrary(classString.toString(), /* removeImports= */ false)) {
+            return new ClassClassification(FILTERED);
+        }
+
+        if (Callsite.containsImportedLibrary(classString.toString(), /* removeImports= */ true)) {
+            classification |= FILTERED_WHEN_REMOVING_IMPORTS;
+        }
+
+        // Frames of Filibuster are filtered, except for tests and tutorials, which the method name can decide; so are
+        // proxies, which are rare enough to be classified the same way.
+        if (Callsite.isFilteredStackTraceElement(classString.toString(), /* removeImports= */ false)) {
+            classification |= BY_METHOD;
+        }
+
+        return new ClassClassification(classification);
+    }
+
+    // Classify a frame of a class that is classified by method name.
+    private static int classifyMethod(ClassClassification classClassification, String methodName, Object frame) {
+        Integer methodClassification = classClassification.methodClassifications.get(methodName);
+
+        if (methodClassification == null) {
+            // The printed frame only differs between calls to the same method by its line number.
+            String stringStackTraceElement = invokeToStackTraceElement(frame).toString();
+            int classification = 0;
+
+            if (Callsite.isFilteredStackTraceElement(stringStackTraceElement, /* removeImports= */ false)) {
+                classification |= FILTERED;
+            }
+
+            if (Callsite.isFilteredStackTraceElement(stringStackTraceElement, /* removeImports= */ true)) {
+                classification |= FILTERED_WHEN_REMOVING_IMPORTS;
+            }
+
+            methodClassification = classification;
+            classClassification.methodClassifications.putIfAbsent(methodName, methodClassification);
+        }
+
+        return methodClassification;
+    }
+
+    @SuppressWarnings("NullAway")
+    private static String invokeGetClassName(Object frame) {
+        try {
+            return (String) getClassName.invokeExact(frame);
+        } catch (Throwable t) {
+            throw new FilibusterCallsiteGenerationException("cannot walk the stack to generate the callsite.", t);
+        }
+    }
+
+    @SuppressWarnings("NullAway")
+    private static String invokeGetMethodName(Object frame) {
+        try {
+            return (String) getMethodName.invokeExact(frame);
+        } catch (Throwable t) {
+            throw new FilibusterCallsiteGenerationException("cannot walk the stack to generate the callsite.", t);
+        }
+    }
+
+    @SuppressWarnings("NullAway")
+    private static int invokeGetByteCodeIndex(Object frame) {
+        try {
+            return (int) getByteCodeIndex.invokeExact(frame);
+        } catch (Throwable t) {
+            throw new FilibusterCallsiteGenerationException("cannot walk the stack to generate the callsite.", t);
+        }
+    }
+
+    @SuppressWarnings("NullAway")
+    private static StackTraceElement invokeToStackTraceElement(Object frame) {
+        try {
+            return (StackTraceElement) toStackTraceElement.invokeExact(frame);
+        } catch (Throwable t) {
+            throw new FilibusterCallsiteGenerationException("cannot walk the stack to generate the callsite.", t);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package cloud.filibuster.instrumentation.datatypes;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import javax.annotation.Nullable;
+
+import static cloud.filibuster.instrumentation.helpers.Property.getDigestTypeProperty;
+
+/**
+ * Digest algorithms for execution index components, selected with filibuster.digest.type.
+ *
+ * Both are deterministic, so execution indexes are stable across runs, but they produce different digests:
+ * counterexamples must be replayed with the algorithm they were recorded with.
+ */
+public enum FilibusterDigestType {
+    // 160-bit SHA-1, with a digester reused per thread.
+    SHA1 {
+        @Override
+        @Nullable
+        public byte[] digest(byte[] input) {
+            MessageDigest messageDigest = sha1Digesters.get();
+
+            if (messageDigest == null) {
+                return null;
+            }
+
+            messageDigest.reset();
+            return messageDigest.digest(input);
+        }
+    },
+
+    // 128-bit MurmurHash3 (x64 variant, seed 0); not cryptographic, but several times faster than SHA-1.
+    MURMUR3_128 {
+        @Override
+        public byte[] digest(byte[] input) {
+            return murmur3x64128(input);
+        }
+    };
+
+    // Null on threads where SHA-1 is not available.
+    private static final ThreadLocal<MessageDigest> sha1Digesters = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    });
+
+    private static final long C1 = 0x87c37b91114253d5L;
+
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    /**
+     * Digest a byte array.
+     *
+     * @param input bytes to digest.
+     * @return the digest, or null if the algorithm is not available.
+     */
+    @Nullable
+    public abstract byte[] digest(byte[] input);
+
+    public static FilibusterDigestType getImplType() {
+        return getDigestTypeProperty();
+    }
+
+    private static byte[] murmur3x64128(byte[] data) {
+        long h1 = 0;
+        long h2 = 0;
+        int blocks = data.length / 16;
+
+        for (int i = 0; i < blocks; i++) {
+            long k1 = getLittleEndianLong(data, i * 16);
+            long k2 = getLittleEndianLong(data, i * 16 + 8);
+
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        int tail = blocks * 16;
+        int remaining = data.length - tail;
+
+        if (remaining > 8) {
+            long k2 = 0;
+
+            for (int i = remaining - 1; i >= 8; i--) {
+                k2 ^= (long) (data[tail + i] & 0xff) << ((i - 8) * 8);
+            }
+
+            h2 ^= mixK2(k2);
+        }
+
+        if (remaining > 0) {
+            long k1 = 0;
+
+            for (int i = Math.min(remaining, 8) - 1; i >= 0; i--) {
+                k1 ^= (long) (data[tail + i] & 0xff) << (i * 8);
+            }
+
+            h1 ^= mixK1(k1);
+        }
+
+        h1 ^= data.length;
+        h2 ^= data.length;
+
+        h1 += h2;
+        h2 += h1;
+
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+
+        h1 += h2;
+        h2 += h1;
+
+        byte[] result = new byte[16];
+
+        for (int i = 0; i < 8; i++) {
+            result[i] = (byte) (h1 >>> (i * 8));
+            result[i + 8] = (byte) (h2 >>> (i * 8));
+        }
+
+        return result;
+    }
+
+    private static long getLittleEndianLong(byte[] data, int offset) {
+        long result = 0;
+
+        for (int i = 7; i >= 0; i--) {
+            result = result << 8 | (data[offset + i] & 0xff);
+        }
+
+        return result;
+    }
+
+    private static long mixK1(long k1) {
+        return Long.rotateLeft(k1 * C1, 31) * C2;
+    }
+
+    private static long mixK2(long k2) {
+        return Long.rotateLeft(k2 * C2, 33) * C1;
+    }
+
+    private static long fmix64(long k) {
+        long result = k;
+        result ^= result >>> 33;
+        result *= 0xff51afd7ed558ccdL;
+        result ^= result >>> 33;
+        result *= 0xc4ceb9fe1a85ec53L;
+        result ^= result >>> 33;
+        return result;
+    }
+}
@@ -1,22 +1,32 @@
 package cloud.filibuster.instrumentation.datatypes;
 
-import cloud.filibuster.instrumentation.libraries.armeria.http.FilibusterDecoratingHttpClient;
 import com.linecorp.armeria.client.ClientFactory;
 import com.linecorp.armeria.client.WebClient;
 import com.linecorp.armeria.common.util.EventLoopGroups;
 import io.netty.channel.EventLoopGroup;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
 
 /**
  * Helper class for building executor services, thread pools, event loop groups, and web clients.
  */
 public class FilibusterExecutor {
-    private static final int MAX_FILIBUSTER_INSTRUMENTATION_THREADS = 200;
+    private static final Logger logger = Logger.getLogger(FilibusterExecutor.class.getName());
+
+    private static final FilibusterExecutorType executorType = FilibusterExecutorType.getImplType();
 
     // ExecutorService used explicitly for sending messages to the Filibuster instrumentation server.
-    private static final ExecutorService executorService = Executors.newFixedThreadPool(MAX_FILIBUSTER_INSTRUMENTATION_THREADS);
+    private static final FilibusterInstrumentedExecutorService executorService = createExecutorService();
+
+    private static FilibusterInstrumentedExecutorService createExecutorService() {
+        logger.info("[FILIBUSTER-EXECUTOR]: using executor type " + executorType + ".");
+        return new FilibusterInstrumentedExecutorService(executorType.createExecutorService());
+    }
 
     /**
      * Get access to the executor service that's a reserved pool of threads for instrumentation calls to the
@@ -28,16 +38,82 @@ public class FilibusterExecutor {
         return executorService;
     }
 
-    // Private thread group for event loops.
-    private static final int MAX_SERVER_EVENT_LOOP_THREADS = 100;
+    /**
+     * The type of the executor service for instrumentation calls, set by filibuster.executor.type.
+     *
+     * @return the executor type.
+     */
+    public static FilibusterExecutorType getExecutorType() {
+        return executorType;
+    }
+
+    /**
+     * Instrumentation calls submitted but not yet started.
+     *
+     * @return queue depth.
+     */
+    public static long getQueuedTasks() {
+        return executorService.getQueuedTasks();
+    }
 
     /**
-     * Return a new event loop group of the default size.
+     * Instrumentation calls currently running, i.e., threads in use.
+     *
+     * @return running tasks.
+     */
+    public static int getRunningTasks() {
+        return executorService.getRunningTasks();
+    }
+
+    public static int getPeakRunningTasks() {
+        return executorService.getPeakRunningTasks();
+    }
+
+    public static long getCompletedTasks() {
+        return executorService.getCompletedTasks();
+    }
+
+    // Shared timer used by the client instrumentation to apply injected latency.
+    private static final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "filibuster-latency-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Get access to the shared timer used for applying injected latency.
+     *
+     * @return reference to the scheduled executor service used for delays.
+     */
+    public static ScheduledExecutorService getScheduledExecutorService() {
+        return scheduledExecutorService;
+    }
+
+    /**
+     * Return a future that completes, on the shared timer, after the given delay.
+     *
+     * @param milliseconds the delay in milliseconds.
+     * @return future completed once the delay has elapsed.
+     */
+    public static CompletableFuture<Void> delay(long milliseconds) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        if (milliseconds <= 0) {
+            future.complete(null);
+        } else {
+            scheduledExecutorService.schedule(() -> future.complete(null), milliseconds, TimeUnit.MILLISECONDS);
+        }
+
+        return future;
+    }
+
+    /**
+     * Return a new event loop group of the default size for the executor type.
      *
      * @return new event loop group, per call.
      */
     public static EventLoopGroup getNewEventLoopGroup() {
-        return EventLoopGroups.newEventLoopGroup(MAX_SERVER_EVENT_LOOP_THREADS);
+        return EventLoopGroups.newEventLoopGroup(executorType.getEventLoopThreads());
     }
 
     /**
@@ -69,10 +145,10 @@ public class FilibusterExecutor {
      * Return a web client from the common pool.
      *
      * @param baseURI the base URI for the web client.
-     * @return a new web client.
+     * @return the shared web client for the base URI.
      */
     public static WebClient getWebClient(String baseURI) {
-        return WebClient.builder(baseURI).build();
+        return FilibusterWebClientRegistry.getWebClient(baseURI);
     }
 
     /**
@@ -80,11 +156,16 @@ public class FilibusterExecutor {
      *
      * @param baseURI the base URI for the web client.
      * @param serviceName the name of the service issuing the call.
-     * @return a new web client.
+     * @return the shared decorated web client for the base URI and service.
      */
     public static WebClient getDecoratedWebClient(String baseURI, String serviceName) {
-        return WebClient.builder(baseURI)
-                .decorator(delegate -> new FilibusterDecoratingHttpClient(delegate, serviceName))
-                .build();
+        return FilibusterWebClientRegistry.getDecoratedWebClient(baseURI, serviceName);
+    }
+
+    /**
+     * Close the web clients of the common pool, and their connections, when the Filibuster server goes away.
+     */
+    public static void resetWebClients() {
+        FilibusterWebClientRegistry.reset();
     }
 }
@@ -0,0 +1,125 @@
+package cloud.filibuster.instrumentation.datatypes;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static cloud.filibuster.instrumentation.helpers.Property.getExecutorTypeProperty;
+
+/**
+ * Executors available for instrumentation calls to the Filibuster server, selected with filibuster.executor.type.
+ */
+public enum FilibusterExecutorType {
+    // Up to 200 platform threads, created on demand and reclaimed when idle.  Safe when tasks block on the server.
+    FIXED {
+        @Override
+        public ExecutorService createExecutorService() {
+            ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+                    MAX_FIXED_THREADS,
+                    MAX_FIXED_THREADS,
+                    IDLE_THREAD_TIMEOUT_SECONDS,
+                    TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    createDaemonThreadFactory());
+            threadPoolExecutor.allowCoreThreadTimeOut(true);
+            return threadPoolExecutor;
+        }
+
+        @Override
+        public int getEventLoopThreads() {
+            return MAX_FIXED_EVENT_LOOP_THREADS;
+        }
+    },
+
+    // One worker per core; tasks that block on a future are compensated for by the pool.
+    WORK_STEALING {
+        @Override
+        public ExecutorService createExecutorService() {
+            return new ForkJoinPool(
+                    getAvailableProcessors(),
+                    pool -> {
+                        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                        thread.setName(THREAD_NAME_PREFIX + thread.getPoolIndex());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    /* handler= */ null,
+                    /* asyncMode= */ true);
+        }
+
+        @Override
+        public int getEventLoopThreads() {
+            return 2 * getAvailableProcessors();
+        }
+    },
+
+    // A virtual thread per task; requires JDK 21, otherwise WORK_STEALING is used.
+    VIRTUAL {
+        @Override
+        public ExecutorService createExecutorService() {
+            try {
+                // Looked up reflectively, so this compiles against the Java 8 baseline.
+                Method newVirtualThreadPerTaskExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                logger.warning("[FILIBUSTER-EXECUTOR]: virtual threads are not available on this JVM, using " + WORK_STEALING + " instead: " + e);
+                return WORK_STEALING.createExecutorService();
+            }
+        }
+
+        @Override
+        public int getEventLoopThreads() {
+            return 2 * getAvailableProcessors();
+        }
+    };
+
+    private static final Logger logger = Logger.getLogger(FilibusterExecutorType.class.getName());
+
+    private static final int MAX_FIXED_THREADS = 200;
+
+    private static final int MAX_FIXED_EVENT_LOOP_THREADS = 100;
+
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60;
+
+    private static final String THREAD_NAME_PREFIX = "filibuster-instrumentation-";
+
+    /**
+     * Create the executor service for instrumentation calls to the Filibuster server.
+     *
+     * @return a new executor service.
+     */
+    public abstract ExecutorService createExecutorService();
+
+    /**
+     * Number of threads for event loop groups of the default size.
+     *
+     * @return number of event loop threads.
+     */
+    public abstract int getEventLoopThreads();
+
+    public static FilibusterExecutorType getImplType() {
+        return getExecutorTypeProperty();
+    }
+
+    private static int getAvailableProcessors() {
+        return Math.max(2, Runtime.getRuntime().availableProcessors());
+    }
+
+    private static ThreadFactory createDaemonThreadFactory() {
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
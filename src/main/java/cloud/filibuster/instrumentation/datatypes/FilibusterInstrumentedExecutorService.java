@@ -0,0 +1,105 @@
+package cloud.filibuster.instrumentation.datatypes;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor service that counts the tasks it runs, whatever executor service it delegates to.
+ */
+public final class FilibusterInstrumentedExecutorService extends AbstractExecutorService {
+    private final ExecutorService delegate;
+
+    private final AtomicLong submittedTasks = new AtomicLong();
+
+    private final AtomicLong completedTasks = new AtomicLong();
+
+    private final AtomicInteger runningTasks = new AtomicInteger();
+
+    private final AtomicInteger peakRunningTasks = new AtomicInteger();
+
+    public FilibusterInstrumentedExecutorService(ExecutorService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        submittedTasks.incrementAndGet();
+
+        try {
+            delegate.execute(() -> {
+                int currentlyRunningTasks = runningTasks.incrementAndGet();
+                peakRunningTasks.accumulateAndGet(currentlyRunningTasks, Math::max);
+
+                try {
+                    command.run();
+                } finally {
+                    runningTasks.decrementAndGet();
+                    completedTasks.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            submittedTasks.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Tasks submitted but not yet started; approximate while tasks start and finish.
+     *
+     * @return queue depth.
+     */
+    public long getQueuedTasks() {
+        return Math.max(0, submittedTasks.get() - completedTasks.get() - runningTasks.get());
+    }
+
+    /**
+     * Tasks currently running, i.e., threads in use.
+     *
+     * @return running tasks.
+     */
+    public int getRunningTasks() {
+        return runningTasks.get();
+    }
+
+    public int getPeakRunningTasks() {
+        return peakRunningTasks.get();
+    }
+
+    public long getSubmittedTasks() {
+        return submittedTasks.get();
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks.get();
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,177 @@
+package cloud.filibuster.instrumentation.datatypes;
+
+import cloud.filibuster.instrumentation.libraries.armeria.http.FilibusterDecoratingHttpClient;
+import com.linecorp.armeria.client.ClientFactory;
+import com.linecorp.armeria.client.ConnectionPoolListener;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.util.EventLoopGroups;
+import io.netty.util.AttributeMap;
+
+import javax.annotation.Nullable;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Long-lived web clients for traffic between the instrumentation and the Filibuster server, keyed by base URI.
+ *
+ * Clients share one client factory, so connections are kept alive and reused across RPCs instead of being set up for
+ * every call.  The pool is bounded: HTTP/2 multiplexes requests over at most one connection per event loop and
+ * endpoint, and the factory has a fixed number of event loops.  Call reset when the server goes away, so clients
+ * do not hold on to connections to a server that was stopped.
+ */
+public final class FilibusterWebClientRegistry {
+    private static final Logger logger = Logger.getLogger(FilibusterWebClientRegistry.class.getName());
+
+    private static final int MAX_EVENT_LOOP_THREADS = 4;
+
+    private static final long IDLE_TIMEOUT_MILLISECONDS = 60_000;
+
+    // Keeps idle HTTP/2 connections alive, and detects dead ones, between iterations.
+    private static final long PING_INTERVAL_MILLISECONDS = 10_000;
+
+    // Connection churn.
+    private static final AtomicLong connectionsOpened = new AtomicLong();
+
+    private static final AtomicLong connectionsClosed = new AtomicLong();
+
+    private static final AtomicLong webClientsCreated = new AtomicLong();
+
+    private static final AtomicLong resets = new AtomicLong();
+
+    private static final class Pool {
+        private final ClientFactory clientFactory;
+
+        // Base URI and, for decorated clients, the service name => client.
+        private final ConcurrentHashMap<String, WebClient> webClients = new ConcurrentHashMap<>();
+
+        Pool(ClientFactory clientFactory) {
+            this.clientFactory = clientFactory;
+        }
+    }
+
+    private static final Object poolLock = new Object();
+
+    @Nullable
+    private static volatile Pool pool;
+
+    private FilibusterWebClientRegistry() {
+
+    }
+
+    private static ClientFactory createClientFactory() {
+        return ClientFactory.builder()
+                .workerGroup(EventLoopGroups.newEventLoopGroup(MAX_EVENT_LOOP_THREADS, "filibuster-instrumentation-client", /* useDaemonThreads= */true), /* shutdownOnClose= */true)
+                .maxNumEventLoopsPerEndpoint(MAX_EVENT_LOOP_THREADS)
+                .maxNumEventLoopsPerHttp1Endpoint(MAX_EVENT_LOOP_THREADS)
+                .idleTimeoutMillis(IDLE_TIMEOUT_MILLISECONDS)
+                .pingIntervalMillis(PING_INTERVAL_MILLISECONDS)
+                .connectionPoolListener(new ConnectionPoolListener() {
+                    @Override
+                    public void connectionOpen(SessionProtocol protocol, InetSocketAddress remoteAddr, InetSocketAddress localAddr, AttributeMap attrs) {
+                        connectionsOpened.incrementAndGet();
+                    }
+
+                    @Override
+                    public void connectionClosed(SessionProtocol protocol, InetSocketAddress remoteAddr, InetSocketAddress localAddr, AttributeMap attrs) {
+                        connectionsClosed.incrementAndGet();
+                    }
+                })
+                .build();
+    }
+
+    private static Pool getPool() {
+        Pool currentPool = pool;
+
+        if (currentPool == null) {
+            synchronized (poolLock) {
+                currentPool = pool;
+
+                if (currentPool == null) {
+                    currentPool = new Pool(createClientFactory());
+                    pool = currentPool;
+                }
+            }
+        }
+
+        return currentPool;
+    }
+
+    /**
+     * Return the web client for a base URI, creating it on first use.
+     *
+     * @param baseURI the base URI for the web client.
+     * @return the shared web client.
+     */
+    public static WebClient getWebClient(String baseURI) {
+        Pool currentPool = getPool();
+
+        return currentPool.webClients.computeIfAbsent(baseURI, k -> {
+            webClientsCreated.incrementAndGet();
+            return WebClient.builder(baseURI).factory(currentPool.clientFactory).build();
+        });
+    }
+
+    /**
+     * Return the decorated web client for a base URI and service, creating it on first use.
+     *
+     * @param baseURI the base URI for the web client.
+     * @param serviceName the name of the service issuing the call.
+     * @return the shared web client.
+     */
+    public static WebClient getDecoratedWebClient(String baseURI, String serviceName) {
+        Pool currentPool = getPool();
+
+        return currentPool.webClients.computeIfAbsent(baseURI + " " + serviceName, k -> {
+            webClientsCreated.incrementAndGet();
+            return WebClient.builder(baseURI)
+                    .factory(currentPool.clientFactory)
+                    .decorator(delegate -> new FilibusterDecoratingHttpClient(delegate, serviceName))
+                    .build();
+        });
+    }
+
+    /**
+     * Close every client and its connections; clients are created again on next use.
+     */
+    public static void reset() {
+        Pool previousPool;
+
+        synchronized (poolLock) {
+            previousPool = pool;
+            pool = null;
+        }
+
+        if (previousPool != null) {
+            resets.incrementAndGet();
+            previousPool.clientFactory.closeAsync();
+
+            logger.info("[FILIBUSTER-WEB-CLIENT-REGISTRY]: reset, " +
+                    "webClientsCreated: " + webClientsCreated.get() + ", " +
+                    "connectionsOpened: " + connectionsOpened.get() + ", " +
+                    "connectionsClosed: " + connectionsClosed.get());
+        }
+    }
+
+    public static long getConnectionsOpened() {
+        return connectionsOpened.get();
+    }
+
+    public static long getConnectionsClosed() {
+        return connectionsClosed.get();
+    }
+
+    public static long getOpenConnections() {
+        return connectionsOpened.get() - connectionsClosed.get();
+    }
+
+    public static long getWebClientsCreated() {
+        return webClientsCreated.get();
+    }
+
+    public static long getResets() {
+        return resets.get();
+    }
+}
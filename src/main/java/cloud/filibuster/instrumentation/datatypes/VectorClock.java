@@ -4,19 +4,74 @@ import cloud.filibuster.exceptions.vector_clock.VectorClockCloneException;
 import org.json.JSONObject;
 
 import javax.annotation.Nullable;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Vector Clock.
+ *
+ * Actors are interned, once per JVM, to an index into the clocks of every vector clock, so that incrementing a clock
+ * does not allocate and merging is linear in the number of actors.  Clones share their clocks until either is
+ * incremented.
  */
 public class VectorClock implements Cloneable {
-    private JSONObject obj;
+    // Actor identifier => index.
+    private static final ConcurrentHashMap<String, Integer> actorIndexes = new ConcurrentHashMap<>();
+
+    // Index => actor identifier; replaced, under the lock on actorIndexes, when actors are added.
+    private static volatile String[] actors = new String[0];
+
+    private static final int[] EMPTY_CLOCKS = new int[0];
+
+    // Number of actions plus one, by actor index, so that actors with no entry (0) are told apart from actors with an
+    // entry of 0, as in the JSON representation.
+    private int[] clocks;
+
+    // Whether clocks may be shared with a clone, and has to be copied before it is written to.
+    private boolean shared;
 
     /**
      * Build a new vector clock.
      */
     public VectorClock() {
-        obj = new JSONObject();
+        clocks = EMPTY_CLOCKS;
+        shared = true;
+    }
+
+    private static int getOrCreateActorIndex(String actor) {
+        Integer index = actorIndexes.get(actor);
+
+        if (index != null) {
+            return index;
+        }
+
+        synchronized (actorIndexes) {
+            index = actorIndexes.get(actor);
+
+            if (index == null) {
+                String[] currentActors = actors;
+                String[] newActors = Arrays.copyOf(currentActors, currentActors.length + 1);
+                index = currentActors.length;
+                newActors[index] = actor;
+
+                // Publish the actor before its index, so any index that is found has an actor.
+                actors = newActors;
+                actorIndexes.put(actor, index);
+            }
+
+            return index;
+        }
+    }
+
+    private void set(int index, int value) {
+        if (shared || index >= clocks.length) {
+            clocks = Arrays.copyOf(clocks, Math.max(clocks.length, index + 1));
+            shared = false;
+        }
+
+        clocks[index] = value + 1;
     }
 
     @Override
@@ -29,8 +84,9 @@ public class VectorClock implements Cloneable {
             throw new VectorClockCloneException("cloning not supported for vector clock", e);
         }
 
-        // Deep clone member fields here
-        newVectorClock.obj = new JSONObject(this.obj.toString());
+        // Clocks are copied by whichever is written to first.
+        shared = true;
+        newVectorClock.shared = true;
 
         return newVectorClock;
     }
@@ -42,10 +98,12 @@ public class VectorClock implements Cloneable {
      * @return integer representing the number of actions for that actor.
      */
     public int get(String key) {
-        if (obj.has(key)) {
-            return obj.getInt(key);
-        } else {
+        Integer index = actorIndexes.get(key);
+
+        if (index == null || index >= clocks.length || clocks[index] == 0) {
             return 0;
+        } else {
+            return clocks[index] - 1;
         }
     }
 
@@ -55,19 +113,9 @@ public class VectorClock implements Cloneable {
      * @param key actor identifier.
      */
     public void incrementClock(String key) {
-        // Get current value.
-        int currentValue = 0;
-
-        if (obj.has(key)) {
-            currentValue = obj.getInt(key);
-        }
-
-        // Increment clock.
-        int newValue = currentValue + 1;
-
-        // Replace value.
-        obj.remove(key);
-        obj.put(key, newValue);
+        int index = getOrCreateActorIndex(key);
+        int currentValue = index < clocks.length && clocks[index] != 0 ? clocks[index] - 1 : 0;
+        set(index, currentValue + 1);
     }
 
     /**
@@ -75,7 +123,18 @@ public class VectorClock implements Cloneable {
      *
      * @return serialized vector clock.
      */
-    public JSONObject toJSONObject() { return obj; }
+    public JSONObject toJSONObject() {
+        JSONObject obj = new JSONObject();
+        String[] currentActors = actors;
+
+        for (int i = 0; i < clocks.length; i++) {
+            if (clocks[i] != 0) {
+                obj.put(currentActors[i], clocks[i] - 1);
+            }
+        }
+
+        return obj;
+    }
 
     /**
      * Serialize a vector clock as a string.
@@ -84,7 +143,7 @@ public class VectorClock implements Cloneable {
      */
     @Override
     public String toString() {
-        return obj.toString();
+        return toJSONObject().toString();
     }
 
     /**
@@ -93,7 +152,60 @@ public class VectorClock implements Cloneable {
      * @param jsonString serialized vector clock.
      */
     public void fromString(String jsonString) {
-        obj = new JSONObject(jsonString);
+        JSONObject obj = new JSONObject(jsonString);
+        clocks = EMPTY_CLOCKS;
+        shared = true;
+
+        for (String key : obj.keySet()) {
+            set(getOrCreateActorIndex(key), obj.getInt(key));
+        }
+    }
+
+    /**
+     * Build a vector clock from the number of actions of each actor.
+     *
+     * @param clocks number of actions, by actor identifier.
+     * @return vector clock.
+     */
+    public static VectorClock fromMap(Map<String, Integer> clocks) {
+        VectorClock vectorClock = new VectorClock();
+
+        for (Map.Entry<String, Integer> clock : clocks.entrySet()) {
+            vectorClock.set(getOrCreateActorIndex(clock.getKey()), clock.getValue());
+        }
+
+        return vectorClock;
+    }
+
+    /**
+     * Return the number of actions of each actor.
+     *
+     * @return number of actions, by actor identifier.
+     */
+    public Map<String, Integer> toMap() {
+        Map<String, Integer> clocks = new HashMap<>();
+        String[] currentActors = actors;
+
+        for (int i = 0; i < this.clocks.length; i++) {
+            if (this.clocks[i] != 0) {
+                clocks.put(currentActors[i], this.clocks[i] - 1);
+            }
+        }
+
+        return clocks;
+    }
+
+    // Number of actors with an entry.
+    private int size() {
+        int size = 0;
+
+        for (int clock : clocks) {
+            if (clock != 0) {
+                size++;
+            }
+        }
+
+        return size;
     }
 
     /**
@@ -104,22 +216,16 @@ public class VectorClock implements Cloneable {
      * @return merge vector clock.
      */
     public static VectorClock merge(VectorClock vc1, VectorClock vc2) {
-        VectorClock vc = new VectorClock();
-
-        for (Iterator<String> it = vc1.obj.keys(); it.hasNext(); ) {
-            String key = it.next();
-            vc.obj.put(key, vc1.obj.getInt(key));
-        }
+        int[] longer = vc1.clocks.length >= vc2.clocks.length ? vc1.clocks : vc2.clocks;
+        int[] shorter = longer == vc1.clocks ? vc2.clocks : vc1.clocks;
 
-        for (Iterator<String> it = vc2.obj.keys(); it.hasNext(); ) {
-            String key = it.next();
+        VectorClock vc = new VectorClock();
+        vc.clocks = Arrays.copyOf(longer, longer.length);
+        vc.shared = false;
 
-            if (vc.obj.has(key)) {
-                int currentValue = vc.obj.getInt(key);
-                int newValue = Integer.max(currentValue, vc2.obj.getInt(key));
-                vc.obj.put(key, newValue);
-            } else {
-                vc.obj.put(key, vc2.obj.get(key));
+        for (int i = 0; i < shorter.length; i++) {
+            if (shorter[i] != 0 && (vc.clocks[i] == 0 || shorter[i] > vc.clocks[i])) {
+                vc.clocks[i] = shorter[i];
             }
         }
 
@@ -144,17 +250,21 @@ public class VectorClock implements Cloneable {
             return false;
         }
 
-        for (String key: vc1.obj.keySet()) {
+        for (int i = 0; i < vc1.clocks.length; i++) {
+            if (vc1.clocks[i] == 0) {
+                continue;
+            }
+
             // vc2 has to have at least all the keys vc1 has.
-            if (!vc2.obj.has(key)) {
+            if (i >= vc2.clocks.length || vc2.clocks[i] == 0) {
                 return false;
             } else {
                 // vc2's value has to be equal or greater.
-                if (vc2.obj.getInt(key) < vc1.obj.getInt(key)) {
+                if (vc2.clocks[i] < vc1.clocks[i]) {
                     return false;
                 } else {
                     // keep track of whether it's greater.
-                    if (vc2.obj.getInt(key) > vc1.obj.getInt(key)) {
+                    if (vc2.clocks[i] > vc1.clocks[i]) {
                         atLeastOneKeyGreater = true;
                     }
                 }
@@ -168,7 +278,7 @@ public class VectorClock implements Cloneable {
             // from those participants, then we're good.
             return true;
         } else {
-            return vc2.obj.length() > vc1.obj.length();
+            return vc2.size() > vc1.size();
         }
     }
 }
@@ -0,0 +1,165 @@
+package cloud.filibuster.instrumentation.helpers;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static cloud.filibuster.instrumentation.helpers.Counterexample.loadCounterexampleAsJSONObject;
+import static cloud.filibuster.instrumentation.helpers.Counterexample.loadTestExecutionFromCounterexample;
+
+/**
+ * A counterexample loaded for replay, with its failures indexed by distributed execution index.
+ *
+ * The counterexample file named by filibuster.instrumentation.counterexample.file is parsed once per process and
+ * shared by every instrumentor; it is only parsed again when the file's modification time or size changes.
+ */
+public final class CounterexampleReplay {
+    private final JSONObject counterexample;
+
+    private final JSONObject testExecution;
+
+    // Distributed execution index => failure to inject.
+    private final Map<String, JSONObject> failuresByDistributedExecutionIndex;
+
+    private static final class LoadedCounterexample {
+        private final String fileName;
+
+        private final long lastModified;
+
+        private final long length;
+
+        private final CounterexampleReplay counterexampleReplay;
+
+        LoadedCounterexample(String fileName, long lastModified, long length, CounterexampleReplay counterexampleReplay) {
+            this.fileName = fileName;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.counterexampleReplay = counterexampleReplay;
+        }
+
+        boolean isCurrent(String fileName, long lastModified, long length) {
+            return Objects.equals(this.fileName, fileName) && this.lastModified == lastModified && this.length == length;
+        }
+    }
+
+    private static final Object loadLock = new Object();
+
+    @Nullable
+    private static volatile LoadedCounterexample loadedCounterexample;
+
+    private CounterexampleReplay(JSONObject counterexample, JSONObject testExecution) {
+        this.counterexample = counterexample;
+        this.testExecution = testExecution;
+        this.failuresByDistributedExecutionIndex = new HashMap<>();
+
+        JSONArray failures = testExecution.getJSONArray("failures");
+
+        for (int i = 0; i < failures.length(); i++) {
+            JSONObject failure = failures.getJSONObject(i);
+
+            // As with a linear scan, the first failure for an execution index wins.
+            failuresByDistributedExecutionIndex.putIfAbsent(failure.getString("execution_index"), failure);
+        }
+    }
+
+    /**
+     * Build a replay for a counterexample.
+     *
+     * @param counterexample the counterexample.
+     * @return the replay.
+     */
+    public static CounterexampleReplay fromCounterexample(JSONObject counterexample) {
+        return new CounterexampleReplay(counterexample, loadTestExecutionFromCounterexample(counterexample));
+    }
+
+    /**
+     * Return the replay for the counterexample file named by filibuster.instrumentation.counterexample.file,
+     * parsing it only if it was not already parsed or has changed since.
+     *
+     * @return the replay, or null if no counterexample file is provided.
+     */
+    @Nullable
+    public static CounterexampleReplay fromEnvironment() {
+        String counterexampleFileName = Property.getInstrumentationCounterexampleFileProperty();
+
+        if (counterexampleFileName == null || counterexampleFileName.isEmpty()) {
+            return null;
+        }
+
+        File counterexampleFile = new File(counterexampleFileName);
+
+        if (!counterexampleFile.exists()) {
+            return null;
+        }
+
+        long lastModified = counterexampleFile.lastModified();
+        long length = counterexampleFile.length();
+
+        LoadedCounterexample currentlyLoadedCounterexample = loadedCounterexample;
+
+        if (currentlyLoadedCounterexample != null && currentlyLoadedCounterexample.isCurrent(counterexampleFileName, lastModified, length)) {
+            return currentlyLoadedCounterexample.counterexampleReplay;
+        }
+
+        synchronized (loadLock) {
+            currentlyLoadedCounterexample = loadedCounterexample;
+
+            if (currentlyLoadedCounterexample == null || !currentlyLoadedCounterexample.isCurrent(counterexampleFileName, lastModified, length)) {
+                CounterexampleReplay counterexampleReplay = fromCounterexample(loadCounterexampleAsJSONObject(counterexampleFileName));
+                currentlyLoadedCounterexample = new LoadedCounterexample(counterexampleFileName, lastModified, length, counterexampleReplay);
+                loadedCounterexample = currentlyLoadedCounterexample;
+            }
+
+            return currentlyLoadedCounterexample.counterexampleReplay;
+        }
+    }
+
+    /**
+     * Forget the parsed counterexample file, so it is parsed again on next use.
+     */
+    public static void reset() {
+        loadedCounterexample = null;
+    }
+
+    public JSONObject getCounterexample() {
+        return counterexample;
+    }
+
+    public JSONObject getTestExecution() {
+        return testExecution;
+    }
+
+    /**
+     * Return the failure to inject for a distributed execution index.
+     *
+     * @param distributedExecutionIndex the distributed execution index.
+     * @return the failure, or null if the request should not fail.
+     */
+    @Nullable
+    public JSONObject shouldFailRequestWith(String distributedExecutionIndex) {
+        return failuresByDistributedExecutionIndex.get(distributedExecutionIndex);
+    }
+
+    /**
+     * Return the failure to inject for a distributed execution index, or a response injecting no failure.
+     *
+     * @param distributedExecutionIndex the distributed execution index.
+     * @return the failure or default response.
+     */
+    public JSONObject shouldFailRequestWithOrDefault(String distributedExecutionIndex) {
+        JSONObject failure = shouldFailRequestWith(distributedExecutionIndex);
+
+        if (failure == null) {
+            JSONObject response = new JSONObject();
+            response.put("execution_index", distributedExecutionIndex);
+            return response;
+        }
+
+        return failure;
+    }
+}
@@ -1,9 +1,11 @@
 package cloud.filibuster.instrumentation.helpers;
 
+import cloud.filibuster.instrumentation.datatypes.FilibusterDigestType;
+
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Formatter;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Hashing function for use when hashing call sites for use in execution indexes.
@@ -14,21 +16,102 @@ public class Hashing {
 
     }
 
+    // Number of digests remembered per digest type, across all segments.
+    public static final int DIGEST_CACHE_SIZE = 4096;
+
+    private static final int DIGEST_CACHE_SEGMENTS = 16;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final Map<FilibusterDigestType, DigestCache> digestCaches = new EnumMap<>(FilibusterDigestType.class);
+
+    static {
+        for (FilibusterDigestType digestType : FilibusterDigestType.values()) {
+            digestCaches.put(digestType, new DigestCache());
+        }
+    }
+
+    // Least recently used digests, by input.  Segmented, so threads pushing different callsites rarely contend.
+    private static final class DigestCache {
+        private final Segment[] segments = new Segment[DIGEST_CACHE_SEGMENTS];
+
+        DigestCache() {
+            for (int i = 0; i < segments.length; i++) {
+                segments[i] = new Segment();
+            }
+        }
+
+        private static final class Segment extends LinkedHashMap<String, String> {
+            private static final long serialVersionUID = 1L;
+
+            Segment() {
+                super(16, 0.75f, /* accessOrder= */ true);
+            }
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > DIGEST_CACHE_SIZE / DIGEST_CACHE_SEGMENTS;
+            }
+        }
+
+        private Segment segmentFor(String input) {
+            int hashCode = input.hashCode();
+            return segments[(hashCode ^ (hashCode >>> 16)) & (DIGEST_CACHE_SEGMENTS - 1)];
+        }
+
+        String get(String input) {
+            Segment segment = segmentFor(input);
+
+            synchronized (segment) {
+                return segment.get(input);
+            }
+        }
+
+        void put(String input, String digest) {
+            Segment segment = segmentFor(input);
+
+            synchronized (segment) {
+                segment.put(input, digest);
+            }
+        }
+    }
+
     /**
-     * Given a string, produce a digest for use in JSON.
+     * Given a string, produce a digest for use in JSON, with the digest type set by filibuster.digest.type.
      *
      * @param inputString string to be converted to a digest
      * @return string or string as hex representation
      */
     public static String createDigest(String inputString) {
-        try {
-            MessageDigest crypt = MessageDigest.getInstance("SHA-1");
-            crypt.reset();
-            crypt.update(inputString.getBytes(StandardCharsets.UTF_8));
-            return byteToHex(crypt.digest());
-        } catch (NoSuchAlgorithmException e) {
-            return inputString;
+        return createDigest(inputString, FilibusterDigestType.getImplType());
+    }
+
+    /**
+     * Given a string, produce a digest for use in JSON.
+     *
+     * Digests of recently seen strings, such as the serialized stack trace of a callsite that is invoked repeatedly,
+     * are remembered.
+     *
+     * @param inputString string to be converted to a digest
+     * @param digestType digest algorithm to use
+     * @return string or string as hex representation
+     */
+    public static String createDigest(String inputString, FilibusterDigestType digestType) {
+        DigestCache digestCache = digestCaches.get(digestType);
+        String digest = digestCache.get(inputString);
+
+        if (digest == null) {
+            byte[] hash = digestType.digest(inputString.getBytes(StandardCharsets.UTF_8));
+
+            if (hash == null) {
+                return inputString;
+            }
+
+            digest = byteToHex(hash);
+            digestCache.put(inputString, digest);
         }
+
+        return digest;
     }
 
     /**
@@ -39,12 +122,13 @@ public class Hashing {
      */
     private static String byteToHex(byte[] hash)
     {
-        Formatter formatter = new Formatter();
-        for (byte b : hash) {
-            formatter.format("%02x", b);
+        char[] hex = new char[hash.length * 2];
+
+        for (int i = 0; i < hash.length; i++) {
+            hex[i * 2] = HEX[(hash[i] >>> 4) & 0xf];
+            hex[i * 2 + 1] = HEX[hash[i] & 0xf];
         }
-        String result = formatter.toString();
-        formatter.close();
-        return result;
+
+        return new String(hex);
     }
 }
@@ -1,6 +1,8 @@
 package cloud.filibuster.instrumentation.helpers;
 
 import cloud.filibuster.dei.DistributedExecutionIndexType;
+import cloud.filibuster.instrumentation.datatypes.FilibusterDigestType;
+import cloud.filibuster.instrumentation.datatypes.FilibusterExecutorType;
 
 import javax.annotation.Nullable;
 
@@ -39,6 +41,77 @@ public class Property {
         }
     }
 
+    /***********************************************************************************
+     ** filibuster.server.protocol.binary
+     ***********************************************************************************/
+
+    private final static String SERVER_PROTOCOL_BINARY = "filibuster.server.protocol.binary";
+
+    public final static boolean SERVER_PROTOCOL_BINARY_DEFAULT = false;
+
+    // Use the binary protocol for per-RPC calls to an out-of-process server; JSON is used if the server lacks it.
+    public static void setServerProtocolBinaryProperty(boolean value) {
+        System.setProperty(SERVER_PROTOCOL_BINARY, String.valueOf(value));
+    }
+
+    public static boolean getServerProtocolBinaryProperty() {
+        String propertyValue = System.getProperty(SERVER_PROTOCOL_BINARY);
+
+        if (isPropertyNull(propertyValue)) {
+            return SERVER_PROTOCOL_BINARY_DEFAULT;
+        } else {
+            return Boolean.valueOf(propertyValue);
+        }
+    }
+
+    /***********************************************************************************
+     ** filibuster.server.protocol.combined_begin
+     ***********************************************************************************/
+
+    private final static String SERVER_PROTOCOL_COMBINED_BEGIN = "filibuster.server.protocol.combined_begin";
+
+    public final static boolean SERVER_PROTOCOL_COMBINED_BEGIN_DEFAULT = true;
+
+    // Ask an out-of-process server whether to reset clocks as part of beginning an RPC, instead of in a separate call
+    // before it; the separate call is used if the server lacks the combined begin.
+    public static void setServerProtocolCombinedBeginProperty(boolean value) {
+        System.setProperty(SERVER_PROTOCOL_COMBINED_BEGIN, String.valueOf(value));
+    }
+
+    public static boolean getServerProtocolCombinedBeginProperty() {
+        String propertyValue = System.getProperty(SERVER_PROTOCOL_COMBINED_BEGIN);
+
+        if (isPropertyNull(propertyValue)) {
+            return SERVER_PROTOCOL_COMBINED_BEGIN_DEFAULT;
+        } else {
+            return Boolean.valueOf(propertyValue);
+        }
+    }
+
+    /***********************************************************************************
+     ** filibuster.server.protocol.batched_end
+     ***********************************************************************************/
+
+    private final static String SERVER_PROTOCOL_BATCHED_END = "filibuster.server.protocol.batched_end";
+
+    public final static boolean SERVER_PROTOCOL_BATCHED_END_DEFAULT = false;
+
+    // Notify an out-of-process server of completed RPCs in the background, in batches, instead of before the RPC returns.
+    // The test only waits for the batches of its own process before completing an iteration.
+    public static void setServerProtocolBatchedEndProperty(boolean value) {
+        System.setProperty(SERVER_PROTOCOL_BATCHED_END, String.valueOf(value));
+    }
+
+    public static boolean getServerProtocolBatchedEndProperty() {
+        String propertyValue = System.getProperty(SERVER_PROTOCOL_BATCHED_END);
+
+        if (isPropertyNull(propertyValue)) {
+            return SERVER_PROTOCOL_BATCHED_END_DEFAULT;
+        } else {
+            return Boolean.valueOf(propertyValue);
+        }
+    }
+
     /***********************************************************************************
      ** filibuster.server.backend.docker_image
      ***********************************************************************************/
@@ -125,6 +198,26 @@ public class Property {
         }
     }
 
+    /***********************************************************************************
+     ** filibuster.digest.type
+     ***********************************************************************************/
+
+    private final static String DIGEST_TYPE = "filibuster.digest.type";
+
+    public static void setDigestTypeProperty(FilibusterDigestType value) {
+        System.setProperty(DIGEST_TYPE, String.valueOf(value));
+    }
+
+    public static FilibusterDigestType getDigestTypeProperty() {
+        String propertyValue = System.getProperty(DIGEST_TYPE);
+
+        if (isPropertyNull(propertyValue)) {
+            return FilibusterDigestType.SHA1;
+        } else {
+            return FilibusterDigestType.valueOf(propertyValue);
+        }
+    }
+
     /***********************************************************************************
      ** filibuster.enabled
      ***********************************************************************************/
@@ -330,6 +423,48 @@ public class Property {
         }
     }
 
+    /***********************************************************************************
+     ** filibuster.instrumentation.async.enabled
+     ***********************************************************************************/
+
+    private final static String INSTRUMENTATION_ASYNC_ENABLED = "filibuster.instrumentation.async.enabled";
+
+    // Client instrumentation defers the call until Filibuster answers instead of blocking the calling thread.
+    public static void setInstrumentationAsyncEnabledProperty(boolean value) {
+        System.setProperty(INSTRUMENTATION_ASYNC_ENABLED, String.valueOf(value));
+    }
+
+    public static boolean getInstrumentationAsyncEnabledProperty() {
+        String propertyValue = System.getProperty(INSTRUMENTATION_ASYNC_ENABLED);
+
+        if (isPropertyNull(propertyValue)) {
+            return false;
+        } else {
+            return Boolean.valueOf(propertyValue);
+        }
+    }
+
+    /***********************************************************************************
+     ** filibuster.executor.type
+     ***********************************************************************************/
+
+    private final static String EXECUTOR_TYPE = "filibuster.executor.type";
+
+    // Read once, when the executor for instrumentation calls is first used.
+    public static void setExecutorTypeProperty(FilibusterExecutorType value) {
+        System.setProperty(EXECUTOR_TYPE, String.valueOf(value));
+    }
+
+    public static FilibusterExecutorType getExecutorTypeProperty() {
+        String propertyValue = System.getProperty(EXECUTOR_TYPE);
+
+        if (isPropertyNull(propertyValue)) {
+            return FilibusterExecutorType.FIXED;
+        } else {
+            return FilibusterExecutorType.valueOf(propertyValue);
+        }
+    }
+
     /***********************************************************************************
      ** filibuster.callsite.stack_trace_whitelist
      ***********************************************************************************/
@@ -385,6 +520,52 @@ public class Property {
         }
     }
 
+    /***********************************************************************************
+     ** filibuster.client_instrumentor.request_context.max_size
+     ***********************************************************************************/
+
+    public static final int CLIENT_INSTRUMENTOR_REQUEST_CONTEXT_MAX_SIZE_DEFAULT = 10000;
+
+    private final static String CLIENT_INSTRUMENTOR_REQUEST_CONTEXT_MAX_SIZE = "filibuster.client_instrumentor.request_context.max_size";
+
+    // Read once, when the client instrumentor is first used.
+    public static void setClientInstrumentorRequestContextMaxSizeProperty(int value) {
+        System.setProperty(CLIENT_INSTRUMENTOR_REQUEST_CONTEXT_MAX_SIZE, String.valueOf(value));
+    }
+
+    public static int getClientInstrumentorRequestContextMaxSizeProperty() {
+        String propertyValue = System.getProperty(CLIENT_INSTRUMENTOR_REQUEST_CONTEXT_MAX_SIZE);
+
+        if (isPropertyNull(propertyValue)) {
+            return CLIENT_INSTRUMENTOR_REQUEST_CONTEXT_MAX_SIZE_DEFAULT;
+        } else {
+            return Integer.parseInt(propertyValue);
+        }
+    }
+
+    /***********************************************************************************
+     ** filibuster.client_instrumentor.request_context.ttl_ms
+     ***********************************************************************************/
+
+    public static final long CLIENT_INSTRUMENTOR_REQUEST_CONTEXT_TTL_MS_DEFAULT = 10 * 60 * 1000;
+
+    private final static String CLIENT_INSTRUMENTOR_REQUEST_CONTEXT_TTL_MS = "filibuster.client_instrumentor.request_context.ttl_ms";
+
+    // Read once, when the client instrumentor is first used.
+    public static void setClientInstrumentorRequestContextTtlMsProperty(long value) {
+        System.setProperty(CLIENT_INSTRUMENTOR_REQUEST_CONTEXT_TTL_MS, String.valueOf(value));
+    }
+
+    public static long getClientInstrumentorRequestContextTtlMsProperty() {
+        String propertyValue = System.getProperty(CLIENT_INSTRUMENTOR_REQUEST_CONTEXT_TTL_MS);
+
+        if (isPropertyNull(propertyValue)) {
+            return CLIENT_INSTRUMENTOR_REQUEST_CONTEXT_TTL_MS_DEFAULT;
+        } else {
+            return Long.parseLong(propertyValue);
+        }
+    }
+
     /***********************************************************************************
      ** filibuster.callsite.line_number
      ***********************************************************************************/
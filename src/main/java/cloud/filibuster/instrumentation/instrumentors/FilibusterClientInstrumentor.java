@@ -2,44 +2,43 @@ package cloud.filibuster.instrumentation.instrumentors;
 
 import cloud.filibuster.dei.DistributedExecutionIndex;
 import cloud.filibuster.dei.DistributedExecutionIndexType;
+import cloud.filibuster.exceptions.filibuster.FilibusterLatencyInjectionException;
 import cloud.filibuster.exceptions.filibuster.FilibusterRuntimeException;
 import cloud.filibuster.instrumentation.datatypes.Callsite;
-import cloud.filibuster.instrumentation.datatypes.CallsiteArguments;
 import cloud.filibuster.instrumentation.datatypes.FilibusterExecutor;
 import cloud.filibuster.instrumentation.datatypes.RequestId;
 import cloud.filibuster.instrumentation.datatypes.VectorClock;
 
+import cloud.filibuster.instrumentation.helpers.CounterexampleReplay;
 import cloud.filibuster.instrumentation.helpers.Networking;
-import cloud.filibuster.instrumentation.helpers.Response;
 import cloud.filibuster.instrumentation.storage.ContextStorage;
-import cloud.filibuster.exceptions.filibuster.FilibusterServerBadResponseException;
+import cloud.filibuster.instrumentation.storage.SnapshotContextStorage;
+import cloud.filibuster.junit.server.FilibusterServerAPI;
 import cloud.filibuster.junit.server.core.FilibusterCore;
+import cloud.filibuster.junit.server.core.invocations.FilibusterFault;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationResponse;
 import com.linecorp.armeria.client.WebClient;
-import com.linecorp.armeria.common.HttpMethod;
-import com.linecorp.armeria.common.ResponseHeaders;
-import com.linecorp.armeria.common.AggregatedHttpResponse;
-import com.linecorp.armeria.common.HttpHeaderNames;
-import com.linecorp.armeria.common.RequestHeaders;
 import org.json.JSONObject;
 
 import javax.annotation.Nullable;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import static cloud.filibuster.instrumentation.helpers.Counterexample.canLoadCounterexample;
-import static cloud.filibuster.instrumentation.helpers.Counterexample.loadCounterexampleAsJSONObjectFromEnvironment;
-import static cloud.filibuster.instrumentation.helpers.Counterexample.loadTestExecutionFromCounterexample;
-import static cloud.filibuster.instrumentation.helpers.Counterexample.shouldFailRequestWithOrDefault;
-
+import static cloud.filibuster.instrumentation.helpers.Property.getClientInstrumentorRequestContextMaxSizeProperty;
+import static cloud.filibuster.instrumentation.helpers.Property.getClientInstrumentorRequestContextTtlMsProperty;
 import static cloud.filibuster.instrumentation.helpers.Property.getClientInstrumentorUseOverrideRequestIdProperty;
+import static cloud.filibuster.instrumentation.helpers.Property.getInstrumentationAsyncEnabledProperty;
 import static cloud.filibuster.instrumentation.helpers.Property.getServerBackendCanInvokeDirectlyProperty;
-import static cloud.filibuster.instrumentation.instrumentors.FilibusterLocks.distributedExecutionIndexLock;
-import static cloud.filibuster.instrumentation.instrumentors.FilibusterLocks.vectorClockLock;
+import static cloud.filibuster.instrumentation.helpers.Property.getServerProtocolBatchedEndProperty;
 
 /**
  * Client instrumentor for Filibuster.
@@ -51,7 +50,8 @@ final public class FilibusterClientInstrumentor {
     /**
      * Mapping between requests and the current vector clock for that request.
      */
-    private static HashMap<String, HashMap<String, VectorClock>> vectorClocksByRequest = new HashMap<>();
+    private static final RequestContextStore<VectorClock> vectorClocksByRequest = new RequestContextStore<>(
+            getClientInstrumentorRequestContextMaxSizeProperty(), getClientInstrumentorRequestContextTtlMsProperty());
 
     private final String outgoingRequestId;
 
@@ -60,24 +60,45 @@ final public class FilibusterClientInstrumentor {
      *
      * @return vector clock request map.
      */
-    public static HashMap<String, HashMap<String, VectorClock>> getVectorClocksByRequest() {
+    public static RequestContextStore<VectorClock> getVectorClocksByRequest() {
         return vectorClocksByRequest;
     }
 
     /**
      * Mapping between requests and the current execution index for that request.
      */
-    private static HashMap<String, HashMap<String, DistributedExecutionIndex>> distributedExecutionIndexByRequest = new HashMap<>();
+    private static final RequestContextStore<DistributedExecutionIndex> distributedExecutionIndexByRequest = new RequestContextStore<>(
+            getClientInstrumentorRequestContextMaxSizeProperty(), getClientInstrumentorRequestContextTtlMsProperty());
 
     /**
      * Get the execution index request mapping.
      *
      * @return execution index request map.
      */
-    public static HashMap<String, HashMap<String, DistributedExecutionIndex>> getDistributedExecutionIndexByRequest() {
+    public static RequestContextStore<DistributedExecutionIndex> getDistributedExecutionIndexByRequest() {
         return distributedExecutionIndexByRequest;
     }
 
+    /**
+     * Clock epoch of a service: the number of times its clocks were reset for a new test execution.
+     *
+     * Clocks are computed under the read lock and reset under the write lock, so each computation belongs to exactly
+     * one epoch.  The server is told the epoch a combined begin's clocks were computed in: every invocation whose clocks
+     * predate the reset for the current test execution is reset, not only the first one to reach the server.
+     */
+    private static final class ClockEpoch {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // Guarded by lock.
+        private int value = 0;
+    }
+
+    private static final ConcurrentHashMap<String, ClockEpoch> clockEpochsByService = new ConcurrentHashMap<>();
+
+    private static ClockEpoch getClockEpoch(String serviceName) {
+        return clockEpochsByService.computeIfAbsent(serviceName, k -> new ClockEpoch());
+    }
+
     /**
      * Set the current vector clock for a given request id.
      *
@@ -85,14 +106,7 @@ final public class FilibusterClientInstrumentor {
      * @param vectorClock vector clock.
      */
     public static void setVectorClockForRequestId(String serviceName, String requestId, VectorClock vectorClock) {
-        if (vectorClocksByRequest.containsKey(serviceName)) {
-            HashMap<String, VectorClock> vectorClockMap = vectorClocksByRequest.get(serviceName);
-            vectorClockMap.put(requestId, vectorClock);
-        } else {
-            HashMap<String, VectorClock> vectorClockMap = new HashMap<>();
-            vectorClockMap.put(requestId, vectorClock);
-            vectorClocksByRequest.put(serviceName, vectorClockMap);
-        }
+        vectorClocksByRequest.put(serviceName, requestId, vectorClock);
     }
 
     /**
@@ -103,12 +117,7 @@ final public class FilibusterClientInstrumentor {
      * @return whether a mapping exists.
      */
     public static boolean vectorClockForRequestIdExists(String serviceName, String requestId) {
-        if (!vectorClocksByRequest.containsKey(serviceName)) {
-            return false;
-        }
-
-        HashMap<String, VectorClock> vectorClockMap = vectorClocksByRequest.get(serviceName);
-        return vectorClockMap.containsKey(requestId);
+        return vectorClocksByRequest.contains(serviceName, requestId);
     }
 
     /**
@@ -117,14 +126,14 @@ final public class FilibusterClientInstrumentor {
      * @param serviceName the service name.
      */
     public static void clearVectorClockForRequestId(String serviceName) {
-        vectorClocksByRequest.remove(serviceName);
+        vectorClocksByRequest.invalidate(serviceName);
     }
 
     /**
      * Reset vector clock mapping.
      */
     public static void clearVectorClockForRequestId() {
-        vectorClocksByRequest = new HashMap<>();
+        vectorClocksByRequest.invalidateAll();
     }
 
     /**
@@ -133,14 +142,14 @@ final public class FilibusterClientInstrumentor {
      * @param serviceName the service name.
      */
     public static void clearDistributedExecutionIndexForRequestId(String serviceName) {
-        distributedExecutionIndexByRequest.remove(serviceName);
+        distributedExecutionIndexByRequest.invalidate(serviceName);
     }
 
     /**
      * Reset execution index mapping.
      */
     public static void clearDistributedExecutionIndexForRequestId() {
-        distributedExecutionIndexByRequest = new HashMap<>();
+        distributedExecutionIndexByRequest.invalidateAll();
     }
 
     /**
@@ -150,14 +159,7 @@ final public class FilibusterClientInstrumentor {
      * @param distributedExecutionIndex execution index.
      */
     public static void setDistributedExecutionIndexForRequestId(String serviceName, String requestId, DistributedExecutionIndex distributedExecutionIndex) {
-        if (distributedExecutionIndexByRequest.containsKey(serviceName)) {
-            HashMap<String, DistributedExecutionIndex> distributedExecutionIndexMap = distributedExecutionIndexByRequest.get(serviceName);
-            distributedExecutionIndexMap.put(requestId, distributedExecutionIndex);
-        } else {
-            HashMap<String, DistributedExecutionIndex> distributedExecutionIndexMap = new HashMap<>();
-            distributedExecutionIndexMap.put(requestId, distributedExecutionIndex);
-            distributedExecutionIndexByRequest.put(serviceName, distributedExecutionIndexMap);
-        }
+        distributedExecutionIndexByRequest.put(serviceName, requestId, distributedExecutionIndex);
     }
 
     /**
@@ -168,8 +170,7 @@ final public class FilibusterClientInstrumentor {
      */
     public static VectorClock getVectorClockForServiceNameAndRequestId(
             String serviceName, String requestId, VectorClock defaultVectorClock) {
-        HashMap<String, VectorClock> vectorClocksByRequestId = vectorClocksByRequest.getOrDefault(serviceName, new HashMap<>());
-        return vectorClocksByRequestId.getOrDefault(requestId, defaultVectorClock);
+        return vectorClocksByRequest.getOrDefault(serviceName, requestId, defaultVectorClock);
     }
 
     /**
@@ -181,8 +182,7 @@ final public class FilibusterClientInstrumentor {
     @SuppressWarnings("NullAway")
     public static DistributedExecutionIndex getDistributedExecutionIndexForServiceNameAndRequestId(
             String serviceName, String requestId, DistributedExecutionIndex defaultExecutionIndex) {
-        HashMap<String, DistributedExecutionIndex> distributedExecutionIndexByRequestId = distributedExecutionIndexByRequest.getOrDefault(serviceName, new HashMap<>());
-        return distributedExecutionIndexByRequestId.getOrDefault(requestId, defaultExecutionIndex);
+        return distributedExecutionIndexByRequest.getOrDefault(serviceName, requestId, defaultExecutionIndex);
     }
 
     final private String filibusterHost;
@@ -207,17 +207,23 @@ final public class FilibusterClientInstrumentor {
     @Nullable
     private JSONObject byzantineFault;
 
+    private int latencyMilliseconds;
+
+    // Whether the clocks were computed before knowing if they should be reset, leaving the decision to the server
+    // when beginning the invocation.
+    private boolean clockResetDeferredToBegin = false;
+
+    // Clock epoch of the service when this invocation's clocks were computed.
+    private int clockEpoch;
+
     private String requestId;
     public static String overrideRequestId;
-    private final ContextStorage contextStorage;
+    private ContextStorage contextStorage;
 
     final private String filibusterBaseUri;
 
     @Nullable
-    private JSONObject counterexample;
-
-    @Nullable
-    private JSONObject counterexampleTestExecution;
+    private CounterexampleReplay counterexampleReplay;
 
     @Nullable
     private DistributedExecutionIndex preliminaryDistributedExecutionIndex;
@@ -258,14 +264,12 @@ final public class FilibusterClientInstrumentor {
 
         this.generatedId = -1;
 
-        if (canLoadCounterexample()) {
-            this.counterexample = loadCounterexampleAsJSONObjectFromEnvironment();
-            this.counterexampleTestExecution = loadTestExecutionFromCounterexample(counterexample);
-        }
+        // Parsed once per process, not per call.
+        this.counterexampleReplay = CounterexampleReplay.fromEnvironment();
     }
 
     private boolean counterexampleNotProvided() {
-        return counterexample == null;
+        return counterexampleReplay == null;
     }
 
     /**
@@ -298,8 +302,8 @@ final public class FilibusterClientInstrumentor {
         // Repeat execution index work.
         // ******************************************************************************************
 
-        synchronized (distributedExecutionIndexLock) {
-            DistributedExecutionIndex incrementedDistributedExecutionIndex = FilibusterClientInstrumentor.getDistributedExecutionIndexForServiceNameAndRequestId(serviceName, getRequestId(), DistributedExecutionIndexType.getImplType().createImpl());
+        distributedExecutionIndexByRequest.compute(serviceName, getRequestId(), currentDistributedExecutionIndex -> {
+            DistributedExecutionIndex incrementedDistributedExecutionIndex = currentDistributedExecutionIndex == null ? DistributedExecutionIndexType.getImplType().createImpl() : currentDistributedExecutionIndex;
 
             // Now, we increment the execution index to reflect the request we're about to make.
             incrementedDistributedExecutionIndex.push(callsite);
@@ -312,8 +316,8 @@ final public class FilibusterClientInstrumentor {
             // this request, but ensures that counters associated with the EI advance.
             incrementedDistributedExecutionIndex.pop();
 
-            FilibusterClientInstrumentor.setDistributedExecutionIndexForRequestId(serviceName, getRequestId(), incrementedDistributedExecutionIndex);
-        }
+            return incrementedDistributedExecutionIndex;
+        });
     }
 
     public void setRpcType(@Nullable String rpcType) {
@@ -450,6 +454,45 @@ final public class FilibusterClientInstrumentor {
         return this.byzantineFault;
     }
 
+    /**
+     * Return the latency, in milliseconds, that needs to be applied before issuing the call.
+     * This value will be zero until the Filibuster server has been contacted for this request.
+     *
+     * @return delay in milliseconds.
+     */
+    public int getLatencyMilliseconds() {
+        return this.latencyMilliseconds;
+    }
+
+    /**
+     * Return a future that completes once the injected latency for this call has elapsed.
+     * Delays are scheduled on a shared timer, so only the delayed call waits.
+     *
+     * @return future completed after the injected latency.
+     */
+    public CompletableFuture<Void> delayForInjectedLatency() {
+        return FilibusterExecutor.delay(latencyMilliseconds);
+    }
+
+    /**
+     * Block the calling thread until the injected latency for this call has elapsed.
+     * Used by instrumentation for synchronous libraries that cannot defer the call.
+     */
+    public void awaitInjectedLatency() {
+        if (latencyMilliseconds <= 0) {
+            return;
+        }
+
+        try {
+            delayForInjectedLatency().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FilibusterLatencyInjectionException("Failed to inject latency for call: ", e);
+        } catch (ExecutionException e) {
+            throw new FilibusterLatencyInjectionException("Failed to inject latency for call: ", e);
+        }
+    }
+
     /**
      * Should this request be allowed to reach the remote service or should it be skipped?
      *
@@ -494,44 +537,14 @@ final public class FilibusterClientInstrumentor {
                     throw new FilibusterRuntimeException("No current filibuster core instance, this could indicate a problem.");
                 }
             } else {
-                CompletableFuture<Boolean> shouldResetClocks = CompletableFuture.supplyAsync(() -> {
-                    try {
-                        // Call instrumentation using instrumentation to verify short-circuit.
-                        WebClient webClient = FilibusterExecutor.getDecoratedWebClient(filibusterBaseUri, filibusterServiceName);
-
-                        RequestHeaders postJson = RequestHeaders.of(
-                                HttpMethod.GET,
-                                "/filibuster/new-test-execution/" + serviceName,
-                                HttpHeaderNames.ACCEPT,
-                                "application/json",
-                                "X-Filibuster-Instrumentation",
-                                "true");
-                        AggregatedHttpResponse response = webClient.execute(postJson).aggregate().join();
-
-                        ResponseHeaders headers = response.headers();
-                        String statusCode = headers.get(HttpHeaderNames.STATUS);
-
-                        if (statusCode == null) {
-                            FilibusterServerBadResponseException.logAndThrow("shouldResetClocks, statusCode: null");
-                        }
-
-                        if (!Objects.equals(statusCode, "200")) {
-                            FilibusterServerBadResponseException.logAndThrow("shouldResetClocks, statusCode: " + statusCode);
-                        }
-
-                        JSONObject jsonObject = Response.aggregatedHttpResponseToJsonObject(response);
-
-                        return jsonObject.getBoolean("new-test-execution");
-                    } catch (RuntimeException e) {
-                        logger.log(Level.SEVERE, "cannot connect to the Filibuster server: " + e);
-                        return false;
-                    }
-                }, FilibusterExecutor.getExecutorService());
-
                 try {
                     logger.log(Level.INFO, "shouldResetClocks: finished.");
-                    return shouldResetClocks.get();
-                } catch (InterruptedException | ExecutionException e) {
+                    return isNewTestExecutionAsync().get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    logger.log(Level.SEVERE, "cannot get information from Filibuster server: " + e);
+                    return false;
+                } catch (ExecutionException e) {
                     logger.log(Level.SEVERE, "cannot get information from Filibuster server: " + e);
                     return false;
                 }
@@ -551,17 +564,75 @@ final public class FilibusterClientInstrumentor {
 
         logger.log(Level.INFO, "requestId: " + getRequestId());
 
+        if (shouldInstrumentAsynchronously()) {
+            // The clocks may have to be computed again once the server answers, on another thread.
+            contextStorage = SnapshotContextStorage.of(contextStorage);
+        }
+
         // Should we reset the clocks?
-        if (shouldResetClocks()) {
+        if (shouldInstrumentAsynchronously() || shouldCombineClockResetWithBegin()) {
+            // Decided by the server along with the faults to inject, in beforeInvocation; until then, assume not.
+            clockResetDeferredToBegin = true;
+        } else if (shouldResetClocks()) {
             // Clear out existing clocks.
-            FilibusterClientInstrumentor.clearVectorClockForRequestId(serviceName);
-            FilibusterClientInstrumentor.clearDistributedExecutionIndexForRequestId(serviceName);
+            clearClocks(/* onlyInClockEpoch= */ false);
         }
 
-        // Setup new vector clock for this request.
-        if (!vectorClockForRequestIdExists(serviceName, getRequestId())) {
-            FilibusterClientInstrumentor.setVectorClockForRequestId(serviceName, getRequestId(), new VectorClock());
+        prepareClocksForInvocation();
+    }
+
+    private boolean shouldCombineClockResetWithBegin() {
+        return shouldCommunicateWithServer && counterexampleNotProvided() && !getServerBackendCanInvokeDirectlyProperty() && FilibusterServerAPI.shouldUseCombinedBegin();
+    }
+
+    /**
+     * Whether this call is instrumented asynchronously: calls to the Filibuster server are chained on futures
+     * instead of blocking the calling thread.  Only applies when the server runs out of process.
+     *
+     * @return whether instrumentation is asynchronous.
+     */
+    public boolean shouldInstrumentAsynchronously() {
+        return getInstrumentationAsyncEnabledProperty() && shouldCommunicateWithServer && counterexampleNotProvided() && !getServerBackendCanInvokeDirectlyProperty();
+    }
+
+    // Clear out existing clocks, unless another invocation already did since this one's were computed, and compute this
+    // request's clocks again.
+    private void resetClocksForInvocation() {
+        clearClocks(/* onlyInClockEpoch= */ true);
+        prepareClocksForInvocation();
+    }
+
+    private void clearClocks(boolean onlyInClockEpoch) {
+        ClockEpoch serviceClockEpoch = getClockEpoch(serviceName);
+        serviceClockEpoch.lock.writeLock().lock();
+
+        try {
+            if (!onlyInClockEpoch || serviceClockEpoch.value == clockEpoch) {
+                FilibusterClientInstrumentor.clearVectorClockForRequestId(serviceName);
+                FilibusterClientInstrumentor.clearDistributedExecutionIndexForRequestId(serviceName);
+                serviceClockEpoch.value++;
+            }
+        } finally {
+            serviceClockEpoch.lock.writeLock().unlock();
         }
+    }
+
+    private void prepareClocksForInvocation() {
+        ClockEpoch serviceClockEpoch = getClockEpoch(serviceName);
+        serviceClockEpoch.lock.readLock().lock();
+
+        try {
+            clockEpoch = serviceClockEpoch.value;
+            prepareClocksForInvocationInClockEpoch();
+        } finally {
+            serviceClockEpoch.lock.readLock().unlock();
+        }
+    }
+
+    // Must be called while holding the read side of the service's clock epoch lock.
+    private void prepareClocksForInvocationInClockEpoch() {
+        // Setup new vector clock for this request.
+        vectorClocksByRequest.computeIfAbsent(serviceName, getRequestId(), VectorClock::new);
 
         // ******************************************************************************************
         // Populate execution maps (and potentially rewrite request identifier.)
@@ -575,19 +646,19 @@ final public class FilibusterClientInstrumentor {
         // Start vector clock work.
         // ******************************************************************************************
 
-        synchronized (vectorClockLock) {
-            VectorClock incrementedVectorClock = FilibusterClientInstrumentor.getVectorClockForServiceNameAndRequestId(serviceName, getRequestId(), new VectorClock());
+        // The stored clock is replaced, not incremented in place, so that clocks returned from the mapping never change.
+        vectorClock = vectorClocksByRequest.compute(serviceName, getRequestId(), currentVectorClock -> {
+            VectorClock incrementedVectorClock = currentVectorClock == null ? new VectorClock() : currentVectorClock.clone();
             incrementedVectorClock.incrementClock(serviceName);
-            FilibusterClientInstrumentor.setVectorClockForRequestId(serviceName, getRequestId(), incrementedVectorClock);
-            vectorClock = incrementedVectorClock.clone();
-        }
+            return incrementedVectorClock;
+        }).clone();
 
         // ******************************************************************************************
         // Start execution index work.
         // ******************************************************************************************
 
-        synchronized (distributedExecutionIndexLock) {
-            DistributedExecutionIndex incrementedDistributedExecutionIndex = FilibusterClientInstrumentor.getDistributedExecutionIndexForServiceNameAndRequestId(serviceName, getRequestId(), DistributedExecutionIndexType.getImplType().createImpl());
+        distributedExecutionIndexByRequest.compute(serviceName, getRequestId(), currentDistributedExecutionIndex -> {
+            DistributedExecutionIndex incrementedDistributedExecutionIndex = currentDistributedExecutionIndex == null ? DistributedExecutionIndexType.getImplType().createImpl() : currentDistributedExecutionIndex;
 
             // Now, we increment the execution index to reflect the request we're about to make.
             incrementedDistributedExecutionIndex.push(callsite);
@@ -600,8 +671,8 @@ final public class FilibusterClientInstrumentor {
             // this request, but ensures that counters associated with the EI advance.
             incrementedDistributedExecutionIndex.pop();
 
-            FilibusterClientInstrumentor.setDistributedExecutionIndexForRequestId(serviceName, getRequestId(), incrementedDistributedExecutionIndex);
-        }
+            return incrementedDistributedExecutionIndex;
+        });
 
         // ******************************************************************************************
         // Start origin vector clock work.
@@ -621,122 +692,34 @@ final public class FilibusterClientInstrumentor {
      * occur and determines if the remote call should instead, return a fault.
      *
      */
-    @SuppressWarnings("VoidMissingNullable")
     public void beforeInvocation() {
         logger.log(Level.INFO, "beforeInvocation: about to make call.");
 
-        JSONObject invocationMetadata = new JSONObject();
-        invocationMetadata.put("rpc_type", rpcType);
-
-        JSONObject invocationPayload = new JSONObject();
-        invocationPayload.put("instrumentation_type", "invocation");
-        invocationPayload.put("source_service_name", serviceName);
-        invocationPayload.put("module", callsite.getClassOrModuleName());
-        invocationPayload.put("method", callsite.getMethodOrFunctionName());
-        CallsiteArguments callsiteArguments = callsite.getCallsiteArguments();
-        JSONObject invocationArguments = callsiteArguments.toJSONObject();
-        invocationPayload.put("args", invocationArguments);
-        invocationPayload.put("kwargs", new JSONObject());
-        invocationPayload.put("callsite_file", callsite.getFileName());
-        invocationPayload.put("callsite_line", callsite.getLineNumber());
-        invocationPayload.put("full_traceback", callsite.getSerializedStackTrace());
-        invocationPayload.put("metadata", invocationMetadata);
-        invocationPayload.put("vclock", vectorClock.toJSONObject());
-        invocationPayload.put("origin_vclock", originVectorClock.toJSONObject());
-        invocationPayload.put("execution_index", distributedExecutionIndex.toString());
-
-        if (preliminaryDistributedExecutionIndex != null) {
-            invocationPayload.put("preliminary_execution_index", preliminaryDistributedExecutionIndex.toString());
-        }
+        FilibusterInvocation invocation = buildInvocation();
 
-        if (!counterexampleNotProvided()) {
+        if (counterexampleReplay != null) {
             logger.log(Level.INFO, "Not contacting server; replaying from counterexample file.");
 
-            JSONObject jsonObject = shouldFailRequestWithOrDefault(distributedExecutionIndex.toString(), counterexampleTestExecution);
-
-            if (jsonObject.has("forced_exception")) {
-                forcedException = jsonObject.getJSONObject("forced_exception");
-            }
-
-            if (jsonObject.has("failure_metadata")) {
-                failureMetadata = jsonObject.getJSONObject("failure_metadata");
-            }
-
-            if (jsonObject.has("byzantine_fault")) {
-                byzantineFault = jsonObject.getJSONObject("byzantine_fault");
-            }
+            JSONObject jsonObject = counterexampleReplay.shouldFailRequestWithOrDefault(invocation.getExecutionIndex());
+            setFaultsFromInvocationResponse(FilibusterInvocationResponse.fromJSONObject(jsonObject));
         }
         else if (shouldCommunicateWithServer && counterexampleNotProvided()) {
             if (getServerBackendCanInvokeDirectlyProperty()) {
                 if (FilibusterCore.hasCurrentInstance()) {
-                    JSONObject jsonObject = FilibusterCore.getCurrentInstance().beginInvocation(invocationPayload);
-                    generatedId = jsonObject.getInt("generated_id");
-
-                    if (jsonObject.has("forced_exception")) {
-                        forcedException = jsonObject.getJSONObject("forced_exception");
-                    }
-
-                    if (jsonObject.has("failure_metadata")) {
-                        failureMetadata = jsonObject.getJSONObject("failure_metadata");
-                    }
-
-                    if (jsonObject.has("byzantine_fault")) {
-                        byzantineFault = jsonObject.getJSONObject("byzantine_fault");
-                    }
+                    // Same process: exchange typed objects, no JSON round trip.
+                    FilibusterInvocationResponse invocationResponse = FilibusterCore.getCurrentInstance().beginInvocation(invocation);
+                    generatedId = invocationResponse.getGeneratedId();
+                    setFaultsFromInvocationResponse(invocationResponse);
                 } else {
                     throw new FilibusterRuntimeException("No current filibuster core instance, this could indicate a problem.");
                 }
             } else {
-                CompletableFuture<Void> createFuture = CompletableFuture.supplyAsync(() -> {
-                    try {
-                        // Call instrumentation using instrumentation to verify short-circuit.
-                        WebClient webClient = FilibusterExecutor.getDecoratedWebClient(filibusterBaseUri, filibusterServiceName);
-
-                        RequestHeaders postJson = RequestHeaders.of(
-                                HttpMethod.PUT,
-                                "/filibuster/create",
-                                HttpHeaderNames.CONTENT_TYPE,
-                                "application/json",
-                                "X-Filibuster-Instrumentation",
-                                "true");
-                        AggregatedHttpResponse response = webClient.execute(
-                                postJson, invocationPayload.toString()).aggregate().join();
-
-                        ResponseHeaders headers = response.headers();
-                        String statusCode = headers.get(HttpHeaderNames.STATUS);
-
-                        if (statusCode == null) {
-                            FilibusterServerBadResponseException.logAndThrow("beforeInvocation, statusCode: null");
-                        }
-
-                        if (!Objects.equals(statusCode, "200")) {
-                            FilibusterServerBadResponseException.logAndThrow("beforeInvocation, statusCode: " + statusCode);
-                        }
-
-                        JSONObject jsonObject = Response.aggregatedHttpResponseToJsonObject(response);
-                        generatedId = jsonObject.getInt("generated_id");
-
-                        if (jsonObject.has("forced_exception")) {
-                            forcedException = jsonObject.getJSONObject("forced_exception");
-                        }
-
-                        if (jsonObject.has("failure_metadata")) {
-                            failureMetadata = jsonObject.getJSONObject("failure_metadata");
-                        }
-
-                        if (jsonObject.has("byzantine_fault")) {
-                            byzantineFault = jsonObject.getJSONObject("byzantine_fault");
-                        }
-                    } catch (RuntimeException e) {
-                        logger.log(Level.SEVERE, "cannot connect to the Filibuster server: " + e);
-                    }
-
-                    return null;
-                }, FilibusterExecutor.getExecutorService());
-
                 try {
-                    createFuture.get();
-                } catch (InterruptedException | ExecutionException e) {
+                    beginInvocationWithServer().get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    logger.log(Level.SEVERE, "cannot get information from Filibuster server: " + e);
+                } catch (ExecutionException e) {
                     logger.log(Level.SEVERE, "cannot get information from Filibuster server: " + e);
                 }
             }
@@ -745,6 +728,129 @@ final public class FilibusterClientInstrumentor {
         logger.log(Level.INFO, "beforeInvocation: finished.");
     }
 
+    private FilibusterInvocation buildInvocation() {
+        return new FilibusterInvocation.Builder()
+                .sourceServiceName(serviceName)
+                .moduleName(callsite.getClassOrModuleName())
+                .methodName(callsite.getMethodOrFunctionName())
+                .rpcType(rpcType)
+                .arguments(callsite.getCallsiteArguments().toJSONObject())
+                .callsite(callsite.getFileName(), callsite.getLineNumber(), callsite.getSerializedStackTrace())
+                .vectorClock(vectorClock)
+                .originVectorClock(originVectorClock)
+                .distributedExecutionIndex(distributedExecutionIndex)
+                .preliminaryExecutionIndex(preliminaryDistributedExecutionIndex != null ? preliminaryDistributedExecutionIndex.toString() : null)
+                .build();
+    }
+
+    /**
+     * Invoked directly before a remote call is issued, without blocking the calling thread.
+     *
+     * Same as beforeInvocation, but when instrumenting asynchronously, returns at once; the fault to inject, if any,
+     * is set once the returned future completes, and the caller must not issue the remote call (or read the clocks,
+     * which may be reset) before then.  Never completes exceptionally: if the server cannot be reached, no fault is
+     * injected.
+     *
+     * @return future completed once the fault to inject is known.
+     */
+    public CompletableFuture<Void> beforeInvocationAsync() {
+        if (!shouldInstrumentAsynchronously()) {
+            beforeInvocation();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        logger.log(Level.INFO, "beforeInvocationAsync: about to make call.");
+
+        return beginInvocationWithServer().whenComplete((result, cause) -> logger.log(Level.INFO, "beforeInvocationAsync: finished."));
+    }
+
+    // Notify the out-of-process server of the invocation, resetting the clocks first if it asks for it.
+    private CompletableFuture<Void> beginInvocationWithServer() {
+        boolean resetClocksIfNewTestExecution = clockResetDeferredToBegin;
+        clockResetDeferredToBegin = false;
+
+        return requestInvocationResponse(buildInvocation(), resetClocksIfNewTestExecution, clockEpoch).thenCompose(invocationResponse -> {
+            if (resetClocksIfNewTestExecution && invocationResponse == null && !FilibusterServerAPI.shouldUseCombinedBegin()) {
+                // The server does not support the combined begin: ask separately.
+                return isNewTestExecutionAsync().thenCompose(isNewTestExecution -> {
+                    if (isNewTestExecution) {
+                        resetClocksForInvocation();
+                    }
+
+                    return requestInvocationResponse(buildInvocation(), false, clockEpoch);
+                });
+            } else if (invocationResponse != null && invocationResponse.shouldResetClocks()) {
+                // The clocks were computed before they were reset for this test execution, so from the previous
+                // execution's: the server did not record it, so begin again with reset clocks.
+                resetClocksForInvocation();
+                return requestInvocationResponse(buildInvocation(), false, clockEpoch);
+            }
+
+            return CompletableFuture.completedFuture(invocationResponse);
+        }).thenAccept(invocationResponse -> {
+            if (invocationResponse != null) {
+                generatedId = invocationResponse.getGeneratedId();
+                setFaultsFromInvocationResponse(invocationResponse);
+            }
+        });
+    }
+
+    // Completes with null if the server could not be reached, or, for a combined begin, does not support it.
+    private CompletableFuture<FilibusterInvocationResponse> requestInvocationResponse(FilibusterInvocation invocation, boolean resetClocksIfNewTestExecution, int clockEpoch) {
+        try {
+            // Call instrumentation using instrumentation to verify short-circuit.
+            WebClient webClient = FilibusterExecutor.getDecoratedWebClient(filibusterBaseUri, filibusterServiceName);
+
+            return FilibusterServerAPI.beginInvocationAsync(webClient, invocation, resetClocksIfNewTestExecution, clockEpoch).exceptionally(e -> {
+                logger.log(Level.SEVERE, "cannot connect to the Filibuster server: " + e);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            logger.log(Level.SEVERE, "cannot connect to the Filibuster server: " + e);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    // Completes with false if the server could not be reached.
+    private CompletableFuture<Boolean> isNewTestExecutionAsync() {
+        try {
+            // Call instrumentation using instrumentation to verify short-circuit.
+            WebClient webClient = FilibusterExecutor.getDecoratedWebClient(filibusterBaseUri, filibusterServiceName);
+
+            return FilibusterServerAPI.isNewTestExecutionAsync(webClient, serviceName).exceptionally(e -> {
+                logger.log(Level.SEVERE, "cannot connect to the Filibuster server: " + e);
+                return false;
+            });
+        } catch (RuntimeException e) {
+            logger.log(Level.SEVERE, "cannot connect to the Filibuster server: " + e);
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    private void setFaultsFromInvocationResponse(FilibusterInvocationResponse invocationResponse) {
+        JSONObject forcedExceptionConfiguration = invocationResponse.getFaultConfiguration(FilibusterFault.Kind.FORCED_EXCEPTION);
+
+        if (forcedExceptionConfiguration != null) {
+            forcedException = forcedExceptionConfiguration;
+        }
+
+        JSONObject failureMetadataConfiguration = invocationResponse.getFaultConfiguration(FilibusterFault.Kind.FAILURE_METADATA);
+
+        if (failureMetadataConfiguration != null) {
+            failureMetadata = failureMetadataConfiguration;
+        }
+
+        JSONObject byzantineFaultConfiguration = invocationResponse.getFaultConfiguration(FilibusterFault.Kind.BYZANTINE_FAULT);
+
+        if (byzantineFaultConfiguration != null) {
+            byzantineFault = byzantineFaultConfiguration;
+        }
+
+        if (invocationResponse.getLatencyMilliseconds() > 0) {
+            latencyMilliseconds = invocationResponse.getLatencyMilliseconds();
+        }
+    }
+
     /**
      * Invoked after a remote call has been completed if the remote call threw an exception.
      *
@@ -809,18 +915,15 @@ final public class FilibusterClientInstrumentor {
             exception.put("name", exceptionName);
             exception.put("metadata", metadata);
 
-            JSONObject invocationCompletePayload = new JSONObject();
-            invocationCompletePayload.put("instrumentation_type", "invocation_complete");
-            invocationCompletePayload.put("generated_id", generatedId);
-            invocationCompletePayload.put("execution_index", distributedExecutionIndex.toString());
-            invocationCompletePayload.put("vclock", vectorClock.toJSONObject());
-            invocationCompletePayload.put("exception", exception);
-
-            if (preliminaryDistributedExecutionIndex != null) {
-                invocationCompletePayload.put("preliminary_execution_index", preliminaryDistributedExecutionIndex.toString());
-            }
+            FilibusterInvocationComplete invocationComplete = new FilibusterInvocationComplete.Builder()
+                    .generatedId(generatedId)
+                    .distributedExecutionIndex(distributedExecutionIndex)
+                    .vectorClock(vectorClock)
+                    .exception(exception)
+                    .preliminaryExecutionIndex(preliminaryDistributedExecutionIndex != null ? preliminaryDistributedExecutionIndex.toString() : null)
+                    .build();
 
-            recordInvocationComplete(invocationCompletePayload);
+            recordInvocationComplete(invocationComplete);
         }
     }
 
@@ -847,52 +950,40 @@ final public class FilibusterClientInstrumentor {
                 returnValue.put(entry.getKey(), entry.getValue());
             }
 
-            JSONObject invocationCompletePayload = new JSONObject();
-            invocationCompletePayload.put("instrumentation_type", "invocation_complete");
-            invocationCompletePayload.put("generated_id", getGeneratedId());
-            invocationCompletePayload.put("execution_index", distributedExecutionIndex.toString());
-            invocationCompletePayload.put("vclock", getVectorClock().toJSONObject());
-            invocationCompletePayload.put("return_value", returnValue);
+            FilibusterInvocationComplete invocationComplete = new FilibusterInvocationComplete.Builder()
+                    .generatedId(getGeneratedId())
+                    .distributedExecutionIndex(distributedExecutionIndex)
+                    .vectorClock(getVectorClock())
+                    .returnValue(returnValue)
+                    .preliminaryExecutionIndex(preliminaryDistributedExecutionIndex != null ? preliminaryDistributedExecutionIndex.toString() : null)
+                    .build();
 
-            if (preliminaryDistributedExecutionIndex != null) {
-                invocationCompletePayload.put("preliminary_execution_index", preliminaryDistributedExecutionIndex.toString());
-            }
-
-            recordInvocationComplete(invocationCompletePayload);
+            recordInvocationComplete(invocationComplete);
         }
     }
 
-    @SuppressWarnings("VoidMissingNullable")
-    private void recordInvocationComplete(JSONObject invocationCompletePayload) {
+    private void recordInvocationComplete(FilibusterInvocationComplete invocationComplete) {
         logger.log(Level.INFO, "invocationCompletePayload: about to make call.");
-        logger.log(Level.INFO, "invocationCompletePayload: " + invocationCompletePayload);
+        logger.log(Level.INFO, "invocationCompletePayload: " + invocationComplete);
 
         if (getServerBackendCanInvokeDirectlyProperty()) {
             if (FilibusterCore.hasCurrentInstance()) {
-                FilibusterCore.getCurrentInstance().endInvocation(invocationCompletePayload);
+                FilibusterCore.getCurrentInstance().endInvocation(invocationComplete);
             } else {
                 throw new FilibusterRuntimeException("No current filibuster core instance, this could indicate a problem.");
             }
+        } else if (shouldInstrumentAsynchronously() || getServerProtocolBatchedEndProperty()) {
+            // Sent in the background, coalesced with other completed invocations.
+            FilibusterInvocationCompleteBatcher.enqueue(filibusterBaseUri, invocationComplete);
         } else {
-            CompletableFuture<Void> updateFuture = CompletableFuture.supplyAsync(() -> {
+            try {
                 // Call instrumentation using instrumentation to verify short-circuit.
                 WebClient webClient = FilibusterExecutor.getDecoratedWebClient(filibusterBaseUri, filibusterServiceName);
-
-                RequestHeaders postJson = RequestHeaders.of(
-                        HttpMethod.POST,
-                        "/filibuster/update",
-                        HttpHeaderNames.CONTENT_TYPE,
-                        "application/json",
-                        "X-Filibuster-Instrumentation",
-                        "true");
-                webClient.execute(postJson, invocationCompletePayload.toString()).aggregate().join();
-
-                return null;
-            }, FilibusterExecutor.getExecutorService());
-
-            try {
-                updateFuture.get();
-            } catch (InterruptedException | ExecutionException e) {
+                FilibusterServerAPI.endInvocationsAsync(webClient, Collections.singletonList(invocationComplete)).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.log(Level.SEVERE, "cannot get information from Filibuster server: " + e);
+            } catch (ExecutionException | RuntimeException e) {
                 logger.log(Level.SEVERE, "cannot get information from Filibuster server: " + e);
             }
 
@@ -0,0 +1,164 @@
+package cloud.filibuster.instrumentation.instrumentors;
+
+import cloud.filibuster.instrumentation.datatypes.FilibusterExecutor;
+import cloud.filibuster.junit.server.FilibusterServerAPI;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
+import com.linecorp.armeria.client.WebClient;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Coalesces the completed invocations reported by the client instrumentation and sends them to the Filibuster server
+ * in batches, off the path of the RPC.
+ *
+ * One batch is in flight at a time, and completed invocations queue up meanwhile, so batches grow with the rate of
+ * RPCs.  Sending never parks a thread.  Anything that depends on the server having seen every completed invocation
+ * (e.g., completing an iteration) must call flush first.
+ *
+ * The queue, and so flush, only covers this JVM: the server does not wait for batches queued by services running in
+ * other processes.  When those services enable batched ends, the server may complete an iteration before it has seen
+ * their last completed invocations, which are then recorded late or, once the next iteration starts, in the wrong
+ * one.  Only enable batched ends where every instrumented service runs in the process of the test, or where each
+ * service flushes before the test completes the iteration.
+ */
+@SuppressWarnings("Varifier")
+public final class FilibusterInvocationCompleteBatcher {
+    private static final Logger logger = Logger.getLogger(FilibusterInvocationCompleteBatcher.class.getName());
+
+    private static final int MAX_BATCH_SIZE = 128;
+
+    final private static String filibusterServiceName = "filibuster-instrumentation";
+
+    private static final class PendingInvocationComplete {
+        private final String filibusterBaseUri;
+
+        private final FilibusterInvocationComplete invocationComplete;
+
+        PendingInvocationComplete(String filibusterBaseUri, FilibusterInvocationComplete invocationComplete) {
+            this.filibusterBaseUri = filibusterBaseUri;
+            this.invocationComplete = invocationComplete;
+        }
+    }
+
+    private static final ConcurrentLinkedQueue<PendingInvocationComplete> pendingInvocationCompletes = new ConcurrentLinkedQueue<>();
+
+    private static final Object sendingLock = new Object();
+
+    // Whether batches are being sent; guarded by sendingLock.
+    private static boolean sending = false;
+
+    // Completed once the queue is drained and sending stops; guarded by sendingLock.
+    private static CompletableFuture<Void> drained = CompletableFuture.completedFuture(null);
+
+    private FilibusterInvocationCompleteBatcher() {
+
+    }
+
+    /**
+     * Queue a completed invocation to be sent to the Filibuster server in the background.
+     *
+     * @param filibusterBaseUri base URI of the Filibuster server.
+     * @param invocationComplete the completed invocation.
+     */
+    public static void enqueue(String filibusterBaseUri, FilibusterInvocationComplete invocationComplete) {
+        pendingInvocationCompletes.add(new PendingInvocationComplete(filibusterBaseUri, invocationComplete));
+        startSending();
+    }
+
+    /**
+     * Send every completed invocation queued in this JVM, returning once the server has received them.  Completed
+     * invocations queued by other processes are not waited for.  Must not be called on an event loop.
+     */
+    public static void flush() {
+        while (true) {
+            CompletableFuture<Void> currentlyDrained;
+
+            synchronized (sendingLock) {
+                if (!sending && pendingInvocationCompletes.isEmpty()) {
+                    return;
+                }
+            }
+
+            startSending();
+
+            synchronized (sendingLock) {
+                currentlyDrained = drained;
+            }
+
+            currentlyDrained.join();
+        }
+    }
+
+    private static void startSending() {
+        synchronized (sendingLock) {
+            if (sending) {
+                return;
+            }
+
+            sending = true;
+            drained = new CompletableFuture<>();
+        }
+
+        sendNextBatch();
+    }
+
+    private static void sendNextBatch() {
+        // Group by server, keeping the order of the completed invocations for each.
+        Map<String, List<FilibusterInvocationComplete>> batchesByBaseUri = new LinkedHashMap<>();
+        int batchSize = 0;
+
+        PendingInvocationComplete pendingInvocationComplete;
+
+        while (batchSize < MAX_BATCH_SIZE && (pendingInvocationComplete = pendingInvocationCompletes.poll()) != null) {
+            batchesByBaseUri.computeIfAbsent(pendingInvocationComplete.filibusterBaseUri, k -> new ArrayList<>()).add(pendingInvocationComplete.invocationComplete);
+            batchSize++;
+        }
+
+        if (batchesByBaseUri.isEmpty()) {
+            CompletableFuture<Void> currentlyDrained;
+
+            synchronized (sendingLock) {
+                sending = false;
+                currentlyDrained = drained;
+            }
+
+            currentlyDrained.complete(null);
+
+            // Something may have been queued after the poll, while sending was still set.
+            if (!pendingInvocationCompletes.isEmpty()) {
+                startSending();
+            }
+
+            return;
+        }
+
+        List<CompletableFuture<Void>> sends = new ArrayList<>();
+
+        for (Map.Entry<String, List<FilibusterInvocationComplete>> batch : batchesByBaseUri.entrySet()) {
+            logger.log(Level.INFO, "[FILIBUSTER-INVOCATION-COMPLETE-BATCHER]: sending " + batch.getValue().size() + " completed invocations.");
+
+            try {
+                // Call instrumentation using instrumentation to verify short-circuit.
+                WebClient webClient = FilibusterExecutor.getDecoratedWebClient(batch.getKey(), filibusterServiceName);
+
+                sends.add(FilibusterServerAPI.endInvocationsAsync(webClient, batch.getValue()).exceptionally(e -> {
+                    logger.log(Level.SEVERE, "cannot connect to the Filibuster server: " + e);
+                    return null;
+                }));
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "cannot connect to the Filibuster server: " + e);
+            }
+        }
+
+        // Continue off the thread that completed the send, which may be an event loop.
+        CompletableFuture.allOf(sends.toArray(new CompletableFuture<?>[0]))
+                .whenCompleteAsync((result, cause) -> sendNextBatch(), FilibusterExecutor.getExecutorService());
+    }
+}
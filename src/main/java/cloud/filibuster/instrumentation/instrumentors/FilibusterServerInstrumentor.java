@@ -2,6 +2,7 @@ package cloud.filibuster.instrumentation.instrumentors;
 
 import cloud.filibuster.instrumentation.datatypes.FilibusterExecutor;
 import cloud.filibuster.instrumentation.datatypes.VectorClock;
+import cloud.filibuster.instrumentation.helpers.CounterexampleReplay;
 import cloud.filibuster.instrumentation.helpers.Networking;
 import cloud.filibuster.instrumentation.helpers.Response;
 import cloud.filibuster.instrumentation.storage.ContextStorage;
@@ -21,10 +22,6 @@ import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import static cloud.filibuster.instrumentation.helpers.Counterexample.canLoadCounterexample;
-import static cloud.filibuster.instrumentation.helpers.Counterexample.loadCounterexampleAsJSONObjectFromEnvironment;
-import static cloud.filibuster.instrumentation.helpers.Counterexample.loadTestExecutionFromCounterexample;
-
 /**
  * Server instrumentor for Filibuster.
  */
@@ -41,10 +38,7 @@ final public class FilibusterServerInstrumentor {
     final private ContextStorage contextStorage;
 
     @Nullable
-    private JSONObject counterexample;
-
-    @Nullable
-    private JSONObject counterexampleTestExecution;
+    private CounterexampleReplay counterexampleReplay;
 
     /**
      * @param serviceName name of the service that is running the server instrumentor.
@@ -102,14 +96,12 @@ final public class FilibusterServerInstrumentor {
         contextStorage.setOriginVectorClock(originVectorClock);
         contextStorage.setDistributedExecutionIndex(distributedExecutionIndex);
 
-        if (canLoadCounterexample()) {
-            this.counterexample = loadCounterexampleAsJSONObjectFromEnvironment();
-            this.counterexampleTestExecution = loadTestExecutionFromCounterexample(counterexample);
-        }
+        // Parsed once per process, not per call.
+        this.counterexampleReplay = CounterexampleReplay.fromEnvironment();
     }
 
     private boolean counterexampleNotProvided() {
-        return counterexample == null;
+        return counterexampleReplay == null;
     }
 
     /**
@@ -0,0 +1,387 @@
+package cloud.filibuster.instrumentation.instrumentors;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.logging.Logger;
+
+/**
+ * Values kept by the client instrumentor for each request a service handles, keyed by service name and request id.
+ *
+ * Each key is updated atomically, without locking other keys.  Entries are invalidated in bulk, for a service or for
+ * every service, in constant time when a new test execution starts: entries written before are no longer returned,
+ * and are removed when next accessed or when the store is full.  Entries not accessed within the time to live are
+ * expired the same way.  When the store is full, invalidated and expired entries are removed first, then the least
+ * recently accessed entries.
+ *
+ * @param <V> type of the values.
+ */
+public final class RequestContextStore<V> {
+    private static final Logger logger = Logger.getLogger(RequestContextStore.class.getName());
+
+    private static final class Key {
+        final String serviceName;
+        final String requestId;
+
+        Key(String serviceName, String requestId) {
+            this.serviceName = serviceName;
+            this.requestId = requestId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return serviceName.equals(key.serviceName) && requestId.equals(key.requestId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(serviceName, requestId);
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+
+        // Generation the entry was written in.
+        final long generation;
+
+        volatile long lastAccessNanos;
+
+        Entry(V value, long generation, long lastAccessNanos) {
+            this.value = value;
+            this.generation = generation;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+    }
+
+    // Entry considered for eviction, with its last access time read once: sorting on the volatile field itself
+    // would see it change under concurrent accesses, breaking the sort.
+    private static final class EvictionCandidate<V> {
+        final Key key;
+        final Entry<V> entry;
+        final long lastAccessNanos;
+
+        EvictionCandidate(Key key, Entry<V> entry) {
+            this.key = key;
+            this.entry = entry;
+            this.lastAccessNanos = entry.lastAccessNanos;
+        }
+    }
+
+    private final ConcurrentHashMap<Key, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+
+    private final long ttlNanos;
+
+    // Incremented on every invalidation; entries written before the latest invalidation of their service are stale.
+    private final AtomicLong generations = new AtomicLong();
+
+    private volatile long invalidatedGeneration = 0;
+
+    private final ConcurrentHashMap<String, Long> invalidatedGenerationsByService = new ConcurrentHashMap<>();
+
+    private final Object evictionLock = new Object();
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final AtomicLong expirations = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Build a new store.
+     *
+     * @param maxSize maximum number of entries.
+     * @param ttlMillis time, in milliseconds, after which entries that are not accessed expire.
+     */
+    public RequestContextStore(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    private boolean isStale(Key key, Entry<V> entry) {
+        Long invalidatedServiceGeneration = invalidatedGenerationsByService.get(key.serviceName);
+
+        return entry.generation < invalidatedGeneration ||
+                (invalidatedServiceGeneration != null && entry.generation < invalidatedServiceGeneration);
+    }
+
+    private boolean isExpired(Entry<V> entry, long nowNanos) {
+        return nowNanos - entry.lastAccessNanos > ttlNanos;
+    }
+
+    // Whether an entry is still returned, counting it as invalidated or expired if not.
+    private boolean isLive(Key key, Entry<V> entry, long nowNanos) {
+        if (isStale(key, entry)) {
+            invalidations.incrementAndGet();
+            return false;
+        }
+
+        if (isExpired(entry, nowNanos)) {
+            expirations.incrementAndGet();
+            return false;
+        }
+
+        return true;
+    }
+
+    @Nullable
+    private Entry<V> getLiveEntry(Key key) {
+        Entry<V> entry = entries.get(key);
+
+        if (entry == null) {
+            return null;
+        }
+
+        long nowNanos = System.nanoTime();
+
+        if (!isLive(key, entry, nowNanos)) {
+            entries.remove(key, entry);
+            return null;
+        }
+
+        entry.lastAccessNanos = nowNanos;
+        return entry;
+    }
+
+    /**
+     * Return the value for a request.
+     *
+     * @param serviceName the service name.
+     * @param requestId the request identifier.
+     * @return value, or null if there is none.
+     */
+    @Nullable
+    public V get(String serviceName, String requestId) {
+        Entry<V> entry = getLiveEntry(new Key(serviceName, requestId));
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Return the value for a request.
+     *
+     * @param serviceName the service name.
+     * @param requestId the request identifier.
+     * @param defaultValue value returned if there is none.
+     * @return value.
+     */
+    public V getOrDefault(String serviceName, String requestId, V defaultValue) {
+        V value = get(serviceName, requestId);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Does a value exist for a request?
+     *
+     * @param serviceName the service name.
+     * @param requestId the request identifier.
+     * @return whether a value exists.
+     */
+    public boolean contains(String serviceName, String requestId) {
+        return getLiveEntry(new Key(serviceName, requestId)) != null;
+    }
+
+    /**
+     * Set the value for a request.
+     *
+     * @param serviceName the service name.
+     * @param requestId the request identifier.
+     * @param value value.
+     */
+    public void put(String serviceName, String requestId, V value) {
+        entries.put(new Key(serviceName, requestId), new Entry<>(value, generations.get(), System.nanoTime()));
+        evictIfFull();
+    }
+
+    /**
+     * Atomically update the value for a request; other updates of the same request wait, others do not.
+     *
+     * @param serviceName the service name.
+     * @param requestId the request identifier.
+     * @param updateFunction given the value, or null if there is none, returns the new value; must not access the store.
+     * @return new value.
+     */
+    public V compute(String serviceName, String requestId, UnaryOperator<V> updateFunction) {
+        Entry<V> newEntry = entries.compute(new Key(serviceName, requestId), (key, entry) -> {
+            long nowNanos = System.nanoTime();
+            V value = entry != null && isLive(key, entry, nowNanos) ? entry.value : null;
+            return new Entry<>(updateFunction.apply(value), generations.get(), nowNanos);
+        });
+
+        evictIfFull();
+        return newEntry.value;
+    }
+
+    /**
+     * Atomically set the value for a request, if there is none.
+     *
+     * @param serviceName the service name.
+     * @param requestId the request identifier.
+     * @param valueSupplier supplies the value; must not access the store.
+     * @return value.
+     */
+    public V computeIfAbsent(String serviceName, String requestId, Supplier<V> valueSupplier) {
+        Key key = new Key(serviceName, requestId);
+        Entry<V> liveEntry = getLiveEntry(key);
+
+        if (liveEntry != null) {
+            return liveEntry.value;
+        }
+
+        Entry<V> newEntry = entries.compute(key, (k, entry) -> {
+            long nowNanos = System.nanoTime();
+
+            if (entry != null && isLive(k, entry, nowNanos)) {
+                entry.lastAccessNanos = nowNanos;
+                return entry;
+            }
+
+            return new Entry<>(valueSupplier.get(), generations.get(), nowNanos);
+        });
+
+        evictIfFull();
+        return newEntry.value;
+    }
+
+    /**
+     * Invalidate the values of every request of a service.
+     *
+     * @param serviceName the service name.
+     */
+    public void invalidate(String serviceName) {
+        invalidatedGenerationsByService.put(serviceName, generations.incrementAndGet());
+    }
+
+    /**
+     * Invalidate every value.
+     */
+    public void invalidateAll() {
+        invalidatedGeneration = generations.incrementAndGet();
+    }
+
+    /**
+     * Return the values of every request, in no particular order.
+     *
+     * @return values.
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>();
+        long nowNanos = System.nanoTime();
+
+        for (Map.Entry<Key, Entry<V>> entry : entries.entrySet()) {
+            if (!isStale(entry.getKey(), entry.getValue()) && !isExpired(entry.getValue(), nowNanos)) {
+                values.add(entry.getValue().value);
+            }
+        }
+
+        return values;
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+
+        synchronized (evictionLock) {
+            if (entries.size() <= maxSize) {
+                return;
+            }
+
+            long nowNanos = System.nanoTime();
+            List<EvictionCandidate<V>> liveEntries = new ArrayList<>();
+
+            for (Map.Entry<Key, Entry<V>> entry : entries.entrySet()) {
+                if (isLive(entry.getKey(), entry.getValue(), nowNanos)) {
+                    liveEntries.add(new EvictionCandidate<>(entry.getKey(), entry.getValue()));
+                } else {
+                    entries.remove(entry.getKey(), entry.getValue());
+                }
+            }
+
+            // Evict down to three quarters of the maximum, so that the store is not scanned again on the next write.
+            int target = maxSize - maxSize / 4;
+            int evicted = 0;
+
+            if (liveEntries.size() > target) {
+                liveEntries.sort(Comparator.comparingLong(candidate -> candidate.lastAccessNanos));
+
+                for (int i = 0; i < liveEntries.size() - target; i++) {
+                    EvictionCandidate<V> candidate = liveEntries.get(i);
+
+                    if (entries.remove(candidate.key, candidate.entry)) {
+                        evicted++;
+                    }
+                }
+
+                evictions.addAndGet(evicted);
+            }
+
+            String counters = "size: " + entries.size() + ", " +
+                    "invalidations: " + invalidations.get() + ", " +
+                    "expirations: " + expirations.get() + ", " +
+                    "evictions: " + evictions.get();
+
+            if (evicted > 0) {
+                // Requests still in flight start over from empty values (e.g., clocks) on their next access.
+                logger.warning("[FILIBUSTER-REQUEST-CONTEXT]: store full, evicted " + evicted + " live entries, " +
+                        "requests still in flight lose their values; consider increasing the maximum size, " + counters);
+            } else {
+                logger.info("[FILIBUSTER-REQUEST-CONTEXT]: store full, " + counters);
+            }
+        }
+    }
+
+    /**
+     * Number of entries held, including invalidated and expired entries that were not removed yet.
+     *
+     * @return number of entries.
+     */
+    public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Number of entries removed because they were invalidated.
+     *
+     * @return number of invalidated entries.
+     */
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    /**
+     * Number of entries removed because they were not accessed within the time to live.
+     *
+     * @return number of expired entries.
+     */
+    public long getExpirations() {
+        return expirations.get();
+    }
+
+    /**
+     * Number of entries removed because the store was full.
+     *
+     * @return number of evicted entries.
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+}
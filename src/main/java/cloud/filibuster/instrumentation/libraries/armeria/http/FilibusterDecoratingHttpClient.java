@@ -1,5 +1,6 @@
 package cloud.filibuster.instrumentation.libraries.armeria.http;
 
+import cloud.filibuster.dei.DistributedExecutionIndexHeaders;
 import cloud.filibuster.exceptions.filibuster.FilibusterFaultInjectionException;
 import cloud.filibuster.instrumentation.datatypes.Callsite;
 import cloud.filibuster.instrumentation.datatypes.CallsiteArguments;
@@ -16,11 +17,13 @@ import io.grpc.StatusRuntimeException;
 import io.netty.channel.ConnectTimeoutException;
 import org.json.JSONObject;
 
+import javax.annotation.Nullable;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -207,6 +210,16 @@ public class FilibusterDecoratingHttpClient extends SimpleDecoratingHttpClient {
 
         setupContext(ctx, req);
 
+        // ******************************************************************************************
+        // Resolve the name of the destination.
+        // ******************************************************************************************
+
+        String uri = req.uri().toString();
+        Map.Entry<String, String> hostnameAndPort = extractHostnameAndPortFromURI(uri);
+        String hostname = hostnameAndPort.getKey();
+        String port = hostnameAndPort.getValue();
+        String hostnameForExceptionBody = attemptHostnameResolution(hostname, uri);
+
         // ******************************************************************************************
         // Record invocation.
         // ******************************************************************************************
@@ -214,8 +227,32 @@ public class FilibusterDecoratingHttpClient extends SimpleDecoratingHttpClient {
         if (grpcRpcType) {
             filibusterClientInstrumentor.setRpcType("grpc"); // TODO, enum?
         }
+
+        // Defer the request until the server answers rather than blocking the event loop, then continue on the
+        // request's event loop.
+        if (filibusterClientInstrumentor.shouldInstrumentAsynchronously()) {
+            return HttpResponse.from(filibusterClientInstrumentor.beforeInvocationAsync().thenApplyAsync(ignored -> {
+                try {
+                    return attachMetadataAndIssueRequest(ctx, req, filibusterClientInstrumentor, hostname, hostnameForExceptionBody, port);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, ctx.eventLoop()));
+        }
+
         filibusterClientInstrumentor.beforeInvocation();
 
+        return attachMetadataAndIssueRequest(ctx, req, filibusterClientInstrumentor, hostname, hostnameForExceptionBody, port);
+    }
+
+    private HttpResponse attachMetadataAndIssueRequest(
+            ClientRequestContext ctx,
+            HttpRequest req,
+            FilibusterClientInstrumentor filibusterClientInstrumentor,
+            String hostname,
+            String hostnameForExceptionBody,
+            String port
+    ) throws Exception {
         JSONObject forcedException = filibusterClientInstrumentor.getForcedException();
         JSONObject failureMetadata = filibusterClientInstrumentor.getFailureMetadata();
 
@@ -236,7 +273,7 @@ public class FilibusterDecoratingHttpClient extends SimpleDecoratingHttpClient {
         }
         newHeaders.add("X-Filibuster-VClock", filibusterClientInstrumentor.getVectorClock().toString());
         newHeaders.add("X-Filibuster-Origin-VClock", filibusterClientInstrumentor.getOriginVectorClock().toString());
-        newHeaders.add("X-Filibuster-Execution-Index", filibusterClientInstrumentor.getDistributedExecutionIndex().toString());
+        newHeaders.add("X-Filibuster-Execution-Index", DistributedExecutionIndexHeaders.toHeader(filibusterClientInstrumentor.getDistributedExecutionIndex()));
 
         if (forcedException != null) {
             JSONObject forcedExceptionMetadata = forcedException.getJSONObject("metadata");
@@ -253,15 +290,36 @@ public class FilibusterDecoratingHttpClient extends SimpleDecoratingHttpClient {
         ctx.updateRequest(req);
 
         // ******************************************************************************************
-        // Resolve the name of the destination.
+        // Apply injected latency.
         // ******************************************************************************************
 
-        String uri = req.uri().toString();
-        Map.Entry<String, String> hostnameAndPort = extractHostnameAndPortFromURI(uri);
-        String hostname = hostnameAndPort.getKey();
-        String port = hostnameAndPort.getValue();
-        String hostnameForExceptionBody = attemptHostnameResolution(hostname, uri);
+        // Defer the request on the shared timer rather than blocking the event loop, then continue on the
+        // request's event loop.
+        if (filibusterClientInstrumentor.getLatencyMilliseconds() > 0) {
+            HttpRequest delayedReq = req;
+
+            return HttpResponse.from(filibusterClientInstrumentor.delayForInjectedLatency().thenApplyAsync(ignored -> {
+                try {
+                    return issueRequest(ctx, delayedReq, filibusterClientInstrumentor, forcedException, failureMetadata, hostname, hostnameForExceptionBody, port);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, ctx.eventLoop()));
+        }
+
+        return issueRequest(ctx, req, filibusterClientInstrumentor, forcedException, failureMetadata, hostname, hostnameForExceptionBody, port);
+    }
 
+    private HttpResponse issueRequest(
+            ClientRequestContext ctx,
+            HttpRequest req,
+            FilibusterClientInstrumentor filibusterClientInstrumentor,
+            @Nullable JSONObject forcedException,
+            @Nullable JSONObject failureMetadata,
+            String hostname,
+            String hostnameForExceptionBody,
+            String port
+    ) throws Exception {
         // ******************************************************************************************
         // If we need to override the response, do it now before proceeding.
         // ******************************************************************************************
@@ -1,5 +1,6 @@
 package cloud.filibuster.instrumentation.libraries.armeria.http;
 
+import cloud.filibuster.dei.DistributedExecutionIndexHeaders;
 import cloud.filibuster.instrumentation.datatypes.RequestId;
 import cloud.filibuster.instrumentation.instrumentors.FilibusterServerInstrumentor;
 import cloud.filibuster.instrumentation.storage.ContextStorage;
@@ -101,7 +102,7 @@ public class FilibusterDecoratingHttpService extends SimpleDecoratingHttpService
 
     @SuppressWarnings("NullAway")
     public String getDistributedExecutionIndexFromRequestMetadata(HttpRequest req) {
-        return req.headers().get("X-Filibuster-Execution-Index");
+        return DistributedExecutionIndexHeaders.fromHeader(req.headers().get("X-Filibuster-Execution-Index"));
     }
 
     // ******************************************************************************************
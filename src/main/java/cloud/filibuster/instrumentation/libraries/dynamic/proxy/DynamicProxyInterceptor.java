@@ -128,6 +128,13 @@ public class DynamicProxyInterceptor<T> implements InvocationHandler {
         logger.log(Level.INFO, logPrefix + "failureMetadata: " + failureMetadata);
         logger.log(Level.INFO, logPrefix + "byzantineFault: " + byzantineFault);
 
+        // ******************************************************************************************
+        // Apply injected latency.
+        // ******************************************************************************************
+
+        // Calls through this interceptor are synchronous, so only the calling thread waits.
+        filibusterClientInstrumentor.awaitInjectedLatency();
+
         // ******************************************************************************************
         // If we need to throw, this is where we throw.
         // ******************************************************************************************
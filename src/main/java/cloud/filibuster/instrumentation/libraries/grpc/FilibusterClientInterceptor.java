@@ -1,9 +1,11 @@
 package cloud.filibuster.instrumentation.libraries.grpc;
 
+import cloud.filibuster.dei.DistributedExecutionIndexHeaders;
 import cloud.filibuster.exceptions.filibuster.FilibusterFaultInjectionException;
 import cloud.filibuster.exceptions.filibuster.FilibusterInstrumentationMissingDelegateException;
 import cloud.filibuster.instrumentation.datatypes.Callsite;
 import cloud.filibuster.instrumentation.datatypes.CallsiteArguments;
+import cloud.filibuster.instrumentation.datatypes.FilibusterExecutor;
 import cloud.filibuster.instrumentation.instrumentors.FilibusterClientInstrumentor;
 import cloud.filibuster.instrumentation.storage.ContextStorage;
 import cloud.filibuster.instrumentation.storage.ThreadLocalContextStorage;
@@ -20,7 +22,9 @@ import org.json.JSONObject;
 
 import javax.annotation.Nullable;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -201,8 +205,15 @@ public class FilibusterClientInterceptor implements ClientInterceptor {
                 this.responseListener = responseListener;
             }
 
+            // Set while the call is held back by injected latency; operations issued meanwhile are queued.
+            private boolean delayed;
+            private final List<Runnable> pendingOperations = new ArrayList<>();
+
             @Override
             public void request(int requests) {
+                if (deferWhileDelayed(() -> super.request(requests))) {
+                    return;
+                }
                 if (delegate == null) {
                     requestTokens += requests;
                     return;
@@ -210,6 +221,50 @@ public class FilibusterClientInterceptor implements ClientInterceptor {
                 super.request(requests);
             }
 
+            @Override
+            public void halfClose() {
+                if (deferWhileDelayed(() -> super.halfClose())) {
+                    return;
+                }
+                super.halfClose();
+            }
+
+            @Override
+            public void cancel(@Nullable String message, @Nullable Throwable cause) {
+                if (deferWhileDelayed(() -> super.cancel(message, cause))) {
+                    return;
+                }
+                super.cancel(message, cause);
+            }
+
+            private synchronized boolean deferWhileDelayed(Runnable operation) {
+                if (delayed) {
+                    pendingOperations.add(operation);
+                    return true;
+                }
+                return false;
+            }
+
+            // Replay queued operations in order until none remain, then release the call.
+            private void drainPendingOperations() {
+                while (true) {
+                    List<Runnable> operations;
+
+                    synchronized (this) {
+                        if (pendingOperations.isEmpty()) {
+                            delayed = false;
+                            return;
+                        }
+                        operations = new ArrayList<>(pendingOperations);
+                        pendingOperations.clear();
+                    }
+
+                    for (Runnable operation : operations) {
+                        operation.run();
+                    }
+                }
+            }
+
             // This method is invoked with the message from the Client to the Service.
             // message: type of the message issued from the Client (e.g., Hello$HelloRequest)
             @Override
@@ -279,103 +334,184 @@ public class FilibusterClientInterceptor implements ClientInterceptor {
                     // ******************************************************************************************
 
                     filibusterClientInstrumentor.setRpcType("grpc"); // TODO: enum?
-                    filibusterClientInstrumentor.beforeInvocation();
-
-                    // ******************************************************************************************
-                    // Attach metadata to outgoing request.
-                    // ******************************************************************************************
 
-                    logger.log(Level.INFO, logPrefix + "requestId: " + filibusterClientInstrumentor.getOutgoingRequestId());
+                    // Hold the call back until the server answers instead of blocking the caller; anything the
+                    // caller issues in the meantime (e.g., halfClose) is queued and replayed afterwards.
+                    if (filibusterClientInstrumentor.shouldInstrumentAsynchronously()) {
+                        synchronized (this) {
+                            delayed = true;
+                        }
 
-                    if (filibusterClientInstrumentor.getOutgoingRequestId() != null) {
-                        headers.put(
-                                Metadata.Key.of("x-filibuster-request-id", Metadata.ASCII_STRING_MARSHALLER),
-                                filibusterClientInstrumentor.getOutgoingRequestId()
-                        );
+                        filibusterClientInstrumentor.beforeInvocationAsync().whenCompleteAsync((result, cause) -> {
+                            if (cause != null) {
+                                failCall(cause);
+                                return;
+                            }
+
+                            try {
+                                if (!attachMetadataAndProceed(message)) {
+                                    drainPendingOperations();
+                                }
+                            } catch (RuntimeException e) {
+                                failCall(e);
+                            }
+                        }, FilibusterExecutor.getExecutorService());
+                        return;
                     }
 
-                    if (filibusterClientInstrumentor.getGeneratedId() > -1) {
-                        headers.put(
-                                Metadata.Key.of("x-filibuster-generated-id", Metadata.ASCII_STRING_MARSHALLER),
-                                String.valueOf(filibusterClientInstrumentor.getGeneratedId())
-                        );
-                    }
+                    filibusterClientInstrumentor.beforeInvocation();
+                    attachMetadataAndProceed(message);
+                    return;
+                }
 
+                super.sendMessage(message);
+            }
+
+            // Returns whether the call is held back for injected latency; if so, pending operations are replayed
+            // once it proceeds.
+            private boolean attachMetadataAndProceed(REQUEST message) {
+                // ******************************************************************************************
+                // Attach metadata to outgoing request.
+                // ******************************************************************************************
+
+                logger.log(Level.INFO, logPrefix + "requestId: " + filibusterClientInstrumentor.getOutgoingRequestId());
+
+                if (filibusterClientInstrumentor.getOutgoingRequestId() != null) {
                     headers.put(
-                            Metadata.Key.of("x-filibuster-vclock", Metadata.ASCII_STRING_MARSHALLER),
-                            filibusterClientInstrumentor.getVectorClock().toString()
-                    );
-                    headers.put(
-                            Metadata.Key.of("x-filibuster-origin-vclock", Metadata.ASCII_STRING_MARSHALLER),
-                            filibusterClientInstrumentor.getOriginVectorClock().toString()
+                            Metadata.Key.of("x-filibuster-request-id", Metadata.ASCII_STRING_MARSHALLER),
+                            filibusterClientInstrumentor.getOutgoingRequestId()
                     );
+                }
+
+                if (filibusterClientInstrumentor.getGeneratedId() > -1) {
                     headers.put(
-                            Metadata.Key.of("x-filibuster-execution-index", Metadata.ASCII_STRING_MARSHALLER),
-                            filibusterClientInstrumentor.getDistributedExecutionIndex().toString()
+                            Metadata.Key.of("x-filibuster-generated-id", Metadata.ASCII_STRING_MARSHALLER),
+                            String.valueOf(filibusterClientInstrumentor.getGeneratedId())
                     );
+                }
 
-                    String x = filibusterClientInstrumentor.getDistributedExecutionIndex().toString();
+                headers.put(
+                        Metadata.Key.of("x-filibuster-vclock", Metadata.ASCII_STRING_MARSHALLER),
+                        filibusterClientInstrumentor.getVectorClock().toString()
+                );
+                headers.put(
+                        Metadata.Key.of("x-filibuster-origin-vclock", Metadata.ASCII_STRING_MARSHALLER),
+                        filibusterClientInstrumentor.getOriginVectorClock().toString()
+                );
+                headers.put(
+                        Metadata.Key.of("x-filibuster-execution-index", Metadata.ASCII_STRING_MARSHALLER),
+                        DistributedExecutionIndexHeaders.toHeader(filibusterClientInstrumentor.getDistributedExecutionIndex())
+                );
 
-                    // ******************************************************************************************
-                    // Get failure information.
-                    // ******************************************************************************************
+                // ******************************************************************************************
+                // Get failure information.
+                // ******************************************************************************************
 
-                    JSONObject forcedException = filibusterClientInstrumentor.getForcedException();
-                    JSONObject failureMetadata = filibusterClientInstrumentor.getFailureMetadata();
+                JSONObject forcedException = filibusterClientInstrumentor.getForcedException();
+                JSONObject failureMetadata = filibusterClientInstrumentor.getFailureMetadata();
 
-                    logger.log(Level.INFO, logPrefix + "forcedException: " + forcedException);
-                    logger.log(Level.INFO, logPrefix + "failureMetadata: " + failureMetadata);
+                logger.log(Level.INFO, logPrefix + "forcedException: " + forcedException);
+                logger.log(Level.INFO, logPrefix + "failureMetadata: " + failureMetadata);
 
-                    // ******************************************************************************************
-                    // Setup additional failure headers, if necessary.
-                    // ******************************************************************************************
+                // ******************************************************************************************
+                // Setup additional failure headers, if necessary.
+                // ******************************************************************************************
 
-                    if (forcedException != null) {
-                        JSONObject forcedExceptionMetadata = forcedException.getJSONObject("metadata");
-
-                        if (forcedExceptionMetadata.has("sleep")) {
-                            int sleepInterval = forcedExceptionMetadata.getInt("sleep");
-                            headers.put(
-                                    Metadata.Key.of("x-filibuster-forced-sleep", Metadata.ASCII_STRING_MARSHALLER),
-                                    String.valueOf(sleepInterval)
-                            );
-                        } else {
-                            headers.put(
-                                    Metadata.Key.of("x-filibuster-forced-sleep", Metadata.ASCII_STRING_MARSHALLER),
-                                    String.valueOf(0)
-                            );
-                        }
+                if (forcedException != null) {
+                    JSONObject forcedExceptionMetadata = forcedException.getJSONObject("metadata");
+
+                    if (forcedExceptionMetadata.has("sleep")) {
+                        int sleepInterval = forcedExceptionMetadata.getInt("sleep");
+                        headers.put(
+                                Metadata.Key.of("x-filibuster-forced-sleep", Metadata.ASCII_STRING_MARSHALLER),
+                                String.valueOf(sleepInterval)
+                        );
+                    } else {
+                        headers.put(
+                                Metadata.Key.of("x-filibuster-forced-sleep", Metadata.ASCII_STRING_MARSHALLER),
+                                String.valueOf(0)
+                        );
                     }
+                }
 
-                    // ******************************************************************************************
-                    // If we need to override the response, do it now before proceeding.
-                    // ******************************************************************************************
+                // ******************************************************************************************
+                // Apply injected latency.
+                // ******************************************************************************************
 
-                    if (failureMetadata != null && filibusterClientInstrumentor.shouldAbort()) {
-                        delegate = new NoopClientCall<REQUEST, RESPONSE>();
-                        Status status = generateExceptionFromFailureMetadata(filibusterClientInstrumentor);
-                        responseListener.onClose(status, new Metadata());
-                        return;
+                // Hold the call back on the shared timer instead of blocking the caller; anything the
+                // caller issues in the meantime (e.g., halfClose) is queued and replayed afterwards.
+                if (filibusterClientInstrumentor.getLatencyMilliseconds() > 0) {
+                    synchronized (this) {
+                        delayed = true;
                     }
 
-                    // ******************************************************************************************
-                    // If we need to throw, this is where we throw.
-                    // ******************************************************************************************
+                    // Continue off the timer thread, as proceeding may notify the Filibuster server.
+                    filibusterClientInstrumentor.delayForInjectedLatency().whenCompleteAsync((result, cause) -> {
+                        if (cause != null) {
+                            failCall(cause);
+                            return;
+                        }
 
-                    if (forcedException != null && filibusterClientInstrumentor.shouldAbort()) {
-                        delegate = new NoopClientCall<REQUEST, RESPONSE>();
-                        Status status = generateExceptionFromForcedException(filibusterClientInstrumentor);
-                        responseListener.onClose(status, new Metadata());
-                        return;
-                    }
+                        try {
+                            proceed(message, forcedException, failureMetadata);
+                            drainPendingOperations();
+                        } catch (RuntimeException e) {
+                            failCall(e);
+                        }
+                    }, FilibusterExecutor.getExecutorService());
+                    return true;
+                }
 
-                    delegate = next.newCall(method, callOptions);
-                    super.start(new FilibusterClientCallListener<>(responseListener, filibusterClientInstrumentor), headers);
-                    headers = null;
-                    if (requestTokens > 0) {
-                        super.request(requestTokens);
-                        requestTokens = 0;
-                    }
+                proceed(message, forcedException, failureMetadata);
+                return false;
+            }
+
+            // Release a held back call when the instrumentation fails before the call is issued: close it with an
+            // error, rather than leaving the caller waiting on a call that never proceeds.
+            private void failCall(Throwable cause) {
+                logger.log(Level.SEVERE, logPrefix + "instrumentation failed before issuing the call: " + cause);
+
+                // Already issued or closed: the listener reports the outcome.
+                if (delegate == null) {
+                    delegate = new NoopClientCall<REQUEST, RESPONSE>();
+                    Status status = Status.INTERNAL
+                            .withDescription("Filibuster instrumentation failed before issuing the call.")
+                            .withCause(cause);
+                    responseListener.onClose(status, new Metadata());
+                }
+
+                drainPendingOperations();
+            }
+
+            private void proceed(REQUEST message, @Nullable JSONObject forcedException, @Nullable JSONObject failureMetadata) {
+                // ******************************************************************************************
+                // If we need to override the response, do it now before proceeding.
+                // ******************************************************************************************
+
+                if (failureMetadata != null && filibusterClientInstrumentor.shouldAbort()) {
+                    delegate = new NoopClientCall<REQUEST, RESPONSE>();
+                    Status status = generateExceptionFromFailureMetadata(filibusterClientInstrumentor);
+                    responseListener.onClose(status, new Metadata());
+                    return;
+                }
+
+                // ******************************************************************************************
+                // If we need to throw, this is where we throw.
+                // ******************************************************************************************
+
+                if (forcedException != null && filibusterClientInstrumentor.shouldAbort()) {
+                    delegate = new NoopClientCall<REQUEST, RESPONSE>();
+                    Status status = generateExceptionFromForcedException(filibusterClientInstrumentor);
+                    responseListener.onClose(status, new Metadata());
+                    return;
+                }
+
+                delegate = next.newCall(method, callOptions);
+                super.start(new FilibusterClientCallListener<>(responseListener, filibusterClientInstrumentor), headers);
+                headers = null;
+                if (requestTokens > 0) {
+                    super.request(requestTokens);
+                    requestTokens = 0;
                 }
 
                 super.sendMessage(message);
@@ -1,5 +1,6 @@
 package cloud.filibuster.instrumentation.libraries.grpc;
 
+import cloud.filibuster.dei.DistributedExecutionIndexHeaders;
 import cloud.filibuster.instrumentation.datatypes.RequestId;
 import cloud.filibuster.instrumentation.instrumentors.FilibusterServerInstrumentor;
 import cloud.filibuster.instrumentation.storage.ContextStorage;
@@ -98,8 +99,8 @@ public class FilibusterServerInterceptor implements ServerInterceptor {
     }
 
     public String getDistributedExecutionIndexFromMetadata(Metadata requestHeaders) {
-        String distributedExecutionIndex = requestHeaders.get(
-                Metadata.Key.of("x-filibuster-execution-index", Metadata.ASCII_STRING_MARSHALLER));
+        String distributedExecutionIndex = DistributedExecutionIndexHeaders.fromHeader(requestHeaders.get(
+                Metadata.Key.of("x-filibuster-execution-index", Metadata.ASCII_STRING_MARSHALLER)));
         logger.log(Level.INFO, logPrefix + "executionIndex: " + distributedExecutionIndex);
         return distributedExecutionIndex;
     }
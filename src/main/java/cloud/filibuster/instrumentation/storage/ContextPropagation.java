@@ -0,0 +1,169 @@
+package cloud.filibuster.instrumentation.storage;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Wrappers that carry the Filibuster context of the thread that creates them to the thread that runs them.
+ *
+ * The context is copied when the wrapper is created, attached to the thread that runs it for the duration of the run,
+ * and the thread's own context is restored afterwards.  For CompletableFuture stages, wrap the function when the stage
+ * is created, e.g. {@code future.thenApply(ContextPropagation.wrap(function))}: wrapping only the executor captures
+ * the context of whichever thread completes the previous stage.
+ */
+public final class ContextPropagation {
+    private ContextPropagation() {
+
+    }
+
+    public static Runnable wrap(Runnable runnable) {
+        FilibusterContext filibusterContext = ThreadLocalContextStorage.capture();
+
+        return () -> {
+            FilibusterContext previousContext = ThreadLocalContextStorage.attach(filibusterContext);
+
+            try {
+                runnable.run();
+            } finally {
+                ThreadLocalContextStorage.restore(previousContext);
+            }
+        };
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> callable) {
+        FilibusterContext filibusterContext = ThreadLocalContextStorage.capture();
+
+        return () -> {
+            FilibusterContext previousContext = ThreadLocalContextStorage.attach(filibusterContext);
+
+            try {
+                return callable.call();
+            } finally {
+                ThreadLocalContextStorage.restore(previousContext);
+            }
+        };
+    }
+
+    public static <T> Supplier<T> wrap(Supplier<T> supplier) {
+        FilibusterContext filibusterContext = ThreadLocalContextStorage.capture();
+
+        return () -> {
+            FilibusterContext previousContext = ThreadLocalContextStorage.attach(filibusterContext);
+
+            try {
+                return supplier.get();
+            } finally {
+                ThreadLocalContextStorage.restore(previousContext);
+            }
+        };
+    }
+
+    public static <T> Consumer<T> wrap(Consumer<T> consumer) {
+        FilibusterContext filibusterContext = ThreadLocalContextStorage.capture();
+
+        return value -> {
+            FilibusterContext previousContext = ThreadLocalContextStorage.attach(filibusterContext);
+
+            try {
+                consumer.accept(value);
+            } finally {
+                ThreadLocalContextStorage.restore(previousContext);
+            }
+        };
+    }
+
+    public static <T, R> Function<T, R> wrap(Function<T, R> function) {
+        FilibusterContext filibusterContext = ThreadLocalContextStorage.capture();
+
+        return value -> {
+            FilibusterContext previousContext = ThreadLocalContextStorage.attach(filibusterContext);
+
+            try {
+                return function.apply(value);
+            } finally {
+                ThreadLocalContextStorage.restore(previousContext);
+            }
+        };
+    }
+
+    public static <T, U, R> BiFunction<T, U, R> wrap(BiFunction<T, U, R> function) {
+        FilibusterContext filibusterContext = ThreadLocalContextStorage.capture();
+
+        return (first, second) -> {
+            FilibusterContext previousContext = ThreadLocalContextStorage.attach(filibusterContext);
+
+            try {
+                return function.apply(first, second);
+            } finally {
+                ThreadLocalContextStorage.restore(previousContext);
+            }
+        };
+    }
+
+    /**
+     * Wrap an executor so that every task runs with the context of the thread that submits it.
+     *
+     * @param executor the executor.
+     * @return the wrapped executor.
+     */
+    public static Executor wrap(Executor executor) {
+        return command -> executor.execute(wrap(command));
+    }
+
+    /**
+     * Wrap an executor service so that every task runs with the context of the thread that submits it.
+     *
+     * @param executorService the executor service.
+     * @return the wrapped executor service.
+     */
+    public static ExecutorService wrap(ExecutorService executorService) {
+        return new ContextPropagatingExecutorService(executorService);
+    }
+
+    // Tasks submitted through submit and invoke* also go through execute.
+    private static final class ContextPropagatingExecutorService extends AbstractExecutorService {
+        private final ExecutorService delegate;
+
+        ContextPropagatingExecutorService(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(wrap(command));
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package cloud.filibuster.instrumentation.storage;
+
+import cloud.filibuster.instrumentation.datatypes.VectorClock;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Filibuster context of the request a thread is working on: request id, vector clocks and execution index, and any
+ * other values stored by key.
+ *
+ * Each thread works on its own context, and contexts are copied when they are propagated to another thread.  Fields
+ * are volatile so that a context shared by every thread, as global context storage is, reads each field consistently;
+ * copies are not atomic.
+ */
+public final class FilibusterContext {
+    @Nullable
+    private volatile String requestId;
+
+    @Nullable
+    private volatile VectorClock vectorClock;
+
+    @Nullable
+    private volatile VectorClock originVectorClock;
+
+    @Nullable
+    private volatile String distributedExecutionIndex;
+
+    // Values stored under keys other than the four above.
+    private final Map<String, Object> values = new ConcurrentHashMap<>();
+
+    /**
+     * Copy this context.  Vector clocks are cloned, so changes to either context are not seen by the other.
+     *
+     * @return the copy.
+     */
+    public FilibusterContext copy() {
+        FilibusterContext filibusterContext = new FilibusterContext();
+        filibusterContext.requestId = requestId;
+        filibusterContext.vectorClock = cloneOrNull(vectorClock);
+        filibusterContext.originVectorClock = cloneOrNull(originVectorClock);
+        filibusterContext.distributedExecutionIndex = distributedExecutionIndex;
+        filibusterContext.values.putAll(values);
+        return filibusterContext;
+    }
+
+    @Nullable
+    private static VectorClock cloneOrNull(@Nullable VectorClock vectorClock) {
+        return vectorClock == null ? null : vectorClock.clone();
+    }
+
+    // Remove every value.
+    void clear() {
+        requestId = null;
+        vectorClock = null;
+        originVectorClock = null;
+        distributedExecutionIndex = null;
+        values.clear();
+    }
+
+    @Nullable
+    Object getValue(String key) {
+        return values.get(key);
+    }
+
+    void setValue(String key, @Nullable Object value) {
+        if (value == null) {
+            values.remove(key);
+        } else {
+            values.put(key, value);
+        }
+    }
+
+    @Nullable
+    public String getRequestId() {
+        return requestId;
+    }
+
+    @Nullable
+    public VectorClock getVectorClock() {
+        return vectorClock;
+    }
+
+    @Nullable
+    public VectorClock getOriginVectorClock() {
+        return originVectorClock;
+    }
+
+    @Nullable
+    public String getDistributedExecutionIndex() {
+        return distributedExecutionIndex;
+    }
+
+    public void setRequestId(@Nullable String requestId) {
+        this.requestId = requestId;
+    }
+
+    public void setVectorClock(@Nullable VectorClock vectorClock) {
+        this.vectorClock = vectorClock;
+    }
+
+    public void setOriginVectorClock(@Nullable VectorClock originVectorClock) {
+        this.originVectorClock = originVectorClock;
+    }
+
+    public void setDistributedExecutionIndex(@Nullable String distributedExecutionIndex) {
+        this.distributedExecutionIndex = distributedExecutionIndex;
+    }
+}
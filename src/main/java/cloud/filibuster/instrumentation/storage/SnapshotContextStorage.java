@@ -0,0 +1,93 @@
+package cloud.filibuster.instrumentation.storage;
+
+import cloud.filibuster.instrumentation.datatypes.VectorClock;
+
+import javax.annotation.Nullable;
+
+/**
+ * Context storage holding a copy of another context storage's values, taken on the thread that owns the context.
+ *
+ * Used when instrumentation continues on another thread (e.g., once the Filibuster server answers), where
+ * thread-local context storage would return that thread's values instead.  Setters only update the copy.
+ */
+public class SnapshotContextStorage implements ContextStorage {
+    @Nullable
+    private String requestId;
+
+    @Nullable
+    private VectorClock vectorClock;
+
+    @Nullable
+    private VectorClock originVectorClock;
+
+    @Nullable
+    private String distributedExecutionIndex;
+
+    private SnapshotContextStorage() {
+
+    }
+
+    /**
+     * Copy the current values of a context storage.
+     *
+     * @param contextStorage the context storage, read on the calling thread.
+     * @return the copy.
+     */
+    public static SnapshotContextStorage of(ContextStorage contextStorage) {
+        SnapshotContextStorage snapshotContextStorage = new SnapshotContextStorage();
+        snapshotContextStorage.requestId = contextStorage.getRequestId();
+        snapshotContextStorage.vectorClock = cloneOrNull(contextStorage.getVectorClock());
+        snapshotContextStorage.originVectorClock = cloneOrNull(contextStorage.getOriginVectorClock());
+        snapshotContextStorage.distributedExecutionIndex = contextStorage.getDistributedExecutionIndex();
+        return snapshotContextStorage;
+    }
+
+    @Nullable
+    private static VectorClock cloneOrNull(@Nullable VectorClock vectorClock) {
+        return vectorClock == null ? null : vectorClock.clone();
+    }
+
+    @Override
+    @Nullable
+    public synchronized String getRequestId() {
+        return requestId;
+    }
+
+    @Override
+    @Nullable
+    public synchronized VectorClock getVectorClock() {
+        return vectorClock;
+    }
+
+    @Override
+    @Nullable
+    public synchronized VectorClock getOriginVectorClock() {
+        return originVectorClock;
+    }
+
+    @Override
+    @Nullable
+    public synchronized String getDistributedExecutionIndex() {
+        return distributedExecutionIndex;
+    }
+
+    @Override
+    public synchronized void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+
+    @Override
+    public synchronized void setVectorClock(VectorClock vectorClock) {
+        this.vectorClock = vectorClock;
+    }
+
+    @Override
+    public synchronized void setOriginVectorClock(VectorClock originVectorClock) {
+        this.originVectorClock = originVectorClock;
+    }
+
+    @Override
+    public synchronized void setDistributedExecutionIndex(String distributedExecutionIndex) {
+        this.distributedExecutionIndex = distributedExecutionIndex;
+    }
+}
@@ -2,96 +2,152 @@ package cloud.filibuster.instrumentation.storage;
 
 import cloud.filibuster.instrumentation.datatypes.VectorClock;
 
-import java.util.HashMap;
+import javax.annotation.Nullable;
 
 import static cloud.filibuster.instrumentation.Constants.FILIBUSTER_EXECUTION_INDEX;
 import static cloud.filibuster.instrumentation.Constants.FILIBUSTER_ORIGIN_VCLOCK;
 import static cloud.filibuster.instrumentation.Constants.FILIBUSTER_REQUEST_ID;
 import static cloud.filibuster.instrumentation.Constants.FILIBUSTER_VCLOCK;
 
+/**
+ * Context storage holding one Filibuster context per thread.
+ *
+ * Contexts are not inherited by threads the current thread starts, as pooled threads would keep the context of
+ * whichever request started them; work handed to another thread carries the context explicitly, using the wrappers
+ * in {@link ContextPropagation}.
+ */
 public class ThreadLocalContextStorage implements ContextStorage {
-    public static boolean useGlobalContext = false;
+    // Every thread uses the same context instead of its own, e.g., for tests where the service runs on another thread.
+    public static volatile boolean useGlobalContext = false;
 
-    final private static HashMap<String, InheritableThreadLocal> threadLocalDictionary = new HashMap<>();
-    final private static HashMap<String, Object> globalDictionary = new HashMap<>();
+    private static final ThreadLocal<FilibusterContext> threadContext = ThreadLocal.withInitial(FilibusterContext::new);
 
+    private static final FilibusterContext globalContext = new FilibusterContext();
+
+    private static FilibusterContext context() {
+        return useGlobalContext ? globalContext : threadContext.get();
+    }
+
+    /**
+     * Remove the context of the current thread, and the global context.
+     */
     public static void clear() {
-        threadLocalDictionary.clear();
-        globalDictionary.clear();
+        threadContext.remove();
+        globalContext.clear();
+    }
+
+    /**
+     * Copy the context of the current thread, to propagate it to another thread.
+     *
+     * @return the copy.
+     */
+    public static FilibusterContext capture() {
+        return context().copy();
+    }
+
+    /**
+     * Make a context the context of the current thread.
+     *
+     * @param filibusterContext the context.
+     * @return the previous context of the current thread, to restore once done.
+     */
+    public static FilibusterContext attach(FilibusterContext filibusterContext) {
+        FilibusterContext previousContext = threadContext.get();
+        threadContext.set(filibusterContext);
+        return previousContext;
+    }
+
+    /**
+     * Restore the context of the current thread from before a call to attach.
+     *
+     * @param previousContext the context returned by attach.
+     */
+    public static void restore(FilibusterContext previousContext) {
+        threadContext.set(previousContext);
     }
 
-    @SuppressWarnings("unchecked")
-    public static <T> void set(String key, T value) {
-        if (!useGlobalContext) {
-            InheritableThreadLocal<T> threadLocal;
-
-            if (threadLocalDictionary.containsKey(key)) {
-                threadLocal = threadLocalDictionary.get(key);
-            } else {
-                threadLocal = new InheritableThreadLocal<>();
-                threadLocalDictionary.put(key, threadLocal);
-            }
-            threadLocal.set(value);
-        } else {
-            globalDictionary.put(key, value);
+    public static <T> void set(String key, @Nullable T value) {
+        FilibusterContext filibusterContext = context();
+
+        switch (key) {
+            case FILIBUSTER_REQUEST_ID:
+                filibusterContext.setRequestId((String) value);
+                break;
+            case FILIBUSTER_VCLOCK:
+                filibusterContext.setVectorClock((VectorClock) value);
+                break;
+            case FILIBUSTER_ORIGIN_VCLOCK:
+                filibusterContext.setOriginVectorClock((VectorClock) value);
+                break;
+            case FILIBUSTER_EXECUTION_INDEX:
+                filibusterContext.setDistributedExecutionIndex((String) value);
+                break;
+            default:
+                filibusterContext.setValue(key, value);
+                break;
         }
     }
 
+    @Nullable
     @SuppressWarnings({"TypeParameterUnusedInFormals", "unchecked"})
     public static <T> T get(String key) {
-        if (!useGlobalContext) {
-            if (threadLocalDictionary.containsKey(key)) {
-                InheritableThreadLocal<T> threadLocal = threadLocalDictionary.get(key);
-                return threadLocal.get();
-            } else {
-                return null;
-            }
-        } else {
-            if (globalDictionary.containsKey(key)) {
-                return (T) globalDictionary.get(key);
-            } else {
-                return null;
-            }
+        FilibusterContext filibusterContext = context();
+
+        switch (key) {
+            case FILIBUSTER_REQUEST_ID:
+                return (T) filibusterContext.getRequestId();
+            case FILIBUSTER_VCLOCK:
+                return (T) filibusterContext.getVectorClock();
+            case FILIBUSTER_ORIGIN_VCLOCK:
+                return (T) filibusterContext.getOriginVectorClock();
+            case FILIBUSTER_EXECUTION_INDEX:
+                return (T) filibusterContext.getDistributedExecutionIndex();
+            default:
+                return (T) filibusterContext.getValue(key);
         }
     }
 
     @Override
+    @Nullable
     public String getRequestId() {
-        return get(FILIBUSTER_REQUEST_ID);
+        return context().getRequestId();
     }
 
     @Override
+    @Nullable
     public VectorClock getVectorClock() {
-        return get(FILIBUSTER_VCLOCK);
+        return context().getVectorClock();
     }
 
     @Override
+    @Nullable
     public VectorClock getOriginVectorClock() {
-        return get(FILIBUSTER_ORIGIN_VCLOCK);
+        return context().getOriginVectorClock();
     }
 
     @Override
+    @Nullable
     public String getDistributedExecutionIndex() {
-        return get(FILIBUSTER_EXECUTION_INDEX);
+        return context().getDistributedExecutionIndex();
     }
 
     @Override
     public void setRequestId(String requestId) {
-        set(FILIBUSTER_REQUEST_ID, requestId);
+        context().setRequestId(requestId);
     }
 
     @Override
     public void setVectorClock(VectorClock vectorClock) {
-        set(FILIBUSTER_VCLOCK, vectorClock);
+        context().setVectorClock(vectorClock);
     }
 
     @Override
     public void setOriginVectorClock(VectorClock originVectorClock) {
-        set(FILIBUSTER_ORIGIN_VCLOCK, originVectorClock);
+        context().setOriginVectorClock(originVectorClock);
     }
 
     @Override
     public void setDistributedExecutionIndex(String distributedExecutionIndex) {
-        set(FILIBUSTER_EXECUTION_INDEX, distributedExecutionIndex);
+        context().setDistributedExecutionIndex(distributedExecutionIndex);
     }
 }
@@ -3,5 +3,9 @@ package cloud.filibuster.junit;
 public enum FilibusterSearchStrategy {
     DEFAULT,
     DFS,
-    BFS;
+    BFS,
+
+    // DFS, skipping executions that only differ from one already explored or scheduled in which of a set of
+    // interchangeable concurrent RPCs their faults are injected on.
+    PARTIAL_ORDER_REDUCTION;
 }
@@ -215,6 +215,13 @@ public @interface TestWithFilibuster {
      */
     boolean abortOnFirstFailure() default false;
 
+    /**
+     * Should failing executions with more than one fault be minimized, by rerunning the test with subsets of their faults?
+     *
+     * @return boolean
+     */
+    boolean minimizeCounterexamples() default false;
+
     /**
      * If the Filibuster server is unavailable, should the system degrade to just running fault-free tests?
      *
@@ -1,10 +1,12 @@
 package cloud.filibuster.junit.configuration;
 
+import cloud.filibuster.exceptions.filibuster.FilibusterFaultInjectionException;
 import cloud.filibuster.instrumentation.datatypes.Pair;
 import cloud.filibuster.junit.configuration.examples.db.byzantine.types.ByzantineFaultType;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import org.json.JSONObject;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -23,11 +25,16 @@ public class FilibusterAnalysisConfiguration {
     private final String pattern;
     private final String type;
 
+    // Compiled once, as matching happens for every RPC.
+    @Nullable
+    private final Pattern compiledPattern;
+
     @SuppressWarnings("Varifier")
     public FilibusterAnalysisConfiguration(Builder builder) {
         this.name = builder.name;
         this.pattern = builder.pattern;
         this.type = builder.type;
+        this.compiledPattern = builder.pattern == null ? null : Pattern.compile(builder.pattern, Pattern.CASE_INSENSITIVE);
 
         configurationObject.put("pattern", builder.pattern);
         configurationObject.put("type", builder.type);
@@ -95,9 +102,17 @@ public class FilibusterAnalysisConfiguration {
         return this.type != null;
     }
 
+    @Nullable
+    public String getType() {
+        return this.type;
+    }
+
     public boolean isPatternMatch(String matchString) {
-        Pattern pattern = Pattern.compile(this.pattern, Pattern.CASE_INSENSITIVE);
-        Matcher matcher = pattern.matcher(matchString);
+        if (compiledPattern == null) {
+            throw new FilibusterFaultInjectionException("No pattern provided for analysis configuration: " + name);
+        }
+
+        Matcher matcher = compiledPattern.matcher(matchString);
         return matcher.find();
     }
 
@@ -60,6 +60,8 @@ public class FilibusterConfiguration {
 
     private final boolean abortOnFirstFailure;
 
+    private final boolean minimizeCounterexamples;
+
     private final Class<? extends Throwable> expected;
 
     private final FilibusterLatencyProfile latencyProfile;
@@ -73,6 +75,7 @@ public class FilibusterConfiguration {
 
     private FilibusterConfiguration(Builder builder) {
         this.abortOnFirstFailure = builder.abortOnFirstFailure;
+        this.minimizeCounterexamples = builder.minimizeCounterexamples;
         this.dynamicReduction = builder.dynamicReduction;
         this.suppressCombinations = builder.suppressCombinations;
         this.dataNondeterminism = builder.dataNondeterminism;
@@ -163,6 +166,15 @@ public class FilibusterConfiguration {
         return this.abortOnFirstFailure;
     }
 
+    /**
+     * Should failing executions be minimized to the smallest set of faults that still fails the test?
+     *
+     * @return boolean
+     */
+    public boolean getMinimizeCounterexamples() {
+        return this.minimizeCounterexamples;
+    }
+
     /**
      * Should combinations of faults be suppressed?
      *
@@ -276,6 +288,7 @@ public class FilibusterConfiguration {
         private boolean avoidRedundantInjections = false;
         private boolean avoidInjectionsOnOrganicFailures = false;
         private boolean abortOnFirstFailure = false;
+        private boolean minimizeCounterexamples = false;
 
         private FilibusterSearchStrategy searchStrategy;
 
@@ -334,6 +347,18 @@ public class FilibusterConfiguration {
             return this;
         }
 
+        /**
+         * Should failing executions be minimized to the smallest set of faults that still fails the test?
+         *
+         * @param minimizeCounterexamples should failing executions be minimized
+         * @return builder
+         */
+        @CanIgnoreReturnValue
+        public Builder minimizeCounterexamples(boolean minimizeCounterexamples) {
+            this.minimizeCounterexamples = minimizeCounterexamples;
+            return this;
+        }
+
         /**
          * Does this test configuration contain data nondeterminism?
          *
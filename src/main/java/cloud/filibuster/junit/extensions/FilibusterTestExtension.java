@@ -132,6 +132,7 @@ public class FilibusterTestExtension implements TestTemplateInvocationContextPro
 
         FilibusterConfiguration filibusterConfiguration = new FilibusterConfiguration.Builder()
                 .abortOnFirstFailure(testWithFilibuster.abortOnFirstFailure())
+                .minimizeCounterexamples(testWithFilibuster.minimizeCounterexamples())
                 .dynamicReduction(testWithFilibuster.dynamicReduction())
                 .suppressCombinations(suppressCombinations)
                 .dataNondeterminism(dataNondeterminism)
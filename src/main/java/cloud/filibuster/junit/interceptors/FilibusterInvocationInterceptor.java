@@ -53,12 +53,16 @@ public class FilibusterInvocationInterceptor implements InvocationInterceptor {
         privateWebClient = webClient;
     }
 
+    // When minimizing counterexamples, the failing execution is rerun before aborting, so the Filibuster core stops
+    // the search itself once the minimization is complete.
+    private boolean shouldAbortOnFirstFailure() {
+        return filibusterConfiguration.getAbortOnFirstFailure() && !filibusterConfiguration.getMinimizeCounterexamples();
+    }
+
     private static WebClient getNewWebClient() {
         String filibusterBaseUri = "http://" + Networking.getFilibusterHost() + ":" + Networking.getFilibusterPort() + "/";
 
-        return WebClient.builder(filibusterBaseUri)
-                .factory(FilibusterExecutor.getNewClientFactory(1))
-                .build();
+        return FilibusterExecutor.getWebClient(filibusterBaseUri);
     }
 
     /**
@@ -138,7 +142,7 @@ public class FilibusterInvocationInterceptor implements InvocationInterceptor {
                 // Otherwise:
                 // (A) Conditionally mark teardown of the previous iteration complete, if not done yet.
                 // (B) Ask the server if we have a test iteration to run and run it if so.
-                if (FilibusterInvocationInterceptorHelpers.shouldBypassExecution(getWebClient(), currentIteration, "testTemplate", filibusterConfiguration.getAbortOnFirstFailure(), previousIterationFailed)) {
+                if (FilibusterInvocationInterceptorHelpers.shouldBypassExecution(getWebClient(), currentIteration, "testTemplate", shouldAbortOnFirstFailure(), previousIterationFailed)) {
                     invocation.skip();
                 } else {
                     FilibusterInvocationInterceptorHelpers.proceedAndLogException(this, invocation, currentIteration, getWebClient(), filibusterConfiguration);
@@ -259,7 +263,7 @@ public class FilibusterInvocationInterceptor implements InvocationInterceptor {
                 // (B) Ask the server if we have a test iteration to run and run it if so.
                 FilibusterInvocationInterceptorHelpers.conditionallyMarkTeardownComplete(invocationCompletionMap, currentIteration, getWebClient());
 
-                if (FilibusterInvocationInterceptorHelpers.shouldBypassExecution(getWebClient(), currentIteration, "beforeEach", filibusterConfiguration.getAbortOnFirstFailure(), previousIterationFailed)) {
+                if (FilibusterInvocationInterceptorHelpers.shouldBypassExecution(getWebClient(), currentIteration, "beforeEach", shouldAbortOnFirstFailure(), previousIterationFailed)) {
                     invocation.skip();
                 } else {
                     invocation.proceed();
@@ -300,7 +304,7 @@ public class FilibusterInvocationInterceptor implements InvocationInterceptor {
             } else {
                 // Otherwise:
                 // (A) Ask the server if we have a test iteration to run and run it if so.
-                if (FilibusterInvocationInterceptorHelpers.shouldBypassExecution(getWebClient(), currentIteration, "afterEach", filibusterConfiguration.getAbortOnFirstFailure(), previousIterationFailed)) {
+                if (FilibusterInvocationInterceptorHelpers.shouldBypassExecution(getWebClient(), currentIteration, "afterEach", shouldAbortOnFirstFailure(), previousIterationFailed)) {
                     invocation.skip();
                 } else {
                     FilibusterInvocationInterceptorHelpers.proceedAndLogException(this, invocation, currentIteration, getWebClient(), filibusterConfiguration,/* shouldWritePlaceholder= */false,/* shouldPrintRPCSummary= */false);
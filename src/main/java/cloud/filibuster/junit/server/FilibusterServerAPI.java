@@ -3,24 +3,39 @@ package cloud.filibuster.junit.server;
 import cloud.filibuster.exceptions.filibuster.FilibusterRuntimeException;
 import cloud.filibuster.instrumentation.datatypes.FilibusterExecutor;
 import cloud.filibuster.instrumentation.helpers.Response;
+import cloud.filibuster.instrumentation.instrumentors.FilibusterInvocationCompleteBatcher;
 import cloud.filibuster.exceptions.filibuster.FilibusterServerBadResponseException;
 import cloud.filibuster.junit.server.core.FilibusterCore;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationResponse;
+import cloud.filibuster.junit.server.protocol.FilibusterProtocolEncoder;
+import cloud.filibuster.protocol.FilibusterProtocol;
+import com.google.protobuf.InvalidProtocolBufferException;
 import com.linecorp.armeria.client.WebClient;
 import com.linecorp.armeria.common.AggregatedHttpResponse;
 import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.common.HttpMethod;
 import com.linecorp.armeria.common.RequestHeaders;
 import com.linecorp.armeria.common.ResponseHeaders;
+import org.json.JSONArray;
 import org.json.JSONObject;
 
+import javax.annotation.Nullable;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.logging.Logger;
 
 import static cloud.filibuster.instrumentation.helpers.Property.getServerBackendCanInvokeDirectlyProperty;
+import static cloud.filibuster.instrumentation.helpers.Property.getServerProtocolBinaryProperty;
+import static cloud.filibuster.instrumentation.helpers.Property.getServerProtocolCombinedBeginProperty;
 
 @SuppressWarnings("Varifier")
 public class FilibusterServerAPI {
+    private static final Logger logger = Logger.getLogger(FilibusterServerAPI.class.getName());
+
     public static boolean healthCheck(WebClient webClient) throws ExecutionException, InterruptedException {
         CompletableFuture<Boolean> healthCheck = CompletableFuture.supplyAsync(() -> {
             RequestHeaders getJson = RequestHeaders.of(
@@ -97,6 +112,9 @@ public class FilibusterServerAPI {
                 throw new FilibusterRuntimeException("No current filibuster core instance, this could indicate a problem.");
             }
         } else {
+            // The server must see every completed RPC before the iteration moves on.
+            FilibusterInvocationCompleteBatcher.flush();
+
             CompletableFuture<Void> terminateFuture = CompletableFuture.supplyAsync(() -> {
                 RequestHeaders getJson = RequestHeaders.of(
                         HttpMethod.GET,
@@ -132,6 +150,9 @@ public class FilibusterServerAPI {
                 throw new FilibusterRuntimeException("No current filibuster core instance, this could indicate a problem.");
             }
         } else {
+            // The server must see every completed RPC before the iteration moves on.
+            FilibusterInvocationCompleteBatcher.flush();
+
             CompletableFuture<Void> teardownsCompletedFuture = CompletableFuture.supplyAsync(() -> {
                 RequestHeaders getJson = RequestHeaders.of(
                         HttpMethod.GET,
@@ -177,6 +198,9 @@ public class FilibusterServerAPI {
                 throw new FilibusterRuntimeException("No current filibuster core instance, this could indicate a problem.");
             }
         } else {
+            // The server must see every completed RPC before the iteration moves on.
+            FilibusterInvocationCompleteBatcher.flush();
+
             CompletableFuture<Void> updateFuture = CompletableFuture.supplyAsync(() -> {
                 RequestHeaders postJson = RequestHeaders.of(
                         HttpMethod.POST,
@@ -212,6 +236,9 @@ public class FilibusterServerAPI {
                 throw new FilibusterRuntimeException("No current filibuster core instance, this could indicate a problem.");
             }
         } else {
+            // The server must see every completed RPC before the iteration moves on.
+            FilibusterInvocationCompleteBatcher.flush();
+
             CompletableFuture<Boolean> hasNextIteration = CompletableFuture.supplyAsync(() -> {
                 RequestHeaders getJson = RequestHeaders.of(
                         HttpMethod.GET,
@@ -239,4 +266,345 @@ public class FilibusterServerAPI {
             return hasNextIteration.get();
         }
     }
+
+    // Per-RPC calls from the instrumentation.
+    //
+    // These are asynchronous, so the instrumentation never has to park a thread waiting on the server; the blocking
+    // variants join, and must not be called on an event loop.  The binary protocol (see filibuster_protocol.proto)
+    // is used when enabled, falling back to JSON when the server does not support it.
+
+    private static final FilibusterProtocolEncoder protocolEncoder = new FilibusterProtocolEncoder();
+
+    // Set once the server turns out not to support the binary protocol (e.g., the Python server.)
+    private static volatile boolean binaryProtocolUnsupported = false;
+
+    // Set once the server turns out not to support the combined begin (e.g., the Python server.)
+    private static volatile boolean combinedBeginUnsupported = false;
+
+    // Set once the server turns out not to support batched ends (e.g., the Python server.)
+    private static volatile boolean batchedEndUnsupported = false;
+
+    public static boolean shouldUseBinaryProtocol() {
+        return getServerProtocolBinaryProperty() && !binaryProtocolUnsupported;
+    }
+
+    public static boolean shouldUseCombinedBegin() {
+        return getServerProtocolCombinedBeginProperty() && !combinedBeginUnsupported;
+    }
+
+    /**
+     * Forget which parts of the protocol the server turned out not to support, e.g., once another server is started
+     * at the same address.
+     */
+    public static void resetUnsupportedProtocol() {
+        binaryProtocolUnsupported = false;
+        combinedBeginUnsupported = false;
+        batchedEndUnsupported = false;
+    }
+
+    /**
+     * Notify the server of an invocation.
+     *
+     * With resetClocksIfNewTestExecution, this is a combined begin that also asks if the invoking service's clocks were
+     * computed before they were reset for this execution, i.e., in a clock epoch before the one the first request from
+     * the service in this execution reset them to.  If they were, the invocation is not recorded and the response asks
+     * for a clock reset: the client resets its clocks, unless another request already did, and begins the invocation
+     * again.
+     *
+     * @param webClient client for the Filibuster server.
+     * @param invocation the invocation.
+     * @param resetClocksIfNewTestExecution whether this is a combined begin.
+     * @param clockEpoch for a combined begin, the clock epoch of the invoking service when the clocks were computed.
+     * @return future of the server's response; completed with null if the server does not support the combined begin.
+     */
+    public static CompletableFuture<FilibusterInvocationResponse> beginInvocationAsync(WebClient webClient, FilibusterInvocation invocation, boolean resetClocksIfNewTestExecution, int clockEpoch) {
+        CompletableFuture<FilibusterInvocationResponse> binaryInvocationResponse = shouldUseBinaryProtocol()
+                ? beginInvocationBinaryAsync(webClient, invocation, resetClocksIfNewTestExecution, clockEpoch)
+                : CompletableFuture.completedFuture(null);
+
+        return binaryInvocationResponse.thenCompose(invocationResponse -> {
+            if (invocationResponse != null) {
+                return CompletableFuture.completedFuture(invocationResponse);
+            }
+
+            // The clock epoch is not part of the recorded invocation, so it goes in the query.
+            String path = resetClocksIfNewTestExecution ? "/filibuster/begin?clock_epoch=" + clockEpoch : "/filibuster/create";
+
+            return executeJsonAsync(webClient, HttpMethod.PUT, path, invocation.toJSONObject().toString()).thenApply(response -> {
+                String statusCode = response.headers().get(HttpHeaderNames.STATUS);
+
+                if (resetClocksIfNewTestExecution && (Objects.equals(statusCode, "404") || Objects.equals(statusCode, "405"))) {
+                    logger.warning("[FILIBUSTER-SERVER-API]: beginInvocation, server does not support the combined begin, asking separately.");
+                    combinedBeginUnsupported = true;
+                    return null;
+                }
+
+                if (statusCode == null) {
+                    FilibusterServerBadResponseException.logAndThrow("beginInvocation, statusCode: null");
+                }
+
+                if (!Objects.equals(statusCode, "200")) {
+                    FilibusterServerBadResponseException.logAndThrow("beginInvocation, statusCode: " + statusCode);
+                }
+
+                return FilibusterInvocationResponse.fromJSONObject(Response.aggregatedHttpResponseToJsonObject(response));
+            });
+        });
+    }
+
+    /**
+     * Notify the server of an invocation.  Must not be called on an event loop.
+     *
+     * @param webClient client for the Filibuster server.
+     * @param invocation the invocation.
+     * @param resetClocksIfNewTestExecution whether this is a combined begin; see beginInvocationAsync.
+     * @param clockEpoch for a combined begin, the clock epoch of the invoking service when the clocks were computed.
+     * @return the server's response, or null if the server does not support the combined begin.
+     */
+    @Nullable
+    public static FilibusterInvocationResponse beginInvocation(WebClient webClient, FilibusterInvocation invocation, boolean resetClocksIfNewTestExecution, int clockEpoch) {
+        return beginInvocationAsync(webClient, invocation, resetClocksIfNewTestExecution, clockEpoch).join();
+    }
+
+    /**
+     * Notify the server of completed invocations coalesced by the instrumentation, falling back to one request
+     * per completed invocation if the server does not support batches.
+     *
+     * @param webClient client for the Filibuster server.
+     * @param invocationCompletes the completed invocations, in order.
+     * @return future completed once the server received them.
+     */
+    public static CompletableFuture<Void> endInvocationsAsync(WebClient webClient, List<FilibusterInvocationComplete> invocationCompletes) {
+        if (invocationCompletes.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Boolean> sentBinary = shouldUseBinaryProtocol()
+                ? endInvocationsBinaryAsync(webClient, invocationCompletes)
+                : CompletableFuture.completedFuture(false);
+
+        return sentBinary.thenCompose(sent -> {
+            if (sent) {
+                return CompletableFuture.completedFuture(true);
+            }
+
+            if (batchedEndUnsupported || invocationCompletes.size() == 1) {
+                return CompletableFuture.completedFuture(false);
+            }
+
+            JSONArray payloads = new JSONArray();
+
+            for (FilibusterInvocationComplete invocationComplete : invocationCompletes) {
+                payloads.put(invocationComplete.toJSONObject());
+            }
+
+            return executeJsonAsync(webClient, HttpMethod.POST, "/filibuster/update-batch", payloads.toString()).thenApply(response -> {
+                String statusCode = response.headers().get(HttpHeaderNames.STATUS);
+
+                if (Objects.equals(statusCode, "404") || Objects.equals(statusCode, "405")) {
+                    logger.warning("[FILIBUSTER-SERVER-API]: endInvocations, server does not support batches, sending separately.");
+                    batchedEndUnsupported = true;
+                    return false;
+                }
+
+                if (!Objects.equals(statusCode, "200")) {
+                    FilibusterServerBadResponseException.logAndThrow("endInvocations, statusCode: " + statusCode);
+                }
+
+                return true;
+            });
+        }).thenCompose(sent -> {
+            if (sent) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            // Sent one after the other, so the server sees them in order.
+            CompletableFuture<Void> sentSeparately = CompletableFuture.completedFuture(null);
+
+            for (FilibusterInvocationComplete invocationComplete : invocationCompletes) {
+                sentSeparately = sentSeparately.thenCompose(ignored ->
+                        executeJsonAsync(webClient, HttpMethod.POST, "/filibuster/update", invocationComplete.toJSONObject().toString()).thenApply(response -> (Void) null));
+            }
+
+            return sentSeparately;
+        });
+    }
+
+    /**
+     * Notify the server of completed invocations.  Must not be called on an event loop.
+     *
+     * @param webClient client for the Filibuster server.
+     * @param invocationCompletes the completed invocations, in order.
+     */
+    public static void endInvocations(WebClient webClient, List<FilibusterInvocationComplete> invocationCompletes) {
+        endInvocationsAsync(webClient, invocationCompletes).join();
+    }
+
+    /**
+     * Ask the server if this is the first request from a service in this execution.
+     *
+     * @param webClient client for the Filibuster server.
+     * @param serviceName the service name.
+     * @return future of whether this is a new test execution.
+     */
+    public static CompletableFuture<Boolean> isNewTestExecutionAsync(WebClient webClient, String serviceName) {
+        CompletableFuture<Boolean> binaryNewTestExecution = shouldUseBinaryProtocol()
+                ? isNewTestExecutionBinaryAsync(webClient, serviceName)
+                : CompletableFuture.completedFuture(null);
+
+        return binaryNewTestExecution.thenCompose(isNewTestExecution -> {
+            if (isNewTestExecution != null) {
+                return CompletableFuture.completedFuture(isNewTestExecution);
+            }
+
+            return executeJsonAsync(webClient, HttpMethod.GET, "/filibuster/new-test-execution/" + serviceName, null).thenApply(response -> {
+                String statusCode = response.headers().get(HttpHeaderNames.STATUS);
+
+                if (statusCode == null) {
+                    FilibusterServerBadResponseException.logAndThrow("isNewTestExecution, statusCode: null");
+                }
+
+                if (!Objects.equals(statusCode, "200")) {
+                    FilibusterServerBadResponseException.logAndThrow("isNewTestExecution, statusCode: " + statusCode);
+                }
+
+                return Response.aggregatedHttpResponseToJsonObject(response).getBoolean("new-test-execution");
+            });
+        });
+    }
+
+    // Completes with null if the server does not support the binary protocol.
+    private static CompletableFuture<FilibusterInvocationResponse> beginInvocationBinaryAsync(WebClient webClient, FilibusterInvocation invocation, boolean resetClocksIfNewTestExecution, int clockEpoch) {
+        return sendInvocationBinaryAsync(webClient, invocation, resetClocksIfNewTestExecution, clockEpoch, /* defineAll= */ false).thenCompose(invocationResponse -> {
+            if (invocationResponse != null && invocationResponse.getUnknownDefinitions()) {
+                return sendInvocationBinaryAsync(webClient, invocation, resetClocksIfNewTestExecution, clockEpoch, /* defineAll= */ true);
+            }
+
+            return CompletableFuture.completedFuture(invocationResponse);
+        }).thenApply(invocationResponse -> {
+            if (invocationResponse == null) {
+                return null;
+            }
+
+            if (invocationResponse.getUnknownDefinitions()) {
+                FilibusterServerBadResponseException.logAndThrow("beginInvocation, server does not accept definitions.");
+            }
+
+            return FilibusterProtocolEncoder.decodeInvocationResponse(invocationResponse);
+        });
+    }
+
+    private static CompletableFuture<FilibusterProtocol.InvocationResponse> sendInvocationBinaryAsync(WebClient webClient, FilibusterInvocation invocation, boolean resetClocksIfNewTestExecution, int clockEpoch, boolean defineAll) {
+        byte[] body = protocolEncoder.encodeInvocation(invocation, defineAll, resetClocksIfNewTestExecution, clockEpoch).toByteArray();
+
+        return executeBinaryAsync(webClient, HttpMethod.POST, "/filibuster/protocol/create", body, "beginInvocation").thenApply(responseBody -> {
+            if (responseBody == null) {
+                return null;
+            }
+
+            try {
+                return FilibusterProtocol.InvocationResponse.parseFrom(responseBody);
+            } catch (InvalidProtocolBufferException e) {
+                FilibusterServerBadResponseException.logAndThrow("beginInvocation, invalid response: " + e);
+                return null;
+            }
+        });
+    }
+
+    // Completes with false if the server does not support the binary protocol.
+    private static CompletableFuture<Boolean> endInvocationsBinaryAsync(WebClient webClient, List<FilibusterInvocationComplete> invocationCompletes) {
+        return sendInvocationCompletesBinaryAsync(webClient, invocationCompletes, /* defineAll= */ false).thenCompose(invocationCompleteResponse -> {
+            if (invocationCompleteResponse != null && invocationCompleteResponse.getUnknownDefinitions()) {
+                return sendInvocationCompletesBinaryAsync(webClient, invocationCompletes, /* defineAll= */ true);
+            }
+
+            return CompletableFuture.completedFuture(invocationCompleteResponse);
+        }).thenApply(invocationCompleteResponse -> {
+            if (invocationCompleteResponse == null) {
+                return false;
+            }
+
+            if (invocationCompleteResponse.getUnknownDefinitions()) {
+                FilibusterServerBadResponseException.logAndThrow("endInvocations, server does not accept definitions.");
+            }
+
+            return true;
+        });
+    }
+
+    private static CompletableFuture<FilibusterProtocol.InvocationCompleteResponse> sendInvocationCompletesBinaryAsync(WebClient webClient, List<FilibusterInvocationComplete> invocationCompletes, boolean defineAll) {
+        byte[] body = protocolEncoder.encodeInvocationCompletes(invocationCompletes, defineAll).toByteArray();
+
+        return executeBinaryAsync(webClient, HttpMethod.POST, "/filibuster/protocol/update-batch", body, "endInvocations").thenApply(responseBody -> {
+            if (responseBody == null) {
+                return null;
+            }
+
+            try {
+                return FilibusterProtocol.InvocationCompleteResponse.parseFrom(responseBody);
+            } catch (InvalidProtocolBufferException e) {
+                FilibusterServerBadResponseException.logAndThrow("endInvocations, invalid response: " + e);
+                return null;
+            }
+        });
+    }
+
+    // Completes with null if the server does not support the binary protocol.
+    private static CompletableFuture<Boolean> isNewTestExecutionBinaryAsync(WebClient webClient, String serviceName) {
+        return executeBinaryAsync(webClient, HttpMethod.GET, "/filibuster/protocol/new-test-execution/" + serviceName, null, "isNewTestExecution").thenApply(responseBody -> {
+            if (responseBody == null) {
+                return null;
+            }
+
+            try {
+                return FilibusterProtocol.NewTestExecutionResponse.parseFrom(responseBody).getNewTestExecution();
+            } catch (InvalidProtocolBufferException e) {
+                FilibusterServerBadResponseException.logAndThrow("isNewTestExecution, invalid response: " + e);
+                return null;
+            }
+        });
+    }
+
+    private static CompletableFuture<AggregatedHttpResponse> executeJsonAsync(WebClient webClient, HttpMethod method, String path, @Nullable String body) {
+        RequestHeaders headers = RequestHeaders.of(
+                method,
+                path,
+                HttpHeaderNames.CONTENT_TYPE,
+                "application/json",
+                "X-Filibuster-Instrumentation",
+                "true");
+        return body == null ? webClient.execute(headers).aggregate() : webClient.execute(headers, body).aggregate();
+    }
+
+    // Completes with null, and stops using the binary protocol, if the server does not support it.
+    private static CompletableFuture<byte[]> executeBinaryAsync(WebClient webClient, HttpMethod method, String path, @Nullable byte[] body, String caller) {
+        RequestHeaders headers = RequestHeaders.of(
+                method,
+                path,
+                HttpHeaderNames.CONTENT_TYPE,
+                "application/protobuf",
+                "X-Filibuster-Instrumentation",
+                "true");
+        CompletableFuture<AggregatedHttpResponse> responseFuture = body == null ? webClient.execute(headers).aggregate() : webClient.execute(headers, body).aggregate();
+
+        return responseFuture.thenApply(response -> {
+            String statusCode = response.headers().get(HttpHeaderNames.STATUS);
+
+            if (Objects.equals(statusCode, "404") || Objects.equals(statusCode, "405")) {
+                logger.warning("[FILIBUSTER-SERVER-API]: " + caller + ", server does not support the binary protocol, falling back to JSON.");
+                binaryProtocolUnsupported = true;
+                return null;
+            }
+
+            if (statusCode == null) {
+                FilibusterServerBadResponseException.logAndThrow(caller + ", statusCode: null");
+            }
+
+            if (!Objects.equals(statusCode, "200")) {
+                FilibusterServerBadResponseException.logAndThrow(caller + ", statusCode: " + statusCode);
+            }
+
+            return response.content().array();
+        });
+    }
 }
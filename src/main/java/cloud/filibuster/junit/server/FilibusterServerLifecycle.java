@@ -35,9 +35,7 @@ public class FilibusterServerLifecycle {
     private static WebClient getNewWebClient() {
         String filibusterBaseUri =  "http://" + Networking.getFilibusterHost() + ":" + Networking.getFilibusterPort() + "/";
 
-        return WebClient.builder(filibusterBaseUri)
-                .factory(FilibusterExecutor.getNewClientFactory(1))
-                .build();
+        return FilibusterExecutor.getWebClient(filibusterBaseUri);
     }
 
     @Nullable
@@ -113,6 +111,9 @@ public class FilibusterServerLifecycle {
 
             logger.log(Level.INFO, "Filibuster server stopped!");
 
+            // Pooled connections point at the server that was stopped.
+            FilibusterExecutor.resetWebClients();
+
             initializationFailedException = null;
             initializationFailed = false;
             started = false;
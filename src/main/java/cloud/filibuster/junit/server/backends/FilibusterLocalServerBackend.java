@@ -58,7 +58,7 @@ public class FilibusterLocalServerBackend implements FilibusterServerBackend {
 
     @Override
     public List<FilibusterSearchStrategy> supportedSearchStrategies() {
-        return Arrays.asList(FilibusterSearchStrategy.BFS, FilibusterSearchStrategy.DFS);
+        return Arrays.asList(FilibusterSearchStrategy.BFS, FilibusterSearchStrategy.DFS, FilibusterSearchStrategy.PARTIAL_ORDER_REDUCTION);
     }
 
     @Override
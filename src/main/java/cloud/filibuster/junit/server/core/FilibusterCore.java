@@ -1,10 +1,7 @@
 package cloud.filibuster.junit.server.core;
 
 import cloud.filibuster.dei.DistributedExecutionIndex;
-import cloud.filibuster.dei.implementations.DistributedExecutionIndexV1;
 import cloud.filibuster.exceptions.filibuster.FilibusterCoreLogicException;
-import cloud.filibuster.exceptions.filibuster.FilibusterFaultInjectionException;
-import cloud.filibuster.exceptions.filibuster.FilibusterLatencyInjectionException;
 import cloud.filibuster.instrumentation.helpers.Property;
 import cloud.filibuster.junit.FilibusterSearchStrategy;
 import cloud.filibuster.junit.assertions.BlockType;
@@ -14,6 +11,11 @@ import cloud.filibuster.junit.configuration.FilibusterAnalysisConfiguration;
 import cloud.filibuster.junit.configuration.FilibusterAnalysisConfiguration.MatcherType;
 import cloud.filibuster.junit.configuration.FilibusterConfiguration;
 import cloud.filibuster.junit.configuration.FilibusterCustomAnalysisConfigurationFile;
+import cloud.filibuster.junit.server.core.invocations.FilibusterFault;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationResponse;
+import cloud.filibuster.junit.server.core.minimization.CounterexampleMinimization;
 import cloud.filibuster.junit.server.core.profiles.ServiceProfile;
 import cloud.filibuster.junit.server.core.profiles.ServiceProfileBehavior;
 import cloud.filibuster.junit.server.core.profiles.ServiceRequestAndResponse;
@@ -32,9 +34,9 @@ import org.json.JSONObject;
 import javax.annotation.Nullable;
 import java.util.*;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Logger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @SuppressWarnings({"Varifier", "Var"})
 public class FilibusterCore {
@@ -42,22 +44,41 @@ public class FilibusterCore {
 
     // The current instance of the FilibusterCore.
     // Required as the instrumentation has no direct way of being instantiated with this object.
-    private static FilibusterCore currentInstance;
+    //
+    // Volatile, rather than guarded by the class monitor, as it is read on every RPC.
+    private static volatile FilibusterCore currentInstance;
 
     // The current instance of the FilibusterCore.
     // Required as the instrumentation has no direct way of being instantiated with this object.
-    public static synchronized FilibusterCore getCurrentInstance() {
-        if (currentInstance == null) {
+    public static FilibusterCore getCurrentInstance() {
+        FilibusterCore instance = currentInstance;
+
+        if (instance == null) {
             throw new FilibusterCoreLogicException("Current instance is null, this indicates a problem!");
         }
 
-        return currentInstance;
+        return instance;
     }
 
-    public static synchronized boolean hasCurrentInstance() {
+    public static boolean hasCurrentInstance() {
         return currentInstance != null;
     }
 
+    // Concurrency.
+    //
+    // RPCs within a single test iteration may be issued in parallel, so the per-RPC path (beginInvocation,
+    // endInvocation, isNewTestExecution and the fault injection queries) only takes the read side of this lock
+    // and relies on the concurrent structures inside of the current test execution.
+    //
+    // The iteration lifecycle (completeIteration, teardownsCompleted, etc.) swaps the current test executions
+    // and therefore takes the write side of this lock, excluding all in-flight RPCs.
+    private final ReentrantReadWriteLock iterationLock = new ReentrantReadWriteLock();
+
+    // Guards the check-then-act on the explored and unexplored test execution collections when scheduling new
+    // abstract test executions from concurrent RPCs.  Only held for the membership check and the insertion, never
+    // while cloning the current concrete execution.
+    private final Object schedulingLock = new Object();
+
     /**
      * A unique identifier associated with one filibuster test,
      * in other word, each time the Filibuster server is started, a new test UUID will be issued.
@@ -66,11 +87,27 @@ public class FilibusterCore {
 
     private int numBypassedExecutions = 0;
 
-    public synchronized int getNumBypassedExecutions() {
-        return numBypassedExecutions;
+    public int getNumBypassedExecutions() {
+        iterationLock.readLock().lock();
+
+        try {
+            return numBypassedExecutions;
+        } finally {
+            iterationLock.readLock().unlock();
+        }
     }
 
-    private boolean faultInjectionEnabled = true;
+    // Guarded by the scheduling lock.
+    private int numPrunedExecutions = 0;
+
+    // Executions not scheduled because partial-order reduction found an equivalent one explored or scheduled.
+    public int getNumPrunedExecutions() {
+        synchronized (schedulingLock) {
+            return numPrunedExecutions;
+        }
+    }
+
+    private volatile boolean faultInjectionEnabled = true;
 
     public FilibusterCore(FilibusterConfiguration filibusterConfiguration) {
         currentInstance = this;
@@ -80,11 +117,14 @@ public class FilibusterCore {
         this.filibusterConfiguration = filibusterConfiguration;
 
         if (filibusterConfiguration.getSearchStrategy() == FilibusterSearchStrategy.DFS) {
-            this.exploredTestExecutions = new TestExecutionStack<>();
-            this.unexploredTestExecutions = new TestExecutionStack<>();
+            this.exploredTestExecutions = new IndexedTestExecutionStack<>();
+            this.unexploredTestExecutions = new IndexedTestExecutionStack<>();
         } else if (filibusterConfiguration.getSearchStrategy() == FilibusterSearchStrategy.BFS) {
-            this.exploredTestExecutions = new TestExecutionQueue<>();
-            this.unexploredTestExecutions = new TestExecutionQueue<>();
+            this.exploredTestExecutions = new IndexedTestExecutionQueue<>();
+            this.unexploredTestExecutions = new IndexedTestExecutionQueue<>();
+        } else if (filibusterConfiguration.getSearchStrategy() == FilibusterSearchStrategy.PARTIAL_ORDER_REDUCTION) {
+            this.exploredTestExecutions = new PartialOrderReducedTestExecutionStack<>();
+            this.unexploredTestExecutions = new PartialOrderReducedTestExecutionStack<>();
         } else {
             throw new FilibusterCoreLogicException("Unsupported search strategy: " + filibusterConfiguration.getSearchStrategy());
         }
@@ -128,6 +168,24 @@ public class FilibusterCore {
     @Nullable
     private FilibusterCustomAnalysisConfigurationFile filibusterCustomAnalysisConfigurationFile;
 
+    // Fault rules compiled from the analysis file.
+    @Nullable
+    private FilibusterFaultRuleEngine filibusterFaultRuleEngine;
+
+    // Fault rules compiled from the service profiles, keyed by the configuration they were compiled from: the method
+    // and the failures a profile saw for it.
+    private final ConcurrentHashMap<String, FilibusterFaultRuleEngine> serviceProfileFaultRuleEngines = new ConcurrentHashMap<>();
+
+    // Minimization of a failing test execution, run ahead of the rest of the search once started.
+    @Nullable
+    private CounterexampleMinimization counterexampleMinimization;
+
+    // Is the current test execution a candidate of the minimization, rather than part of the search?
+    private boolean minimizingCurrentTestExecution = false;
+
+    // Has a test execution of the search failed?
+    private boolean searchTestExecutionFailed = false;
+
     private int numberOfAbstractExecutionsAttempted = 0;
 
     private int numberOfAbstractExecutionsExecuted = 0;
@@ -144,72 +202,146 @@ public class FilibusterCore {
         mostRecentInitialTestExecutionReport = report;
     }
 
-    public synchronized void enableFaultInjection() {
+    public void enableFaultInjection() {
         faultInjectionEnabled = true;
     }
 
-    public synchronized void disableFaultInjection() {
+    public void disableFaultInjection() {
         faultInjectionEnabled = false;
     }
 
-    public synchronized void writePlaceholderReport() {
-        logger.info("[FILIBUSTER-CORE]: writePlaceholderReport called");
+    public void writePlaceholderReport() {
+        iterationLock.writeLock().lock();
 
-        if (currentConcreteTestExecution != null) {
-            currentConcreteTestExecution.writePlaceHolderTestExecutionReport();
-        } else {
-            throw new FilibusterCoreLogicException("currentConcreteTestExecution should not be null at this point, something fatal occurred.");
+        try {
+            logger.info("[FILIBUSTER-CORE]: writePlaceholderReport called");
+
+            if (currentConcreteTestExecution != null) {
+                currentConcreteTestExecution.writePlaceHolderTestExecutionReport();
+            } else {
+                throw new FilibusterCoreLogicException("currentConcreteTestExecution should not be null at this point, something fatal occurred.");
+            }
+            logger.info("[FILIBUSTER-CORE]: writePlaceholderReport returning");
+        } finally {
+            iterationLock.writeLock().unlock();
         }
-        logger.info("[FILIBUSTER-CORE]: writePlaceholderReport returning");
     }
 
-    public synchronized void incrementTestScopeCounter() {
-        if (currentConcreteTestExecution != null) {
-            currentConcreteTestExecution.incrementTestScopeCounter();
+    public void incrementTestScopeCounter() {
+        iterationLock.readLock().lock();
+
+        try {
+            if (currentConcreteTestExecution != null) {
+                currentConcreteTestExecution.incrementTestScopeCounter();
+            }
+        } finally {
+            iterationLock.readLock().unlock();
         }
     }
 
-    public synchronized void incrementTestScopeCounter(BlockType blockType) {
-        if (currentConcreteTestExecution != null) {
-            currentConcreteTestExecution.incrementTestScopeCounter(blockType);
+    public void incrementTestScopeCounter(BlockType blockType) {
+        iterationLock.readLock().lock();
+
+        try {
+            if (currentConcreteTestExecution != null) {
+                currentConcreteTestExecution.incrementTestScopeCounter(blockType);
+            }
+        } finally {
+            iterationLock.readLock().unlock();
         }
     }
 
 
-    public synchronized int getTestScopeCounter() {
-        if (currentConcreteTestExecution != null) {
-            return currentConcreteTestExecution.getTestScopeCounter();
-        }
+    public int getTestScopeCounter() {
+        iterationLock.readLock().lock();
 
-        return 0;
-    }
+        try {
+            if (currentConcreteTestExecution != null) {
+                return currentConcreteTestExecution.getTestScopeCounter();
+            }
 
-    public synchronized BlockType getLastTestScopeBlockType() {
-        if (currentConcreteTestExecution != null) {
-            return currentConcreteTestExecution.getLastTestScopeBlockType();
+            return 0;
+        } finally {
+            iterationLock.readLock().unlock();
         }
+    }
+
+    public BlockType getLastTestScopeBlockType() {
+        iterationLock.readLock().lock();
 
-        return BlockType.DEFAULT;
+        try {
+            if (currentConcreteTestExecution != null) {
+                return currentConcreteTestExecution.getLastTestScopeBlockType();
+            }
+
+            return BlockType.DEFAULT;
+        } finally {
+            iterationLock.readLock().unlock();
+        }
     }
 
     // RPC hooks.
 
     // Record an outgoing RPC and conditionally inject faults.
-    public synchronized JSONObject beginInvocation(JSONObject payload) {
-        logger.info("[FILIBUSTER-CORE]: beginInvocation called, payload: " + payload.toString(4));
+    // JSON entry point, used by the HTTP server.
+    public JSONObject beginInvocation(JSONObject payload) {
+        return beginInvocation(FilibusterInvocation.fromJSONObject(payload)).toJSONObject();
+    }
+
+    // Record an outgoing RPC and conditionally inject faults.
+    public FilibusterInvocationResponse beginInvocation(FilibusterInvocation invocation) {
+        iterationLock.readLock().lock();
+
+        try {
+            return beginInvocationWithLock(invocation);
+        } finally {
+            iterationLock.readLock().unlock();
+        }
+    }
+
+    // Combined begin: the clock reset decision and the fault decision in one exchange.
+    // JSON entry point, used by the HTTP server.
+    public JSONObject beginInvocationUnlessNewTestExecution(JSONObject payload, int clockEpoch) {
+        return beginInvocationUnlessNewTestExecution(FilibusterInvocation.fromJSONObject(payload), clockEpoch).toJSONObject();
+    }
+
+    // Combined begin: the clock reset decision and the fault decision in one exchange.
+    // If the client computed the clocks of this RPC before resetting them for this test execution, i.e., in a clock
+    // epoch of the invoking service before the one the first RPC from the service in this test execution reset them to,
+    // the RPC is not recorded: the client resets its clocks, unless another RPC already did, and begins it again.
+    // Concurrent first RPCs from a service are all reset this way, not only the first to arrive.  A negative clock
+    // epoch (unknown) only resets the first RPC.
+    public FilibusterInvocationResponse beginInvocationUnlessNewTestExecution(FilibusterInvocation invocation, int clockEpoch) {
+        iterationLock.readLock().lock();
+
+        try {
+            String sourceServiceName = invocation.getSourceServiceName();
+
+            if (currentConcreteTestExecution != null && sourceServiceName != null && currentConcreteTestExecution.shouldResetClocksForRequestFromService(sourceServiceName, clockEpoch)) {
+                logger.info("[FILIBUSTER-CORE]: beginInvocationUnlessNewTestExecution, clocks computed before the reset for this test execution, service: " + sourceServiceName + ", clock epoch: " + clockEpoch);
+                return FilibusterInvocationResponse.resetClocks();
+            }
+
+            return beginInvocationWithLock(invocation);
+        } finally {
+            iterationLock.readLock().unlock();
+        }
+    }
+
+    // Must be called while holding the read side of the iteration lock.
+    private FilibusterInvocationResponse beginInvocationWithLock(FilibusterInvocation invocation) {
+        logger.info("[FILIBUSTER-CORE]: beginInvocation called, invocation: " + invocation);
 
         if (currentConcreteTestExecution == null) {
             throw new FilibusterCoreLogicException("currentConcreteTestExecution should not be null at this point, something fatal occurred.");
         }
 
         // Determine if we've seen this RPC method and arguments before.
-        boolean hasSeenRpcUnderSameOrDifferentDistributedExecutionIndex = currentConcreteTestExecution.hasSeenRpcUnderSameOrDifferentDistributedExecutionIndex(payload);
+        boolean hasSeenRpcUnderSameOrDifferentDistributedExecutionIndex = currentConcreteTestExecution.hasSeenRpcUnderSameOrDifferentDistributedExecutionIndex(invocation);
 
         // Register the RPC using the distributed execution index.
-        String distributedExecutionIndexString = payload.getString("execution_index");
-        DistributedExecutionIndex distributedExecutionIndex = new DistributedExecutionIndexV1().deserialize(distributedExecutionIndexString);
-        logger.info("[FILIBUSTER-CORE]: beginInvocation called, distributedExecutionIndex: " + distributedExecutionIndex);
-        currentConcreteTestExecution.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, payload, hasSeenRpcUnderSameOrDifferentDistributedExecutionIndex && filibusterConfiguration.getAvoidRedundantInjections());
+        DistributedExecutionIndex distributedExecutionIndex = invocation.getDistributedExecutionIndex();
+        currentConcreteTestExecution.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, invocation, hasSeenRpcUnderSameOrDifferentDistributedExecutionIndex && filibusterConfiguration.getAvoidRedundantInjections());
 
         // Get next generated id.
         int generatedId = currentConcreteTestExecution.incrementGeneratedId();
@@ -217,16 +349,9 @@ public class FilibusterCore {
         // Generate new abstract executions to run and queue them into the unexplored list.
         if (filibusterCustomAnalysisConfigurationFile != null) {
             // Only works for GRPC right now.
-            String moduleName = payload.getString("module");
-            String methodName = payload.getString("method");
-            String rpcType = null;
-
-            if (payload.has("metadata")) {
-                JSONObject payloadMetadata = payload.getJSONObject("metadata");
-                if (payloadMetadata.has("rpc_type")) {
-                    rpcType = payloadMetadata.getString("rpc_type");
-                }
-            }
+            String moduleName = invocation.getModuleName();
+            String methodName = invocation.getMethodName();
+            String rpcType = invocation.getRpcType();
 
             boolean shouldGenerateNewAbstractExecutions;
 
@@ -238,7 +363,8 @@ public class FilibusterCore {
                 shouldGenerateNewAbstractExecutions = !currentAbstractTestExecution.sawInConcreteTestExecution(distributedExecutionIndex);
             }
 
-            if (shouldGenerateNewAbstractExecutions && faultInjectionEnabled) {
+            // Candidates of the minimization only inject subsets of faults already explored.
+            if (shouldGenerateNewAbstractExecutions && faultInjectionEnabled && !minimizingCurrentTestExecution) {
                 if (filibusterConfiguration.getAvoidRedundantInjections()) {
                     if (!hasSeenRpcUnderSameOrDifferentDistributedExecutionIndex) {
                         generateFaultsUsingAnalysisConfiguration(filibusterConfiguration, distributedExecutionIndex, rpcType, moduleName, methodName);
@@ -250,73 +376,43 @@ public class FilibusterCore {
         }
 
         // Return either success or fault (if, this execution contains a fault to inject.)
-        JSONObject response = new JSONObject();
+        FilibusterFault faultToInject = null;
+
+        // Total delay the client instrumentation should apply before issuing the call.
+        int millisecondsToDelay = 0;
 
         if (currentAbstractTestExecution != null && currentAbstractTestExecution.shouldFault(distributedExecutionIndex)) {
-            JSONObject faultObject = currentAbstractTestExecution.getFault(distributedExecutionIndex);
-
-            // This is a bit redundant, we could just take the fault object and insert it directly into the response
-            // if we change the API we call.
-            if (faultObject.has("forced_exception")) {
-                JSONObject forcedExceptionFaultObject = faultObject.getJSONObject("forced_exception");
-                logger.info("[FILIBUSTER-CORE]: beginInvocation, injecting faults using forced_exception: " + forcedExceptionFaultObject.toString(4));
-                response.put("forced_exception", forcedExceptionFaultObject);
-            } else if (faultObject.has("failure_metadata")) {
-                JSONObject failureMetadataFaultObject = faultObject.getJSONObject("failure_metadata");
-                logger.info("[FILIBUSTER-CORE]: beginInvocation, injecting faults using failure_metadata: " + failureMetadataFaultObject.toString(4));
-                response.put("failure_metadata", failureMetadataFaultObject);
-            } else if (faultObject.has("byzantine_fault")) {
-                JSONObject byzantineFaultObject = faultObject.getJSONObject("byzantine_fault");
-                logger.info("[FILIBUSTER-CORE]: beginInvocation, injecting faults using byzantine_fault: " + byzantineFaultObject.toString(4));
-                response.put("byzantine_fault", byzantineFaultObject);
-            } else if (faultObject.has("latency")) {
-                JSONObject latencyObject = faultObject.getJSONObject("latency");
-                logger.info("[FILIBUSTER-CORE]: beginInvocation, injecting faults using latency: " + latencyObject.toString(4));
-
-                // Do we do this in the client instrumentation?  We need to if we want more than just local server support.
-                int millisecondsToDelay = latencyObject.getInt("milliseconds");
-
-                try {
-                    Thread.sleep(millisecondsToDelay);
-                } catch (InterruptedException e) {
-                    throw new FilibusterFaultInjectionException("Failed to inject latency for call: ", e);
-                }
+            FilibusterFault fault = FilibusterFault.fromFaultObject(currentAbstractTestExecution.getFault(distributedExecutionIndex));
+            logger.info("[FILIBUSTER-CORE]: beginInvocation, injecting faults using " + fault);
+
+            if (fault.getKind() == FilibusterFault.Kind.LATENCY) {
+                // Delay is applied by the client instrumentation, so only the delayed call waits.
+                millisecondsToDelay += fault.getLatencyMilliseconds();
             } else {
-                logger.info("[FILIBUSTER-CORE]: beginInvocation, failing to inject unknown fault: " + faultObject.toString(4));
-                throw new FilibusterFaultInjectionException("Unknown fault configuration: " + faultObject);
+                faultToInject = fault;
             }
         }
 
-        // Legacy, not used, but helpful in debugging and required by instrumentation libraries.
-        response.put("generated_id", generatedId);
-
-        // This could be returned to the client and the delay done there.
+        // Latency profile delays are returned to the client along with any latency fault.
         FilibusterLatencyProfile filibusterLatencyProfile = filibusterConfiguration.getLatencyProfile();
 
         if (filibusterLatencyProfile != null) {
-            int totalSleepMs = 0;
-
             // Only works for GRPC right now.
-            int serviceSleepMs = filibusterLatencyProfile.getMsLatencyForService(payload.getString("module"));
-            int methodSleepMs = filibusterLatencyProfile.getMsLatencyForMethod(payload.getString("method"));
-
-            totalSleepMs += serviceSleepMs;
-            totalSleepMs += methodSleepMs;
+            int serviceSleepMs = filibusterLatencyProfile.getMsLatencyForService(invocation.getModuleName());
+            int methodSleepMs = filibusterLatencyProfile.getMsLatencyForMethod(invocation.getMethodName());
 
             logger.info("\n" +
-                    "[FILIBUSTER-CORE]: sleep based on latency profile: \n" +
+                    "[FILIBUSTER-CORE]: delay based on latency profile: \n" +
                     "serviceSleepMs: " + serviceSleepMs + "\n" +
-                    "methodSleepMs: " + methodSleepMs + "\n" +
-                    "totalSleepMs: " + totalSleepMs + "\n");
+                    "methodSleepMs: " + methodSleepMs + "\n");
 
-            try {
-                Thread.sleep(totalSleepMs);
-            } catch (InterruptedException e) {
-                throw new FilibusterLatencyInjectionException("Failed to inject latency for call: ", e);
-            }
+            millisecondsToDelay += serviceSleepMs;
+            millisecondsToDelay += methodSleepMs;
         }
 
-        logger.info("[FILIBUSTER-CORE]: beginInvocation returning, response: " + response.toString(4));
+        FilibusterInvocationResponse response = new FilibusterInvocationResponse(generatedId, faultToInject, millisecondsToDelay);
+
+        logger.info("[FILIBUSTER-CORE]: beginInvocation returning, response: " + response);
 
         return response;
     }
@@ -325,11 +421,43 @@ public class FilibusterCore {
     // Only needed for:
     // 1. Dynamic Reduction because we need to keep track of responses.
     // 2. HTTP calls, so we know which service we actually invoked.
-    public synchronized JSONObject endInvocation(JSONObject payload) {
-        logger.info("[FILIBUSTER-CORE]: endInvocation called");
+    // JSON entry point, used by the HTTP server.
+    public JSONObject endInvocation(JSONObject payload) {
+        FilibusterInvocationComplete invocationComplete = FilibusterInvocationComplete.fromJSONObject(payload);
+        endInvocation(invocationComplete);
+
+        JSONObject response = new JSONObject();
+        response.put("execution_index", invocationComplete.getExecutionIndex());
+        return response;
+    }
+
+    // Record that an RPC completed with a particular value.
+    public void endInvocation(FilibusterInvocationComplete invocationComplete) {
+        iterationLock.readLock().lock();
+
+        try {
+            endInvocationWithLock(invocationComplete);
+        } finally {
+            iterationLock.readLock().unlock();
+        }
+    }
 
-        String distributedExecutionIndexString = payload.getString("execution_index");
-        DistributedExecutionIndex distributedExecutionIndex = new DistributedExecutionIndexV1().deserialize(distributedExecutionIndexString);
+    // Record a batch of completed RPCs, coalesced by the instrumentation.
+    public void endInvocations(List<FilibusterInvocationComplete> invocationCompletes) {
+        iterationLock.readLock().lock();
+
+        try {
+            for (FilibusterInvocationComplete invocationComplete : invocationCompletes) {
+                endInvocationWithLock(invocationComplete);
+            }
+        } finally {
+            iterationLock.readLock().unlock();
+        }
+    }
+
+    // Must be called while holding the read side of the iteration lock.
+    private void endInvocationWithLock(FilibusterInvocationComplete invocationComplete) {
+        DistributedExecutionIndex distributedExecutionIndex = invocationComplete.getDistributedExecutionIndex();
 
         logger.info("[FILIBUSTER-CORE]: endInvocation called, distributedExecutionIndex: " + distributedExecutionIndex);
 
@@ -337,54 +465,63 @@ public class FilibusterCore {
             throw new FilibusterCoreLogicException("currentConcreteTestExecution should not be null at this point, something fatal occurred.");
         }
 
-        currentConcreteTestExecution.addDistributedExecutionIndexWithResponsePayload(distributedExecutionIndex, payload);
-
-        JSONObject response = new JSONObject();
-        response.put("execution_index", payload.getString("execution_index"));
-
-        logger.info("[FILIBUSTER-CORE]: endInvocation returning: " + response.toString(4));
+        // Responses of successful RPCs are recorded too: the report and its analyzers use their return values.
+        currentConcreteTestExecution.addDistributedExecutionIndexWithResponsePayload(distributedExecutionIndex, invocationComplete);
 
-        return response;
+        logger.info("[FILIBUSTER-CORE]: endInvocation returning, execution_index: " + invocationComplete.getExecutionIndex());
     }
 
     // Is this the first time that we are seeing an RPC from this service?
     // Used to control when vector clocks, etc. are reset to ensure they are consistent across executions.
-    public synchronized boolean isNewTestExecution(String serviceName) {
-        logger.info("[FILIBUSTER-CORE]: isNewTestExecution called, serviceName: " + serviceName);
+    public boolean isNewTestExecution(String serviceName) {
+        iterationLock.readLock().lock();
 
-        boolean result = false;
+        try {
+            logger.info("[FILIBUSTER-CORE]: isNewTestExecution called, serviceName: " + serviceName);
 
-        if (currentConcreteTestExecution == null) {
-            // Doesn't really matter, because if this isn't set, no tests will execute.
-            result = false;
-        } else {
-            if (!currentConcreteTestExecution.hasSeenFirstRequestFromService(serviceName)) {
-                currentConcreteTestExecution.registerFirstRequestFromService(serviceName);
-                result = true;
-            } else {
+            boolean result = false;
+
+            if (currentConcreteTestExecution == null) {
+                // Doesn't really matter, because if this isn't set, no tests will execute.
                 result = false;
+            } else {
+                // Registration must be atomic: only the first of several concurrent RPCs from a service resets the clocks.
+                result = currentConcreteTestExecution.registerFirstRequestFromServiceIfAbsent(serviceName);
             }
-        }
 
-        logger.info("[FILIBUSTER-CORE]: isNewTestExecution returning: " + result);
+            logger.info("[FILIBUSTER-CORE]: isNewTestExecution returning: " + result);
 
-        return result;
+            return result;
+        } finally {
+            iterationLock.readLock().unlock();
+        }
     }
 
     // JUnit hooks.
 
 
     // This is an old callback used to exit the Python server with code = 1 or code = 0 upon failure.
-    public synchronized void completeIteration(int currentIteration) {
+    public void completeIteration(int currentIteration) {
         completeIteration(currentIteration, 0, null);
     }
 
     // This is an old callback used to exit the Python server with code = 1 or code = 0 upon failure.
-    public synchronized void completeIteration(int currentIteration, int exceptionOccurred, @Nullable Throwable throwable) {
+    public void completeIteration(int currentIteration, int exceptionOccurred, @Nullable Throwable throwable) {
         completeIteration(currentIteration, exceptionOccurred, throwable, /* shouldPrintRPCSummary= */true);
     }
 
-    public synchronized void completeIteration(int currentIteration, int exceptionOccurred, Throwable throwable, boolean shouldPrintRPCSummary) {
+    public void completeIteration(int currentIteration, int exceptionOccurred, Throwable throwable, boolean shouldPrintRPCSummary) {
+        iterationLock.writeLock().lock();
+
+        try {
+            completeIterationWithLock(currentIteration, exceptionOccurred, throwable, shouldPrintRPCSummary);
+        } finally {
+            iterationLock.writeLock().unlock();
+        }
+    }
+
+    // Must be called while holding the write side of the iteration lock.
+    private void completeIterationWithLock(int currentIteration, int exceptionOccurred, Throwable throwable, boolean shouldPrintRPCSummary) {
         logger.info("[FILIBUSTER-CORE]: completeIteration called, currentIteration: " + currentIteration + ", exceptionOccurred: " + exceptionOccurred);
 
         if (currentConcreteTestExecution != null) {
@@ -400,6 +537,12 @@ public class FilibusterCore {
         } else {
             throw new FilibusterCoreLogicException("currentConcreteTestExecution should not be null at this point, something fatal occurred.");
         }
+
+        // Candidates of a minimization started through minimizeCounterexample are recorded even if not configured.
+        if (minimizingCurrentTestExecution || filibusterConfiguration.getMinimizeCounterexamples()) {
+            recordIterationForMinimization(/* failed= */ exceptionOccurred != 0);
+        }
+
         if (shouldPrintRPCSummary) {
             printSummary();
         }
@@ -408,31 +551,63 @@ public class FilibusterCore {
     }
 
     // How many (under-approximation) test iterations remain?
-    public synchronized int iterationsRemaining() {
-        logger.info("[FILIBUSTER-CORE]: iterationsRemaining called");
-        int iterationsRemaining = unexploredTestExecutions.size();
-        logger.info("[FILIBUSTER-CORE]: iterationsRemaining returning: " + iterationsRemaining);
-        return iterationsRemaining;
+    public int iterationsRemaining() {
+        iterationLock.readLock().lock();
+
+        try {
+            logger.info("[FILIBUSTER-CORE]: iterationsRemaining called");
+            int iterationsRemaining;
+            synchronized (schedulingLock) {
+                iterationsRemaining = unexploredTestExecutions.size();
+            }
+            logger.info("[FILIBUSTER-CORE]: iterationsRemaining returning: " + iterationsRemaining);
+            return iterationsRemaining;
+        } finally {
+            iterationLock.readLock().unlock();
+        }
     }
 
     // Is there a test execution?
-    public synchronized boolean hasNextIteration(int currentIteration) {
-        logger.info("[FILIBUSTER-CORE]: hasNextIteration called, currentIteration: " + currentIteration);
-        boolean result = currentConcreteTestExecution != null;
-        logger.info("[FILIBUSTER-CORE]: hasNextIteration returning: " + result);
-        return result;
+    public boolean hasNextIteration(int currentIteration) {
+        iterationLock.readLock().lock();
+
+        try {
+            logger.info("[FILIBUSTER-CORE]: hasNextIteration called, currentIteration: " + currentIteration);
+            boolean result = currentConcreteTestExecution != null;
+            logger.info("[FILIBUSTER-CORE]: hasNextIteration returning: " + result);
+            return result;
+        } finally {
+            iterationLock.readLock().unlock();
+        }
     }
 
     // Is there a test execution?
-    public synchronized boolean hasNextIteration(int currentIteration, String caller) {
-        logger.info("[FILIBUSTER-CORE]: hasNextIteration called, currentIteration: " + currentIteration + ", caller: " + caller);
-        boolean result = currentConcreteTestExecution != null;
-        logger.info("[FILIBUSTER-CORE]: hasNextIteration returning: " + result);
-        return result;
+    public boolean hasNextIteration(int currentIteration, String caller) {
+        iterationLock.readLock().lock();
+
+        try {
+            logger.info("[FILIBUSTER-CORE]: hasNextIteration called, currentIteration: " + currentIteration + ", caller: " + caller);
+            boolean result = currentConcreteTestExecution != null;
+            logger.info("[FILIBUSTER-CORE]: hasNextIteration returning: " + result);
+            return result;
+        } finally {
+            iterationLock.readLock().unlock();
+        }
     }
 
     // A test has completed and all callbacks have fired.
-    public synchronized void teardownsCompleted(int currentIteration) {
+    public void teardownsCompleted(int currentIteration) {
+        iterationLock.writeLock().lock();
+
+        try {
+            teardownsCompletedWithLock(currentIteration);
+        } finally {
+            iterationLock.writeLock().unlock();
+        }
+    }
+
+    // Must be called while holding the write side of the iteration lock.
+    private void teardownsCompletedWithLock(int currentIteration) {
         logger.info("[FILIBUSTER-CORE]: teardownsCompleted called, currentIteration: " + currentIteration);
 
         if (currentConcreteTestExecution != null) {
@@ -457,7 +632,8 @@ public class FilibusterCore {
                     numberOfAbstractExecutionsExecuted++;
 
                     exploredTestExecutions.addTestExecution(currentAbstractTestExecution);
-                } else {
+                } else if (!minimizingCurrentTestExecution) {
+                    // Candidates of the minimization may have been explored by the search already.
                     logger.severe("[FILIBUSTER-CORE]: teardownsCompleted called, currentAbstractTestExecution already exists in the explored queue, this could indicate a problem in Filibuster.");
                 }
             }
@@ -470,11 +646,22 @@ public class FilibusterCore {
             // Unset fields.
             currentAbstractTestExecution = null;
             currentConcreteTestExecution = null;
+            minimizingCurrentTestExecution = false;
 
             // If we have another test to run (it will be abstract...)
             AbstractTestExecution nextAbstractTestExecution;
 
-            if (!unexploredTestExecutions.isEmpty()) {
+            if (counterexampleMinimization != null && !counterexampleMinimization.isComplete()) {
+                logger.info("[FILIBUSTER-CORE]: teardownsCompleted, scheduling next counterexample minimization candidate.");
+
+                // Candidates are run ahead of the search, which resumes once the minimization is complete.
+                minimizingCurrentTestExecution = true;
+                currentAbstractTestExecution = counterexampleMinimization.getCandidateTestExecution();
+                currentConcreteTestExecution = new ConcreteTestExecution(currentAbstractTestExecution, filibusterConfiguration.getTestName(),
+                        testUUID, filibusterConfiguration.getClassName());
+            } else if (filibusterConfiguration.getAbortOnFirstFailure() && searchTestExecutionFailed) {
+                logger.info("[FILIBUSTER-CORE]: teardownsCompleted, not scheduling next test execution after failure.");
+            } else if (!unexploredTestExecutions.isEmpty()) {
                 logger.info("[FILIBUSTER-CORE]: teardownsCompleted, scheduling next test execution.");
 
                 do {
@@ -503,285 +690,370 @@ public class FilibusterCore {
         logger.info("[FILIBUSTER-CORE]: teardownsCompleted returning.");
     }
 
-    // Fault injection helpers.
+    // Must be called while holding the write side of the iteration lock.
+    private void recordIterationForMinimization(boolean failed) {
+        if (minimizingCurrentTestExecution && counterexampleMinimization != null) {
+            counterexampleMinimization.recordResult(failed);
 
-    @Nullable public synchronized HashMap<DistributedExecutionIndex, JSONObject> faultsInjected() {
-        logger.info("[FILIBUSTER-CORE]: faultsInjected called");
+            if (counterexampleMinimization.isComplete()) {
+                logger.info("[FILIBUSTER-CORE]: counterexample minimization complete after " + counterexampleMinimization.getNumberOfTests() + " tests, minimal faults: " + counterexampleMinimization.getMinimalFaultsToInject());
+            }
+        } else if (failed) {
+            searchTestExecutionFailed = true;
 
-        if (currentConcreteTestExecution == null) {
-            return null;
+            // Only the first failing execution is minimized; with a single fault, it is already minimal.
+            if (counterexampleMinimization == null && currentConcreteTestExecution != null && currentConcreteTestExecution.getFaultsToInject().size() > 1) {
+                logger.info("[FILIBUSTER-CORE]: starting counterexample minimization of faults: " + currentConcreteTestExecution.getFaultsToInject());
+                counterexampleMinimization = new CounterexampleMinimization(currentConcreteTestExecution.getFaultsToInject());
+            }
         }
+    }
 
-        HashMap<DistributedExecutionIndex, JSONObject> result = currentConcreteTestExecution.getFaultsToInject();
+    // Minimize a failing test execution, such as one loaded from a counterexample file, ahead of the rest of the search.
+    public void minimizeCounterexample(CounterexampleMinimization counterexampleMinimization) {
+        iterationLock.writeLock().lock();
 
-        logger.info("[FILIBUSTER-CORE]: faultsInjected returning: " + result);
+        try {
+            logger.info("[FILIBUSTER-CORE]: minimizeCounterexample called.");
 
-        return result;
+            if (this.counterexampleMinimization != null && !this.counterexampleMinimization.isComplete()) {
+                throw new FilibusterCoreLogicException("A counterexample is already being minimized.");
+            }
+
+            this.counterexampleMinimization = counterexampleMinimization;
+        } finally {
+            iterationLock.writeLock().unlock();
+        }
     }
 
-    @Nullable public synchronized HashMap<DistributedExecutionIndex, JSONObject> executedRPCs() {
-        logger.info("[FILIBUSTER-CORE]: executedRPCs called");
+    // Fault injection helpers.
 
-        if (currentConcreteTestExecution == null) {
-            return null;
-        }
+    @Nullable public HashMap<DistributedExecutionIndex, JSONObject> faultsInjected() {
+        iterationLock.readLock().lock();
 
-        HashMap<DistributedExecutionIndex, JSONObject> result = currentConcreteTestExecution.getExecutedRPCs();
+        try {
+            logger.info("[FILIBUSTER-CORE]: faultsInjected called");
 
-        logger.info("[FILIBUSTER-CORE]: executedRPCs returning: " + result);
+            if (currentConcreteTestExecution == null) {
+                return null;
+            }
 
-        return result;
-    }
+            HashMap<DistributedExecutionIndex, JSONObject> result = currentConcreteTestExecution.getFaultsToInject();
 
-    @Nullable public synchronized HashMap<DistributedExecutionIndex, JSONObject> failedRPCs() {
-        logger.info("[FILIBUSTER-CORE]: failedRPCs called");
+            logger.info("[FILIBUSTER-CORE]: faultsInjected returning: " + result);
 
-        if (currentConcreteTestExecution == null) {
-            return null;
+            return result;
+        } finally {
+            iterationLock.readLock().unlock();
         }
+    }
 
-        HashMap<DistributedExecutionIndex, JSONObject> result = currentConcreteTestExecution.getFailedRPCs();
+    @Nullable public HashMap<DistributedExecutionIndex, JSONObject> executedRPCs() {
+        iterationLock.readLock().lock();
 
-        logger.info("[FILIBUSTER-CORE]: failedRPCs returning: " + result);
+        try {
+            logger.info("[FILIBUSTER-CORE]: executedRPCs called");
 
-        return result;
-    }
+            if (currentConcreteTestExecution == null) {
+                return null;
+            }
 
-    public synchronized boolean wasFaultInjected() {
-        logger.info("[FILIBUSTER-CORE]: wasFaultInjected called");
+            HashMap<DistributedExecutionIndex, JSONObject> result = currentConcreteTestExecution.getExecutedRPCs();
 
-        if (currentConcreteTestExecution == null) {
-            return false;
+            logger.info("[FILIBUSTER-CORE]: executedRPCs returning: " + result);
+
+            return result;
+        } finally {
+            iterationLock.readLock().unlock();
         }
+    }
 
-        boolean result = currentConcreteTestExecution.wasFaultInjected();
+    @Nullable public TestExecutionReport getCurrentTestExecutionReport() {
+        iterationLock.readLock().lock();
 
-        logger.info("[FILIBUSTER-CORE]: wasFaultInjected returning: " + result);
+        try {
+            if (currentConcreteTestExecution == null) {
+                return null;
+            }
 
-        return result;
+            return currentConcreteTestExecution.getTestExecutionReport();
+        } finally {
+            iterationLock.readLock().unlock();
+        }
     }
 
-    public synchronized boolean wasFaultInjectedOnService(String serviceName) {
-        logger.info("[FILIBUSTER-CORE]: wasFaultInjectedOnService called, serviceName: " + serviceName);
+    @Nullable public HashMap<DistributedExecutionIndex, JSONObject> failedRPCs() {
+        iterationLock.readLock().lock();
 
-        if (currentConcreteTestExecution == null) {
-            return false;
-        }
+        try {
+            logger.info("[FILIBUSTER-CORE]: failedRPCs called");
 
-        boolean result = currentConcreteTestExecution.wasFaultInjectedOnService(serviceName);
+            if (currentConcreteTestExecution == null) {
+                return null;
+            }
+
+            HashMap<DistributedExecutionIndex, JSONObject> result = currentConcreteTestExecution.getFailedRPCs();
 
-        logger.info("[FILIBUSTER-CORE]: wasFaultInjectedOnService returning: " + result);
+            logger.info("[FILIBUSTER-CORE]: failedRPCs returning: " + result);
 
-        return result;
+            return result;
+        } finally {
+            iterationLock.readLock().unlock();
+        }
     }
 
-    public synchronized boolean wasFaultInjectedOnMethod(String serviceName, String methodName) {
-        logger.info("[FILIBUSTER-CORE]: wasFaultInjectedOnMethod called, serviceName: " + serviceName + ", methodName: " + methodName);
+    public boolean wasFaultInjected() {
+        iterationLock.readLock().lock();
 
-        if (currentConcreteTestExecution == null) {
-            return false;
-        }
+        try {
+            logger.info("[FILIBUSTER-CORE]: wasFaultInjected called");
+
+            if (currentConcreteTestExecution == null) {
+                return false;
+            }
 
-        boolean result = currentConcreteTestExecution.wasFaultInjectedOnMethod(serviceName, methodName);
+            boolean result = currentConcreteTestExecution.wasFaultInjected();
 
-        logger.info("[FILIBUSTER-CORE]: wasFaultInjectedOnMethod returning: " + result);
+            logger.info("[FILIBUSTER-CORE]: wasFaultInjected returning: " + result);
 
-        return result;
+            return result;
+        } finally {
+            iterationLock.readLock().unlock();
+        }
     }
 
-    public synchronized boolean wasFaultInjectedOnRequest(String serializedRequest) {
-        logger.info("[FILIBUSTER-CORE]: wasFaultInjectedOnRequest called, serializedRequest: " + serializedRequest);
+    public boolean wasFaultInjectedOnService(String serviceName) {
+        iterationLock.readLock().lock();
 
-        if (currentConcreteTestExecution == null) {
-            return false;
-        }
+        try {
+            logger.info("[FILIBUSTER-CORE]: wasFaultInjectedOnService called, serviceName: " + serviceName);
 
-        boolean result = currentConcreteTestExecution.wasFaultInjectedOnRequest(serializedRequest);
+            if (currentConcreteTestExecution == null) {
+                return false;
+            }
 
-        logger.info("[FILIBUSTER-CORE]: wasFaultInjectedOnRequest returning: " + result);
+            boolean result = currentConcreteTestExecution.wasFaultInjectedOnService(serviceName);
 
-        return result;
+            logger.info("[FILIBUSTER-CORE]: wasFaultInjectedOnService returning: " + result);
+
+            return result;
+        } finally {
+            iterationLock.readLock().unlock();
+        }
     }
 
-    public synchronized boolean wasFaultInjectedOnMethodWhereRequestContains(String serviceName, String methodName, String contains) {
-        logger.info("[FILIBUSTER-CORE]: wasFaultInjectedOnMethodWherePayloadContains called, serviceName: " + serviceName + ", methodName: " + methodName + ", contains: " + contains);
+    public boolean wasFaultInjectedOnMethod(String serviceName, String methodName) {
+        iterationLock.readLock().lock();
 
-        if (currentConcreteTestExecution == null) {
-            return false;
-        }
+        try {
+            logger.info("[FILIBUSTER-CORE]: wasFaultInjectedOnMethod called, serviceName: " + serviceName + ", methodName: " + methodName);
 
-        boolean result = currentConcreteTestExecution.wasFaultInjectedOnMethodWhereRequestContains(serviceName, methodName, contains);
+            if (currentConcreteTestExecution == null) {
+                return false;
+            }
+
+            boolean result = currentConcreteTestExecution.wasFaultInjectedOnMethod(serviceName, methodName);
 
-        logger.info("[FILIBUSTER-CORE]: wasFaultInjectedOnMethodWherePayloadContains returning: " + result);
+            logger.info("[FILIBUSTER-CORE]: wasFaultInjectedOnMethod returning: " + result);
 
-        return result;
+            return result;
+        } finally {
+            iterationLock.readLock().unlock();
+        }
     }
 
-    // This callback was used to terminate the Filibuster python server -- required if using certain backends for
-    // writing counterexample files, etc., but should automatically be handled by the JUnit invocation interceptors now.
-    public synchronized void terminateFilibuster() {
-        logger.info("[FILIBUSTER-CORE]: terminate called.");
+    public boolean wasFaultInjectedOnRequest(String serializedRequest) {
+        iterationLock.readLock().lock();
+
+        try {
+            logger.info("[FILIBUSTER-CORE]: wasFaultInjectedOnRequest called, serializedRequest: " + serializedRequest);
 
-        if (testReport != null) {
-            testReport.setIterationsRemaining(iterationsRemaining());
-            testReport.setNumBypassedExecutions(getNumBypassedExecutions());
-            testReport.writeTestReport();
-            if (Property.getReportsTestSuiteReportEnabledProperty()) {
-                TestSuiteReport.getInstance().addTestReport(testReport);
+            if (currentConcreteTestExecution == null) {
+                return false;
             }
-        }
 
-        ServerInvocationAndResponseReport.writeServerInvocationReport();
+            boolean result = currentConcreteTestExecution.wasFaultInjectedOnRequest(serializedRequest);
 
-        ServerInvocationAndResponseReport.writeServiceProfile();
+            logger.info("[FILIBUSTER-CORE]: wasFaultInjectedOnRequest returning: " + result);
 
-        logger.info("[FILIBUSTER-CORE]: terminate returning.");
+            return result;
+        } finally {
+            iterationLock.readLock().unlock();
+        }
     }
 
-    // Configuration.
-
-    public synchronized void analysisFile(JSONObject analysisFile) {
-        logger.info("[FILIBUSTER-CORE]: analysisFile called, payload: " + analysisFile.toString(4));
+    public boolean wasFaultInjectedOnMethodWhereRequestContains(String serviceName, String methodName, String contains) {
+        iterationLock.readLock().lock();
 
-        FilibusterCustomAnalysisConfigurationFile.Builder filibusterCustomAnalysisConfigurationFileBuilder = new FilibusterCustomAnalysisConfigurationFile.Builder();
+        try {
+            logger.info("[FILIBUSTER-CORE]: wasFaultInjectedOnMethodWherePayloadContains called, serviceName: " + serviceName + ", methodName: " + methodName + ", contains: " + contains);
 
-        for (String name : analysisFile.keySet()) {
-            FilibusterAnalysisConfiguration.Builder filibusterAnalysisConfigurationBuilder = new FilibusterAnalysisConfiguration.Builder();
-            filibusterAnalysisConfigurationBuilder.name(name);
+            if (currentConcreteTestExecution == null) {
+                return false;
+            }
 
-            JSONObject nameObject = analysisFile.getJSONObject(name);
+            boolean result = currentConcreteTestExecution.wasFaultInjectedOnMethodWhereRequestContains(serviceName, methodName, contains);
 
-            if (nameObject.has("pattern")) {
-                filibusterAnalysisConfigurationBuilder.pattern(nameObject.getString("pattern"));
-            }
+            logger.info("[FILIBUSTER-CORE]: wasFaultInjectedOnMethodWherePayloadContains returning: " + result);
 
-            if (nameObject.has("type")) {
-                filibusterAnalysisConfigurationBuilder.type(nameObject.getString("type"));
-            }
+            return result;
+        } finally {
+            iterationLock.readLock().unlock();
+        }
+    }
 
-            if (nameObject.has("latencies")) {
-                JSONArray jsonArray = nameObject.getJSONArray("latencies");
+    // This callback was used to terminate the Filibuster python server -- required if using certain backends for
+    // writing counterexample files, etc., but should automatically be handled by the JUnit invocation interceptors now.
+    public void terminateFilibuster() {
+        iterationLock.writeLock().lock();
 
-                for (Object obj : jsonArray) {
-                    JSONObject latencyObject = (JSONObject) obj;
+        try {
+            logger.info("[FILIBUSTER-CORE]: terminate called.");
 
-                    MatcherType matcherType = MatcherType.valueOf(latencyObject.getString("type"));
-                    String matcher = latencyObject.getString("matcher");
-                    int milliseconds = latencyObject.getInt("milliseconds");
+            if (testReport != null) {
+                if (counterexampleMinimization != null) {
+                    testReport.setMinimizedCounterexample(counterexampleMinimization.toJSONObject());
+                }
 
-                    filibusterAnalysisConfigurationBuilder.latency(matcherType, matcher, milliseconds);
-                    logger.info("[FILIBUSTER-CORE]: analysisFile, found new configuration, matcherType: " + matcherType + ", matcher: " + matcher + ", milliseconds: " + milliseconds);
+                testReport.setIterationsRemaining(iterationsRemaining());
+                testReport.setNumBypassedExecutions(getNumBypassedExecutions());
+                testReport.setNumPrunedExecutions(getNumPrunedExecutions());
+                testReport.writeTestReport();
+                if (Property.getReportsTestSuiteReportEnabledProperty()) {
+                    TestSuiteReport.getInstance().addTestReport(testReport);
                 }
             }
 
-            if (nameObject.has("exceptions")) {
-                JSONArray jsonArray = nameObject.getJSONArray("exceptions");
+            ServerInvocationAndResponseReport.writeServerInvocationReport();
+
+            ServerInvocationAndResponseReport.writeServiceProfile();
+
+            logger.info("[FILIBUSTER-CORE]: terminate returning.");
+        } finally {
+            iterationLock.writeLock().unlock();
+        }
+    }
 
-                for (Object obj : jsonArray) {
-                    JSONObject exceptionObject = (JSONObject) obj;
+    // Configuration.
 
-                    String exceptionName = exceptionObject.getString("name");
-                    JSONObject exceptionMetadata = exceptionObject.getJSONObject("metadata");
+    public void analysisFile(JSONObject analysisFile) {
+        iterationLock.writeLock().lock();
 
-                    HashMap<String, String> exceptionMetadataMap = new HashMap<>();
-                    for (String metadataObjectKey : exceptionMetadata.keySet()) {
-                        exceptionMetadataMap.put(metadataObjectKey, exceptionMetadata.getString(metadataObjectKey));
-                    }
+        try {
+            logger.info("[FILIBUSTER-CORE]: analysisFile called, payload: " + analysisFile.toString(4));
+
+            FilibusterCustomAnalysisConfigurationFile.Builder filibusterCustomAnalysisConfigurationFileBuilder = new FilibusterCustomAnalysisConfigurationFile.Builder();
+
+            for (String name : analysisFile.keySet()) {
+                FilibusterAnalysisConfiguration.Builder filibusterAnalysisConfigurationBuilder = new FilibusterAnalysisConfiguration.Builder();
+                filibusterAnalysisConfigurationBuilder.name(name);
+
+                JSONObject nameObject = analysisFile.getJSONObject(name);
 
-                    filibusterAnalysisConfigurationBuilder.exception(exceptionName, exceptionMetadataMap);
-                    logger.info("[FILIBUSTER-CORE]: analysisFile, found new configuration, exceptionName: " + exceptionName + ", exceptionMetadataMap: " + exceptionMetadataMap);
+                if (nameObject.has("pattern")) {
+                    filibusterAnalysisConfigurationBuilder.pattern(nameObject.getString("pattern"));
+                }
+
+                if (nameObject.has("type")) {
+                    filibusterAnalysisConfigurationBuilder.type(nameObject.getString("type"));
                 }
-            }
 
-            if (nameObject.has("errors")) {
-                JSONArray jsonArray = nameObject.getJSONArray("errors");
+                if (nameObject.has("latencies")) {
+                    JSONArray jsonArray = nameObject.getJSONArray("latencies");
 
-                for (Object obj : jsonArray) {
-                    JSONObject errorObject = (JSONObject) obj;
+                    for (Object obj : jsonArray) {
+                        JSONObject latencyObject = (JSONObject) obj;
 
-                    String errorServiceName = errorObject.getString("service_name");
-                    JSONArray errorTypes = errorObject.getJSONArray("types");
+                        MatcherType matcherType = MatcherType.valueOf(latencyObject.getString("type"));
+                        String matcher = latencyObject.getString("matcher");
+                        int milliseconds = latencyObject.getInt("milliseconds");
 
-                    List<JSONObject> errorTypesList = new ArrayList<>();
-                    for (Object errorType : errorTypes) {
-                        errorTypesList.add((JSONObject) errorType);
+                        filibusterAnalysisConfigurationBuilder.latency(matcherType, matcher, milliseconds);
+                        logger.info("[FILIBUSTER-CORE]: analysisFile, found new configuration, matcherType: " + matcherType + ", matcher: " + matcher + ", milliseconds: " + milliseconds);
                     }
-
-                    filibusterAnalysisConfigurationBuilder.error(errorServiceName, errorTypesList);
-                    logger.info("[FILIBUSTER-CORE]: analysisFile, found new configuration, errorServiceName: " + errorServiceName + ", errorTypesList: " + errorTypesList);
                 }
-            }
 
-            if (nameObject.has("byzantines")) {
-                JSONArray jsonArray = nameObject.getJSONArray("byzantines");
+                if (nameObject.has("exceptions")) {
+                    JSONArray jsonArray = nameObject.getJSONArray("exceptions");
 
-                for (Object obj : jsonArray) {
-                    JSONObject errorObject = (JSONObject) obj;
+                    for (Object obj : jsonArray) {
+                        JSONObject exceptionObject = (JSONObject) obj;
 
-                    if (errorObject.has("type") && errorObject.has("metadata")) {
-                        String byzantineFaultType = errorObject.getString("type");
-                        JSONObject byzantineMetadata = errorObject.getJSONObject("metadata");
+                        String exceptionName = exceptionObject.getString("name");
+                        JSONObject exceptionMetadata = exceptionObject.getJSONObject("metadata");
 
-                        HashMap<String, Object> byzantineMetadataMap = new HashMap<>();
-                        for (String metadataObjectKey : byzantineMetadata.keySet()) {
-                            byzantineMetadataMap.put(metadataObjectKey, byzantineMetadata.get(metadataObjectKey));
+                        HashMap<String, String> exceptionMetadataMap = new HashMap<>();
+                        for (String metadataObjectKey : exceptionMetadata.keySet()) {
+                            exceptionMetadataMap.put(metadataObjectKey, exceptionMetadata.getString(metadataObjectKey));
                         }
 
-                        filibusterAnalysisConfigurationBuilder.byzantine(ByzantineFaultType.fromFaultType(byzantineFaultType), byzantineMetadataMap);
-                        logger.info("[FILIBUSTER-CORE]: analysisFile, found new configuration, byzantineFaultType: " + byzantineFaultType + ", byzantineMetadata: " + byzantineMetadataMap);
-                    } else {
-                        logger.warning("[FILIBUSTER-CORE]: Either the key 'type' or 'metadata' was not defined for a byzantine" +
-                                "fault object. Skipping...");
+                        filibusterAnalysisConfigurationBuilder.exception(exceptionName, exceptionMetadataMap);
+                        logger.info("[FILIBUSTER-CORE]: analysisFile, found new configuration, exceptionName: " + exceptionName + ", exceptionMetadataMap: " + exceptionMetadataMap);
                     }
                 }
-            }
 
-            FilibusterAnalysisConfiguration filibusterAnalysisConfiguration = filibusterAnalysisConfigurationBuilder.build();
-            filibusterCustomAnalysisConfigurationFileBuilder.analysisConfiguration(filibusterAnalysisConfiguration);
-        }
+                if (nameObject.has("errors")) {
+                    JSONArray jsonArray = nameObject.getJSONArray("errors");
 
-        filibusterCustomAnalysisConfigurationFile = filibusterCustomAnalysisConfigurationFileBuilder.build();
+                    for (Object obj : jsonArray) {
+                        JSONObject errorObject = (JSONObject) obj;
 
-        logger.info("[FILIBUSTER-CORE]: analysisFile, set instance variable, returning.");
-    }
+                        String errorServiceName = errorObject.getString("service_name");
+                        JSONArray errorTypes = errorObject.getJSONArray("types");
 
-    // Private functions.
+                        List<JSONObject> errorTypesList = new ArrayList<>();
+                        for (Object errorType : errorTypes) {
+                            errorTypesList.add((JSONObject) errorType);
+                        }
 
-    private static boolean matchesFaultInjectionPattern(
-            FilibusterAnalysisConfiguration filibusterAnalysisConfiguration,
-            String rpcType,
-            String moduleName,
-            String methodName
-    ) {
-        boolean matchesMethodName = filibusterAnalysisConfiguration.isPatternMatch(methodName);
+                        filibusterAnalysisConfigurationBuilder.error(errorServiceName, errorTypesList);
+                        logger.info("[FILIBUSTER-CORE]: analysisFile, found new configuration, errorServiceName: " + errorServiceName + ", errorTypesList: " + errorTypesList);
+                    }
+                }
 
-        // This check is a legacy check for the old Python server compatibility.
-        boolean matchesModuleAndMethodName = filibusterAnalysisConfiguration.isPatternMatch(moduleName + "." + methodName);
+                if (nameObject.has("byzantines")) {
+                    JSONArray jsonArray = nameObject.getJSONArray("byzantines");
 
-        boolean patternMatchFound = matchesMethodName || matchesModuleAndMethodName;
+                    for (Object obj : jsonArray) {
+                        JSONObject errorObject = (JSONObject) obj;
 
-        if (rpcType == null) {
-            if (filibusterAnalysisConfiguration.hasType()) {
-                // If the analysis configuration has a type and we don't have a type, it's not a match.
-                return false;
+                        if (errorObject.has("type") && errorObject.has("metadata")) {
+                            String byzantineFaultType = errorObject.getString("type");
+                            JSONObject byzantineMetadata = errorObject.getJSONObject("metadata");
+
+                            HashMap<String, Object> byzantineMetadataMap = new HashMap<>();
+                            for (String metadataObjectKey : byzantineMetadata.keySet()) {
+                                byzantineMetadataMap.put(metadataObjectKey, byzantineMetadata.get(metadataObjectKey));
+                            }
+
+                            filibusterAnalysisConfigurationBuilder.byzantine(ByzantineFaultType.fromFaultType(byzantineFaultType), byzantineMetadataMap);
+                            logger.info("[FILIBUSTER-CORE]: analysisFile, found new configuration, byzantineFaultType: " + byzantineFaultType + ", byzantineMetadata: " + byzantineMetadataMap);
+                        } else {
+                            logger.warning("[FILIBUSTER-CORE]: Either the key 'type' or 'metadata' was not defined for a byzantine" +
+                                    "fault object. Skipping...");
+                        }
+                    }
+                }
+
+                FilibusterAnalysisConfiguration filibusterAnalysisConfiguration = filibusterAnalysisConfigurationBuilder.build();
+                filibusterCustomAnalysisConfigurationFileBuilder.analysisConfiguration(filibusterAnalysisConfiguration);
             }
 
-            // No type in analysis configuration, no type in the instrumentation.
-            // Fallback behavior, original Filibuster behavior.
-            //
-            return patternMatchFound;
-        }
+            filibusterCustomAnalysisConfigurationFile = filibusterCustomAnalysisConfigurationFileBuilder.build();
 
-        // RPCs have unknown modules/methods and therefore we might have overly permissive patterns that need
-        // to be verified using the instrumentation type.
-        //
-        boolean isTypeMatch = filibusterAnalysisConfiguration.isTypeMatch(rpcType);
+            // Compile the fault rules once, rather than matching the configuration on every RPC.
+            filibusterFaultRuleEngine = new FilibusterFaultRuleEngine(filibusterCustomAnalysisConfigurationFile);
 
-        return patternMatchFound && isTypeMatch;
+            logger.info("[FILIBUSTER-CORE]: analysisFile, set instance variable, returning.");
+        } finally {
+            iterationLock.writeLock().unlock();
+        }
     }
 
+    // Private functions.
+
     private void generateFaultsUsingSpecificAnalysisConfiguration(
-            FilibusterCustomAnalysisConfigurationFile customAnalysisConfigurationFile,
+            FilibusterFaultRuleEngine filibusterFaultRuleEngine,
             DistributedExecutionIndex distributedExecutionIndex,
             String rpcType,
             String moduleName,
@@ -789,74 +1061,8 @@ public class FilibusterCore {
     ) {
         logger.info("[FILIBUSTER-CORE]: generateFaultsUsingSpecificAnalysisConfiguration called.");
 
-        if (customAnalysisConfigurationFile != null) {
-            for (FilibusterAnalysisConfiguration filibusterAnalysisConfiguration : customAnalysisConfigurationFile.getFilibusterAnalysisConfigurations()) {
-                // Second check here (concat) is a legacy check for the old Python server compatibility.
-                if (matchesFaultInjectionPattern(filibusterAnalysisConfiguration, rpcType, moduleName, methodName)) {
-                    // Latency.
-                    List<JSONObject> latencyFaultObjects = filibusterAnalysisConfiguration.getLatencyFaultObjects();
-
-                    for (JSONObject faultObject : latencyFaultObjects) {
-                        JSONObject latencyObject = faultObject.getJSONObject("latency");
-                        String latencyObjectMatcherType = latencyObject.getString("type");
-                        MatcherType matcherType = MatcherType.valueOf(latencyObjectMatcherType);
-                        String latencyObjectMatcher = latencyObject.getString("matcher");
-                        Pattern faultServiceNamePattern = Pattern.compile(latencyObjectMatcher, Pattern.CASE_INSENSITIVE);
-                        Matcher matcher;
-
-                        switch (matcherType) {
-                            case SERVICE:
-                                matcher = faultServiceNamePattern.matcher(moduleName);
-                                break;
-                            case METHOD:
-                                matcher = faultServiceNamePattern.matcher(methodName);
-                                break;
-                            default:
-                                throw new FilibusterFaultInjectionException("Unknown latency injection type: " + matcherType);
-                        }
-
-                        if (matcher.find()) {
-                            createAndScheduleAbstractTestExecution(filibusterConfiguration, distributedExecutionIndex, faultObject);
-                        }
-                    }
-
-                    // Exceptions.
-                    List<JSONObject> exceptionFaultObjects = filibusterAnalysisConfiguration.getExceptionFaultObjects();
-
-                    for (JSONObject faultObject : exceptionFaultObjects) {
-                        createAndScheduleAbstractTestExecution(filibusterConfiguration, distributedExecutionIndex, faultObject);
-                    }
-
-                    // Errors.
-                    List<JSONObject> errorFaultObjects = filibusterAnalysisConfiguration.getErrorFaultObjects();
-
-                    for (JSONObject faultObject : errorFaultObjects) {
-                        JSONObject failureMetadataObject = faultObject.getJSONObject("failure_metadata");
-
-                        String faultServiceName = failureMetadataObject.getString("service_name");
-                        Pattern faultServiceNamePattern = Pattern.compile(faultServiceName, Pattern.CASE_INSENSITIVE);
-                        Matcher matcher = faultServiceNamePattern.matcher(moduleName);
-
-                        List<Object> faultTypesArray = failureMetadataObject.getJSONArray("types").toList();
-
-                        if (matcher.find()) {
-                            for (Object obj : faultTypesArray) {
-                                HashMap faultTypeMap = (HashMap) obj;
-                                JSONObject faultTypeObject = new JSONObject();
-                                faultTypeObject.put("failure_metadata", faultTypeMap);
-                                createAndScheduleAbstractTestExecution(filibusterConfiguration, distributedExecutionIndex, faultTypeObject);
-                            }
-                        }
-                    }
-
-                    // Byzantine faults
-                    List<JSONObject> byzantineFaultObjects = filibusterAnalysisConfiguration.getByzantineFaultObjects();
-
-                    for (JSONObject faultObject : byzantineFaultObjects) {
-                        createAndScheduleAbstractTestExecution(filibusterConfiguration, distributedExecutionIndex, faultObject);
-                    }
-                }
-            }
+        for (JSONObject faultObject : filibusterFaultRuleEngine.getFaultObjects(rpcType, moduleName, methodName)) {
+            createAndScheduleAbstractTestExecution(filibusterConfiguration, distributedExecutionIndex, faultObject);
         }
 
         logger.info("[FILIBUSTER-CORE]: generateFaultsUsingSpecificAnalysisConfiguration returning.");
@@ -872,7 +1078,7 @@ public class FilibusterCore {
     ) {
         logger.info("[FILIBUSTER-CORE]: generateFaultsUsingAnalysisConfiguration called.");
 
-        List<FilibusterCustomAnalysisConfigurationFile> customAnalysisConfigurationFiles = new ArrayList<>();
+        List<FilibusterFaultRuleEngine> filibusterFaultRuleEngines = new ArrayList<>();
 
         // Service profile faults.
 
@@ -881,14 +1087,8 @@ public class FilibusterCore {
 
             if (serviceProfiles != null) {
                 for (ServiceProfile serviceProfile : serviceProfiles) {
-                    // could be much more efficient if we just build these objects ourselves
-                    // this is just done for maximum reuse.
                     if (serviceProfile.sawMethod(methodName)) {
-                        FilibusterAnalysisConfiguration.Builder filibusterAnalysisConfigurationBuilder = new FilibusterAnalysisConfiguration.Builder()
-                                .name("java.grpc." + methodName)
-                                .pattern("(" + methodName + ")")
-                                .type("grpc");
-
+                        List<Map<String, String>> errorMaps = new ArrayList<>();
                         List<ServiceRequestAndResponse> serviceRequestAndResponseList = serviceProfile.getServiceRequestAndResponsesForMethod(methodName);
 
                         if (serviceRequestAndResponseList != null) {
@@ -904,19 +1104,15 @@ public class FilibusterCore {
                                     errorMap.put("cause", "");
                                     errorMap.put("code", code.toString());
                                     errorMap.put("description", description);
-
-                                    // Add to configuration.
-                                    filibusterAnalysisConfigurationBuilder.exception("io.grpc.StatusRuntimeException", errorMap);
+                                    errorMaps.add(errorMap);
                                 }
                             }
                         }
 
-                        // Add to list of faults to inject.
-                        FilibusterAnalysisConfiguration filibusterAnalysisConfiguration = filibusterAnalysisConfigurationBuilder.build();
-                        FilibusterCustomAnalysisConfigurationFile filibusterServiceProfileConfigurationFile = new FilibusterCustomAnalysisConfigurationFile.Builder()
-                                .analysisConfiguration(filibusterAnalysisConfiguration)
-                                .build();
-                        customAnalysisConfigurationFiles.add(filibusterServiceProfileConfigurationFile);
+                        // Add to list of faults to inject, compiling the rules only the first time this configuration is seen.
+                        String serviceProfileConfiguration = methodName + errorMaps;
+                        filibusterFaultRuleEngines.add(serviceProfileFaultRuleEngines.computeIfAbsent(serviceProfileConfiguration,
+                                k -> createServiceProfileFaultRuleEngine(methodName, errorMaps)));
                     }
                 }
             }
@@ -924,15 +1120,34 @@ public class FilibusterCore {
 
         // Standard faults.
 
-        customAnalysisConfigurationFiles.add(filibusterCustomAnalysisConfigurationFile);
+        if (filibusterFaultRuleEngine != null) {
+            filibusterFaultRuleEngines.add(filibusterFaultRuleEngine);
+        }
 
-        for (FilibusterCustomAnalysisConfigurationFile customAnalysisConfigurationFile : customAnalysisConfigurationFiles) {
-            generateFaultsUsingSpecificAnalysisConfiguration(customAnalysisConfigurationFile, distributedExecutionIndex, rpcType, moduleName, methodName);
+        for (FilibusterFaultRuleEngine engine : filibusterFaultRuleEngines) {
+            generateFaultsUsingSpecificAnalysisConfiguration(engine, distributedExecutionIndex, rpcType, moduleName, methodName);
         }
 
         logger.info("[FILIBUSTER-CORE]: generateFaultsUsingAnalysisConfiguration returning.");
     }
 
+    // Fault rules for the failures a service profile saw for a method.
+    private static FilibusterFaultRuleEngine createServiceProfileFaultRuleEngine(String methodName, List<Map<String, String>> errorMaps) {
+        FilibusterAnalysisConfiguration.Builder filibusterAnalysisConfigurationBuilder = new FilibusterAnalysisConfiguration.Builder()
+                .name("java.grpc." + methodName)
+                .pattern("(" + methodName + ")")
+                .type("grpc");
+
+        for (Map<String, String> errorMap : errorMaps) {
+            filibusterAnalysisConfigurationBuilder.exception("io.grpc.StatusRuntimeException", errorMap);
+        }
+
+        FilibusterCustomAnalysisConfigurationFile filibusterServiceProfileConfigurationFile = new FilibusterCustomAnalysisConfigurationFile.Builder()
+                .analysisConfiguration(filibusterAnalysisConfigurationBuilder.build())
+                .build();
+        return new FilibusterFaultRuleEngine(filibusterServiceProfileConfigurationFile);
+    }
+
     private void createAndScheduleAbstractTestExecution(
             FilibusterConfiguration filibusterConfiguration,
             DistributedExecutionIndex distributedExecutionIndex,
@@ -940,24 +1155,35 @@ public class FilibusterCore {
         logger.info("[FILIBUSTER-CORE]: createAndScheduleAbstractTestExecution called.");
 
         if (currentConcreteTestExecution != null) {
+            // Cloning happens outside of the scheduling lock: this is the expensive part and only reads
+            // from the concurrent structures of the current concrete execution.
             AbstractTestExecution abstractTestExecution = currentConcreteTestExecution.toAbstractTestExecution();
             abstractTestExecution.addFaultToInject(distributedExecutionIndex, faultObject);
 
-            boolean abstractIsExploredExecution = exploredTestExecutions.containsAbstractTestExecution(abstractTestExecution);
-            boolean abstractIsScheduledExecution = unexploredTestExecutions.containsAbstractTestExecution(abstractTestExecution);
+            // The current abstract execution is only replaced while holding the write side of the iteration lock.
             boolean abstractIsCurrentExecution = currentAbstractTestExecution != null && currentAbstractTestExecution.matchesAbstractTestExecution(abstractTestExecution);
 
-            if (!abstractIsExploredExecution && !abstractIsScheduledExecution && !abstractIsCurrentExecution) {
-                if (filibusterConfiguration.getSuppressCombinations()) {
-                    if (!(abstractTestExecution.getFaultsToInjectSize() > 1)) {
-                        unexploredTestExecutions.addTestExecution(abstractTestExecution);
-                        logger.info("[FILIBUSTER-CORE]: createAndScheduleAbstractTestExecution, adding new execution to the queue.");
-                    } else {
-                        logger.info("[FILIBUSTER-CORE]: createAndScheduleAbstractTestExecution, not scheduling test execution because it contains > 1 fault.");
+            if (!abstractIsCurrentExecution) {
+                synchronized (schedulingLock) {
+                    boolean abstractIsExploredExecution = exploredTestExecutions.containsAbstractTestExecution(abstractTestExecution);
+                    boolean abstractIsScheduledExecution = unexploredTestExecutions.containsAbstractTestExecution(abstractTestExecution);
+
+                    if (!abstractIsExploredExecution && !abstractIsScheduledExecution) {
+                        if (exploredTestExecutions.containsEquivalentTestExecution(abstractTestExecution) || unexploredTestExecutions.containsEquivalentTestExecution(abstractTestExecution)) {
+                            numPrunedExecutions++;
+                            logger.info("[FILIBUSTER-CORE]: createAndScheduleAbstractTestExecution, not scheduling test execution because an equivalent execution was explored or scheduled.");
+                        } else if (filibusterConfiguration.getSuppressCombinations()) {
+                            if (!(abstractTestExecution.getFaultsToInjectSize() > 1)) {
+                                unexploredTestExecutions.addTestExecution(abstractTestExecution);
+                                logger.info("[FILIBUSTER-CORE]: createAndScheduleAbstractTestExecution, adding new execution to the queue.");
+                            } else {
+                                logger.info("[FILIBUSTER-CORE]: createAndScheduleAbstractTestExecution, not scheduling test execution because it contains > 1 fault.");
+                            }
+                        } else {
+                            logger.info("[FILIBUSTER-CORE]: createAndScheduleAbstractTestExecution, adding new execution to the queue.");
+                            unexploredTestExecutions.addTestExecution(abstractTestExecution);
+                        }
                     }
-                } else {
-                    logger.info("[FILIBUSTER-CORE]: createAndScheduleAbstractTestExecution, adding new execution to the queue.");
-                    unexploredTestExecutions.addTestExecution(abstractTestExecution);
                 }
             }
         }
@@ -977,7 +1203,8 @@ public class FilibusterCore {
                         "[FILIBUSTER-CORE]: Test Summary: " + "\n" +
                         "[FILIBUSTER-CORE]: * numberOfAbstractExecutionsAttempted:       " + numberOfAbstractExecutionsAttempted + (currentAbstractTestExecution == null ? "" : " (+1, =" + (numberOfAbstractExecutionsAttempted + 1) + ")") + "\n" +
                         "[FILIBUSTER-CORE]: * numberOfAbstractExecutionsExecuted:        " + numberOfAbstractExecutionsExecuted + (currentAbstractTestExecution == null ? "" : " (+1, =" + (numberOfAbstractExecutionsExecuted + 1) + ")") + "\n" +
-                        "[FILIBUSTER-CORE]: * numberOfConcreteExecutionsExecuted:        " + numberOfConcreteExecutionsExecuted + " (+1, =" + (numberOfConcreteExecutionsExecuted + 1) + ")" + "\n"
+                        "[FILIBUSTER-CORE]: * numberOfConcreteExecutionsExecuted:        " + numberOfConcreteExecutionsExecuted + " (+1, =" + (numberOfConcreteExecutionsExecuted + 1) + ")" + "\n" +
+                        "[FILIBUSTER-CORE]: * numPrunedExecutions:                       " + getNumPrunedExecutions() + "\n"
         );
     }
 }
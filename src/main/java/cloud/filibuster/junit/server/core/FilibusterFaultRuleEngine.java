@@ -0,0 +1,153 @@
+package cloud.filibuster.junit.server.core;
+
+import cloud.filibuster.exceptions.filibuster.FilibusterFaultInjectionException;
+import cloud.filibuster.junit.configuration.FilibusterAnalysisConfiguration;
+import cloud.filibuster.junit.configuration.FilibusterAnalysisConfiguration.MatcherType;
+import cloud.filibuster.junit.configuration.FilibusterCustomAnalysisConfigurationFile;
+import org.json.JSONObject;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Fault rules compiled from an analysis configuration file.
+ *
+ * Patterns are compiled once, rules are grouped by rpc type, and the fault objects to schedule are memoized per
+ * (rpcType, module, method), so generating faults for a previously seen method is a map lookup.
+ */
+public class FilibusterFaultRuleEngine {
+    // A single fault object, with the pattern it is restricted to (latencies and errors), if any.
+    private static final class CompiledFault {
+        final JSONObject faultObject;
+
+        @Nullable
+        final Pattern pattern;
+
+        // Whether the pattern is applied to the module (service) name rather than the method name.
+        final boolean matchesModule;
+
+        CompiledFault(JSONObject faultObject, @Nullable Pattern pattern, boolean matchesModule) {
+            this.faultObject = faultObject;
+            this.pattern = pattern;
+            this.matchesModule = matchesModule;
+        }
+
+        boolean matches(String moduleName, String methodName) {
+            if (pattern == null) {
+                return true;
+            }
+
+            return pattern.matcher(matchesModule ? moduleName : methodName).find();
+        }
+    }
+
+    private static final class CompiledRule {
+        final FilibusterAnalysisConfiguration filibusterAnalysisConfiguration;
+
+        // In the order faults are scheduled: latencies, exceptions, errors, byzantine faults.
+        final List<CompiledFault> compiledFaults = new ArrayList<>();
+
+        CompiledRule(FilibusterAnalysisConfiguration filibusterAnalysisConfiguration) {
+            this.filibusterAnalysisConfiguration = filibusterAnalysisConfiguration;
+
+            for (JSONObject faultObject : filibusterAnalysisConfiguration.getLatencyFaultObjects()) {
+                JSONObject latencyObject = faultObject.getJSONObject("latency");
+                MatcherType matcherType = MatcherType.valueOf(latencyObject.getString("type"));
+                Pattern pattern = Pattern.compile(latencyObject.getString("matcher"), Pattern.CASE_INSENSITIVE);
+
+                switch (matcherType) {
+                    case SERVICE:
+                        compiledFaults.add(new CompiledFault(faultObject, pattern, /* matchesModule= */ true));
+                        break;
+                    case METHOD:
+                        compiledFaults.add(new CompiledFault(faultObject, pattern, /* matchesModule= */ false));
+                        break;
+                    default:
+                        throw new FilibusterFaultInjectionException("Unknown latency injection type: " + matcherType);
+                }
+            }
+
+            for (JSONObject faultObject : filibusterAnalysisConfiguration.getExceptionFaultObjects()) {
+                compiledFaults.add(new CompiledFault(faultObject, null, false));
+            }
+
+            for (JSONObject faultObject : filibusterAnalysisConfiguration.getErrorFaultObjects()) {
+                JSONObject failureMetadataObject = faultObject.getJSONObject("failure_metadata");
+                Pattern pattern = Pattern.compile(failureMetadataObject.getString("service_name"), Pattern.CASE_INSENSITIVE);
+
+                for (Object obj : failureMetadataObject.getJSONArray("types")) {
+                    JSONObject faultTypeObject = new JSONObject();
+                    faultTypeObject.put("failure_metadata", obj);
+                    compiledFaults.add(new CompiledFault(faultTypeObject, pattern, /* matchesModule= */ true));
+                }
+            }
+
+            for (JSONObject faultObject : filibusterAnalysisConfiguration.getByzantineFaultObjects()) {
+                compiledFaults.add(new CompiledFault(faultObject, null, false));
+            }
+        }
+
+        boolean matches(String moduleName, String methodName) {
+            // Second check here (concat) is a legacy check for the old Python server compatibility.
+            return filibusterAnalysisConfiguration.isPatternMatch(methodName) ||
+                    filibusterAnalysisConfiguration.isPatternMatch(moduleName + "." + methodName);
+        }
+    }
+
+    // Rules grouped by rpc type; rules without a type only apply to RPCs without a type, and vice versa.
+    private final Map<String, List<CompiledRule>> rulesByType = new HashMap<>();
+
+    private final List<CompiledRule> rulesWithoutType = new ArrayList<>();
+
+    // (rpcType, module, method) => fault objects to schedule.
+    private final ConcurrentHashMap<List<String>, List<JSONObject>> faultObjectsByRpc = new ConcurrentHashMap<>();
+
+    public FilibusterFaultRuleEngine(FilibusterCustomAnalysisConfigurationFile filibusterCustomAnalysisConfigurationFile) {
+        for (FilibusterAnalysisConfiguration filibusterAnalysisConfiguration : filibusterCustomAnalysisConfigurationFile.getFilibusterAnalysisConfigurations()) {
+            CompiledRule compiledRule = new CompiledRule(filibusterAnalysisConfiguration);
+
+            if (filibusterAnalysisConfiguration.hasType()) {
+                rulesByType.computeIfAbsent(filibusterAnalysisConfiguration.getType(), k -> new ArrayList<>()).add(compiledRule);
+            } else {
+                rulesWithoutType.add(compiledRule);
+            }
+        }
+    }
+
+    /**
+     * Return the fault objects that should be scheduled for an RPC, in configuration order.
+     *
+     * @param rpcType the rpc type reported by the instrumentation, if any.
+     * @param moduleName the module (service) name of the RPC.
+     * @param methodName the method name of the RPC.
+     * @return fault objects to schedule; must not be modified.
+     */
+    public List<JSONObject> getFaultObjects(@Nullable String rpcType, String moduleName, String methodName) {
+        return faultObjectsByRpc.computeIfAbsent(Arrays.asList(rpcType, moduleName, methodName),
+                k -> computeFaultObjects(rpcType, moduleName, methodName));
+    }
+
+    private List<JSONObject> computeFaultObjects(@Nullable String rpcType, String moduleName, String methodName) {
+        List<CompiledRule> candidateRules = rpcType == null ? rulesWithoutType : rulesByType.getOrDefault(rpcType, Collections.emptyList());
+        List<JSONObject> faultObjects = new ArrayList<>();
+
+        for (CompiledRule compiledRule : candidateRules) {
+            if (compiledRule.matches(moduleName, methodName)) {
+                for (CompiledFault compiledFault : compiledRule.compiledFaults) {
+                    if (compiledFault.matches(moduleName, methodName)) {
+                        faultObjects.add(compiledFault.faultObject);
+                    }
+                }
+            }
+        }
+
+        return Collections.unmodifiableList(faultObjects);
+    }
+}
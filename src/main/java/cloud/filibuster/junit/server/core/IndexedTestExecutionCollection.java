@@ -0,0 +1,117 @@
+package cloud.filibuster.junit.server.core;
+
+import cloud.filibuster.junit.server.core.test_executions.TestExecution;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test execution collection that keeps a hash index from the canonical fingerprint of each execution's faults
+ * alongside the search ordering, so that membership checks do not scan the whole collection.
+ *
+ * Not thread safe: callers are expected to synchronize access, as FilibusterCore does.
+ *
+ * @param <T> type of test execution stored.
+ */
+public abstract class IndexedTestExecutionCollection<T extends TestExecution> implements TestExecutionCollection<T> {
+    // Search ordering; each entry carries the fingerprint computed when it was added.
+    final ArrayDeque<IndexedTestExecution<T>> testExecutions = new ArrayDeque<>();
+
+    // Fingerprint of faults to inject => executions with that fingerprint, used for membership checks.
+    private final Map<String, List<T>> testExecutionsByFingerprint = new HashMap<>();
+
+    static final class IndexedTestExecution<T> {
+        final T testExecution;
+        final String fingerprint;
+
+        IndexedTestExecution(T testExecution, String fingerprint) {
+            this.testExecution = testExecution;
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    // Insert into the search ordering.
+    abstract void addToOrdering(IndexedTestExecution<T> indexedTestExecution);
+
+    // Remove the next execution from the search ordering.
+    abstract IndexedTestExecution<T> removeNextFromOrdering();
+
+    @Override
+    public boolean containsAbstractTestExecution(TestExecution te) {
+        List<T> candidates = testExecutionsByFingerprint.get(te.getFaultsToInjectFingerprint());
+
+        if (candidates == null) {
+            return false;
+        }
+
+        // Same fingerprint: confirm, to rule out collisions.
+        for (T t : candidates) {
+            if (t.matchesAbstractTestExecution(te)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean containsTestExecution(T testExecution) {
+        // Equal executions have similar faults, so they always share a fingerprint.
+        List<T> candidates = testExecutionsByFingerprint.get(testExecution.getFaultsToInjectFingerprint());
+
+        if (candidates == null) {
+            return false;
+        }
+
+        for (T t : candidates) {
+            if (t.equals(testExecution)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return testExecutions.isEmpty();
+    }
+
+    @Override
+    public T removeAndReturnNextTestExecution() {
+        IndexedTestExecution<T> indexedTestExecution = removeNextFromOrdering();
+
+        List<T> candidates = testExecutionsByFingerprint.get(indexedTestExecution.fingerprint);
+
+        if (candidates != null) {
+            // Remove by identity, as equals considers executions with similar contents equal.
+            for (int i = 0; i < candidates.size(); i++) {
+                if (candidates.get(i) == indexedTestExecution.testExecution) {
+                    candidates.remove(i);
+                    break;
+                }
+            }
+
+            if (candidates.isEmpty()) {
+                testExecutionsByFingerprint.remove(indexedTestExecution.fingerprint);
+            }
+        }
+
+        return indexedTestExecution.testExecution;
+    }
+
+    @Override
+    public int size() {
+        return testExecutions.size();
+    }
+
+    @Override
+    public void addTestExecution(T testExecution) {
+        String fingerprint = testExecution.getFaultsToInjectFingerprint();
+        testExecutionsByFingerprint.computeIfAbsent(fingerprint, k -> new ArrayList<>(1)).add(testExecution);
+        addToOrdering(new IndexedTestExecution<>(testExecution, fingerprint));
+    }
+}
@@ -0,0 +1,20 @@
+package cloud.filibuster.junit.server.core;
+
+import cloud.filibuster.junit.server.core.test_executions.TestExecution;
+
+/**
+ * Hash-indexed test execution collection with queue (BFS) ordering.
+ *
+ * @param <T> type of test execution stored.
+ */
+public class IndexedTestExecutionQueue<T extends TestExecution> extends IndexedTestExecutionCollection<T> {
+    @Override
+    void addToOrdering(IndexedTestExecution<T> indexedTestExecution) {
+        testExecutions.addLast(indexedTestExecution);
+    }
+
+    @Override
+    IndexedTestExecution<T> removeNextFromOrdering() {
+        return testExecutions.removeFirst();
+    }
+}
@@ -0,0 +1,58 @@
+package cloud.filibuster.junit.server.core;
+
+import cloud.filibuster.junit.server.core.test_executions.TestExecution;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Hash-indexed test execution collection with stack (DFS) ordering that also indexes executions by their partial-order
+ * reduction key.
+ *
+ * Executions that share a key only differ in which of a set of interchangeable concurrent RPCs -- issued from the same
+ * callsites, with the same arguments, and not ordered by happens-before -- their faults are injected on, so one
+ * representative is enough.
+ *
+ * Not thread safe: callers are expected to synchronize access, as FilibusterCore does.
+ *
+ * @param <T> type of test execution stored.
+ */
+public class PartialOrderReducedTestExecutionStack<T extends TestExecution> extends IndexedTestExecutionStack<T> {
+    // Partial-order reduction key => number of executions with that key.
+    private final Map<String, Integer> testExecutionCountsByKey = new HashMap<>();
+
+    // Key of each execution, computed when it was added.
+    private final IdentityHashMap<T, String> keysByTestExecution = new IdentityHashMap<>();
+
+    @Override
+    public boolean containsEquivalentTestExecution(TestExecution te) {
+        return testExecutionCountsByKey.containsKey(te.getPartialOrderReductionKey());
+    }
+
+    @Override
+    public T removeAndReturnNextTestExecution() {
+        T testExecution = super.removeAndReturnNextTestExecution();
+        String key = keysByTestExecution.remove(testExecution);
+
+        if (key != null) {
+            int count = testExecutionCountsByKey.get(key);
+
+            if (count == 1) {
+                testExecutionCountsByKey.remove(key);
+            } else {
+                testExecutionCountsByKey.put(key, count - 1);
+            }
+        }
+
+        return testExecution;
+    }
+
+    @Override
+    public void addTestExecution(T testExecution) {
+        String key = testExecution.getPartialOrderReductionKey();
+        keysByTestExecution.put(testExecution, key);
+        testExecutionCountsByKey.merge(key, 1, Integer::sum);
+        super.addTestExecution(testExecution);
+    }
+}
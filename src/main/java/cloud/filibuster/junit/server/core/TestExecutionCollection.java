@@ -14,4 +14,10 @@ public interface TestExecutionCollection<T extends TestExecution> {
     int size();
 
     void addTestExecution(T testExecution);
+
+    // Does the collection contain an execution that partial-order reduction considers equivalent?
+    // Collections that do not perform partial-order reduction never do.
+    default boolean containsEquivalentTestExecution(TestExecution te) {
+        return false;
+    }
 }
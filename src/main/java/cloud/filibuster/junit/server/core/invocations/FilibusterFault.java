@@ -0,0 +1,74 @@
+package cloud.filibuster.junit.server.core.invocations;
+
+import cloud.filibuster.exceptions.filibuster.FilibusterFaultInjectionException;
+import org.json.JSONObject;
+
+/**
+ * A fault to inject on an RPC: its kind, and the configuration object for that kind.
+ */
+public final class FilibusterFault {
+    public enum Kind {
+        FORCED_EXCEPTION("forced_exception"),
+        FAILURE_METADATA("failure_metadata"),
+        BYZANTINE_FAULT("byzantine_fault"),
+        LATENCY("latency");
+
+        private final String key;
+
+        Kind(String key) {
+            this.key = key;
+        }
+
+        // Key of the fault in fault objects and invocation responses.
+        public String getKey() {
+            return key;
+        }
+    }
+
+    private final Kind kind;
+
+    private final JSONObject configuration;
+
+    public FilibusterFault(Kind kind, JSONObject configuration) {
+        this.kind = kind;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Parse a fault object, as scheduled in an abstract test execution.
+     *
+     * @param faultObject fault object keyed by the kind of fault.
+     * @return the fault.
+     */
+    public static FilibusterFault fromFaultObject(JSONObject faultObject) {
+        for (Kind kind : Kind.values()) {
+            if (faultObject.has(kind.getKey())) {
+                return new FilibusterFault(kind, faultObject.getJSONObject(kind.getKey()));
+            }
+        }
+
+        throw new FilibusterFaultInjectionException("Unknown fault configuration: " + faultObject);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    // Must not be modified.
+    public JSONObject getConfiguration() {
+        return configuration;
+    }
+
+    public int getLatencyMilliseconds() {
+        if (kind != Kind.LATENCY) {
+            throw new FilibusterFaultInjectionException("Fault is not a latency fault: " + this);
+        }
+
+        return configuration.getInt("milliseconds");
+    }
+
+    @Override
+    public String toString() {
+        return kind.getKey() + ": " + configuration;
+    }
+}
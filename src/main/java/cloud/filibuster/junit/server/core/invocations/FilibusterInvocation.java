@@ -0,0 +1,336 @@
+package cloud.filibuster.junit.server.core.invocations;
+
+import cloud.filibuster.dei.DistributedExecutionIndex;
+import cloud.filibuster.dei.DistributedExecutionIndexType;
+import cloud.filibuster.instrumentation.datatypes.VectorClock;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import org.json.JSONObject;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An outgoing RPC, as reported by the client instrumentation before the call is issued.
+ *
+ * Test executions and reports record the invocation itself; the JSON payload, which is what is sent to a remote
+ * Filibuster server and written out in test execution reports, is only built when first requested.
+ */
+public final class FilibusterInvocation {
+    private final String moduleName;
+
+    private final String methodName;
+
+    @Nullable
+    private final String rpcType;
+
+    @Nullable
+    private final String sourceServiceName;
+
+    private final DistributedExecutionIndex distributedExecutionIndex;
+
+    private final String executionIndex;
+
+    @Nullable
+    private final String preliminaryExecutionIndex;
+
+    private final JSONObject arguments;
+
+    @Nullable
+    private final String callsiteFile;
+
+    @Nullable
+    private final String callsiteLine;
+
+    @Nullable
+    private final String fullTraceback;
+
+    @Nullable
+    private final VectorClock vectorClock;
+
+    @Nullable
+    private final VectorClock originVectorClock;
+
+    // Guarded by this.
+    @Nullable
+    private JSONObject payload;
+
+    private FilibusterInvocation(Builder builder) {
+        this.moduleName = builder.moduleName;
+        this.methodName = builder.methodName;
+        this.rpcType = builder.rpcType;
+        this.sourceServiceName = builder.sourceServiceName;
+        this.executionIndex = builder.executionIndex;
+
+        // Not the instrumentation's index itself: that also carries the counters of popped calls, which would make
+        // it unequal to the same index received over HTTP or recorded by another execution.
+        this.distributedExecutionIndex = DistributedExecutionIndexType.getImplType().createImpl().deserialize(executionIndex);
+        this.preliminaryExecutionIndex = builder.preliminaryExecutionIndex;
+        this.arguments = builder.arguments == null ? new JSONObject() : builder.arguments;
+        this.callsiteFile = builder.callsiteFile;
+        this.callsiteLine = builder.callsiteLine;
+        this.fullTraceback = builder.fullTraceback;
+        this.vectorClock = builder.vectorClock;
+        this.originVectorClock = builder.originVectorClock;
+    }
+
+    private FilibusterInvocation(JSONObject payload) {
+        this.moduleName = payload.getString("module");
+        this.methodName = payload.getString("method");
+        this.sourceServiceName = payload.optString("source_service_name", null);
+        this.executionIndex = payload.getString("execution_index");
+        this.distributedExecutionIndex = DistributedExecutionIndexType.getImplType().createImpl().deserialize(executionIndex);
+        this.preliminaryExecutionIndex = payload.optString("preliminary_execution_index", null);
+        this.callsiteFile = payload.optString("callsite_file", null);
+        this.callsiteLine = payload.optString("callsite_line", null);
+        this.fullTraceback = payload.optString("full_traceback", null);
+        this.vectorClock = vectorClockFromJSONObject(payload.optJSONObject("vclock"));
+        this.originVectorClock = vectorClockFromJSONObject(payload.optJSONObject("origin_vclock"));
+        this.payload = payload;
+
+        JSONObject arguments = payload.optJSONObject("args");
+        this.arguments = arguments == null ? new JSONObject() : arguments;
+
+        JSONObject metadata = payload.optJSONObject("metadata");
+        this.rpcType = metadata == null ? null : metadata.optString("rpc_type", null);
+    }
+
+    /**
+     * Wrap a payload received from the instrumentation over HTTP.
+     *
+     * @param payload invocation payload; retained as is, and must not be modified afterwards.
+     * @return the invocation.
+     */
+    public static FilibusterInvocation fromJSONObject(JSONObject payload) {
+        return new FilibusterInvocation(payload);
+    }
+
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    @Nullable
+    public String getRpcType() {
+        return rpcType;
+    }
+
+    @Nullable
+    public String getSourceServiceName() {
+        return sourceServiceName;
+    }
+
+    public DistributedExecutionIndex getDistributedExecutionIndex() {
+        return distributedExecutionIndex;
+    }
+
+    public String getExecutionIndex() {
+        return executionIndex;
+    }
+
+    @Nullable
+    public String getPreliminaryExecutionIndex() {
+        return preliminaryExecutionIndex;
+    }
+
+    // Must not be modified.
+    public JSONObject getArguments() {
+        return arguments;
+    }
+
+    @Nullable
+    public String getCallsiteFile() {
+        return callsiteFile;
+    }
+
+    @Nullable
+    public String getCallsiteLine() {
+        return callsiteLine;
+    }
+
+    @Nullable
+    public String getFullTraceback() {
+        return fullTraceback;
+    }
+
+    @Nullable
+    public VectorClock getVectorClock() {
+        return vectorClock;
+    }
+
+    @Nullable
+    public VectorClock getOriginVectorClock() {
+        return originVectorClock;
+    }
+
+    /**
+     * Whether this invocation invoked the same method, with the same arguments and from the same place, as another.
+     *
+     * @param invocation invocation to compare with.
+     * @return whether the invocations are similar.
+     */
+    public boolean similar(FilibusterInvocation invocation) {
+        return moduleName.equals(invocation.moduleName)
+                && methodName.equals(invocation.methodName)
+                && Objects.equals(rpcType, invocation.rpcType)
+                && Objects.equals(sourceServiceName, invocation.sourceServiceName)
+                && executionIndex.equals(invocation.executionIndex)
+                && Objects.equals(preliminaryExecutionIndex, invocation.preliminaryExecutionIndex)
+                && arguments.similar(invocation.arguments)
+                && Objects.equals(callsiteFile, invocation.callsiteFile)
+                && Objects.equals(callsiteLine, invocation.callsiteLine)
+                && Objects.equals(fullTraceback, invocation.fullTraceback)
+                && vectorClockToMap(vectorClock).equals(vectorClockToMap(invocation.vectorClock))
+                && vectorClockToMap(originVectorClock).equals(vectorClockToMap(invocation.originVectorClock));
+    }
+
+    /**
+     * Return the JSON payload for this invocation, building it on first use.
+     *
+     * @return payload; shared, and must not be modified.
+     */
+    public synchronized JSONObject toJSONObject() {
+        if (payload == null) {
+            JSONObject metadata = new JSONObject();
+            metadata.put("rpc_type", rpcType);
+
+            JSONObject jsonObject = new JSONObject();
+            jsonObject.put("instrumentation_type", "invocation");
+            jsonObject.put("source_service_name", sourceServiceName);
+            jsonObject.put("module", moduleName);
+            jsonObject.put("method", methodName);
+            jsonObject.put("args", arguments);
+            jsonObject.put("kwargs", new JSONObject());
+            jsonObject.put("callsite_file", callsiteFile);
+            jsonObject.put("callsite_line", callsiteLine);
+            jsonObject.put("full_traceback", fullTraceback);
+            jsonObject.put("metadata", metadata);
+            jsonObject.put("vclock", vectorClock == null ? new JSONObject() : vectorClock.toJSONObject());
+            jsonObject.put("origin_vclock", originVectorClock == null ? new JSONObject() : originVectorClock.toJSONObject());
+            jsonObject.put("execution_index", executionIndex);
+
+            if (preliminaryExecutionIndex != null) {
+                jsonObject.put("preliminary_execution_index", preliminaryExecutionIndex);
+            }
+
+            payload = jsonObject;
+        }
+
+        return payload;
+    }
+
+    // Absent and empty vector clocks are both serialized as an empty object.
+    @Nullable
+    private static VectorClock vectorClockFromJSONObject(@Nullable JSONObject vectorClockObject) {
+        if (vectorClockObject == null || vectorClockObject.isEmpty()) {
+            return null;
+        }
+
+        VectorClock vectorClock = new VectorClock();
+        vectorClock.fromString(vectorClockObject.toString());
+        return vectorClock;
+    }
+
+    private static Map<String, Integer> vectorClockToMap(@Nullable VectorClock vectorClock) {
+        return vectorClock == null ? Collections.emptyMap() : vectorClock.toMap();
+    }
+
+    @Override
+    public String toString() {
+        return moduleName + "/" + methodName + " (rpc_type: " + rpcType + ") @ " + executionIndex;
+    }
+
+    public static class Builder {
+        private String moduleName;
+        private String methodName;
+        private String rpcType;
+        private String sourceServiceName;
+        private String executionIndex;
+        private String preliminaryExecutionIndex;
+        private JSONObject arguments;
+        private String callsiteFile;
+        private String callsiteLine;
+        private String fullTraceback;
+        private VectorClock vectorClock;
+        private VectorClock originVectorClock;
+
+        @CanIgnoreReturnValue
+        public Builder moduleName(String moduleName) {
+            this.moduleName = moduleName;
+            return this;
+        }
+
+        @CanIgnoreReturnValue
+        public Builder methodName(String methodName) {
+            this.methodName = methodName;
+            return this;
+        }
+
+        @CanIgnoreReturnValue
+        public Builder rpcType(@Nullable String rpcType) {
+            this.rpcType = rpcType;
+            return this;
+        }
+
+        @CanIgnoreReturnValue
+        public Builder sourceServiceName(@Nullable String sourceServiceName) {
+            this.sourceServiceName = sourceServiceName;
+            return this;
+        }
+
+        @CanIgnoreReturnValue
+        public Builder distributedExecutionIndex(DistributedExecutionIndex distributedExecutionIndex) {
+            this.executionIndex = distributedExecutionIndex.toString();
+            return this;
+        }
+
+        // Serialized distributed execution index.
+        @CanIgnoreReturnValue
+        public Builder executionIndex(String executionIndex) {
+            this.executionIndex = executionIndex;
+            return this;
+        }
+
+        @CanIgnoreReturnValue
+        public Builder preliminaryExecutionIndex(@Nullable String preliminaryExecutionIndex) {
+            this.preliminaryExecutionIndex = preliminaryExecutionIndex;
+            return this;
+        }
+
+        @CanIgnoreReturnValue
+        public Builder arguments(JSONObject arguments) {
+            this.arguments = arguments;
+            return this;
+        }
+
+        @CanIgnoreReturnValue
+        public Builder callsite(@Nullable String callsiteFile, @Nullable String callsiteLine, @Nullable String fullTraceback) {
+            this.callsiteFile = callsiteFile;
+            this.callsiteLine = callsiteLine;
+            this.fullTraceback = fullTraceback;
+            return this;
+        }
+
+        // Must not be modified afterwards.
+        @CanIgnoreReturnValue
+        public Builder vectorClock(VectorClock vectorClock) {
+            this.vectorClock = vectorClock;
+            return this;
+        }
+
+        // Must not be modified afterwards.
+        @CanIgnoreReturnValue
+        public Builder originVectorClock(VectorClock originVectorClock) {
+            this.originVectorClock = originVectorClock;
+            return this;
+        }
+
+        public FilibusterInvocation build() {
+            return new FilibusterInvocation(this);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package cloud.filibuster.junit.server.core.invocations;
+
+import cloud.filibuster.dei.DistributedExecutionIndex;
+import cloud.filibuster.dei.DistributedExecutionIndexType;
+import cloud.filibuster.instrumentation.datatypes.VectorClock;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import org.json.JSONObject;
+
+import javax.annotation.Nullable;
+
+/**
+ * The outcome of an RPC, as reported by the client instrumentation once the call completes.
+ *
+ * As with invocations, the JSON payload is only built when first requested, when sent to a remote Filibuster server or
+ * written out in a test execution report.
+ */
+public final class FilibusterInvocationComplete {
+    private final int generatedId;
+
+    private final DistributedExecutionIndex distributedExecutionIndex;
+
+    private final String executionIndex;
+
+    @Nullable
+    private final String preliminaryExecutionIndex;
+
+    @Nullable
+    private final VectorClock vectorClock;
+
+    // Exactly one of exception and return value is set, unless created from a payload.
+    @Nullable
+    private final JSONObject exception;
+
+    @Nullable
+    private final JSONObject returnValue;
+
+    // Guarded by this.
+    @Nullable
+    private JSONObject payload;
+
+    private FilibusterInvocationComplete(Builder builder) {
+        this.generatedId = builder.generatedId;
+        this.executionIndex = builder.executionIndex;
+
+        // Not the instrumentation's index itself: that also carries the counters of popped calls, which would make
+        // it unequal to the same index received over HTTP or recorded by another execution.
+        this.distributedExecutionIndex = DistributedExecutionIndexType.getImplType().createImpl().deserialize(executionIndex);
+        this.preliminaryExecutionIndex = builder.preliminaryExecutionIndex;
+        this.vectorClock = builder.vectorClock;
+        this.exception = builder.exception;
+        this.returnValue = builder.returnValue;
+    }
+
+    private FilibusterInvocationComplete(JSONObject payload) {
+        this.generatedId = payload.optInt("generated_id", -1);
+        this.executionIndex = payload.getString("execution_index");
+        this.distributedExecutionIndex = DistributedExecutionIndexType.getImplType().createImpl().deserialize(executionIndex);
+        this.preliminaryExecutionIndex = payload.optString("preliminary_execution_index", null);
+        this.vectorClock = null;
+        this.exception = payload.optJSONObject("exception");
+        this.returnValue = payload.optJSONObject("return_value");
+        this.payload = payload;
+    }
+
+    /**
+     * Wrap a payload received from the instrumentation over HTTP.
+     *
+     * @param payload invocation complete payload; retained as is, and must not be modified afterwards.
+     * @return the completed invocation.
+     */
+    public static FilibusterInvocationComplete fromJSONObject(JSONObject payload) {
+        return new FilibusterInvocationComplete(payload);
+    }
+
+    public int getGeneratedId() {
+        return generatedId;
+    }
+
+    public DistributedExecutionIndex getDistributedExecutionIndex() {
+        return distributedExecutionIndex;
+    }
+
+    public String getExecutionIndex() {
+        return executionIndex;
+    }
+
+    public boolean hasException() {
+        return exception != null;
+    }
+
+    @Nullable
+    public JSONObject getException() {
+        return exception;
+    }
+
+    @Nullable
+    public JSONObject getReturnValue() {
+        return returnValue;
+    }
+
+    @Nullable
+    public String getPreliminaryExecutionIndex() {
+        return preliminaryExecutionIndex;
+    }
+
+    // Only set when built by the instrumentation.
+    @Nullable
+    public VectorClock getVectorClock() {
+        return vectorClock;
+    }
+
+    /**
+     * Return the JSON payload for this completed invocation, building it on first use.
+     *
+     * @return payload; shared, and must not be modified.
+     */
+    public synchronized JSONObject toJSONObject() {
+        if (payload == null) {
+            JSONObject jsonObject = new JSONObject();
+            jsonObject.put("instrumentation_type", "invocation_complete");
+            jsonObject.put("generated_id", generatedId);
+            jsonObject.put("execution_index", executionIndex);
+            jsonObject.put("vclock", vectorClock == null ? new JSONObject() : vectorClock.toJSONObject());
+
+            if (exception != null) {
+                jsonObject.put("exception", exception);
+            }
+
+            if (returnValue != null) {
+                jsonObject.put("return_value", returnValue);
+            }
+
+            if (preliminaryExecutionIndex != null) {
+                jsonObject.put("preliminary_execution_index", preliminaryExecutionIndex);
+            }
+
+            payload = jsonObject;
+        }
+
+        return payload;
+    }
+
+    @Override
+    public String toString() {
+        return "generated_id: " + generatedId + " @ " + executionIndex + (exception != null ? ", exception: " + exception : ", return_value: " + returnValue);
+    }
+
+    public static class Builder {
+        private int generatedId;
+        private String executionIndex;
+        private String preliminaryExecutionIndex;
+        private VectorClock vectorClock;
+        private JSONObject exception;
+        private JSONObject returnValue;
+
+        @CanIgnoreReturnValue
+        public Builder generatedId(int generatedId) {
+            this.generatedId = generatedId;
+            return this;
+        }
+
+        @CanIgnoreReturnValue
+        public Builder distributedExecutionIndex(DistributedExecutionIndex distributedExecutionIndex) {
+            this.executionIndex = distributedExecutionIndex.toString();
+            return this;
+        }
+
+        // Serialized distributed execution index.
+        @CanIgnoreReturnValue
+        public Builder executionIndex(String executionIndex) {
+            this.executionIndex = executionIndex;
+            return this;
+        }
+
+        @CanIgnoreReturnValue
+        public Builder preliminaryExecutionIndex(@Nullable String preliminaryExecutionIndex) {
+            this.preliminaryExecutionIndex = preliminaryExecutionIndex;
+            return this;
+        }
+
+        // Must not be modified afterwards.
+        @CanIgnoreReturnValue
+        public Builder vectorClock(VectorClock vectorClock) {
+            this.vectorClock = vectorClock;
+            return this;
+        }
+
+        @CanIgnoreReturnValue
+        public Builder exception(JSONObject exception) {
+            this.exception = exception;
+            return this;
+        }
+
+        @CanIgnoreReturnValue
+        public Builder returnValue(JSONObject returnValue) {
+            this.returnValue = returnValue;
+            return this;
+        }
+
+        public FilibusterInvocationComplete build() {
+            return new FilibusterInvocationComplete(this);
+        }
+    }
+}
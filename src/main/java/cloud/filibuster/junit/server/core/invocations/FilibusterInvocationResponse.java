@@ -0,0 +1,117 @@
+package cloud.filibuster.junit.server.core.invocations;
+
+import org.json.JSONObject;
+
+import javax.annotation.Nullable;
+
+/**
+ * Filibuster's answer to an invocation: the fault to inject, if any, and how long the client should delay the call.
+ */
+public final class FilibusterInvocationResponse {
+    private final int generatedId;
+
+    // Never a latency fault: latency is folded into latencyMilliseconds.
+    @Nullable
+    private final FilibusterFault fault;
+
+    private final int latencyMilliseconds;
+
+    // Set when the invocation was not recorded because it is the first from its service in this test execution:
+    // the client must reset its clocks and begin the invocation again.
+    private final boolean resetClocks;
+
+    public FilibusterInvocationResponse(int generatedId, @Nullable FilibusterFault fault, int latencyMilliseconds) {
+        this(generatedId, fault, latencyMilliseconds, false);
+    }
+
+    private FilibusterInvocationResponse(int generatedId, @Nullable FilibusterFault fault, int latencyMilliseconds, boolean resetClocks) {
+        this.generatedId = generatedId;
+        this.fault = fault;
+        this.latencyMilliseconds = latencyMilliseconds;
+        this.resetClocks = resetClocks;
+    }
+
+    /**
+     * Response to a combined begin that found a new test execution for the invoking service.
+     *
+     * @return a response asking the client to reset its clocks and begin the invocation again.
+     */
+    public static FilibusterInvocationResponse resetClocks() {
+        return new FilibusterInvocationResponse(-1, null, 0, true);
+    }
+
+    /**
+     * Parse a response received from a Filibuster server, or a fault replayed from a counterexample.
+     *
+     * @param jsonObject response, keyed by the kind of fault.
+     * @return the response; generated id is -1 if not present.
+     */
+    public static FilibusterInvocationResponse fromJSONObject(JSONObject jsonObject) {
+        FilibusterFault fault = null;
+
+        for (FilibusterFault.Kind kind : FilibusterFault.Kind.values()) {
+            if (kind != FilibusterFault.Kind.LATENCY && jsonObject.has(kind.getKey())) {
+                fault = new FilibusterFault(kind, jsonObject.getJSONObject(kind.getKey()));
+                break;
+            }
+        }
+
+        int latencyMilliseconds = 0;
+
+        if (jsonObject.has("latency")) {
+            latencyMilliseconds = jsonObject.getJSONObject("latency").getInt("milliseconds");
+        }
+
+        return new FilibusterInvocationResponse(jsonObject.optInt("generated_id", -1), fault, latencyMilliseconds, jsonObject.optBoolean("reset_clocks", false));
+    }
+
+    public int getGeneratedId() {
+        return generatedId;
+    }
+
+    @Nullable
+    public FilibusterFault getFault() {
+        return fault;
+    }
+
+    @Nullable
+    public JSONObject getFaultConfiguration(FilibusterFault.Kind kind) {
+        return fault != null && fault.getKind() == kind ? fault.getConfiguration() : null;
+    }
+
+    public int getLatencyMilliseconds() {
+        return latencyMilliseconds;
+    }
+
+    public boolean shouldResetClocks() {
+        return resetClocks;
+    }
+
+    public JSONObject toJSONObject() {
+        JSONObject response = new JSONObject();
+
+        if (fault != null) {
+            response.put(fault.getKind().getKey(), fault.getConfiguration());
+        }
+
+        // Legacy, not used, but helpful in debugging and required by instrumentation libraries.
+        response.put("generated_id", generatedId);
+
+        if (latencyMilliseconds > 0) {
+            JSONObject latencyObject = new JSONObject();
+            latencyObject.put("milliseconds", latencyMilliseconds);
+            response.put("latency", latencyObject);
+        }
+
+        if (resetClocks) {
+            response.put("reset_clocks", true);
+        }
+
+        return response;
+    }
+
+    @Override
+    public String toString() {
+        return "generated_id: " + generatedId + ", fault: " + fault + ", latency: " + latencyMilliseconds + ", reset_clocks: " + resetClocks;
+    }
+}
@@ -1,6 +1,8 @@
 package cloud.filibuster.junit.server.core.lint.analyzers.test_execution_report;
 
 import cloud.filibuster.dei.DistributedExecutionIndex;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
 import cloud.filibuster.junit.server.core.lint.analyzers.warnings.IncompleteRPCWarning;
 import cloud.filibuster.junit.server.core.reports.TestExecutionReport;
 import org.json.JSONObject;
@@ -16,8 +18,8 @@ public class IncompleteRPCAnalyzer extends TestExecutionReportAnalyzer {
     private final List<String> seenRPCs = new ArrayList<>();
 
     @Override
-    void rpc(boolean testPassed, int RPC, DistributedExecutionIndex distributedExecutionIndex, JSONObject invocation, JSONObject fault, JSONObject response) {
-        String method = invocation.getString("method");
+    void rpc(boolean testPassed, int RPC, DistributedExecutionIndex distributedExecutionIndex, FilibusterInvocation invocation, JSONObject fault, FilibusterInvocationComplete response) {
+        String method = invocation.getMethodName();
 
         if (response == null) {
             this.addWarning(new IncompleteRPCWarning(distributedExecutionIndex, method));
@@ -2,6 +2,8 @@ package cloud.filibuster.junit.server.core.lint.analyzers.test_execution_report;
 
 import cloud.filibuster.dei.DistributedExecutionIndex;
 import cloud.filibuster.instrumentation.datatypes.Pair;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
 import cloud.filibuster.junit.server.core.lint.analyzers.warnings.MultipleInvocationsForIndividualMutationsWarning;
 import cloud.filibuster.junit.server.core.reports.TestExecutionReport;
 import org.json.JSONObject;
@@ -13,7 +15,7 @@ import java.util.Map;
 import static cloud.filibuster.junit.server.core.lint.analyzers.LCS.computeLCS;
 
 public class MultipleInvocationsForIndividualMutationsAnalyzer extends TestExecutionReportAnalyzer {
-    private final List<Map.Entry<Integer, Map.Entry<DistributedExecutionIndex, JSONObject>>> previousRpcInvocations = new ArrayList<>();
+    private final List<Map.Entry<Integer, Map.Entry<DistributedExecutionIndex, FilibusterInvocation>>> previousRpcInvocations = new ArrayList<>();
 
     private final static int threshold = 10;
 
@@ -22,20 +24,20 @@ public class MultipleInvocationsForIndividualMutationsAnalyzer extends TestExecu
     }
 
     @Override
-    void rpc(boolean testPassed, int RPC, DistributedExecutionIndex distributedExecutionIndex, JSONObject invocation, JSONObject fault, JSONObject response) {
-        for (Map.Entry<Integer, Map.Entry<DistributedExecutionIndex, JSONObject>> previousInvocation: previousRpcInvocations) {
+    void rpc(boolean testPassed, int RPC, DistributedExecutionIndex distributedExecutionIndex, FilibusterInvocation invocation, JSONObject fault, FilibusterInvocationComplete response) {
+        for (Map.Entry<Integer, Map.Entry<DistributedExecutionIndex, FilibusterInvocation>> previousInvocation: previousRpcInvocations) {
             int previousResponseInvocationNumber = previousInvocation.getKey();
             DistributedExecutionIndex previousDistributedExecutionIndex = previousInvocation.getValue().getKey();
-            JSONObject previousInvocationObject = previousInvocation.getValue().getValue();
+            FilibusterInvocation previousInvocationObject = previousInvocation.getValue().getValue();
 
-            String lcs = computeLCS(invocation.getJSONObject("args").getString("toString"), previousInvocationObject.getJSONObject("args").getString("toString"));
+            String lcs = computeLCS(invocation.getArguments().getString("toString"), previousInvocationObject.getArguments().getString("toString"));
 
-            String previousRequestInvocationMethod = previousInvocationObject.getString("method");
+            String previousRequestInvocationMethod = previousInvocationObject.getMethodName();
 
             boolean lcsAboveThreshold = lcs.length() >= threshold;
             boolean previousInvocationDirectlyBeforeRPC = (previousResponseInvocationNumber + 1 == RPC);
-            boolean sameMethodAsTarget = previousInvocationObject.getString("method").equals(invocation.getString("method"));
-            boolean sameArguments = previousInvocationObject.getJSONObject("args").similar(invocation.getJSONObject("args"));
+            boolean sameMethodAsTarget = previousInvocationObject.getMethodName().equals(invocation.getMethodName());
+            boolean sameArguments = previousInvocationObject.getArguments().similar(invocation.getArguments());
 
             if (lcsAboveThreshold && previousInvocationDirectlyBeforeRPC && sameMethodAsTarget && !sameArguments) {
                 this.addWarning(new MultipleInvocationsForIndividualMutationsWarning(distributedExecutionIndex,
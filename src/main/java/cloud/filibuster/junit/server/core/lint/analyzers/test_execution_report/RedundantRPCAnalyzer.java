@@ -2,6 +2,8 @@ package cloud.filibuster.junit.server.core.lint.analyzers.test_execution_report;
 
 import cloud.filibuster.dei.DistributedExecutionIndex;
 import cloud.filibuster.exceptions.filibuster.FilibusterAnalysisFailureException;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
 import cloud.filibuster.junit.server.core.lint.analyzers.warnings.RedundantRPCWarning;
 import cloud.filibuster.junit.server.core.reports.TestExecutionReport;
 import org.json.JSONObject;
@@ -22,9 +24,9 @@ public class RedundantRPCAnalyzer extends TestExecutionReportAnalyzer {
     private final List<String> seenRPCs = new ArrayList<>();
 
     @Override
-    void rpc(boolean testPassed, int RPC, DistributedExecutionIndex distributedExecutionIndex, JSONObject invocation, JSONObject fault, JSONObject response) {
+    void rpc(boolean testPassed, int RPC, DistributedExecutionIndex distributedExecutionIndex, FilibusterInvocation invocation, JSONObject fault, FilibusterInvocationComplete response) {
         String deiKey = distributedExecutionIndex.projectionLastKeyWithOnlyMetadataAndSignature();
-        JSONObject invocationArgsObject = invocation.getJSONObject("args");
+        JSONObject invocationArgsObject = invocation.getArguments();
         String invocationArgs = invocationArgsObject.getString("toString");
         String responseToEncode = "";
 
@@ -32,16 +34,19 @@ public class RedundantRPCAnalyzer extends TestExecutionReportAnalyzer {
         // i.e., test terminated and Filibuster shutdown before thread had a chance to run, I think?
         // We see this with coroutine usage, it could be a cancellation called after test completes and Filibuster shuts down.
         if (response != null) {
-            if (response.has("return_value")) {
-                responseToEncode = response.getJSONObject("return_value").toString();
-            } else if (response.has("exception")) {
-                responseToEncode = response.getJSONObject("exception").toString();
+            JSONObject returnValue = response.getReturnValue();
+            JSONObject exception = response.getException();
+
+            if (returnValue != null) {
+                responseToEncode = returnValue.toString();
+            } else if (exception != null) {
+                responseToEncode = exception.toString();
             } else {
                 throw new FilibusterAnalysisFailureException("Response did not contain either a return value or an exception.");
             }
 
             String key = deiKey + invocationArgs + responseToEncode;
-            String method = invocation.getString("method");
+            String method = invocation.getMethodName();
 
             if (seenRPCs.contains(key)) {
                 if (getTestAvoidRedundantInjectionsProperty()) {
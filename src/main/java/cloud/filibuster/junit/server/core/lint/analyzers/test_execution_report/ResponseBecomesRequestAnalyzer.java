@@ -2,11 +2,16 @@ package cloud.filibuster.junit.server.core.lint.analyzers.test_execution_report;
 
 import cloud.filibuster.dei.DistributedExecutionIndex;
 import cloud.filibuster.instrumentation.datatypes.Pair;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
 import cloud.filibuster.junit.server.core.lint.analyzers.warnings.ResponseBecomesRequestWarning;
 import cloud.filibuster.junit.server.core.reports.TestExecutionReport;
+import cloud.filibuster.junit.server.core.test_executions.HappensBeforeGraph;
 import org.json.JSONObject;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -17,38 +22,59 @@ public class ResponseBecomesRequestAnalyzer extends TestExecutionReportAnalyzer
         super(testExecutionReport);
     }
 
-    private final List<Map.Entry<Integer, Map.Entry<JSONObject, JSONObject>>> previousRPCs = new ArrayList<>();
+    private final Map<DistributedExecutionIndex, Map.Entry<Integer, Map.Entry<FilibusterInvocation, FilibusterInvocationComplete>>> previousRPCs = new HashMap<>();
+
+    @Nullable
+    private Map.Entry<Integer, Map.Entry<FilibusterInvocation, FilibusterInvocationComplete>> lastRPC = null;
 
     private final static int threshold = 10;
 
     @Override
-    void rpc(boolean testPassed, int RPC, DistributedExecutionIndex distributedExecutionIndex, JSONObject invocation, JSONObject fault, JSONObject response) {
-        for (Map.Entry<Integer, Map.Entry<JSONObject, JSONObject>> previousRPC : previousRPCs) {
-            int previousResponseInvocationNumber = previousRPC.getKey();
-            JSONObject invocationArgsObject = invocation.getJSONObject("args");
+    void rpc(boolean testPassed, int RPC, DistributedExecutionIndex distributedExecutionIndex, FilibusterInvocation invocation, JSONObject fault, FilibusterInvocationComplete response) {
+        // Only the RPCs directly before this one are candidates: the one invoked directly before it and the latest
+        // ones that happen before it, according to their vector clocks.
+        List<Map.Entry<Integer, Map.Entry<FilibusterInvocation, FilibusterInvocationComplete>>> candidateRPCs = new ArrayList<>();
+
+        if (lastRPC != null) {
+            candidateRPCs.add(lastRPC);
+        }
+
+        HappensBeforeGraph happensBeforeGraph = getTestExecutionReport().getHappensBeforeGraph();
+
+        for (DistributedExecutionIndex predecessor : happensBeforeGraph.getDirectPredecessors(distributedExecutionIndex)) {
+            Map.Entry<Integer, Map.Entry<FilibusterInvocation, FilibusterInvocationComplete>> previousRPC = previousRPCs.get(predecessor);
+
+            if (previousRPC != null && previousRPC != lastRPC) {
+                candidateRPCs.add(previousRPC);
+            }
+        }
+
+        for (Map.Entry<Integer, Map.Entry<FilibusterInvocation, FilibusterInvocationComplete>> previousRPC : candidateRPCs) {
+            JSONObject invocationArgsObject = invocation.getArguments();
             String invocationArgs = invocationArgsObject.getString("toString");
 
-            JSONObject previousRPCInvocation = previousRPC.getValue().getKey();
-            String previousResponseInvocationMethod = previousRPCInvocation.getString("method");
-            String currentRequestInvocationMethod = invocation.getString("method");
+            FilibusterInvocation previousRPCInvocation = previousRPC.getValue().getKey();
+            String previousResponseInvocationMethod = previousRPCInvocation.getMethodName();
+            String currentRequestInvocationMethod = invocation.getMethodName();
 
-            JSONObject previousRPCResponseObject = previousRPC.getValue().getValue();
+            FilibusterInvocationComplete previousRPCResponseObject = previousRPC.getValue().getValue();
             if (previousRPCResponseObject != null) {
-                if (previousRPCResponseObject.has("return_value")) {
-                    JSONObject previousResponseObjectReturnValue = previousRPCResponseObject.getJSONObject("return_value");
+                JSONObject previousResponseObjectReturnValue = previousRPCResponseObject.getReturnValue();
+
+                if (previousResponseObjectReturnValue != null) {
                     String lcs = computeLCS(invocationArgs, previousResponseObjectReturnValue.toString());
 
                     boolean lcsAboveThreshold = lcs.length() >= threshold;
-                    boolean previousInvocationDirectlyBeforeRPC = (previousResponseInvocationNumber + 1) == RPC;
-                    boolean sameServiceAsTarget = previousRPCInvocation.getString("module").equals(invocation.getString("module"));
+                    boolean sameServiceAsTarget = previousRPCInvocation.getModuleName().equals(invocation.getModuleName());
 
-                    if (lcsAboveThreshold && previousInvocationDirectlyBeforeRPC && sameServiceAsTarget) {
+                    if (lcsAboveThreshold && sameServiceAsTarget) {
                         this.addWarning(new ResponseBecomesRequestWarning(distributedExecutionIndex, "The following string (" + lcs + ") used in a request to " + currentRequestInvocationMethod + " was found in a previous response from " + previousResponseInvocationMethod));
                     }
                 }
             }
         }
 
-        previousRPCs.add(Pair.of(RPC, Pair.of(invocation, response)));
+        lastRPC = Pair.of(RPC, Pair.of(invocation, response));
+        previousRPCs.put(distributedExecutionIndex, lastRPC);
     }
 }
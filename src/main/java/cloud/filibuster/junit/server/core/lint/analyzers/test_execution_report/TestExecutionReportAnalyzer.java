@@ -2,6 +2,8 @@ package cloud.filibuster.junit.server.core.lint.analyzers.test_execution_report;
 
 import cloud.filibuster.dei.DistributedExecutionIndex;
 import cloud.filibuster.exceptions.filibuster.FilibusterAnalysisFailureException;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
 import cloud.filibuster.junit.server.core.lint.analyzers.warnings.FilibusterAnalyzerWarning;
 import cloud.filibuster.junit.server.core.reports.TestExecutionReport;
 import org.json.JSONObject;
@@ -20,7 +22,11 @@ public abstract class TestExecutionReportAnalyzer {
         this.testExecutionReport = testExecutionReport;
     }
 
-    abstract void rpc(boolean testPassed, int RPC, DistributedExecutionIndex distributedExecutionIndex, JSONObject invocation, @Nullable JSONObject fault, @Nullable JSONObject response);
+    abstract void rpc(boolean testPassed, int RPC, DistributedExecutionIndex distributedExecutionIndex, FilibusterInvocation invocation, @Nullable JSONObject fault, @Nullable FilibusterInvocationComplete response);
+
+    TestExecutionReport getTestExecutionReport() {
+        return this.testExecutionReport;
+    }
 
     public List<FilibusterAnalyzerWarning> getWarnings() {
         return this.warnings;
@@ -36,12 +42,12 @@ public abstract class TestExecutionReportAnalyzer {
         for (Iterator it = testExecutionReport.getInvocationOrderIterator(); it.hasNext(); ) {
             DistributedExecutionIndex distributedExecutionIndex = (DistributedExecutionIndex) it.next();
 
-            JSONObject invocationObject = testExecutionReport.getInvocationObject(distributedExecutionIndex);
+            FilibusterInvocation invocation = testExecutionReport.getInvocation(distributedExecutionIndex);
             JSONObject faultObject = testExecutionReport.getFaultObject(distributedExecutionIndex);
-            JSONObject responseObject = testExecutionReport.getResponseObject(distributedExecutionIndex);
+            FilibusterInvocationComplete response = testExecutionReport.getResponse(distributedExecutionIndex);
 
             try {
-                rpc(testPassed, i, distributedExecutionIndex, invocationObject, faultObject, responseObject);
+                rpc(testPassed, i, distributedExecutionIndex, invocation, faultObject, response);
             } catch (RuntimeException e) {
                 throw new FilibusterAnalysisFailureException("Analyzer " + this.getClass() + " failed with exception: " + e);
             }
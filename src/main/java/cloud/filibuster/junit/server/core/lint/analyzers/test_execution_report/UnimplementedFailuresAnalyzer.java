@@ -1,6 +1,8 @@
 package cloud.filibuster.junit.server.core.lint.analyzers.test_execution_report;
 
 import cloud.filibuster.dei.DistributedExecutionIndex;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
 import cloud.filibuster.junit.server.core.lint.analyzers.warnings.UnimplementedFailuresWarning;
 import cloud.filibuster.junit.server.core.reports.TestExecutionReport;
 import org.json.JSONObject;
@@ -11,16 +13,17 @@ public class UnimplementedFailuresAnalyzer extends TestExecutionReportAnalyzer {
     }
 
     @Override
-    void rpc(boolean testPassed, int RPC, DistributedExecutionIndex distributedExecutionIndex, JSONObject invocation, JSONObject fault, JSONObject response) {
+    void rpc(boolean testPassed, int RPC, DistributedExecutionIndex distributedExecutionIndex, FilibusterInvocation invocation, JSONObject fault, FilibusterInvocationComplete response) {
         if (response != null) {
-            if (response.has("exception")) {
-                JSONObject exception = response.getJSONObject("exception");
+            JSONObject exception = response.getException();
+
+            if (exception != null) {
                 if (exception.has("metadata")) {
                     JSONObject metadata = exception.getJSONObject("metadata");
                     if (metadata.has("code")) {
                         String code = metadata.getString("code");
                         if (code.equals("UNIMPLEMENTED")) {
-                            String method = invocation.getString("method");
+                            String method = invocation.getMethodName();
 
                             boolean injectedUnimplementedFault = false;
 
@@ -0,0 +1,150 @@
+package cloud.filibuster.junit.server.core.minimization;
+
+import cloud.filibuster.dei.DistributedExecutionIndex;
+import cloud.filibuster.dei.DistributedExecutionIndexType;
+import cloud.filibuster.junit.server.core.test_executions.AbstractTestExecution;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static cloud.filibuster.instrumentation.helpers.Counterexample.loadTestExecutionFromCounterexample;
+
+/**
+ * Minimization of a failing test execution to the smallest set of its faults that still fails the test.
+ *
+ * Each candidate is an abstract test execution injecting a subset of the original faults; the test is rerun with it,
+ * and its result recorded, until no single fault can be removed without the test passing.
+ */
+public final class CounterexampleMinimization {
+    private final DeltaDebugging<Map.Entry<DistributedExecutionIndex, JSONObject>> deltaDebugging;
+
+    public CounterexampleMinimization(Map<DistributedExecutionIndex, JSONObject> faultsToInject) {
+        // Ordered by execution index, so the same failing execution is always reduced the same way.
+        List<Map.Entry<DistributedExecutionIndex, JSONObject>> faults = new ArrayList<>();
+
+        for (Map.Entry<DistributedExecutionIndex, JSONObject> entry : faultsToInject.entrySet()) {
+            faults.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+        }
+
+        faults.sort(Comparator.comparing(entry -> entry.getKey().toString()));
+
+        this.deltaDebugging = new DeltaDebugging<>(faults);
+    }
+
+    /**
+     * Minimization of the faults of a failing abstract test execution.
+     *
+     * @param abstractTestExecution the failing execution.
+     * @return the minimization.
+     */
+    public static CounterexampleMinimization fromTestExecution(AbstractTestExecution abstractTestExecution) {
+        return new CounterexampleMinimization(abstractTestExecution.getFaultsToInject());
+    }
+
+    /**
+     * Minimization of the failures of a counterexample, such as a counterexample.json written by the Filibuster server.
+     *
+     * @param counterexample the counterexample.
+     * @return the minimization.
+     */
+    public static CounterexampleMinimization fromCounterexample(JSONObject counterexample) {
+        JSONArray failures = loadTestExecutionFromCounterexample(counterexample).getJSONArray("failures");
+        Map<DistributedExecutionIndex, JSONObject> faultsToInject = new LinkedHashMap<>();
+
+        for (int i = 0; i < failures.length(); i++) {
+            JSONObject failure = failures.getJSONObject(i);
+            DistributedExecutionIndex distributedExecutionIndex = DistributedExecutionIndexType.getImplType().createImpl().deserialize(failure.getString("execution_index"));
+
+            // As with replay, the first failure for an execution index wins.
+            faultsToInject.putIfAbsent(distributedExecutionIndex, failure);
+        }
+
+        return new CounterexampleMinimization(faultsToInject);
+    }
+
+    public boolean isComplete() {
+        return deltaDebugging.isComplete();
+    }
+
+    /**
+     * The next test execution to run: the original execution, injecting only the candidate faults.
+     *
+     * @return abstract test execution.
+     */
+    public AbstractTestExecution getCandidateTestExecution() {
+        AbstractTestExecution abstractTestExecution = new AbstractTestExecution();
+
+        for (Map.Entry<DistributedExecutionIndex, JSONObject> fault : deltaDebugging.getCandidate()) {
+            abstractTestExecution.addFaultToInject(fault.getKey(), fault.getValue());
+        }
+
+        return abstractTestExecution;
+    }
+
+    /**
+     * Record whether the test still failed with the candidate faults.
+     *
+     * @param failed whether the test failed.
+     */
+    public void recordResult(boolean failed) {
+        deltaDebugging.recordResult(failed);
+    }
+
+    public Map<DistributedExecutionIndex, JSONObject> getMinimalFaultsToInject() {
+        Map<DistributedExecutionIndex, JSONObject> minimalFaultsToInject = new LinkedHashMap<>();
+
+        for (Map.Entry<DistributedExecutionIndex, JSONObject> fault : deltaDebugging.getMinimal()) {
+            minimalFaultsToInject.put(fault.getKey(), fault.getValue());
+        }
+
+        return minimalFaultsToInject;
+    }
+
+    public int getNumberOfTests() {
+        return deltaDebugging.getNumberOfTests();
+    }
+
+    /**
+     * The minimal counterexample and the trace of the reduction that produced it.
+     *
+     * @return json object.
+     */
+    public JSONObject toJSONObject() {
+        JSONArray trace = new JSONArray();
+
+        for (DeltaDebugging.Step<Map.Entry<DistributedExecutionIndex, JSONObject>> step : deltaDebugging.getTrace()) {
+            JSONObject stepObject = new JSONObject();
+            stepObject.put("granularity", step.getGranularity());
+            stepObject.put("faults", faultsToJSONArray(step.getCandidate()));
+            stepObject.put("failed", step.isFailed());
+            trace.put(stepObject);
+        }
+
+        JSONObject result = new JSONObject();
+        result.put("complete", isComplete());
+        result.put("original_faults", faultsToJSONArray(deltaDebugging.getInput()));
+        result.put("minimal_faults", faultsToJSONArray(deltaDebugging.getMinimal()));
+        result.put("number_of_tests", getNumberOfTests());
+        result.put("trace", trace);
+        return result;
+    }
+
+    private static JSONArray faultsToJSONArray(List<Map.Entry<DistributedExecutionIndex, JSONObject>> faults) {
+        JSONArray result = new JSONArray();
+
+        for (Map.Entry<DistributedExecutionIndex, JSONObject> fault : faults) {
+            JSONObject faultObject = new JSONObject();
+            faultObject.put("execution_index", fault.getKey().toString());
+            faultObject.put("fault", fault.getValue());
+            result.put(faultObject);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,219 @@
+package cloud.filibuster.junit.server.core.minimization;
+
+import cloud.filibuster.exceptions.filibuster.FilibusterCoreLogicException;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delta debugging (ddmin) over a failing input, driven one test at a time.
+ *
+ * The caller asks for the next candidate, runs it, and records whether it still failed; candidates are subsets of
+ * the input, in input order, and are always proposed in the same order for the same input and results.
+ *
+ * @param <T> type of the elements of the input.
+ */
+public final class DeltaDebugging<T> {
+    /**
+     * One test of the reduction: the candidate that was run, and whether it failed.
+     *
+     * @param <T> type of the elements of the input.
+     */
+    public static final class Step<T> {
+        private final List<T> candidate;
+
+        private final boolean failed;
+
+        private final int granularity;
+
+        Step(List<T> candidate, boolean failed, int granularity) {
+            this.candidate = candidate;
+            this.failed = failed;
+            this.granularity = granularity;
+        }
+
+        public List<T> getCandidate() {
+            return candidate;
+        }
+
+        public boolean isFailed() {
+            return failed;
+        }
+
+        public int getGranularity() {
+            return granularity;
+        }
+    }
+
+    private final List<T> input;
+
+    // Smallest failing input found so far, as indices into the input, in input order.
+    private List<Integer> current;
+
+    // Number of partitions the current input is split into.
+    private int granularity = 2;
+
+    // Whether the complements of the partitions are being tested, rather than the partitions themselves.
+    private boolean testingComplements = false;
+
+    // Next partition to test.
+    private int partition = 0;
+
+    // Candidate waiting for its result; null once the reduction is complete.
+    @Nullable
+    private List<Integer> candidate;
+
+    // Results of every candidate tested, so the same subset is never run twice.
+    private final Map<List<Integer>, Boolean> results = new HashMap<>();
+
+    private final List<Step<T>> trace = new ArrayList<>();
+
+    public DeltaDebugging(List<T> failingInput) {
+        this.input = Collections.unmodifiableList(new ArrayList<>(failingInput));
+
+        List<Integer> indices = new ArrayList<>();
+
+        for (int i = 0; i < input.size(); i++) {
+            indices.add(i);
+        }
+
+        this.current = indices;
+        results.put(current, true);
+
+        advance();
+    }
+
+    public boolean isComplete() {
+        return candidate == null;
+    }
+
+    /**
+     * The next candidate to test.
+     *
+     * @return subset of the input.
+     */
+    public List<T> getCandidate() {
+        if (candidate == null) {
+            throw new FilibusterCoreLogicException("Delta debugging is complete, there is no candidate to test.");
+        }
+
+        return toElements(candidate);
+    }
+
+    /**
+     * Record the result of testing the current candidate, and move on to the next.
+     *
+     * @param failed whether the test failed with the candidate.
+     */
+    public void recordResult(boolean failed) {
+        if (candidate == null) {
+            throw new FilibusterCoreLogicException("Delta debugging is complete, there is no candidate to record a result for.");
+        }
+
+        results.put(candidate, failed);
+        trace.add(new Step<>(toElements(candidate), failed, granularity));
+
+        if (failed) {
+            // A failing partition restarts at two partitions; a failing complement keeps the finer granularity.
+            reduceTo(candidate, testingComplements ? Math.max(granularity - 1, 2) : 2);
+        }
+
+        advance();
+    }
+
+    /**
+     * The smallest failing input found so far; 1-minimal once the reduction is complete.
+     *
+     * @return subset of the input.
+     */
+    public List<T> getMinimal() {
+        return toElements(current);
+    }
+
+    public List<T> getInput() {
+        return input;
+    }
+
+    public List<Step<T>> getTrace() {
+        return Collections.unmodifiableList(trace);
+    }
+
+    public int getNumberOfTests() {
+        return trace.size();
+    }
+
+    private void reduceTo(List<Integer> failingInput, int newGranularity) {
+        current = failingInput;
+        granularity = newGranularity;
+        testingComplements = false;
+        partition = 0;
+    }
+
+    // Find the next candidate without a result, applying the results of candidates already tested.
+    private void advance() {
+        while (true) {
+            if (current.size() < 2) {
+                candidate = null;
+                return;
+            }
+
+            granularity = Math.min(granularity, current.size());
+
+            if (partition < granularity) {
+                List<Integer> next = testingComplements ? complement(current, granularity, partition) : subset(current, granularity, partition);
+                partition++;
+
+                Boolean result = results.get(next);
+
+                if (result == null) {
+                    candidate = next;
+                    return;
+                }
+
+                if (result) {
+                    reduceTo(next, testingComplements ? Math.max(granularity - 1, 2) : 2);
+                }
+            } else if (!testingComplements && granularity > 2) {
+                // With two partitions, the complements are the partitions just tested.
+                testingComplements = true;
+                partition = 0;
+            } else if (granularity < current.size()) {
+                granularity = Math.min(granularity * 2, current.size());
+                testingComplements = false;
+                partition = 0;
+            } else {
+                candidate = null;
+                return;
+            }
+        }
+    }
+
+    private static List<Integer> subset(List<Integer> indices, int partitions, int partition) {
+        int start = partition * indices.size() / partitions;
+        int end = (partition + 1) * indices.size() / partitions;
+        return new ArrayList<>(indices.subList(start, end));
+    }
+
+    private static List<Integer> complement(List<Integer> indices, int partitions, int partition) {
+        int start = partition * indices.size() / partitions;
+        int end = (partition + 1) * indices.size() / partitions;
+
+        List<Integer> result = new ArrayList<>(indices.subList(0, start));
+        result.addAll(indices.subList(end, indices.size()));
+        return result;
+    }
+
+    private List<T> toElements(List<Integer> indices) {
+        List<T> elements = new ArrayList<>();
+
+        for (int index : indices) {
+            elements.add(input.get(index));
+        }
+
+        return elements;
+    }
+}
@@ -4,8 +4,11 @@ import cloud.filibuster.dei.DistributedExecutionIndex;
 import cloud.filibuster.exceptions.filibuster.FilibusterAnalysisFailureException;
 import cloud.filibuster.exceptions.filibuster.FilibusterGrpcTestRuntimeException.FilibusterGrpcTestRuntimeException;
 import cloud.filibuster.exceptions.filibuster.FilibusterTestReportWriterException;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
 import cloud.filibuster.junit.server.core.lint.analyzers.test_execution_report.*;
 import cloud.filibuster.junit.server.core.lint.analyzers.warnings.FilibusterAnalyzerWarning;
+import cloud.filibuster.junit.server.core.test_executions.HappensBeforeGraph;
 import org.json.JSONObject;
 import org.testcontainers.shaded.org.apache.commons.lang3.StringUtils;
 
@@ -20,6 +23,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Function;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -64,13 +69,22 @@ public class TestExecutionReport {
 
     private final List<FailureMetadata> failures = new ArrayList<>();
 
-    private final ArrayList<DistributedExecutionIndex> deiInvocationOrder = new ArrayList<>();
+    // Invocations and responses are recorded concurrently by RPCs issued in parallel within the same test iteration.
+    // Their JSON payloads are only built when the report is written.
+    private final ConcurrentLinkedQueue<DistributedExecutionIndex> deiInvocationOrder = new ConcurrentLinkedQueue<>();
 
-    private final HashMap<DistributedExecutionIndex, JSONObject> deiInvocations = new HashMap<>();
+    private final ConcurrentHashMap<DistributedExecutionIndex, FilibusterInvocation> deiInvocations = new ConcurrentHashMap<>();
 
-    private final HashMap<DistributedExecutionIndex, JSONObject> deiResponses = new HashMap<>();
+    private final ConcurrentHashMap<DistributedExecutionIndex, FilibusterInvocationComplete> deiResponses = new ConcurrentHashMap<>();
 
-    private final HashMap<DistributedExecutionIndex, JSONObject> deiFaultsInjected = new HashMap<>();
+    private final ConcurrentHashMap<DistributedExecutionIndex, JSONObject> deiFaultsInjected = new ConcurrentHashMap<>();
+
+    // Built on demand, by the analyzers and partial-order reduction, from the invocations recorded so far: ordering
+    // every invocation as it is recorded would put the graph's lock on the path of every RPC.  Guarded by this.
+    private final HappensBeforeGraph happensBeforeGraph = new HappensBeforeGraph();
+
+    // Number of invocations, in invocation order, already added to the happens-before graph; guarded by this.
+    private int happensBeforeGraphInvocations = 0;
 
     private final List<FilibusterAnalyzerWarning> warnings = new ArrayList<>();
 
@@ -108,11 +122,11 @@ public class TestExecutionReport {
         return deiInvocationOrder.iterator();
     }
 
-    public JSONObject getInvocationObject(DistributedExecutionIndex distributedExecutionIndex) {
+    public FilibusterInvocation getInvocation(DistributedExecutionIndex distributedExecutionIndex) {
         return deiInvocations.get(distributedExecutionIndex);
     }
 
-    public JSONObject getResponseObject(DistributedExecutionIndex distributedExecutionIndex) {
+    public FilibusterInvocationComplete getResponse(DistributedExecutionIndex distributedExecutionIndex) {
         return deiResponses.get(distributedExecutionIndex);
     }
 
@@ -120,7 +134,34 @@ public class TestExecutionReport {
         return deiFaultsInjected.get(distributedExecutionIndex);
     }
 
-    private final List<DistributedExecutionIndex> cachedRPCs = new ArrayList<DistributedExecutionIndex>();
+    /**
+     * Return the happens-before order of the invocations recorded so far, adding those recorded since the last call.
+     *
+     * @return happens-before graph.
+     */
+    public synchronized HappensBeforeGraph getHappensBeforeGraph() {
+        int i = 0;
+
+        for (DistributedExecutionIndex distributedExecutionIndex : deiInvocationOrder) {
+            if (i++ < happensBeforeGraphInvocations) {
+                continue;
+            }
+
+            // Recorded in the invocation order, but not yet recorded itself: added on the next call.
+            FilibusterInvocation invocation = deiInvocations.get(distributedExecutionIndex);
+
+            if (invocation == null) {
+                break;
+            }
+
+            happensBeforeGraph.addRPC(distributedExecutionIndex, invocation);
+            happensBeforeGraphInvocations++;
+        }
+
+        return happensBeforeGraph;
+    }
+
+    private final List<DistributedExecutionIndex> cachedRPCs = Collections.synchronizedList(new ArrayList<DistributedExecutionIndex>());
 
     public List<DistributedExecutionIndex> getCachedRPCs() {
         return cachedRPCs;
@@ -132,24 +173,24 @@ public class TestExecutionReport {
 
     public void recordInvocation(
             DistributedExecutionIndex distributedExecutionIndex,
-            JSONObject invocationJsonObject
+            FilibusterInvocation invocation
     ) {
         // Add to invocation order list.
         deiInvocationOrder.add(distributedExecutionIndex);
 
         // ...then, record the information about the invocation.
-        deiInvocations.put(distributedExecutionIndex, invocationJsonObject);
+        deiInvocations.put(distributedExecutionIndex, invocation);
     }
 
     public void recordInvocationComplete(
             DistributedExecutionIndex distributedExecutionIndex,
-            JSONObject invocationJsonObject
+            FilibusterInvocationComplete invocationComplete
     ) {
         // Record the information about the invocation's response.
-        deiResponses.put(distributedExecutionIndex, invocationJsonObject);
+        deiResponses.put(distributedExecutionIndex, invocationComplete);
     }
 
-    public void setFaultsInjected(HashMap<DistributedExecutionIndex, JSONObject> faultsToInject) {
+    public void setFaultsInjected(Map<DistributedExecutionIndex, JSONObject> faultsToInject) {
         deiFaultsInjected.putAll(faultsToInject);
     }
 
@@ -237,12 +278,15 @@ public class TestExecutionReport {
 
             generatedId++;
 
+            FilibusterInvocation invocation = deiInvocations.get(dei);
+            FilibusterInvocationComplete response = deiResponses.get(dei);
+
             JSONObject RPC = new JSONObject();
             RPC.put(Keys.GENERATED_ID_KEY, String.valueOf(generatedId));
             RPC.put(Keys.DEI_KEY, dei.toString());
             RPC.put(Keys.GROUP_KEY, dei.projectionLastKeyWithOnlyMetadata().toString());
-            RPC.put(Keys.REQUEST_KEY, deiInvocations.getOrDefault(dei, new JSONObject()));
-            RPC.put(Keys.RESPONSE_KEY, deiResponses.getOrDefault(dei, new JSONObject()));
+            RPC.put(Keys.REQUEST_KEY, invocation == null ? new JSONObject() : invocation.toJSONObject());
+            RPC.put(Keys.RESPONSE_KEY, response == null ? new JSONObject() : response.toJSONObject());
             RPC.put(Keys.FAULT_KEY, deiFaultsInjected.getOrDefault(dei, new JSONObject()));
             RPC.put(Keys.WARNINGS_KEY, warningObjects);
             RPC.put(Keys.CACHED_KEY, cachedRPCs.contains(dei));
@@ -372,19 +416,12 @@ public class TestExecutionReport {
         ArrayList<String> faultsInjected = new ArrayList<>();
 
         for (Map.Entry<DistributedExecutionIndex, JSONObject> entry : deiFaultsInjected.entrySet()) {
-            JSONObject invocation = deiInvocations.get(entry.getKey());
+            FilibusterInvocation invocation = deiInvocations.get(entry.getKey());
             JSONObject faultInjected = entry.getValue();
 
-            if (invocation != null && faultInjected != null && invocation.has("method")) {
-                if (invocation.has("module")) {
-                    String module = invocation.getString("module");
-                    faultInjected.put("module", module);
-                }
-
-                if (invocation.has("method")) {
-                    String method = invocation.getString("method");
-                    faultInjected.put("method", method);
-                }
+            if (invocation != null && faultInjected != null) {
+                faultInjected.put("module", invocation.getModuleName());
+                faultInjected.put("method", invocation.getMethodName());
 
                 faultsInjected.add(faultInjected.toString(4));
             }
@@ -3,6 +3,7 @@ package cloud.filibuster.junit.server.core.reports;
 import cloud.filibuster.exceptions.filibuster.FilibusterTestReportWriterException;
 import org.json.JSONObject;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
@@ -44,12 +45,26 @@ public class TestReport {
         this.numBypassedExecutions = numBypassedExecutions;
     }
 
+    private int numPrunedExecutions = 0;
+
+    public void setNumPrunedExecutions(int numPrunedExecutions) {
+        this.numPrunedExecutions = numPrunedExecutions;
+    }
+
     private int iterationsRemaining = 0;
 
     public void setIterationsRemaining(int iterationsRemaining) {
         this.iterationsRemaining = iterationsRemaining;
     }
 
+    // Minimal counterexample and reduction trace, if a failing execution was minimized.
+    @Nullable
+    private JSONObject minimizedCounterexample;
+
+    public void setMinimizedCounterexample(JSONObject minimizedCounterexample) {
+        this.minimizedCounterexample = minimizedCounterexample;
+    }
+
     public void addTestExecutionReport(TestExecutionReport testExecutionReport) {
         testExecutionReports.add(testExecutionReport);
     }
@@ -98,6 +113,16 @@ public class TestReport {
             throw new FilibusterTestReportWriterException("Filibuster failed to write out the test execution report: ", e);
         }
 
+        // Write out the minimized counterexample.
+        if (minimizedCounterexample != null) {
+            Path minimizedCounterexampleFile = Paths.get(directory + "/minimized_counterexample.json");
+            try {
+                Files.write(minimizedCounterexampleFile, minimizedCounterexample.toString(4).getBytes(Charset.defaultCharset()));
+            } catch (IOException e) {
+                throw new FilibusterTestReportWriterException("Filibuster failed to write out the minimized counterexample: ", e);
+            }
+        }
+
         // Write out index file.
         Path indexPath = Paths.get(directory + "/index.html");
         try {
@@ -136,6 +161,12 @@ public class TestReport {
         result.put("reports", materializedReportMetadatas);
         result.put("iterations_remaining", iterationsRemaining);
         result.put("num_bypassed_executions", numBypassedExecutions);
+        result.put("num_pruned_executions", numPrunedExecutions);
+
+        if (minimizedCounterexample != null) {
+            result.put("minimized_counterexample", minimizedCounterexample);
+        }
+
         return result;
     }
 
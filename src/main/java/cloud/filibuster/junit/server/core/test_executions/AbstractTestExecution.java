@@ -1,10 +1,12 @@
 package cloud.filibuster.junit.server.core.test_executions;
 
 import cloud.filibuster.dei.DistributedExecutionIndex;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
 import org.json.JSONObject;
 
 import javax.annotation.Nullable;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @SuppressWarnings("Varifier")
@@ -39,7 +41,7 @@ public class AbstractTestExecution extends TestExecution {
         boolean found = false;
 
         if (sourceConcreteTestExecution != null) {
-            for (Map.Entry<DistributedExecutionIndex, JSONObject> executedRPC: sourceConcreteTestExecution.executedRPCs.entrySet()) {
+            for (Map.Entry<DistributedExecutionIndex, FilibusterInvocation> executedRPC: sourceConcreteTestExecution.executedRPCs.entrySet()) {
                 DistributedExecutionIndex distributedExecutionIndex = executedRPC.getKey();
                 if (organicallyFailedInSourceConcreteTestExecution(distributedExecutionIndex) && faultsToInject.containsKey(distributedExecutionIndex)) {
                     found = true;
@@ -96,7 +98,21 @@ public class AbstractTestExecution extends TestExecution {
         faultsToInject.put(distributedExecutionIndex, faultObject);
     }
 
+    public HashMap<DistributedExecutionIndex, JSONObject> getFaultsToInject() {
+        return new HashMap<>(this.faultsToInject);
+    }
+
     public int getFaultsToInjectSize() {
         return this.faultsToInject.size();
     }
+
+    // Faults are injected on RPCs of the execution this one was generated from.
+    @Override
+    String getCausalIdentity(DistributedExecutionIndex distributedExecutionIndex) {
+        if (completedSourceConcreteTestExecution != null) {
+            return completedSourceConcreteTestExecution.getCausalIdentity(distributedExecutionIndex);
+        }
+
+        return super.getCausalIdentity(distributedExecutionIndex);
+    }
 }
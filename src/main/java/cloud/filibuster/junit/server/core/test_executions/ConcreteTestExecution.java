@@ -2,20 +2,25 @@ package cloud.filibuster.junit.server.core.test_executions;
 
 import cloud.filibuster.dei.DistributedExecutionIndex;
 import cloud.filibuster.junit.assertions.BlockType;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
 import cloud.filibuster.junit.server.core.reports.TestExecutionReport;
 import org.json.JSONObject;
 
 import javax.annotation.Nullable;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @SuppressWarnings("Varifier")
 public class ConcreteTestExecution extends TestExecution implements Cloneable {
     private final TestExecutionReport testExecutionReport;
 
-    private int testScopeCounter = 0;
+    // Read by the instrumentation on every RPC (through the callsite), written by the test thread.
+    private final AtomicInteger testScopeCounter = new AtomicInteger(0);
 
-    private BlockType lastTestScopeBlockType = BlockType.DEFAULT;
+    private volatile BlockType lastTestScopeBlockType = BlockType.DEFAULT;
 
     public ConcreteTestExecution(String testName, UUID testUUID, String className) {
         testExecutionReport = new TestExecutionReport(testName, testUUID, className);
@@ -27,29 +32,38 @@ public class ConcreteTestExecution extends TestExecution implements Cloneable {
         testExecutionReport.setFaultsInjected(faultsToInject);
     }
 
+    // Returns a snapshot, as RPCs may still be in flight and updating the underlying map.
     public HashMap<DistributedExecutionIndex, JSONObject> getFaultsToInject() {
-        return this.faultsToInject;
+        return new HashMap<>(this.faultsToInject);
     }
 
+    // Returns a snapshot, as RPCs may still be in flight and updating the underlying map.
     public HashMap<DistributedExecutionIndex, JSONObject> getFailedRPCs() {
-        return this.failedRPCs;
+        HashMap<DistributedExecutionIndex, JSONObject> failedRPCObjects = new HashMap<>();
+
+        for (Map.Entry<DistributedExecutionIndex, FilibusterInvocationComplete> entry : this.failedRPCs.entrySet()) {
+            failedRPCObjects.put(entry.getKey(), entry.getValue().toJSONObject());
+        }
+
+        return failedRPCObjects;
     }
 
+    // Returns a snapshot, as RPCs may still be in flight and updating the underlying map.
     public HashMap<DistributedExecutionIndex, JSONObject> getExecutedRPCs() {
-        return this.executedRPCs;
+        return toExecutedRPCObjects(this.executedRPCs);
     }
 
     public void incrementTestScopeCounter() {
-        testScopeCounter++;
+        testScopeCounter.incrementAndGet();
     }
 
     public void incrementTestScopeCounter(BlockType blockType) {
-        testScopeCounter++;
+        testScopeCounter.incrementAndGet();
         lastTestScopeBlockType = blockType;
     }
 
     public int getTestScopeCounter() {
-        return testScopeCounter;
+        return testScopeCounter.get();
     }
 
     public BlockType getLastTestScopeBlockType() {
@@ -58,8 +72,7 @@ public class ConcreteTestExecution extends TestExecution implements Cloneable {
 
     public AbstractTestExecution toAbstractTestExecution() {
         AbstractTestExecution abstractTestExecution = new AbstractTestExecution(this);
-        abstractTestExecution.executedRPCs.putAll(executedRPCs);
-        abstractTestExecution.nondeterministicExecutedRPCs.putAll(nondeterministicExecutedRPCs);
+        abstractTestExecution.sharePrefixOf(this);
         abstractTestExecution.faultsToInject.putAll(faultsToInject);
         return abstractTestExecution;
     }
@@ -68,6 +81,37 @@ public class ConcreteTestExecution extends TestExecution implements Cloneable {
         return testExecutionReport;
     }
 
+    // Happens-before order of the RPCs recorded by this execution.
+    public HappensBeforeGraph getHappensBeforeGraph() {
+        return testExecutionReport.getHappensBeforeGraph();
+    }
+
+    // RPCs issued concurrently from the same callsites, with the same arguments, are numbered in the order they were
+    // issued, which varies across executions; they are identified instead by how many such RPCs happen before them.
+    // RPCs that were not recorded with a vector clock are only identified by their execution index.
+    @Override
+    String getCausalIdentity(DistributedExecutionIndex distributedExecutionIndex) {
+        HappensBeforeGraph happensBeforeGraph = getHappensBeforeGraph();
+        FilibusterInvocation invocation = executedRPCs.get(distributedExecutionIndex);
+
+        if (invocation == null || !happensBeforeGraph.contains(distributedExecutionIndex)) {
+            return super.getCausalIdentity(distributedExecutionIndex);
+        }
+
+        String identity = getInterleavingIndependentIdentity(distributedExecutionIndex, invocation);
+        int occurrence = 0;
+
+        for (DistributedExecutionIndex ancestor : happensBeforeGraph.getAncestors(distributedExecutionIndex)) {
+            FilibusterInvocation ancestorInvocation = executedRPCs.get(ancestor);
+
+            if (ancestorInvocation != null && getInterleavingIndependentIdentity(ancestor, ancestorInvocation).equals(identity)) {
+                occurrence++;
+            }
+        }
+
+        return identity + "#" + occurrence;
+    }
+
     public void writePlaceHolderTestExecutionReport() {
         if (testExecutionReport != null) {
             testExecutionReport.writePlaceholderTestReport();
@@ -85,22 +129,22 @@ public class ConcreteTestExecution extends TestExecution implements Cloneable {
         ConcreteTestExecution concreteTestExecution = new ConcreteTestExecution(testExecutionReport.getTestName(),
                 testExecutionReport.getTestUUID(),
                 testExecutionReport.getClassName());
-        concreteTestExecution.generatedId = this.generatedId;
+        concreteTestExecution.generatedId.set(this.generatedId.get());
         concreteTestExecution.firstRequestSeenByService.putAll(firstRequestSeenByService);
-        concreteTestExecution.executedRPCs.putAll(executedRPCs);
-        concreteTestExecution.nondeterministicExecutedRPCs.putAll(nondeterministicExecutedRPCs);
+        concreteTestExecution.resetClockEpochByService.putAll(resetClockEpochByService);
+        concreteTestExecution.sharePrefixOf(this);
         concreteTestExecution.faultsToInject.putAll(faultsToInject);
         return concreteTestExecution;
     }
 
     @Override
-    public void addDistributedExecutionIndexWithRequestPayload(DistributedExecutionIndex distributedExecutionIndex, JSONObject payload) {
-        addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, payload, /* seen= */ false);
+    public void addDistributedExecutionIndexWithRequestPayload(DistributedExecutionIndex distributedExecutionIndex, FilibusterInvocation invocation) {
+        addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, invocation, /* seen= */ false);
     }
 
-    public void addDistributedExecutionIndexWithRequestPayload(DistributedExecutionIndex distributedExecutionIndex, JSONObject payload, boolean seen) {
-        testExecutionReport.recordInvocation(distributedExecutionIndex, payload);
-        super.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, payload);
+    public void addDistributedExecutionIndexWithRequestPayload(DistributedExecutionIndex distributedExecutionIndex, FilibusterInvocation invocation, boolean seen) {
+        testExecutionReport.recordInvocation(distributedExecutionIndex, invocation);
+        super.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, invocation);
 
         if (seen) {
             testExecutionReport.markRpcAsCached(distributedExecutionIndex);
@@ -108,8 +152,8 @@ public class ConcreteTestExecution extends TestExecution implements Cloneable {
     }
 
     @Override
-    public void addDistributedExecutionIndexWithResponsePayload(DistributedExecutionIndex distributedExecutionIndex, JSONObject payload) {
-        testExecutionReport.recordInvocationComplete(distributedExecutionIndex, payload);
-        super.addDistributedExecutionIndexWithResponsePayload(distributedExecutionIndex, payload);
+    public void addDistributedExecutionIndexWithResponsePayload(DistributedExecutionIndex distributedExecutionIndex, FilibusterInvocationComplete invocationComplete) {
+        testExecutionReport.recordInvocationComplete(distributedExecutionIndex, invocationComplete);
+        super.addDistributedExecutionIndexWithResponsePayload(distributedExecutionIndex, invocationComplete);
     }
 }
@@ -0,0 +1,363 @@
+package cloud.filibuster.junit.server.core.test_executions;
+
+import cloud.filibuster.dei.DistributedExecutionIndex;
+import cloud.filibuster.instrumentation.datatypes.VectorClock;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Happens-before order of the RPCs of a test execution, from the vector clocks they were issued with.
+ *
+ * RPC a happens before RPC b when b's vector clock descends from a's.  Each RPC is linked to its direct predecessors
+ * (the latest RPCs that happen before it) when it is added, by searching back from the causal frontier (the RPCs that
+ * nothing happens after) only as far as the first RPCs that happen before it; at worst, that visits every RPC it is
+ * concurrent with.  Ancestors and descendants of each RPC are kept as bit sets, so ordering queries are constant time
+ * and do not compare vector clocks, and listing ancestors, descendants or concurrent RPCs does not scan pairs of RPCs.
+ *
+ * RPCs are usually added in an order consistent with happens-before; an RPC that happens before one that was already
+ * added causes the graph to be rebuilt.
+ *
+ * Safe for concurrent access.
+ */
+public final class HappensBeforeGraph {
+    private static final class Node {
+        final DistributedExecutionIndex distributedExecutionIndex;
+        final VectorClock vectorClock;
+
+        // Sum and number of entries of the vector clock: if a happens before b, a's are lexicographically smaller.
+        final long clockSum;
+        final int clockSize;
+
+        final List<Integer> directPredecessors = new ArrayList<>();
+        final BitSet ancestors = new BitSet();
+        final BitSet descendants = new BitSet();
+
+        Node(DistributedExecutionIndex distributedExecutionIndex, VectorClock vectorClock) {
+            this.distributedExecutionIndex = distributedExecutionIndex;
+            this.vectorClock = vectorClock;
+
+            long sum = 0;
+            int size = 0;
+
+            for (Integer clock : vectorClock.toMap().values()) {
+                sum += clock;
+                size++;
+            }
+
+            this.clockSum = sum;
+            this.clockSize = size;
+        }
+    }
+
+    // Indexed by id, which is the order RPCs were added in.
+    private final List<Node> nodes = new ArrayList<>();
+
+    private final HashMap<DistributedExecutionIndex, Integer> ids = new HashMap<>();
+
+    // RPCs that no RPC happens after.
+    private final BitSet frontier = new BitSet();
+
+    private int rebuilds = 0;
+
+    /**
+     * Add an RPC from its invocation.
+     *
+     * @param distributedExecutionIndex execution index of the RPC.
+     * @param invocation invocation, with the vector clock the RPC was issued with.
+     * @return whether the RPC was added: RPCs without a vector clock, or already added, are not.
+     */
+    public boolean addRPC(DistributedExecutionIndex distributedExecutionIndex, FilibusterInvocation invocation) {
+        VectorClock vectorClock = invocation.getVectorClock();
+
+        if (vectorClock == null || vectorClock.toMap().isEmpty()) {
+            return false;
+        }
+
+        return addRPC(distributedExecutionIndex, vectorClock);
+    }
+
+    /**
+     * Add an RPC.
+     *
+     * @param distributedExecutionIndex execution index of the RPC.
+     * @param vectorClock vector clock the RPC was issued with; must not be modified afterwards.
+     * @return whether the RPC was added: RPCs already added are not.
+     */
+    public synchronized boolean addRPC(DistributedExecutionIndex distributedExecutionIndex, VectorClock vectorClock) {
+        if (ids.containsKey(distributedExecutionIndex)) {
+            return false;
+        }
+
+        Node node = new Node(distributedExecutionIndex, vectorClock);
+        int id = nodes.size();
+
+        // Any RPC this one happens before is below some RPC of the frontier.
+        boolean outOfOrder = false;
+
+        for (int i = frontier.nextSetBit(0); i >= 0; i = frontier.nextSetBit(i + 1)) {
+            if (VectorClock.descends(vectorClock, nodes.get(i).vectorClock)) {
+                outOfOrder = true;
+                break;
+            }
+        }
+
+        nodes.add(node);
+        ids.put(distributedExecutionIndex, id);
+
+        if (outOfOrder) {
+            rebuild();
+        } else {
+            link(id);
+        }
+
+        return true;
+    }
+
+    // Link an RPC to the RPCs already linked, none of which it may happen before.
+    private void link(int id) {
+        Node node = nodes.get(id);
+
+        // Search back from the frontier, stopping at the first RPCs that happen before this one.
+        BitSet candidates = new BitSet();
+        BitSet visited = new BitSet();
+        Deque<Integer> stack = new ArrayDeque<>();
+
+        for (int i = frontier.nextSetBit(0); i >= 0; i = frontier.nextSetBit(i + 1)) {
+            visited.set(i);
+            stack.push(i);
+        }
+
+        while (!stack.isEmpty()) {
+            int current = stack.pop();
+            Node currentNode = nodes.get(current);
+
+            if (VectorClock.descends(currentNode.vectorClock, node.vectorClock)) {
+                candidates.set(current);
+            } else {
+                for (int predecessor : currentNode.directPredecessors) {
+                    if (!visited.get(predecessor)) {
+                        visited.set(predecessor);
+                        stack.push(predecessor);
+                    }
+                }
+            }
+        }
+
+        // Candidates that happen before another candidate are not direct predecessors.
+        BitSet covered = new BitSet();
+
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            covered.or(nodes.get(i).ancestors);
+        }
+
+        candidates.andNot(covered);
+
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            Node predecessor = nodes.get(i);
+            node.directPredecessors.add(i);
+            node.ancestors.or(predecessor.ancestors);
+            node.ancestors.set(i);
+        }
+
+        for (int i = node.ancestors.nextSetBit(0); i >= 0; i = node.ancestors.nextSetBit(i + 1)) {
+            nodes.get(i).descendants.set(id);
+        }
+
+        frontier.andNot(candidates);
+        frontier.set(id);
+    }
+
+    // Relink every RPC, in an order consistent with happens-before.
+    private void rebuild() {
+        rebuilds++;
+        frontier.clear();
+
+        List<Integer> order = new ArrayList<>();
+
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            node.directPredecessors.clear();
+            node.ancestors.clear();
+            node.descendants.clear();
+            order.add(i);
+        }
+
+        order.sort(Comparator.<Integer>comparingLong(i -> nodes.get(i).clockSum).thenComparingInt(i -> nodes.get(i).clockSize));
+
+        for (int id : order) {
+            link(id);
+        }
+    }
+
+    @Nullable
+    private Node getNode(DistributedExecutionIndex distributedExecutionIndex) {
+        Integer id = ids.get(distributedExecutionIndex);
+        return id == null ? null : nodes.get(id);
+    }
+
+    private List<DistributedExecutionIndex> toDistributedExecutionIndexes(BitSet bitSet) {
+        List<DistributedExecutionIndex> distributedExecutionIndexes = new ArrayList<>(bitSet.cardinality());
+
+        for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
+            distributedExecutionIndexes.add(nodes.get(i).distributedExecutionIndex);
+        }
+
+        return distributedExecutionIndexes;
+    }
+
+    public synchronized boolean contains(DistributedExecutionIndex distributedExecutionIndex) {
+        return ids.containsKey(distributedExecutionIndex);
+    }
+
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Number of times the graph was rebuilt because an RPC was added after one that it happens before.
+     *
+     * @return number of rebuilds.
+     */
+    public synchronized int getRebuilds() {
+        return rebuilds;
+    }
+
+    /**
+     * Whether one RPC happens before another; false if either was not added.
+     *
+     * @param before execution index of the earlier RPC.
+     * @param after execution index of the later RPC.
+     * @return whether before happens before after.
+     */
+    public synchronized boolean happensBefore(DistributedExecutionIndex before, DistributedExecutionIndex after) {
+        Integer beforeId = ids.get(before);
+        Integer afterId = ids.get(after);
+
+        if (beforeId == null || afterId == null) {
+            return false;
+        }
+
+        return nodes.get(afterId).ancestors.get(beforeId);
+    }
+
+    /**
+     * Whether one RPC is one of the latest RPCs that happen before another; false if either was not added.
+     *
+     * @param before execution index of the earlier RPC.
+     * @param after execution index of the later RPC.
+     * @return whether before directly precedes after.
+     */
+    public synchronized boolean isDirectPredecessor(DistributedExecutionIndex before, DistributedExecutionIndex after) {
+        Integer beforeId = ids.get(before);
+        Node afterNode = getNode(after);
+
+        if (beforeId == null || afterNode == null) {
+            return false;
+        }
+
+        return afterNode.directPredecessors.contains(beforeId);
+    }
+
+    /**
+     * Whether neither of two distinct RPCs happens before the other; false if either was not added.
+     *
+     * @param first execution index of an RPC.
+     * @param second execution index of an RPC.
+     * @return whether the RPCs are concurrent.
+     */
+    public synchronized boolean isConcurrent(DistributedExecutionIndex first, DistributedExecutionIndex second) {
+        Integer firstId = ids.get(first);
+        Integer secondId = ids.get(second);
+
+        if (firstId == null || secondId == null || firstId.equals(secondId)) {
+            return false;
+        }
+
+        Node firstNode = nodes.get(firstId);
+        return !firstNode.ancestors.get(secondId) && !firstNode.descendants.get(secondId);
+    }
+
+    /**
+     * Return the latest RPCs that happen before an RPC, in the order they were added.
+     *
+     * @param distributedExecutionIndex execution index of the RPC.
+     * @return direct predecessors; empty if the RPC was not added.
+     */
+    public synchronized List<DistributedExecutionIndex> getDirectPredecessors(DistributedExecutionIndex distributedExecutionIndex) {
+        Node node = getNode(distributedExecutionIndex);
+
+        if (node == null) {
+            return Collections.emptyList();
+        }
+
+        BitSet directPredecessors = new BitSet();
+
+        for (int predecessor : node.directPredecessors) {
+            directPredecessors.set(predecessor);
+        }
+
+        return toDistributedExecutionIndexes(directPredecessors);
+    }
+
+    /**
+     * Return the RPCs that happen before an RPC, in the order they were added.
+     *
+     * @param distributedExecutionIndex execution index of the RPC.
+     * @return ancestors; empty if the RPC was not added.
+     */
+    public synchronized List<DistributedExecutionIndex> getAncestors(DistributedExecutionIndex distributedExecutionIndex) {
+        Node node = getNode(distributedExecutionIndex);
+        return node == null ? Collections.emptyList() : toDistributedExecutionIndexes(node.ancestors);
+    }
+
+    /**
+     * Return the RPCs that happen after an RPC, in the order they were added.
+     *
+     * @param distributedExecutionIndex execution index of the RPC.
+     * @return descendants; empty if the RPC was not added.
+     */
+    public synchronized List<DistributedExecutionIndex> getDescendants(DistributedExecutionIndex distributedExecutionIndex) {
+        Node node = getNode(distributedExecutionIndex);
+        return node == null ? Collections.emptyList() : toDistributedExecutionIndexes(node.descendants);
+    }
+
+    /**
+     * Return the RPCs concurrent with an RPC, in the order they were added.
+     *
+     * @param distributedExecutionIndex execution index of the RPC.
+     * @return concurrent RPCs; empty if the RPC was not added.
+     */
+    public synchronized List<DistributedExecutionIndex> getConcurrent(DistributedExecutionIndex distributedExecutionIndex) {
+        Integer id = ids.get(distributedExecutionIndex);
+
+        if (id == null) {
+            return Collections.emptyList();
+        }
+
+        Node node = nodes.get(id);
+        BitSet concurrent = new BitSet();
+        concurrent.set(0, nodes.size());
+        concurrent.andNot(node.ancestors);
+        concurrent.andNot(node.descendants);
+        concurrent.clear(id);
+        return toDistributedExecutionIndexes(concurrent);
+    }
+
+    /**
+     * Return the RPCs that no RPC happens after, in the order they were added.
+     *
+     * @return causal frontier.
+     */
+    public synchronized List<DistributedExecutionIndex> getCausalFrontier() {
+        return toDistributedExecutionIndexes(frontier);
+    }
+}
@@ -0,0 +1,229 @@
+package cloud.filibuster.junit.server.core.test_executions;
+
+import javax.annotation.Nullable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Insertion-ordered map whose snapshots share structure with the map they were taken from.
+ *
+ * Entries are appended to a log that is shared between a map and its snapshots.  A snapshot only sees the entries
+ * that were in the log when it was taken, so taking one is constant time instead of a copy.  Writing to a map whose
+ * view is no longer the end of the log first copies its visible entries into a new log.
+ *
+ * Safe for concurrent access.  Entries are never changed once appended, so reads do not lock; appends lock the log.
+ * Does not support null keys or values, or removal.
+ *
+ * @param <K> type of key.
+ * @param <V> type of value.
+ */
+public final class SharedPrefixMap<K, V> extends AbstractMap<K, V> {
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+
+        // Index of the previous entry in the log for the same key, or -1.
+        final int previousIndexForKey;
+
+        // Number of distinct keys in the log up to and including this entry.
+        final int distinctKeys;
+
+        Node(K key, V value, int previousIndexForKey, int distinctKeys) {
+            this.key = key;
+            this.value = value;
+            this.previousIndexForKey = previousIndexForKey;
+            this.distinctKeys = distinctKeys;
+        }
+    }
+
+    private static final class Log<K, V> {
+        // Grown by copying; a node is stored before it is indexed by key, and before any view includes it.
+        @SuppressWarnings("unchecked")
+        volatile Node<K, V>[] nodes = (Node<K, V>[]) new Node<?, ?>[16];
+
+        // Guarded by the log's monitor.
+        int size;
+
+        final ConcurrentHashMap<K, Integer> latestIndexByKey = new ConcurrentHashMap<>();
+
+        // Must hold the log's monitor, unless the log is not shared yet.
+        @Nullable
+        V append(K key, V value) {
+            Integer previousIndex = latestIndexByKey.get(key);
+            int distinctKeys = (size == 0 ? 0 : nodes[size - 1].distinctKeys) + (previousIndex == null ? 1 : 0);
+
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+            }
+
+            nodes[size] = new Node<>(key, value, previousIndex == null ? -1 : previousIndex, distinctKeys);
+            latestIndexByKey.put(key, size);
+            size++;
+
+            return previousIndex == null ? null : nodes[previousIndex].value;
+        }
+    }
+
+    // Entries of a log visible to a map: the first length entries.
+    private static final class View<K, V> {
+        final Log<K, V> log;
+        final int length;
+
+        View(Log<K, V> log, int length) {
+            this.log = log;
+            this.length = length;
+        }
+
+        // Index of the latest visible entry for the key, or -1.
+        int visibleIndex(Object key) {
+            Integer index = log.latestIndexByKey.get(key);
+
+            if (index == null) {
+                return -1;
+            }
+
+            // Read after the index, so that the array holds the node it refers to.
+            Node<K, V>[] nodes = log.nodes;
+            int i = index;
+
+            while (i >= length) {
+                i = nodes[i].previousIndexForKey;
+
+                if (i < 0) {
+                    return -1;
+                }
+            }
+
+            return i;
+        }
+    }
+
+    // Only replaced while holding the monitor of its log, or, when forking, by compare and set.
+    private final AtomicReference<View<K, V>> view;
+
+    public SharedPrefixMap() {
+        this(new View<>(new Log<>(), 0));
+    }
+
+    private SharedPrefixMap(View<K, V> view) {
+        this.view = new AtomicReference<>(view);
+    }
+
+    /**
+     * Return a view of the entries currently in this map that is unaffected by later writes to either map.
+     *
+     * @return snapshot sharing structure with this map.
+     */
+    public SharedPrefixMap<K, V> snapshot() {
+        return new SharedPrefixMap<>(view.get());
+    }
+
+    @Override
+    public int size() {
+        View<K, V> current = view.get();
+        return current.length == 0 ? 0 : current.log.nodes[current.length - 1].distinctKeys;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return view.get().visibleIndex(key) >= 0;
+    }
+
+    @Override
+    @Nullable
+    public V get(Object key) {
+        View<K, V> current = view.get();
+        int index = current.visibleIndex(key);
+        return index < 0 ? null : current.log.nodes[index].value;
+    }
+
+    @Override
+    @Nullable
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new NullPointerException();
+        }
+
+        while (true) {
+            View<K, V> current = view.get();
+            Log<K, V> log = current.log;
+
+            synchronized (log) {
+                if (view.get() != current) {
+                    // Written to concurrently: start over from the new view.
+                    continue;
+                }
+
+                if (current.length == log.size) {
+                    V previousValue = log.append(key, value);
+                    view.set(new View<>(log, log.size));
+                    return previousValue;
+                }
+            }
+
+            // Someone else has appended past our view: take our own copy of the visible entries.
+            Log<K, V> forkedLog = fork(current);
+            V previousValue = forkedLog.append(key, value);
+
+            if (view.compareAndSet(current, new View<>(forkedLog, forkedLog.size))) {
+                return previousValue;
+            }
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return visibleEntries().iterator();
+            }
+
+            @Override
+            public int size() {
+                return SharedPrefixMap.this.size();
+            }
+        };
+    }
+
+    // Copy of the visible entries, in insertion order, with only the latest value for each key.
+    private List<Entry<K, V>> visibleEntries() {
+        View<K, V> current = view.get();
+        Node<K, V>[] nodes = current.log.nodes;
+        List<Entry<K, V>> entries = new ArrayList<>();
+
+        for (int i = 0; i < current.length; i++) {
+            Node<K, V> node = nodes[i];
+
+            if (current.visibleIndex(node.key) == i) {
+                entries.add(new SimpleImmutableEntry<>(node.key, node.value));
+            }
+        }
+
+        return Collections.unmodifiableList(entries);
+    }
+
+    // New log holding the entries visible in a view; not shared until a view of it is published.
+    private static <K, V> Log<K, V> fork(View<K, V> view) {
+        Log<K, V> newLog = new Log<>();
+        Node<K, V>[] nodes = view.log.nodes;
+
+        for (int i = 0; i < view.length; i++) {
+            Node<K, V> node = nodes[i];
+
+            if (view.visibleIndex(node.key) == i) {
+                newLog.append(node.key, node.value);
+            }
+        }
+
+        return newLog;
+    }
+}
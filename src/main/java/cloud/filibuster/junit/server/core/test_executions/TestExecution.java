@@ -1,35 +1,63 @@
 package cloud.filibuster.junit.server.core.test_executions;
 
 import cloud.filibuster.dei.DistributedExecutionIndex;
+import cloud.filibuster.instrumentation.datatypes.VectorClock;
+import cloud.filibuster.instrumentation.helpers.Hashing;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
+import org.json.JSONArray;
 import org.json.JSONObject;
 
 import javax.annotation.Nullable;
+import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 @SuppressWarnings("Varifier")
 public abstract class TestExecution {
     private static final Logger logger = Logger.getLogger(TestExecution.class.getName());
 
+    // All of the maps below are written to concurrently by RPCs issued in parallel within the same test iteration
+    // and therefore must be safe for concurrent access without external locking.
+
     // Legacy value used to number the RPCs for fault injection.
     // Superseded by DistributedExecutionIndex, but kept in for compatibility and debugging.
-    int generatedId = 0;
+    final AtomicInteger generatedId = new AtomicInteger(0);
 
     // What RPCs were executed?
-    HashMap<DistributedExecutionIndex, JSONObject> executedRPCs = new HashMap<>();
-
-    // What RPCs were executed (without their arguments, which may be nondeterministic across executions)?
-    HashMap<DistributedExecutionIndex, JSONObject> nondeterministicExecutedRPCs = new HashMap<>();
+    //
+    // The RPC maps are shared with the executions derived from this one (see sharePrefixOf), so they are only
+    // reassigned before the execution is published.
+    SharedPrefixMap<DistributedExecutionIndex, FilibusterInvocation> executedRPCs = new SharedPrefixMap<>();
 
     // What faults should be injected in this execution?
-    HashMap<DistributedExecutionIndex, JSONObject> faultsToInject = new HashMap<>();
+    final ConcurrentHashMap<DistributedExecutionIndex, JSONObject> faultsToInject = new ConcurrentHashMap<>();
 
     // What RPCs failed?
-    HashMap<DistributedExecutionIndex, JSONObject> failedRPCs = new HashMap<>();
+    final ConcurrentHashMap<DistributedExecutionIndex, FilibusterInvocationComplete> failedRPCs = new ConcurrentHashMap<>();
+
+    final ConcurrentHashMap<String, Boolean> firstRequestSeenByService = new ConcurrentHashMap<>();
 
-    HashMap<String, Boolean> firstRequestSeenByService = new HashMap<>();
+    // Clock epoch each service's clocks were reset to by its first request in this execution, for combined begins.
+    final ConcurrentHashMap<String, Integer> resetClockEpochByService = new ConcurrentHashMap<>();
+
+    // Digests of what the executed RPCs invoked, used to detect the same RPC under any execution index.
+    // Must be kept in sync with executedRPCs when copying executions.
+    SharedPrefixMap<String, Boolean> seenRpcDigests = new SharedPrefixMap<>();
+
+    // Share the RPCs recorded so far by another execution instead of copying them.
+    // RPCs recorded afterwards, by either execution, are not visible to the other.
+    void sharePrefixOf(TestExecution testExecution) {
+        this.executedRPCs = testExecution.executedRPCs.snapshot();
+        this.seenRpcDigests = testExecution.seenRpcDigests.snapshot();
+    }
 
     public boolean hasSeenFirstRequestFromService(String serviceName) {
         return firstRequestSeenByService.containsKey(serviceName);
@@ -39,6 +67,29 @@ public abstract class TestExecution {
         firstRequestSeenByService.put(serviceName, true);
     }
 
+    // Atomically register the first request from a service, returning true only for the caller that registered it.
+    public boolean registerFirstRequestFromServiceIfAbsent(String serviceName) {
+        return firstRequestSeenByService.putIfAbsent(serviceName, true) == null;
+    }
+
+    // Whether a request from a service, whose clocks were computed in the given clock epoch, should have them reset:
+    // true for the first request from the service in this execution, which resets them to the next clock epoch, and
+    // for every request whose clocks were computed before that.  A negative clock epoch (unknown) only resets the first.
+    public boolean shouldResetClocksForRequestFromService(String serviceName, int clockEpoch) {
+        if (clockEpoch < 0) {
+            return registerFirstRequestFromServiceIfAbsent(serviceName);
+        }
+
+        Integer resetClockEpoch = resetClockEpochByService.putIfAbsent(serviceName, clockEpoch + 1);
+
+        if (resetClockEpoch == null) {
+            firstRequestSeenByService.putIfAbsent(serviceName, true);
+            return true;
+        }
+
+        return clockEpoch < resetClockEpoch;
+    }
+
     public void printRPCs() {
         StringBuilder logMessage = new StringBuilder("\n");
 
@@ -47,9 +98,9 @@ public abstract class TestExecution {
 
         for (DistributedExecutionIndex name: executedRPCs.keySet()) {
             String key = name.toString();
-            JSONObject value = executedRPCs.get(name);
+            FilibusterInvocation value = executedRPCs.get(name);
             if (key != null && value != null) {
-                logMessage.append(key).append(" => ").append(value.toString(4)).append("\n");
+                logMessage.append(key).append(" => ").append(toExecutedRPCObject(value).toString(4)).append("\n");
             }
         }
 
@@ -61,8 +112,9 @@ public abstract class TestExecution {
                 String key = name.toString();
                 JSONObject value = faultsToInject.get(name);
 
-                // getOrDefault needed because when application is nondeterministic the lookup for the request will fail because of a lack of DEI matches.
-                JSONObject request = executedRPCs.getOrDefault(name, new JSONObject().put("error", "no request information found"));
+                // Lookup needs a default because when application is nondeterministic the lookup for the request will fail because of a lack of DEI matches.
+                FilibusterInvocation invocation = executedRPCs.get(name);
+                JSONObject request = invocation == null ? new JSONObject().put("error", "no request information found") : toExecutedRPCObject(invocation);
 
                 logMessage.append(key).append(" => ").append(value.toString(4)).append(" => ").append(request.toString(4)).append("\n");
             }
@@ -74,42 +126,27 @@ public abstract class TestExecution {
         logger.info(logMessage.toString());
     }
 
-    public boolean hasSeenRpcUnderSameOrDifferentDistributedExecutionIndex(JSONObject payload) {
-        JSONObject payloadCacheCleaned = cleanPayloadForCacheComparison(payload);
-
-        for (Map.Entry<DistributedExecutionIndex, JSONObject> executedRPC : executedRPCs.entrySet()) {
-            JSONObject seenPayload = executedRPC.getValue();
-            JSONObject seenPayloadCacheCleaned = cleanPayloadForCacheComparison(seenPayload);
-
-            if (seenPayloadCacheCleaned.similar(payloadCacheCleaned)) {
-                return true;
-            }
-        }
-
-        return false;
+    public boolean hasSeenRpcUnderSameOrDifferentDistributedExecutionIndex(FilibusterInvocation invocation) {
+        return seenRpcDigests.containsKey(normalizedInvocationDigest(invocation));
     }
 
-    public void addDistributedExecutionIndexWithRequestPayload(DistributedExecutionIndex distributedExecutionIndex, JSONObject payload) {
+    public void addDistributedExecutionIndexWithRequestPayload(DistributedExecutionIndex distributedExecutionIndex, FilibusterInvocation invocation) {
         // Add to the list of executed RPCs.
-        JSONObject payloadWithoutInstrumentationType = cleanPayloadOfInstrumentationType(payload);
-        executedRPCs.put(distributedExecutionIndex, payloadWithoutInstrumentationType);
+        executedRPCs.put(distributedExecutionIndex, invocation);
 
-        // Add to the list of nondeterministic executed RPCs.
-        JSONObject deterministicPayload = cleanPayloadOfArguments(payload);
-        nondeterministicExecutedRPCs.put(distributedExecutionIndex, deterministicPayload);
+        // Record the RPC for redundant RPC detection.
+        seenRpcDigests.put(normalizedInvocationDigest(invocation), true);
     }
 
-    public void addDistributedExecutionIndexWithResponsePayload(DistributedExecutionIndex distributedExecutionIndex, JSONObject payload) {
-        if (payload.has("exception")) {
-            failedRPCs.put(distributedExecutionIndex, payload);
+    public void addDistributedExecutionIndexWithResponsePayload(DistributedExecutionIndex distributedExecutionIndex, FilibusterInvocationComplete invocationComplete) {
+        if (invocationComplete.hasException()) {
+            failedRPCs.put(distributedExecutionIndex, invocationComplete);
         }
     }
 
     public int incrementGeneratedId() {
         // Increment the generated_id; not used for anything anymore and merely here for debugging and because callers require it.
-        generatedId++;
-
-        return generatedId;
+        return generatedId.incrementAndGet();
     }
 
     public boolean shouldFault(DistributedExecutionIndex distributedExecutionIndex) {
@@ -129,10 +166,10 @@ public abstract class TestExecution {
     }
 
     public boolean wasFaultInjectedOnRequest(String serializedRequest) {
-        for (Map.Entry<DistributedExecutionIndex, JSONObject> entry : executedRPCs.entrySet()) {
-            JSONObject executedRPCObject = entry.getValue();
+        for (Map.Entry<DistributedExecutionIndex, FilibusterInvocation> entry : executedRPCs.entrySet()) {
+            FilibusterInvocation executedRPC = entry.getValue();
 
-            if (executedRPCObject.getJSONObject("args").getString("toString").equals(serializedRequest)) {
+            if (executedRPC.getArguments().getString("toString").equals(serializedRequest)) {
                 DistributedExecutionIndex distributedExecutionIndex = entry.getKey();
 
                 if (faultsToInject.containsKey(distributedExecutionIndex)) {
@@ -145,16 +182,16 @@ public abstract class TestExecution {
     }
 
     public boolean wasFaultInjectedOnService(String serviceName) {
-        return wasFaultInjectedMatcher("module", serviceName);
+        return wasFaultInjectedMatcher(FilibusterInvocation::getModuleName, serviceName);
     }
 
     // Recombination of RPC is artifact of HTTP API.
     public boolean wasFaultInjectedOnMethod(String serviceName, String methodName) {
-        return wasFaultInjectedMatcher("method", serviceName + "/" + methodName);
+        return wasFaultInjectedMatcher(FilibusterInvocation::getMethodName, serviceName + "/" + methodName);
     }
 
     public boolean wasFaultInjectedOnMethodWhereRequestContains(String serviceName, String methodName, String contains) {
-        return wasFaultInjectedMatcher("method", serviceName + "/" + methodName, contains);
+        return wasFaultInjectedMatcher(FilibusterInvocation::getMethodName, serviceName + "/" + methodName, contains);
     }
 
     @SuppressWarnings("Varifier")
@@ -174,6 +211,108 @@ public abstract class TestExecution {
         return this.faultsToInject.entrySet().stream().allMatch(e -> e.getValue().similar(te.faultsToInject.get(e.getKey())));
     }
 
+    // Canonical, order-independent fingerprint of the faults to inject.
+    // Executions that match under matchesAbstractTestExecution share a fingerprint, so it can be used as a hash index.
+    public String getFaultsToInjectFingerprint() {
+        TreeMap<String, String> canonicalFaults = new TreeMap<>();
+
+        for (Map.Entry<DistributedExecutionIndex, JSONObject> entry : faultsToInject.entrySet()) {
+            canonicalFaults.put(entry.getKey().toString(), canonicalize(entry.getValue()));
+        }
+
+        StringBuilder fingerprint = new StringBuilder();
+
+        for (Map.Entry<String, String> entry : canonicalFaults.entrySet()) {
+            fingerprint.append(entry.getKey()).append("=").append(entry.getValue()).append(";");
+        }
+
+        return Hashing.createDigest(fingerprint.toString());
+    }
+
+    // Canonical, order-independent fingerprint of the faults to inject, identifying each RPC by its causal identity
+    // instead of its execution index.  Executions that only differ in which of a set of interchangeable concurrent RPCs
+    // their faults are injected on share a key, so it can be used for partial-order reduction of the search.
+    public String getPartialOrderReductionKey() {
+        TreeSet<String> canonicalFaults = new TreeSet<>();
+
+        for (Map.Entry<DistributedExecutionIndex, JSONObject> entry : faultsToInject.entrySet()) {
+            canonicalFaults.add(getCausalIdentity(entry.getKey()) + "=" + canonicalize(entry.getValue()));
+        }
+
+        StringBuilder key = new StringBuilder();
+
+        for (String canonicalFault : canonicalFaults) {
+            key.append(canonicalFault).append(";");
+        }
+
+        return Hashing.createDigest(key.toString());
+    }
+
+    // Identity of an RPC that does not depend on how it was interleaved with the RPCs concurrent with it.
+    // Without the happens-before order of the RPCs, that is only its execution index.
+    String getCausalIdentity(DistributedExecutionIndex distributedExecutionIndex) {
+        return distributedExecutionIndex.toString();
+    }
+
+    // Identity of an RPC that does not depend on the order it was issued in: the callsites of its execution index,
+    // without their counters, and what was invoked.
+    static String getInterleavingIndependentIdentity(DistributedExecutionIndex distributedExecutionIndex, FilibusterInvocation invocation) {
+        StringBuilder sb = new StringBuilder();
+
+        for (Map.Entry<String, Integer> entry : distributedExecutionIndex.getSerializedCallstack()) {
+            sb.append(entry.getKey()).append(",");
+        }
+
+        sb.append(invocation.getModuleName()).append(",");
+        sb.append(invocation.getMethodName()).append(",");
+        sb.append(canonicalize(invocation.getArguments()));
+        return sb.toString();
+    }
+
+    // Serialize with sorted keys and normalized numbers, so that similar JSON values produce the same string.
+    private static String canonicalize(@Nullable Object value) {
+        if (value == null || JSONObject.NULL.equals(value)) {
+            return "null";
+        } else if (value instanceof JSONObject) {
+            JSONObject jsonObject = (JSONObject) value;
+            StringBuilder sb = new StringBuilder("{");
+
+            for (String key : new TreeSet<>(jsonObject.keySet())) {
+                sb.append(JSONObject.quote(key)).append(":").append(canonicalize(jsonObject.opt(key))).append(",");
+            }
+
+            return sb.append("}").toString();
+        } else if (value instanceof JSONArray) {
+            StringBuilder sb = new StringBuilder("[");
+
+            for (Object element : (JSONArray) value) {
+                sb.append(canonicalize(element)).append(",");
+            }
+
+            return sb.append("]").toString();
+        } else if (value instanceof VectorClock) {
+            return canonicalize(new TreeMap<>(((VectorClock) value).toMap()));
+        } else if (value instanceof Map) {
+            StringBuilder sb = new StringBuilder("{");
+
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                sb.append(JSONObject.quote(entry.getKey().toString())).append(":").append(canonicalize(entry.getValue())).append(",");
+            }
+
+            return sb.append("}").toString();
+        } else if (value instanceof Number) {
+            try {
+                return new BigDecimal(value.toString()).stripTrailingZeros().toPlainString();
+            } catch (NumberFormatException e) {
+                return value.toString();
+            }
+        } else if (value instanceof Boolean) {
+            return value.toString();
+        } else {
+            return JSONObject.quote(value.toString());
+        }
+    }
+
     @Override
     @SuppressWarnings("Varifier")
     public boolean equals(Object o) {
@@ -188,7 +327,7 @@ public abstract class TestExecution {
             return false;
         }
 
-        // Are the JSON objects similar for each key?
+        // Are the invocations similar for each key?
         boolean equalRPCsMap = this.executedRPCs.entrySet().stream().allMatch(e -> e.getValue().similar(te.executedRPCs.get(e.getKey())));
 
         // Are the key sets equivalent?
@@ -207,27 +346,24 @@ public abstract class TestExecution {
         return Objects.hash(this.executedRPCs, this.faultsToInject);
     }
 
-    private boolean wasFaultInjectedMatcher(String searchField, String stringToFind) {
+    private boolean wasFaultInjectedMatcher(Function<FilibusterInvocation, String> searchField, String stringToFind) {
         return wasFaultInjectedMatcher(searchField, stringToFind, null);
     }
 
-    private boolean wasFaultInjectedMatcher(String searchField, String stringToFind, @Nullable String contains) {
-        for (Map.Entry<DistributedExecutionIndex, JSONObject> entry : executedRPCs.entrySet()) {
-            JSONObject jsonObject = entry.getValue();
+    private boolean wasFaultInjectedMatcher(Function<FilibusterInvocation, String> searchField, String stringToFind, @Nullable String contains) {
+        for (Map.Entry<DistributedExecutionIndex, FilibusterInvocation> entry : executedRPCs.entrySet()) {
+            FilibusterInvocation executedRPC = entry.getValue();
+            String field = searchField.apply(executedRPC);
 
-            if (jsonObject.has(searchField)) {
-                String field = jsonObject.getString(searchField);
-                if (field.contains(stringToFind)) {
-                    DistributedExecutionIndex distributedExecutionIndex = entry.getKey();
+            if (field.contains(stringToFind)) {
+                DistributedExecutionIndex distributedExecutionIndex = entry.getKey();
 
-                    if (faultsToInject.containsKey(distributedExecutionIndex)) {
-                        if (contains == null) {
+                if (faultsToInject.containsKey(distributedExecutionIndex)) {
+                    if (contains == null) {
+                        return true;
+                    } else {
+                        if (executedRPC.getArguments().getString("toString").contains(contains)) {
                             return true;
-                        } else {
-                            JSONObject executedRPCObject = entry.getValue();
-                            if (executedRPCObject.getJSONObject("args").getString("toString").contains(contains)) {
-                                return true;
-                            }
                         }
                     }
                 }
@@ -237,26 +373,41 @@ public abstract class TestExecution {
         return false;
     }
 
-    private static JSONObject cleanPayloadForCacheComparison(JSONObject payload) {
-        JSONObject jsonObject = new JSONObject(payload.toString());
-        jsonObject.remove("execution_index");
-        jsonObject.remove("vclock");
-        jsonObject.remove("instrumentation_type");
-        jsonObject.remove("full_traceback");
-        jsonObject.remove("callsite_file");
-        jsonObject.remove("callsite_line");
-        return jsonObject;
+    // Digest of what an RPC invoked, without the fields that identify where or when it was issued (its execution index,
+    // vector clock and callsite): invocations of the same method, with similar arguments, produce the same digest.
+    private static String normalizedInvocationDigest(FilibusterInvocation invocation) {
+        StringBuilder sb = new StringBuilder("{");
+        sb.append(canonicalize(invocation.getSourceServiceName())).append(",");
+        sb.append(canonicalize(invocation.getModuleName())).append(",");
+        sb.append(canonicalize(invocation.getMethodName())).append(",");
+        sb.append(canonicalize(invocation.getRpcType())).append(",");
+        sb.append(canonicalize(invocation.getArguments())).append(",");
+        sb.append(canonicalize(invocation.getPreliminaryExecutionIndex())).append(",");
+        sb.append(canonicalize(invocation.getOriginVectorClock() == null ? new VectorClock() : invocation.getOriginVectorClock())).append(",");
+        return Hashing.createDigest(sb.append("}").toString());
     }
 
-    private static JSONObject cleanPayloadOfInstrumentationType(JSONObject payload) {
-        JSONObject jsonObject = new JSONObject(payload.toString());
-        jsonObject.remove("instrumentation_type");
+    // Executed RPCs are reported without the instrumentation type of their payload.
+    static JSONObject toExecutedRPCObject(FilibusterInvocation invocation) {
+        JSONObject payload = invocation.toJSONObject();
+        JSONObject jsonObject = new JSONObject();
+
+        for (String key : payload.keySet()) {
+            if (!key.equals("instrumentation_type")) {
+                jsonObject.put(key, payload.opt(key));
+            }
+        }
+
         return jsonObject;
     }
 
-    private static JSONObject cleanPayloadOfArguments(JSONObject payload) {
-        JSONObject jsonObject = new JSONObject(payload.toString());
-        jsonObject.remove("args");
-        return jsonObject;
+    static HashMap<DistributedExecutionIndex, JSONObject> toExecutedRPCObjects(Map<DistributedExecutionIndex, FilibusterInvocation> invocations) {
+        HashMap<DistributedExecutionIndex, JSONObject> executedRPCObjects = new HashMap<>();
+
+        for (Map.Entry<DistributedExecutionIndex, FilibusterInvocation> entry : invocations.entrySet()) {
+            executedRPCObjects.put(entry.getKey(), toExecutedRPCObject(entry.getValue()));
+        }
+
+        return executedRPCObjects;
     }
 }
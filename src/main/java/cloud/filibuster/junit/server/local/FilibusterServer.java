@@ -2,25 +2,44 @@ package cloud.filibuster.junit.server.local;
 
 import cloud.filibuster.instrumentation.helpers.Networking;
 import cloud.filibuster.junit.server.core.FilibusterCore;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationResponse;
+import cloud.filibuster.junit.server.protocol.FilibusterProtocolDecoder;
+import cloud.filibuster.protocol.FilibusterProtocol;
+import com.google.protobuf.InvalidProtocolBufferException;
 import com.linecorp.armeria.common.AggregatedHttpRequest;
 import com.linecorp.armeria.common.HttpRequest;
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
 import com.linecorp.armeria.server.AbstractHttpService;
 import com.linecorp.armeria.server.Server;
 import com.linecorp.armeria.server.ServerBuilder;
 import com.linecorp.armeria.server.ServiceRequestContext;
 import com.linecorp.armeria.server.annotation.ConsumesJson;
+import com.linecorp.armeria.server.annotation.Default;
 import com.linecorp.armeria.server.annotation.Get;
 import com.linecorp.armeria.server.annotation.Param;
 import com.linecorp.armeria.server.annotation.Post;
 import com.linecorp.armeria.server.annotation.ProducesJson;
 import com.linecorp.armeria.server.annotation.Put;
 import org.jetbrains.annotations.NotNull;
+import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @SuppressWarnings("Varifier")
 public class FilibusterServer {
+    // String dictionaries of the instrumentation sessions using the binary protocol.
+    private static final FilibusterProtocolDecoder protocolDecoder = new FilibusterProtocolDecoder();
+
+    private static HttpResponse protobufResponse(byte[] body) {
+        return HttpResponse.of(HttpStatus.OK, MediaType.PROTOBUF, body);
+    }
+
     public static Server serve() {
         ServerBuilder sb = Server.builder();
         sb.http(Networking.getFilibusterPort());
@@ -49,6 +68,37 @@ public class FilibusterServer {
             }
         });
 
+        sb.annotatedService(new Object() {
+            @Put("/filibuster/begin")
+            @ProducesJson
+            @ConsumesJson
+            public HttpResponse begin(AggregatedHttpRequest request, @Param("clock_epoch") @Default("-1") int clockEpoch) {
+                JSONObject payload = new JSONObject(request.contentUtf8());
+                JSONObject response = FilibusterCore.getCurrentInstance().beginInvocationUnlessNewTestExecution(payload, clockEpoch);
+                return HttpResponse.of(response.toString());
+            }
+        });
+
+        sb.annotatedService(new Object() {
+            @Post("/filibuster/update-batch")
+            @ProducesJson
+            @ConsumesJson
+            public HttpResponse updateBatch(AggregatedHttpRequest request) {
+                JSONArray payloads = new JSONArray(request.contentUtf8());
+                List<FilibusterInvocationComplete> invocationCompletes = new ArrayList<>();
+
+                for (int i = 0; i < payloads.length(); i++) {
+                    invocationCompletes.add(FilibusterInvocationComplete.fromJSONObject(payloads.getJSONObject(i)));
+                }
+
+                FilibusterCore.getCurrentInstance().endInvocations(invocationCompletes);
+
+                JSONObject response = new JSONObject();
+                response.put("count", invocationCompletes.size());
+                return HttpResponse.of(response.toString());
+            }
+        });
+
         sb.annotatedService(new Object() {
             @Get("/filibuster/new-test-execution/{service_name}")
             @ProducesJson
@@ -60,6 +110,69 @@ public class FilibusterServer {
             }
         });
 
+        // RPC hooks, binary protocol.
+
+        sb.annotatedService(new Object() {
+            @Post("/filibuster/protocol/create")
+            public HttpResponse create(AggregatedHttpRequest request) throws InvalidProtocolBufferException {
+                FilibusterProtocol.Invocation encodedInvocation = FilibusterProtocol.Invocation.parseFrom(request.content().array());
+                FilibusterInvocation invocation = protocolDecoder.decodeInvocation(encodedInvocation);
+
+                if (invocation == null) {
+                    return protobufResponse(FilibusterProtocolDecoder.encodeUnknownDefinitions().toByteArray());
+                }
+
+                FilibusterInvocationResponse response;
+
+                if (encodedInvocation.getResetClocksIfNewTestExecution()) {
+                    response = FilibusterCore.getCurrentInstance().beginInvocationUnlessNewTestExecution(invocation, encodedInvocation.getClockEpoch());
+                } else {
+                    response = FilibusterCore.getCurrentInstance().beginInvocation(invocation);
+                }
+
+                return protobufResponse(FilibusterProtocolDecoder.encodeInvocationResponse(response).toByteArray());
+            }
+        });
+
+        sb.annotatedService(new Object() {
+            @Post("/filibuster/protocol/update")
+            public HttpResponse update(AggregatedHttpRequest request) throws InvalidProtocolBufferException {
+                FilibusterInvocationComplete invocationComplete = protocolDecoder.decodeInvocationComplete(FilibusterProtocol.InvocationComplete.parseFrom(request.content().array()));
+
+                if (invocationComplete != null) {
+                    FilibusterCore.getCurrentInstance().endInvocation(invocationComplete);
+                }
+
+                return protobufResponse(FilibusterProtocol.InvocationCompleteResponse.newBuilder()
+                        .setUnknownDefinitions(invocationComplete == null)
+                        .build().toByteArray());
+            }
+        });
+
+        sb.annotatedService(new Object() {
+            @Post("/filibuster/protocol/update-batch")
+            public HttpResponse updateBatch(AggregatedHttpRequest request) throws InvalidProtocolBufferException {
+                List<FilibusterInvocationComplete> invocationCompletes = protocolDecoder.decodeInvocationCompletes(FilibusterProtocol.InvocationCompleteBatch.parseFrom(request.content().array()));
+
+                if (invocationCompletes != null) {
+                    FilibusterCore.getCurrentInstance().endInvocations(invocationCompletes);
+                }
+
+                return protobufResponse(FilibusterProtocol.InvocationCompleteResponse.newBuilder()
+                        .setUnknownDefinitions(invocationCompletes == null)
+                        .build().toByteArray());
+            }
+        });
+
+        sb.annotatedService(new Object() {
+            @Get("/filibuster/protocol/new-test-execution/{service_name}")
+            public HttpResponse newTestExecution(@Param("service_name") String serviceName) {
+                return protobufResponse(FilibusterProtocol.NewTestExecutionResponse.newBuilder()
+                        .setNewTestExecution(FilibusterCore.getCurrentInstance().isNewTestExecution(serviceName))
+                        .build().toByteArray());
+            }
+        });
+
         // Configuration.
 
         sb.annotatedService(new Object() {
@@ -145,6 +258,9 @@ public class FilibusterServer {
             @ConsumesJson
             public HttpResponse terminate() {
                 FilibusterCore.getCurrentInstance().terminateFilibuster();
+
+                // Sessions do not end explicitly; ones that outlive the test define their ids again.
+                protocolDecoder.clear();
                 return HttpResponse.of(HttpStatus.OK);
             }
         });
@@ -0,0 +1,212 @@
+package cloud.filibuster.junit.server.protocol;
+
+import cloud.filibuster.dei.DistributedExecutionIndexBase;
+import cloud.filibuster.exceptions.filibuster.FilibusterFaultInjectionException;
+import cloud.filibuster.instrumentation.datatypes.Pair;
+import cloud.filibuster.instrumentation.datatypes.VectorClock;
+import cloud.filibuster.junit.server.core.invocations.FilibusterFault;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationResponse;
+import cloud.filibuster.protocol.FilibusterProtocol;
+import org.json.JSONObject;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server side of the binary protocol: decodes invocations using the string dictionary of each session.
+ *
+ * Safe for concurrent use.
+ */
+public class FilibusterProtocolDecoder {
+    // Session id => (id => value).
+    private final ConcurrentHashMap<String, ConcurrentHashMap<Integer, String>> dictionariesBySession = new ConcurrentHashMap<>();
+
+    // Lookups for a single message, remembering whether any id was unknown.
+    private static final class MessageDictionary {
+        private final ConcurrentHashMap<Integer, String> dictionary;
+
+        private boolean hasUnknownDefinitions = false;
+
+        MessageDictionary(ConcurrentHashMap<Integer, String> dictionary, List<FilibusterProtocol.Definition> definitions) {
+            this.dictionary = dictionary;
+
+            for (FilibusterProtocol.Definition definition : definitions) {
+                dictionary.put(definition.getId(), definition.getValue());
+            }
+        }
+
+        @Nullable
+        String decode(int id) {
+            if (id == 0) {
+                return null;
+            }
+
+            String value = dictionary.get(id);
+
+            if (value == null) {
+                hasUnknownDefinitions = true;
+                return "";
+            }
+
+            return value;
+        }
+
+        String decode(FilibusterProtocol.ExecutionIndex executionIndex) {
+            List<Map.Entry<String, Integer>> serializedCallstack = new ArrayList<>();
+
+            for (FilibusterProtocol.ExecutionIndexEntry entry : executionIndex.getEntriesList()) {
+                serializedCallstack.add(Pair.of(decode(entry.getKey()), entry.getCount()));
+            }
+
+            return DistributedExecutionIndexBase.serializeCallstack(serializedCallstack);
+        }
+    }
+
+    /**
+     * Forget the string dictionaries of every session, e.g., once a test is done.  Sessions that are still in use
+     * are told their ids are unknown and define them again.
+     */
+    public void clear() {
+        dictionariesBySession.clear();
+    }
+
+    private MessageDictionary createMessageDictionary(String sessionId, List<FilibusterProtocol.Definition> definitions) {
+        return new MessageDictionary(dictionariesBySession.computeIfAbsent(sessionId, k -> new ConcurrentHashMap<>()), definitions);
+    }
+
+    /**
+     * Decode an invocation.
+     *
+     * @param invocation the encoded invocation.
+     * @return the invocation, or null if it references ids the session has not defined.
+     */
+    @Nullable
+    public FilibusterInvocation decodeInvocation(FilibusterProtocol.Invocation invocation) {
+        MessageDictionary messageDictionary = createMessageDictionary(invocation.getSessionId(), invocation.getDefinitionsList());
+
+        JSONObject arguments = invocation.getArgs().isEmpty() ? new JSONObject() : new JSONObject(invocation.getArgs());
+
+        FilibusterInvocation.Builder builder = new FilibusterInvocation.Builder()
+                .sourceServiceName(messageDictionary.decode(invocation.getSourceServiceName()))
+                .moduleName(messageDictionary.decode(invocation.getModule()))
+                .methodName(messageDictionary.decode(invocation.getMethod()))
+                .rpcType(messageDictionary.decode(invocation.getRpcType()))
+                .arguments(arguments)
+                .callsite(messageDictionary.decode(invocation.getCallsiteFile()), invocation.getCallsiteLine(), messageDictionary.decode(invocation.getFullTraceback()))
+                .vectorClock(VectorClock.fromMap(invocation.getVclockMap()))
+                .originVectorClock(VectorClock.fromMap(invocation.getOriginVclockMap()))
+                .executionIndex(messageDictionary.decode(invocation.getExecutionIndex()));
+
+        if (invocation.hasPreliminaryExecutionIndex()) {
+            builder.preliminaryExecutionIndex(messageDictionary.decode(invocation.getPreliminaryExecutionIndex()));
+        }
+
+        if (messageDictionary.hasUnknownDefinitions) {
+            return null;
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Decode a completed invocation.
+     *
+     * @param invocationComplete the encoded completed invocation.
+     * @return the completed invocation, or null if it references ids the session has not defined.
+     */
+    @Nullable
+    public FilibusterInvocationComplete decodeInvocationComplete(FilibusterProtocol.InvocationComplete invocationComplete) {
+        MessageDictionary messageDictionary = createMessageDictionary(invocationComplete.getSessionId(), invocationComplete.getDefinitionsList());
+
+        FilibusterInvocationComplete.Builder builder = new FilibusterInvocationComplete.Builder()
+                .generatedId(invocationComplete.getGeneratedId())
+                .executionIndex(messageDictionary.decode(invocationComplete.getExecutionIndex()))
+                .vectorClock(VectorClock.fromMap(invocationComplete.getVclockMap()));
+
+        if (invocationComplete.hasPreliminaryExecutionIndex()) {
+            builder.preliminaryExecutionIndex(messageDictionary.decode(invocationComplete.getPreliminaryExecutionIndex()));
+        }
+
+        if (!invocationComplete.getException().isEmpty()) {
+            builder.exception(new JSONObject(invocationComplete.getException()));
+        } else if (!invocationComplete.getReturnValue().isEmpty()) {
+            builder.returnValue(new JSONObject(invocationComplete.getReturnValue()));
+        }
+
+        if (messageDictionary.hasUnknownDefinitions) {
+            return null;
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Decode completed invocations coalesced by the instrumentation.
+     *
+     * @param invocationCompleteBatch the encoded batch.
+     * @return the completed invocations, in order, or null if any references ids the session has not defined.
+     */
+    @Nullable
+    public List<FilibusterInvocationComplete> decodeInvocationCompletes(FilibusterProtocol.InvocationCompleteBatch invocationCompleteBatch) {
+        List<FilibusterInvocationComplete> invocationCompletes = new ArrayList<>();
+
+        for (FilibusterProtocol.InvocationComplete encodedInvocationComplete : invocationCompleteBatch.getInvocationCompletesList()) {
+            FilibusterInvocationComplete invocationComplete = decodeInvocationComplete(encodedInvocationComplete);
+
+            if (invocationComplete == null) {
+                return null;
+            }
+
+            invocationCompletes.add(invocationComplete);
+        }
+
+        return invocationCompletes;
+    }
+
+    /**
+     * Encode the answer to an invocation.
+     *
+     * @param invocationResponse the response.
+     * @return the encoded response.
+     */
+    public static FilibusterProtocol.InvocationResponse encodeInvocationResponse(FilibusterInvocationResponse invocationResponse) {
+        if (invocationResponse.shouldResetClocks()) {
+            return FilibusterProtocol.InvocationResponse.newBuilder().setResetClocks(true).build();
+        }
+
+        FilibusterProtocol.InvocationResponse.Builder builder = FilibusterProtocol.InvocationResponse.newBuilder()
+                .setGeneratedId(invocationResponse.getGeneratedId())
+                .setLatencyMilliseconds(invocationResponse.getLatencyMilliseconds());
+
+        FilibusterFault fault = invocationResponse.getFault();
+
+        if (fault != null) {
+            switch (fault.getKind()) {
+                case FORCED_EXCEPTION:
+                    builder.setFaultKind(FilibusterProtocol.FaultKind.FORCED_EXCEPTION);
+                    break;
+                case FAILURE_METADATA:
+                    builder.setFaultKind(FilibusterProtocol.FaultKind.FAILURE_METADATA);
+                    break;
+                case BYZANTINE_FAULT:
+                    builder.setFaultKind(FilibusterProtocol.FaultKind.BYZANTINE_FAULT);
+                    break;
+                default:
+                    throw new FilibusterFaultInjectionException("Latency is not returned as a fault: " + fault);
+            }
+
+            builder.setFaultConfiguration(fault.getConfiguration().toString());
+        }
+
+        return builder.build();
+    }
+
+    public static FilibusterProtocol.InvocationResponse encodeUnknownDefinitions() {
+        return FilibusterProtocol.InvocationResponse.newBuilder().setUnknownDefinitions(true).build();
+    }
+}
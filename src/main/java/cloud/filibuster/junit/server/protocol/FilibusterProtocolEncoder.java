@@ -0,0 +1,242 @@
+package cloud.filibuster.junit.server.protocol;
+
+import cloud.filibuster.dei.DistributedExecutionIndex;
+import cloud.filibuster.dei.implementations.DistributedExecutionIndexV1;
+import cloud.filibuster.instrumentation.datatypes.VectorClock;
+import cloud.filibuster.junit.server.core.invocations.FilibusterFault;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationResponse;
+import cloud.filibuster.protocol.FilibusterProtocol;
+import org.json.JSONObject;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Instrumentation side of the binary protocol: encodes invocations against a per-session string dictionary.
+ *
+ * Safe for concurrent use.
+ */
+public class FilibusterProtocolEncoder {
+    private final String sessionId = UUID.randomUUID().toString();
+
+    private final ConcurrentHashMap<String, Integer> idsByValue = new ConcurrentHashMap<>();
+
+    // Id 0 means absent.
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    // Ids used by a single message, and the definitions it has to carry.
+    private final class MessageDefinitions {
+        // Define every referenced id, not only the ones first used by this message.
+        private final boolean defineAll;
+
+        private final Set<Integer> referencedIds = new HashSet<>();
+
+        private final List<FilibusterProtocol.Definition> definitions = new ArrayList<>();
+
+        MessageDefinitions(boolean defineAll) {
+            this.defineAll = defineAll;
+        }
+
+        int encode(@Nullable String value) {
+            if (value == null) {
+                return 0;
+            }
+
+            Integer id = idsByValue.get(value);
+            boolean isNew = false;
+
+            if (id == null) {
+                int newId = nextId.getAndIncrement();
+                Integer existingId = idsByValue.putIfAbsent(value, newId);
+                isNew = existingId == null;
+                id = isNew ? newId : existingId;
+            }
+
+            if (referencedIds.add(id) && (isNew || defineAll)) {
+                definitions.add(FilibusterProtocol.Definition.newBuilder().setId(id).setValue(value).build());
+            }
+
+            return id;
+        }
+
+        FilibusterProtocol.ExecutionIndex encode(DistributedExecutionIndex distributedExecutionIndex) {
+            FilibusterProtocol.ExecutionIndex.Builder builder = FilibusterProtocol.ExecutionIndex.newBuilder();
+
+            for (Map.Entry<String, Integer> entry : distributedExecutionIndex.getSerializedCallstack()) {
+                builder.addEntries(FilibusterProtocol.ExecutionIndexEntry.newBuilder()
+                        .setKey(encode(entry.getKey()))
+                        .setCount(entry.getValue()));
+            }
+
+            return builder.build();
+        }
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Encode an invocation built by the instrumentation.
+     *
+     * @param invocation the invocation.
+     * @param defineAll whether to define every string used, for resending after the server reported unknown ids.
+     * @return the encoded invocation.
+     */
+    public FilibusterProtocol.Invocation encodeInvocation(FilibusterInvocation invocation, boolean defineAll) {
+        return encodeInvocation(invocation, defineAll, false, 0);
+    }
+
+    /**
+     * Encode an invocation built by the instrumentation.
+     *
+     * @param invocation the invocation.
+     * @param defineAll whether to define every string used, for resending after the server reported unknown ids.
+     * @param resetClocksIfNewTestExecution whether this is a combined begin, also deciding if the clocks should be reset.
+     * @param clockEpoch for a combined begin, the clock epoch of the invoking service when the clocks were computed.
+     * @return the encoded invocation.
+     */
+    public FilibusterProtocol.Invocation encodeInvocation(FilibusterInvocation invocation, boolean defineAll, boolean resetClocksIfNewTestExecution, int clockEpoch) {
+        MessageDefinitions messageDefinitions = new MessageDefinitions(defineAll);
+
+        FilibusterProtocol.Invocation.Builder builder = FilibusterProtocol.Invocation.newBuilder()
+                .setSessionId(sessionId)
+                .setResetClocksIfNewTestExecution(resetClocksIfNewTestExecution)
+                .setClockEpoch(clockEpoch)
+                .setSourceServiceName(messageDefinitions.encode(invocation.getSourceServiceName()))
+                .setModule(messageDefinitions.encode(invocation.getModuleName()))
+                .setMethod(messageDefinitions.encode(invocation.getMethodName()))
+                .setRpcType(messageDefinitions.encode(invocation.getRpcType()))
+                .setCallsiteFile(messageDefinitions.encode(invocation.getCallsiteFile()))
+                .setFullTraceback(messageDefinitions.encode(invocation.getFullTraceback()))
+                .setExecutionIndex(messageDefinitions.encode(invocation.getDistributedExecutionIndex()));
+
+        if (invocation.getCallsiteLine() != null) {
+            builder.setCallsiteLine(invocation.getCallsiteLine());
+        }
+
+        JSONObject arguments = invocation.getArguments();
+
+        if (arguments != null) {
+            builder.setArgs(arguments.toString());
+        }
+
+        VectorClock vectorClock = invocation.getVectorClock();
+
+        if (vectorClock != null) {
+            builder.putAllVclock(vectorClock.toMap());
+        }
+
+        VectorClock originVectorClock = invocation.getOriginVectorClock();
+
+        if (originVectorClock != null) {
+            builder.putAllOriginVclock(originVectorClock.toMap());
+        }
+
+        String preliminaryExecutionIndex = invocation.getPreliminaryExecutionIndex();
+
+        if (preliminaryExecutionIndex != null) {
+            builder.setPreliminaryExecutionIndex(messageDefinitions.encode(new DistributedExecutionIndexV1().deserialize(preliminaryExecutionIndex)));
+        }
+
+        return builder.addAllDefinitions(messageDefinitions.definitions).build();
+    }
+
+    /**
+     * Encode a completed invocation built by the instrumentation.
+     *
+     * @param invocationComplete the completed invocation.
+     * @param defineAll whether to define every string used, for resending after the server reported unknown ids.
+     * @return the encoded completed invocation.
+     */
+    public FilibusterProtocol.InvocationComplete encodeInvocationComplete(FilibusterInvocationComplete invocationComplete, boolean defineAll) {
+        MessageDefinitions messageDefinitions = new MessageDefinitions(defineAll);
+
+        FilibusterProtocol.InvocationComplete.Builder builder = FilibusterProtocol.InvocationComplete.newBuilder()
+                .setSessionId(sessionId)
+                .setGeneratedId(invocationComplete.getGeneratedId())
+                .setExecutionIndex(messageDefinitions.encode(invocationComplete.getDistributedExecutionIndex()));
+
+        String preliminaryExecutionIndex = invocationComplete.getPreliminaryExecutionIndex();
+
+        if (preliminaryExecutionIndex != null) {
+            builder.setPreliminaryExecutionIndex(messageDefinitions.encode(new DistributedExecutionIndexV1().deserialize(preliminaryExecutionIndex)));
+        }
+
+        VectorClock vectorClock = invocationComplete.getVectorClock();
+
+        if (vectorClock != null) {
+            builder.putAllVclock(vectorClock.toMap());
+        }
+
+        JSONObject exception = invocationComplete.getException();
+
+        if (exception != null) {
+            builder.setException(exception.toString());
+        }
+
+        JSONObject returnValue = invocationComplete.getReturnValue();
+
+        if (returnValue != null) {
+            builder.setReturnValue(returnValue.toString());
+        }
+
+        return builder.addAllDefinitions(messageDefinitions.definitions).build();
+    }
+
+    /**
+     * Encode completed invocations coalesced by the instrumentation.
+     *
+     * @param invocationCompletes the completed invocations, in order.
+     * @param defineAll whether to define every string used, for resending after the server reported unknown ids.
+     * @return the encoded batch.
+     */
+    public FilibusterProtocol.InvocationCompleteBatch encodeInvocationCompletes(List<FilibusterInvocationComplete> invocationCompletes, boolean defineAll) {
+        FilibusterProtocol.InvocationCompleteBatch.Builder builder = FilibusterProtocol.InvocationCompleteBatch.newBuilder();
+
+        for (FilibusterInvocationComplete invocationComplete : invocationCompletes) {
+            builder.addInvocationCompletes(encodeInvocationComplete(invocationComplete, defineAll));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Decode the server's answer to an invocation.
+     *
+     * @param invocationResponse response, which must not report unknown definitions.
+     * @return the response.
+     */
+    public static FilibusterInvocationResponse decodeInvocationResponse(FilibusterProtocol.InvocationResponse invocationResponse) {
+        FilibusterFault fault = null;
+
+        switch (invocationResponse.getFaultKind()) {
+            case FORCED_EXCEPTION:
+                fault = new FilibusterFault(FilibusterFault.Kind.FORCED_EXCEPTION, new JSONObject(invocationResponse.getFaultConfiguration()));
+                break;
+            case FAILURE_METADATA:
+                fault = new FilibusterFault(FilibusterFault.Kind.FAILURE_METADATA, new JSONObject(invocationResponse.getFaultConfiguration()));
+                break;
+            case BYZANTINE_FAULT:
+                fault = new FilibusterFault(FilibusterFault.Kind.BYZANTINE_FAULT, new JSONObject(invocationResponse.getFaultConfiguration()));
+                break;
+            default:
+                break;
+        }
+
+        if (invocationResponse.getResetClocks()) {
+            return FilibusterInvocationResponse.resetClocks();
+        }
+
+        return new FilibusterInvocationResponse(invocationResponse.getGeneratedId(), fault, invocationResponse.getLatencyMilliseconds());
+    }
+}
@@ -7,6 +7,7 @@ import cloud.filibuster.exceptions.CircuitBreakerException;
 import cloud.filibuster.integration.instrumentation.TestHelper;
 import cloud.filibuster.instrumentation.helpers.Networking;
 import cloud.filibuster.instrumentation.libraries.grpc.FilibusterClientInterceptor;
+import cloud.filibuster.instrumentation.storage.ContextPropagation;
 import cloud.filibuster.integration.instrumentation.libraries.opentelemetry.OpenTelemetryFilibusterClientInterceptor;
 import com.linecorp.armeria.client.grpc.GrpcClientBuilder;
 import io.grpc.Channel;
@@ -22,6 +23,7 @@ import java.util.ArrayList;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -154,12 +156,13 @@ public class MyHelloService extends HelloServiceGrpc.HelloServiceImplBase {
 
     @SuppressWarnings("MethodCanBeStatic")
     private CompletableFuture<String> performAsyncWorldRequest(Channel channel, String name) {
-        CompletableFuture<String> future = CompletableFuture.supplyAsync(() -> {
+        Supplier<String> worldRequest = () -> {
             WorldServiceGrpc.WorldServiceBlockingStub blockingStub = WorldServiceGrpc.newBlockingStub(channel);
             Hello.WorldRequest request = Hello.WorldRequest.newBuilder().setName(name).build();
             Hello.WorldReply worldReply = blockingStub.world(request);
             return worldReply.getMessage();
-        });
+        };
+        CompletableFuture<String> future = CompletableFuture.supplyAsync(ContextPropagation.wrap(worldRequest));
 
         return future;
     }
@@ -510,12 +513,13 @@ public class MyHelloService extends HelloServiceGrpc.HelloServiceImplBase {
     }
 
     private static CompletableFuture<String> performAsyncWorldUnimplementedRequest(Channel channel, String name) {
-        CompletableFuture<String> future = CompletableFuture.supplyAsync(() -> {
+        Supplier<String> worldUnimplementedRequest = () -> {
             WorldServiceGrpc.WorldServiceBlockingStub blockingStub = WorldServiceGrpc.newBlockingStub(channel);
             Hello.WorldRequest request = Hello.WorldRequest.newBuilder().setName(name).build();
             Hello.WorldReply worldReply = blockingStub.worldUnimplemented(request);
             return worldReply.getMessage();
-        });
+        };
+        CompletableFuture<String> future = CompletableFuture.supplyAsync(ContextPropagation.wrap(worldUnimplementedRequest));
 
         return future;
     }
@@ -609,12 +613,13 @@ public class MyHelloService extends HelloServiceGrpc.HelloServiceImplBase {
     }
 
     private static CompletableFuture<String> performAsyncWorldRandomRequest(Channel channel, String name) {
-        CompletableFuture<String> future = CompletableFuture.supplyAsync(() -> {
+        Supplier<String> worldRandomRequest = () -> {
             WorldServiceGrpc.WorldServiceBlockingStub blockingStub = WorldServiceGrpc.newBlockingStub(channel);
             Hello.WorldRequest request = Hello.WorldRequest.newBuilder().setName(name).build();
             Hello.WorldReply worldReply = blockingStub.worldRandom(request);
             return worldReply.getMessage();
-        });
+        };
+        CompletableFuture<String> future = CompletableFuture.supplyAsync(ContextPropagation.wrap(worldRandomRequest));
 
         return future;
     }
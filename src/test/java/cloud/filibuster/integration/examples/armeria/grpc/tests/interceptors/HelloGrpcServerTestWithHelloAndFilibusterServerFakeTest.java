@@ -6,6 +6,7 @@ import cloud.filibuster.integration.examples.armeria.grpc.test_services.MyHelloS
 import cloud.filibuster.integration.instrumentation.FilibusterServerFake;
 import cloud.filibuster.instrumentation.datatypes.VectorClock;
 import cloud.filibuster.instrumentation.helpers.Networking;
+import cloud.filibuster.instrumentation.helpers.Property;
 import cloud.filibuster.instrumentation.libraries.grpc.FilibusterClientInterceptor;
 import cloud.filibuster.instrumentation.libraries.grpc.FilibusterServerInterceptor;
 
@@ -15,6 +16,7 @@ import io.grpc.ClientInterceptor;
 import io.grpc.ClientInterceptors;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 
 import org.json.JSONObject;
@@ -72,6 +74,8 @@ public class HelloGrpcServerTestWithHelloAndFilibusterServerFakeTest extends Hel
         FilibusterServerFake.shouldInjectExceptionFault = false;
         FilibusterServerFake.grpcExceptionType = false;
         FilibusterServerFake.shouldNotAbort = false;
+        FilibusterServerFake.shouldReturnNotFounds = false;
+        FilibusterServerFake.skipExceptionMetadataKey = false;
         FilibusterServerFake.resetAdditionalExceptionMetadata();
     }
 
@@ -295,4 +299,58 @@ public class HelloGrpcServerTestWithHelloAndFilibusterServerFakeTest extends Hel
         FilibusterServerFake.grpcExceptionType = false;
         FilibusterServerFake.resetAdditionalExceptionMetadata();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test hello server grpc route with asynchronous instrumentation and Filibuster server failing.")
+    public void testMyHelloServiceWithAsynchronousInstrumentationAndFilibusterServerFailing() {
+        HelloServer.setupLocalFixtures();
+
+        FilibusterClientInterceptor.disableInstrumentation = false;
+        FilibusterServerInterceptor.disableInstrumentation = false;
+        FilibusterServerFake.shouldReturnNotFounds = true;
+        Property.setInstrumentationAsyncEnabledProperty(true);
+
+        try {
+            // Without an answer from the server, the call proceeds without faults.
+            HelloServiceGrpc.HelloServiceBlockingStub blockingStub = HelloServiceGrpc.newBlockingStub(channel);
+            Hello.HelloRequest request = Hello.HelloRequest.newBuilder().setName("Armerian World").build();
+            Hello.HelloReply reply = blockingStub.hello(request);
+            assertEquals("Hello, Armerian World!!", reply.getMessage());
+        } finally {
+            Property.setInstrumentationAsyncEnabledProperty(false);
+            FilibusterServerFake.shouldReturnNotFounds = false;
+            FilibusterClientInterceptor.disableInstrumentation = true;
+            FilibusterServerInterceptor.disableInstrumentation = true;
+        }
+    }
+
+    @Test
+    @DisplayName("Test hello server grpc route with asynchronous instrumentation and a fault that cannot be injected.")
+    public void testMyHelloServiceWithAsynchronousInstrumentationAndMalformedFault() {
+        HelloServer.setupLocalFixtures();
+
+        FilibusterClientInterceptor.disableInstrumentation = false;
+        FilibusterServerInterceptor.disableInstrumentation = false;
+        FilibusterServerFake.shouldInjectExceptionFault = true;
+        FilibusterServerFake.grpcExceptionType = true;
+        FilibusterServerFake.skipExceptionMetadataKey = true;
+        Property.setInstrumentationAsyncEnabledProperty(true);
+
+        try {
+            // The call is closed with an error instead of waiting forever.
+            StatusRuntimeException re = assertThrows(StatusRuntimeException.class, () -> {
+                HelloServiceGrpc.HelloServiceBlockingStub blockingStub = HelloServiceGrpc.newBlockingStub(channel);
+                Hello.HelloRequest request = Hello.HelloRequest.newBuilder().setName("Armerian World").build();
+                blockingStub.hello(request);
+            });
+            assertEquals(Status.Code.INTERNAL, re.getStatus().getCode());
+        } finally {
+            Property.setInstrumentationAsyncEnabledProperty(false);
+            FilibusterServerFake.shouldInjectExceptionFault = false;
+            FilibusterServerFake.grpcExceptionType = false;
+            FilibusterServerFake.skipExceptionMetadataKey = false;
+            FilibusterClientInterceptor.disableInstrumentation = true;
+            FilibusterServerInterceptor.disableInstrumentation = true;
+        }
+    }
+}
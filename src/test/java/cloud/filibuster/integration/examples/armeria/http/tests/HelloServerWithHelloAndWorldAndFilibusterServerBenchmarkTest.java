@@ -0,0 +1,182 @@
+package cloud.filibuster.integration.examples.armeria.http.tests;
+
+import cloud.filibuster.dei.DistributedExecutionIndex;
+import cloud.filibuster.instrumentation.helpers.Networking;
+import cloud.filibuster.instrumentation.instrumentors.FilibusterInvocationCompleteBatcher;
+import cloud.filibuster.instrumentation.libraries.armeria.http.FilibusterDecoratingHttpClient;
+import cloud.filibuster.instrumentation.libraries.armeria.http.FilibusterDecoratingHttpService;
+import cloud.filibuster.integration.instrumentation.TestHelper;
+import cloud.filibuster.junit.FilibusterSearchStrategy;
+import cloud.filibuster.junit.configuration.FilibusterConfiguration;
+import cloud.filibuster.junit.server.FilibusterServerAPI;
+import cloud.filibuster.junit.server.core.FilibusterCore;
+import cloud.filibuster.junit.server.local.FilibusterServer;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.server.Server;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static cloud.filibuster.instrumentation.helpers.Property.setServerBackendCanInvokeDirectlyProperty;
+import static cloud.filibuster.instrumentation.helpers.Property.setServerProtocolBatchedEndProperty;
+import static cloud.filibuster.instrumentation.helpers.Property.setServerProtocolCombinedBeginProperty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the hello server's world route against the Filibuster server, out of process as far as the instrumentation is
+ * concerned: every RPC goes to the server over HTTP.
+ */
+public class HelloServerWithHelloAndWorldAndFilibusterServerBenchmarkTest extends HelloServerTest {
+    private static final Logger logger = Logger.getLogger(HelloServerWithHelloAndWorldAndFilibusterServerBenchmarkTest.class.getName());
+
+    private static final int WARMUP_REQUESTS = 50;
+
+    private static final int BENCHMARK_REQUESTS = 500;
+
+    private static final int CONCURRENT_REQUESTS = 8;
+
+    private static Server filibusterServer;
+
+    @BeforeAll
+    public static void startServices() throws IOException, InterruptedException {
+        startHelloServer();
+        startWorldServer();
+        startExternalServer();
+
+        filibusterServer = FilibusterServer.serve();
+        filibusterServer.start().join();
+
+        // Earlier tests may have run against a server without the combined begin or batched ends.
+        FilibusterServerAPI.resetUnsupportedProtocol();
+    }
+
+    @AfterAll
+    public static void stopServices() throws InterruptedException {
+        filibusterServer.stop().join();
+
+        stopHelloServer();
+        stopWorldServer();
+        stopExternalServer();
+    }
+
+    @BeforeEach
+    public void enableFilibuster() {
+        FilibusterDecoratingHttpClient.disableInstrumentation = false;
+        FilibusterDecoratingHttpService.disableInstrumentation = false;
+        setServerBackendCanInvokeDirectlyProperty(false);
+    }
+
+    @AfterEach
+    public void resetProtocol() {
+        setServerProtocolCombinedBeginProperty(true);
+        setServerProtocolBatchedEndProperty(false);
+    }
+
+    // Start a new test execution, as a test with Filibuster does.
+    private static FilibusterCore startTestExecution(String testName) {
+        FilibusterConfiguration filibusterConfiguration = new FilibusterConfiguration.Builder()
+                .searchStrategy(FilibusterSearchStrategy.DFS)
+                .testName(testName)
+                .className(HelloServerWithHelloAndWorldAndFilibusterServerBenchmarkTest.class.getName())
+                .build();
+        return new FilibusterCore(filibusterConfiguration);
+    }
+
+    private static String requestWorld() {
+        String baseURI = "http://" + Networking.getHost("hello") + ":" + Networking.getPort("hello") + "/";
+        WebClient webClient = TestHelper.getTestWebClient(baseURI);
+        RequestHeaders getHeaders = RequestHeaders.of(HttpMethod.GET, "/world", HttpHeaderNames.ACCEPT, "application/json");
+        AggregatedHttpResponse response = webClient.execute(getHeaders).aggregate().join();
+        return response.headers().get(HttpHeaderNames.STATUS);
+    }
+
+    // Elapsed time of the given number of requests, in a new test execution, once every completed RPC reached the server.
+    private static long benchmarkWorld(String testName, int requests) {
+        FilibusterCore filibusterCore = startTestExecution(testName);
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < requests; i++) {
+            assertEquals("200", requestWorld());
+        }
+
+        FilibusterInvocationCompleteBatcher.flush();
+
+        long elapsedTime = System.nanoTime() - start;
+
+        assertFalse(filibusterCore.executedRPCs().isEmpty());
+
+        return elapsedTime;
+    }
+
+    @Test
+    @DisplayName("Benchmark the world route with separate clock reset, begin and end calls, and with a combined begin and batched ends.")
+    public void testBenchmark() {
+        // Separate calls: new test execution, create and update.
+        setServerProtocolCombinedBeginProperty(false);
+        setServerProtocolBatchedEndProperty(false);
+        benchmarkWorld("testBenchmarkSeparateWarmup", WARMUP_REQUESTS);
+        long separateElapsedTime = benchmarkWorld("testBenchmarkSeparate", BENCHMARK_REQUESTS);
+
+        // Combined begin, and ends batched in the background.
+        setServerProtocolCombinedBeginProperty(true);
+        setServerProtocolBatchedEndProperty(true);
+        benchmarkWorld("testBenchmarkCombinedWarmup", WARMUP_REQUESTS);
+        long combinedElapsedTime = benchmarkWorld("testBenchmarkCombined", BENCHMARK_REQUESTS);
+
+        assertTrue(FilibusterServerAPI.shouldUseCombinedBegin());
+
+        logger.info("[FILIBUSTER-SERVER-API]: world route benchmark, requests: " + BENCHMARK_REQUESTS
+                + ", separate us/request: " + TimeUnit.NANOSECONDS.toMicros(separateElapsedTime) / BENCHMARK_REQUESTS
+                + ", combined us/request: " + TimeUnit.NANOSECONDS.toMicros(combinedElapsedTime) / BENCHMARK_REQUESTS);
+    }
+
+    @Test
+    @DisplayName("Test concurrent first requests of a test execution only record RPCs with clocks reset for it.")
+    public void testConcurrentFirstRequests() {
+        setServerProtocolCombinedBeginProperty(true);
+
+        // Advance the clocks in a previous test execution, past what the concurrent requests can reach.
+        benchmarkWorld("testConcurrentFirstRequestsPrevious", CONCURRENT_REQUESTS * 2);
+
+        FilibusterCore filibusterCore = startTestExecution("testConcurrentFirstRequests");
+
+        List<CompletableFuture<String>> requests = new ArrayList<>();
+
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            requests.add(CompletableFuture.supplyAsync(HelloServerWithHelloAndWorldAndFilibusterServerBenchmarkTest::requestWorld));
+        }
+
+        for (CompletableFuture<String> request : requests) {
+            assertEquals("200", request.join());
+        }
+
+        Map<DistributedExecutionIndex, JSONObject> executedRPCs = filibusterCore.executedRPCs();
+        assertFalse(executedRPCs.isEmpty());
+
+        // Had an RPC been recorded with clocks from the previous test execution, its counter would be past these.
+        for (DistributedExecutionIndex distributedExecutionIndex : executedRPCs.keySet()) {
+            List<Map.Entry<String, Integer>> callstack = distributedExecutionIndex.getSerializedCallstack();
+            int counter = callstack.get(callstack.size() - 1).getValue();
+            assertTrue(counter <= CONCURRENT_REQUESTS, "counter " + counter + " from before the clock reset: " + distributedExecutionIndex);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import cloud.filibuster.instrumentation.libraries.armeria.http.FilibusterDecorat
 import cloud.filibuster.instrumentation.libraries.grpc.FilibusterServerInterceptor;
 import cloud.filibuster.integration.instrumentation.libraries.opentelemetry.OpenTelemetryFilibusterDecoratingHttpService;
 import cloud.filibuster.integration.instrumentation.libraries.opentelemetry.OpenTelemetryFilibusterServerInterceptor;
+import cloud.filibuster.instrumentation.storage.ContextPropagation;
 import cloud.filibuster.instrumentation.storage.ThreadLocalContextStorage;
 import com.google.common.util.concurrent.Uninterruptibles;
 import com.linecorp.armeria.client.WebClient;
@@ -171,11 +172,11 @@ public class HelloServer {
 
                 // First request.
                 AtomicReference<String> firstThreadStatusCode = new AtomicReference<>();
-                executor.execute(new FirstExternalRequestThread(firstThreadStatusCode));
+                executor.execute(ContextPropagation.wrap(new FirstExternalRequestThread(firstThreadStatusCode)));
 
                 // Second request.
                 AtomicReference<String> secondThreadStatusCode = new AtomicReference<>();
-                executor.execute(new SecondExternalRequestThread(secondThreadStatusCode));
+                executor.execute(ContextPropagation.wrap(new SecondExternalRequestThread(secondThreadStatusCode)));
 
                 // Wait for all to finish, then terminate the thread pool.
                 // Fail on any exception.
@@ -231,11 +232,11 @@ public class HelloServer {
 
                 // First request.
                 AtomicReference<String> firstThreadStatusCode = new AtomicReference<>();
-                executor.execute(new ExternalRequestThread(firstThreadStatusCode));
+                executor.execute(ContextPropagation.wrap(new ExternalRequestThread(firstThreadStatusCode)));
 
                 // Second request.
                 AtomicReference<String> secondThreadStatusCode = new AtomicReference<>();
-                executor.execute(new ExternalRequestThread(secondThreadStatusCode));
+                executor.execute(ContextPropagation.wrap(new ExternalRequestThread(secondThreadStatusCode)));
 
                 // Wait for all to finish, then terminate the thread pool.
                 // Fail on any exception.
@@ -273,7 +274,7 @@ public class HelloServer {
                 CompletableFuture<String> firstRequestFuture = CompletableFuture.supplyAsync(() -> {
                     AtomicReference<String> threadStatusCode = new AtomicReference<>();
 
-                    Thread firstRequestThread = new Thread(() -> {
+                    Thread firstRequestThread = new Thread(ContextPropagation.wrap(() -> {
                         String baseURI = "http://" + Networking.getHost("external") + ":" + Networking.getPort("external") + "/";
                         WebClient webClient = TestHelper.getTestWebClient(baseURI, serviceName);
                         RequestHeaders getHeaders1 = RequestHeaders.of(HttpMethod.GET, "/", HttpHeaderNames.ACCEPT, "application/json");
@@ -281,12 +282,12 @@ public class HelloServer {
                         ResponseHeaders headers = response.headers();
                         String statusCode = headers.get(HttpHeaderNames.STATUS);
                         threadStatusCode.set(statusCode);
-                    });
+                    }));
                     firstRequestThread.start();
                     Uninterruptibles.joinUninterruptibly(firstRequestThread);
                     String threadStatusCodeStr = threadStatusCode.get();
                     return threadStatusCodeStr;
-                }, FilibusterExecutor.getExecutorService());
+                }, ContextPropagation.wrap(FilibusterExecutor.getExecutorService()));
 
                 try {
                     firstThreadStatusCode = firstRequestFuture.get();
@@ -298,7 +299,7 @@ public class HelloServer {
                 CompletableFuture<String> secondRequestFuture = CompletableFuture.supplyAsync(() -> {
                     AtomicReference<String> threadStatusCode = new AtomicReference<>();
 
-                    Thread secondRequestThread = new Thread(() -> {
+                    Thread secondRequestThread = new Thread(ContextPropagation.wrap(() -> {
                         String baseURI = "http://" + Networking.getHost("external") + ":" + Networking.getPort("external") + "/";
                         WebClient webClient = TestHelper.getTestWebClient(baseURI, serviceName);
                         RequestHeaders getHeaders1 = RequestHeaders.of(HttpMethod.GET, "/", HttpHeaderNames.ACCEPT, "application/json");
@@ -306,11 +307,11 @@ public class HelloServer {
                         ResponseHeaders headers = response.headers();
                         String statusCode = headers.get(HttpHeaderNames.STATUS);
                         threadStatusCode.set(statusCode);
-                    });
+                    }));
                     secondRequestThread.start();
                     Uninterruptibles.joinUninterruptibly(secondRequestThread);
                     return threadStatusCode.get();
-                }, FilibusterExecutor.getExecutorService());
+                }, ContextPropagation.wrap(FilibusterExecutor.getExecutorService()));
 
                 try {
                     secondThreadStatusCode = secondRequestFuture.get();
@@ -337,12 +338,12 @@ public class HelloServer {
 
                 CompletableFuture<String> firstRequestFuture = CompletableFuture.supplyAsync(() -> {
                     AtomicReference<String> threadStatusCode = new AtomicReference<>();
-                    Thread firstRequestThread = new Thread(() -> threadStatusCode.set(makeRequestToExternalService()));
+                    Thread firstRequestThread = new Thread(ContextPropagation.wrap(() -> threadStatusCode.set(makeRequestToExternalService())));
                     firstRequestThread.start();
                     Uninterruptibles.joinUninterruptibly(firstRequestThread);
                     String threadStatusCodeStr = threadStatusCode.get();
                     return threadStatusCodeStr;
-                }, FilibusterExecutor.getExecutorService());
+                }, ContextPropagation.wrap(FilibusterExecutor.getExecutorService()));
 
                 try {
                     firstThreadStatusCode = firstRequestFuture.get();
@@ -353,11 +354,11 @@ public class HelloServer {
 
                 CompletableFuture<String> secondRequestFuture = CompletableFuture.supplyAsync(() -> {
                     AtomicReference<String> threadStatusCode = new AtomicReference<>();
-                    Thread secondRequestThread = new Thread(() -> threadStatusCode.set(makeRequestToExternalService()));
+                    Thread secondRequestThread = new Thread(ContextPropagation.wrap(() -> threadStatusCode.set(makeRequestToExternalService())));
                     secondRequestThread.start();
                     Uninterruptibles.joinUninterruptibly(secondRequestThread);
                     return threadStatusCode.get();
-                }, FilibusterExecutor.getExecutorService());
+                }, ContextPropagation.wrap(FilibusterExecutor.getExecutorService()));
 
                 try {
                     secondThreadStatusCode = secondRequestFuture.get();
@@ -383,16 +384,16 @@ public class HelloServer {
                     AtomicReference<String> firstRequestStatusCode = new AtomicReference<>();
                     AtomicReference<String> secondRequestStatusCode = new AtomicReference<>();
 
-                    Thread firstRequestThread = new Thread(() -> firstRequestStatusCode.set(makeRequestToExternalService()));
+                    Thread firstRequestThread = new Thread(ContextPropagation.wrap(() -> firstRequestStatusCode.set(makeRequestToExternalService())));
                     firstRequestThread.start();
                     Uninterruptibles.joinUninterruptibly(firstRequestThread);
 
-                    Thread secondRequestThread = new Thread(() -> secondRequestStatusCode.set(makeRequestToExternalService()));
+                    Thread secondRequestThread = new Thread(ContextPropagation.wrap(() -> secondRequestStatusCode.set(makeRequestToExternalService())));
                     secondRequestThread.start();
                     Uninterruptibles.joinUninterruptibly(secondRequestThread);
 
                     return Pair.of(firstRequestStatusCode.get(), secondRequestStatusCode.get());
-                }, FilibusterExecutor.getExecutorService());
+                }, ContextPropagation.wrap(FilibusterExecutor.getExecutorService()));
 
                 try {
                     Map.Entry responseCodes = requestFuture.get();
@@ -811,7 +812,7 @@ public class HelloServer {
 
                 for (int i = 0; i < numRequestsSchedulingNondeterminism; i++) {
                     AtomicReference<String> atomicReference = new AtomicReference<>();
-                    executor.execute(new ExternalRequestThread(atomicReference, i));
+                    executor.execute(ContextPropagation.wrap(new ExternalRequestThread(atomicReference, i)));
                 }
 
                 // Wait for all to finish, then terminate the thread pool.
@@ -0,0 +1,71 @@
+package cloud.filibuster.integration.instrumentation;
+
+import cloud.filibuster.instrumentation.datatypes.VectorClock;
+import cloud.filibuster.instrumentation.helpers.Networking;
+import cloud.filibuster.instrumentation.instrumentors.FilibusterInvocationCompleteBatcher;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FilibusterInvocationCompleteBatcherTest extends FilibusterBaseTest {
+    private static final int INVOCATION_COMPLETES = 300;
+
+    private static final String filibusterBaseUri = "http://" + Networking.getFilibusterHost() + ":" + Networking.getFilibusterPort() + "/";
+
+    @BeforeAll
+    public static void startFilibuster() throws IOException, InterruptedException {
+        TestHelper.startMockFilibusterServerAndWaitUntilAvailable();
+    }
+
+    @AfterAll
+    public static void stopFilibuster() throws InterruptedException {
+        TestHelper.stopMockFilibusterServerAndWaitUntilUnavailable();
+    }
+
+    @BeforeEach
+    public void resetConfigurationBeforeEach() {
+        FilibusterServerFake.shouldReturnNotFounds = false;
+        FilibusterServerFake.resetPayloadsReceived();
+    }
+
+    private static FilibusterInvocationComplete generateInvocationComplete(int generatedId) {
+        VectorClock vectorClock = new VectorClock();
+        vectorClock.incrementClock("service");
+
+        return new FilibusterInvocationComplete.Builder()
+                .generatedId(generatedId)
+                .executionIndex("[[\"V1-m-s-g-y-a\", 1]]")
+                .vectorClock(vectorClock)
+                .returnValue(new JSONObject().put("__class__", "HelloReply"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Test flush returns once the server has received every completed invocation queued in this process, in order.")
+    public void testFlush() {
+        // Nothing queued.
+        FilibusterInvocationCompleteBatcher.flush();
+        assertEquals(0, FilibusterServerFake.payloadsReceived.size());
+
+        // Queued faster than they are sent, so they are sent in more than one batch.
+        for (int i = 0; i < INVOCATION_COMPLETES; i++) {
+            FilibusterInvocationCompleteBatcher.enqueue(filibusterBaseUri, generateInvocationComplete(i));
+        }
+
+        FilibusterInvocationCompleteBatcher.flush();
+
+        assertEquals(INVOCATION_COMPLETES, FilibusterServerFake.payloadsReceived.size());
+
+        for (int i = 0; i < INVOCATION_COMPLETES; i++) {
+            assertEquals(i, FilibusterServerFake.payloadsReceived.get(i).getInt("generated_id"));
+        }
+    }
+}
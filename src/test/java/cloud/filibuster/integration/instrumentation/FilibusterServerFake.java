@@ -53,6 +53,8 @@ public class FilibusterServerFake {
 
     public static boolean skipSleepKey = false;
 
+    public static boolean skipExceptionMetadataKey = false;
+
     public static boolean shouldNotAbort = false;
 
     public static boolean grpcExceptionType = false;
@@ -149,7 +151,9 @@ public class FilibusterServerFake {
                             exception.put("name", "");
                         }
 
-                        exception.put("metadata", getExceptionMetadata());
+                        if (!skipExceptionMetadataKey) {
+                            exception.put("metadata", getExceptionMetadata());
+                        }
 
                         responseBody.put("forced_exception", exception);
                     }
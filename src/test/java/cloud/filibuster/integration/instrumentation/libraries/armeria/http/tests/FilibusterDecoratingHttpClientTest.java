@@ -13,7 +13,6 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 
 import java.io.IOException;
-import java.util.HashMap;
 
 import static cloud.filibuster.instrumentation.datatypes.RequestId.generateNewRequestId;
 
@@ -123,15 +122,11 @@ public class FilibusterDecoratingHttpClientTest extends FilibusterDecoratingHttp
         stopExternalServerAndWaitUntilUnavailable();
     }
 
-    @SuppressWarnings("unchecked")
     public DistributedExecutionIndex getFirstDistributedExecutionIndexFromMapping() {
-        HashMap<String, DistributedExecutionIndex> map = (HashMap<String, DistributedExecutionIndex>) FilibusterClientInstrumentor.getDistributedExecutionIndexByRequest().values().toArray()[0];
-        return (DistributedExecutionIndex) map.values().toArray()[0];
+        return FilibusterClientInstrumentor.getDistributedExecutionIndexByRequest().values().get(0);
     }
 
-    @SuppressWarnings("unchecked")
     public VectorClock getFirstVectorClockFromMapping() {
-        HashMap<String, VectorClock> map = (HashMap<String, VectorClock>) FilibusterClientInstrumentor.getVectorClocksByRequest().values().toArray()[0];
-        return (VectorClock) map.values().toArray()[0];
+        return FilibusterClientInstrumentor.getVectorClocksByRequest().values().get(0);
     }
 }
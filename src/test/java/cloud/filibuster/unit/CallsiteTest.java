@@ -0,0 +1,148 @@
+package cloud.filibuster.unit;
+
+import cloud.filibuster.instrumentation.datatypes.Callsite;
+import cloud.filibuster.instrumentation.datatypes.CallsiteArguments;
+import cloud.filibuster.instrumentation.datatypes.CallsiteCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import static cloud.filibuster.instrumentation.helpers.Property.setCallsiteLineNumberProperty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CallsiteTest {
+    private static final Logger logger = Logger.getLogger(CallsiteTest.class.getName());
+
+    private static final int BENCHMARK_ITERATIONS = 10000;
+
+    private static Callsite generateCallsite() {
+        return new Callsite("service", "klass", "method", new CallsiteArguments(Object.class, "deadbeef"));
+    }
+
+    private static Callsite generateCallsiteAtDepth(int depth) {
+        if (depth == 0) {
+            return generateCallsite();
+        }
+
+        return generateCallsiteAtDepth(depth - 1);
+    }
+
+    @Test
+    @DisplayName("Test the callsite is the innermost frame that is not filtered.")
+    public void testCallsiteLocation() {
+        // Both on the same line, so the frame of this method is the same.
+        Callsite callsite = new Callsite("service", "klass", "method", new CallsiteArguments(Object.class, "deadbeef")); StackTraceElement stackTraceElement = Thread.currentThread().getStackTrace()[1];
+
+        assertEquals("CallsiteTest.java", callsite.getFileName());
+        assertEquals(String.valueOf(stackTraceElement.getLineNumber()), callsite.getLineNumber());
+        assertTrue(callsite.getSerializedStackTrace().startsWith(stackTraceElement.toString()));
+    }
+
+    @Test
+    @DisplayName("Test callsites from the same location are equal, and from different locations are not.")
+    public void testCallsiteStability() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+        List<String> serializedStackTraces = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            serializedStackTraces.add(generateCallsiteAtDepth(5).getSerializedStackTrace());
+        }
+
+        assertEquals(serializedStackTraces.get(0), serializedStackTraces.get(1));
+        assertEquals(serializedStackTraces.get(1), serializedStackTraces.get(2));
+        assertNotEquals(serializedStackTraces.get(0), generateCallsiteAtDepth(4).getSerializedStackTrace());
+
+        Supplier<Callsite> supplier = CallsiteTest::generateCallsite;
+        assertEquals(supplier.get().getSerializedStackTrace(), supplier.get().getSerializedStackTrace());
+
+        // Frames of Filibuster outside of tests, such as the helpers above, and of reflection are filtered.
+        Callsite reflectiveCallsite = (Callsite) CallsiteTest.class.getDeclaredMethod("generateCallsite").invoke(null);
+        assertTrue(reflectiveCallsite.getSerializedStackTrace().startsWith("cloud.filibuster.unit.CallsiteTest.testCallsiteStability(CallsiteTest.java:"));
+        assertEquals("CallsiteTest.java", reflectiveCallsite.getFileName());
+    }
+
+    @Test
+    @DisplayName("Test callsites from the same call path share a descriptor.")
+    public void testCallsiteCache() {
+        List<Callsite> callsites = new ArrayList<>();
+        long hits = CallsiteCache.getHits();
+        long misses = CallsiteCache.getMisses();
+
+        for (int i = 0; i < 3; i++) {
+            callsites.add(generateCallsite());
+        }
+
+        assertSame(callsites.get(0).getDescriptor(), callsites.get(1).getDescriptor());
+        assertSame(callsites.get(1).getDescriptor(), callsites.get(2).getDescriptor());
+        assertTrue(CallsiteCache.getHits() >= hits + 2);
+        assertTrue(CallsiteCache.getMisses() >= misses + 1);
+
+        // Same path, different RPC.
+        Callsite otherCallsite = new Callsite("service", "klass", "otherMethod", new CallsiteArguments(Object.class, "deadbeef"));
+        assertNotSame(callsites.get(0).getDescriptor(), otherCallsite.getDescriptor());
+
+        // Descriptors are recomputed once cleared.
+        List<Callsite> recomputedCallsites = new ArrayList<>();
+
+        for (int i = 0; i < 2; i++) {
+            CallsiteCache.clear();
+            recomputedCallsites.add(generateCallsite());
+        }
+
+        assertNotSame(recomputedCallsites.get(0).getDescriptor(), recomputedCallsites.get(1).getDescriptor());
+        assertEquals(recomputedCallsites.get(0).getSerializedStackTrace(), recomputedCallsites.get(1).getSerializedStackTrace());
+        assertTrue(CallsiteCache.getSize() <= CallsiteCache.CALLSITE_CACHE_SIZE);
+    }
+
+    @Test
+    @DisplayName("Test callsites are recomputed when the properties they depend on change.")
+    public void testCallsiteCacheProperties() {
+        List<Callsite> callsites = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 2; i++) {
+                setCallsiteLineNumberProperty(i == 0);
+                callsites.add(generateCallsite());
+            }
+
+            assertNotEquals("0", callsites.get(0).getLineNumber());
+            assertEquals("0", callsites.get(1).getLineNumber());
+            assertEquals(callsites.get(0).getSerializedStackTrace(), callsites.get(1).getSerializedStackTrace());
+        } finally {
+            setCallsiteLineNumberProperty(true);
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark callsite generation at increasing stack depths, with and without the callsite cache.")
+    public void testBenchmark() {
+        for (int depth = 0; depth <= 50; depth += 10) {
+            long uncachedStart = System.nanoTime();
+
+            for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+                CallsiteCache.clear();
+                generateCallsiteAtDepth(depth);
+            }
+
+            long cachedStart = System.nanoTime();
+
+            for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+                generateCallsiteAtDepth(depth);
+            }
+
+            long cachedEnd = System.nanoTime();
+
+            logger.info("[FILIBUSTER-CALLSITE]: callsite benchmark, depth: " + depth + ", uncached ns/op: " + (cachedStart - uncachedStart) / BENCHMARK_ITERATIONS + ", cached ns/op: " + (cachedEnd - cachedStart) / BENCHMARK_ITERATIONS);
+        }
+
+        logger.info("[FILIBUSTER-CALLSITE]: callsite cache, hits: " + CallsiteCache.getHits() + ", misses: " + CallsiteCache.getMisses() + ", evictions: " + CallsiteCache.getEvictions());
+    }
+}
@@ -0,0 +1,193 @@
+package cloud.filibuster.unit;
+
+import cloud.filibuster.dei.DistributedExecutionIndex;
+import cloud.filibuster.dei.implementations.DistributedExecutionIndexV1;
+import cloud.filibuster.instrumentation.datatypes.Callsite;
+import cloud.filibuster.instrumentation.datatypes.CallsiteArguments;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.test_executions.ConcreteTestExecution;
+import org.json.JSONObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcreteTestExecutionConcurrencyTest {
+    private static final Logger logger = Logger.getLogger(ConcreteTestExecutionConcurrencyTest.class.getName());
+
+    private static final int RPCS_PER_THREAD = 250;
+
+    private static List<DistributedExecutionIndex> generateDistributedExecutionIndexes(int count) {
+        List<DistributedExecutionIndex> distributedExecutionIndexes = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            Callsite callsite = new Callsite("service", "klass", "method" + i, new CallsiteArguments(Object.class, "deadbeef"));
+            DistributedExecutionIndex distributedExecutionIndex = new DistributedExecutionIndexV1();
+            distributedExecutionIndex.push(callsite);
+            distributedExecutionIndexes.add(distributedExecutionIndex);
+        }
+
+        return distributedExecutionIndexes;
+    }
+
+    private static FilibusterInvocation generateInvocation(DistributedExecutionIndex distributedExecutionIndex, int i) {
+        return new FilibusterInvocation.Builder()
+                .moduleName("klass")
+                .methodName("method" + i)
+                .distributedExecutionIndex(distributedExecutionIndex)
+                .arguments(new JSONObject().put("toString", "deadbeef"))
+                .build();
+    }
+
+    // Drives the per-RPC path of a concrete test execution from the given number of threads and returns the elapsed time.
+    private static long registerConcurrently(
+            ConcreteTestExecution concreteTestExecution,
+            List<DistributedExecutionIndex> distributedExecutionIndexes,
+            int numThreads,
+            Set<Integer> generatedIds,
+            AtomicInteger firstRequestsRegistered
+    ) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(numThreads);
+
+        for (int t = 0; t < numThreads; t++) {
+            int threadNumber = t;
+
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+
+                    for (int i = threadNumber; i < distributedExecutionIndexes.size(); i += numThreads) {
+                        DistributedExecutionIndex distributedExecutionIndex = distributedExecutionIndexes.get(i);
+
+                        concreteTestExecution.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, i));
+                        generatedIds.add(concreteTestExecution.incrementGeneratedId());
+
+                        if (concreteTestExecution.registerFirstRequestFromServiceIfAbsent("service")) {
+                            firstRequestsRegistered.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        long startTime = System.nanoTime();
+        startLatch.countDown();
+        doneLatch.await();
+        long elapsedTime = System.nanoTime() - startTime;
+
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+
+        return elapsedTime;
+    }
+
+    @Test
+    @DisplayName("Test concurrent RPC registration into a concrete test execution.")
+    public void testConcurrentRegistration() throws InterruptedException {
+        int numThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        List<DistributedExecutionIndex> distributedExecutionIndexes = generateDistributedExecutionIndexes(numThreads * RPCS_PER_THREAD);
+
+        ConcreteTestExecution concreteTestExecution = new ConcreteTestExecution("testName", UUID.randomUUID(), "className");
+        Set<Integer> generatedIds = ConcurrentHashMap.newKeySet();
+        AtomicInteger firstRequestsRegistered = new AtomicInteger(0);
+
+        registerConcurrently(concreteTestExecution, distributedExecutionIndexes, numThreads, generatedIds, firstRequestsRegistered);
+
+        // Every RPC recorded, every generated id unique, and only a single thread saw the first request.
+        Map<DistributedExecutionIndex, JSONObject> executedRPCs = concreteTestExecution.getExecutedRPCs();
+        assertEquals(distributedExecutionIndexes.size(), executedRPCs.size());
+        assertEquals(distributedExecutionIndexes.size(), generatedIds.size());
+        assertEquals(1, firstRequestsRegistered.get());
+
+        for (DistributedExecutionIndex distributedExecutionIndex : distributedExecutionIndexes) {
+            assertTrue(executedRPCs.containsKey(distributedExecutionIndex));
+        }
+    }
+
+    @Test
+    @DisplayName("Test every concurrent first request from a service has its clocks reset, not only the first to arrive.")
+    public void testClockResetOfConcurrentFirstRequests() throws InterruptedException {
+        int numThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        ConcreteTestExecution concreteTestExecution = new ConcreteTestExecution("testName", UUID.randomUUID(), "className");
+
+        // Every request computed its clocks before any of them was reset, in clock epoch 0.
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(numThreads);
+        AtomicInteger clockResets = new AtomicInteger(0);
+
+        for (int t = 0; t < numThreads; t++) {
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+
+                    if (concreteTestExecution.shouldResetClocksForRequestFromService("service", 0)) {
+                        clockResets.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        startLatch.countDown();
+        doneLatch.await();
+        executorService.shutdown();
+
+        assertEquals(numThreads, clockResets.get());
+        assertTrue(concreteTestExecution.hasSeenFirstRequestFromService("service"));
+
+        // Clocks computed after the reset, in clock epoch 1, are kept.
+        assertFalse(concreteTestExecution.shouldResetClocksForRequestFromService("service", 1));
+
+        // In the next execution, the first request resets the clocks again, along with any computed before it.
+        ConcreteTestExecution nextConcreteTestExecution = new ConcreteTestExecution("testName", UUID.randomUUID(), "className");
+        assertTrue(nextConcreteTestExecution.shouldResetClocksForRequestFromService("service", 1));
+        assertTrue(nextConcreteTestExecution.shouldResetClocksForRequestFromService("service", 0));
+        assertFalse(nextConcreteTestExecution.shouldResetClocksForRequestFromService("service", 2));
+
+        // Without a clock epoch, only the first request is reset.
+        assertTrue(nextConcreteTestExecution.shouldResetClocksForRequestFromService("other-service", -1));
+        assertFalse(nextConcreteTestExecution.shouldResetClocksForRequestFromService("other-service", -1));
+    }
+
+    @Test
+    @DisplayName("Contention benchmark for RPC registration into a concrete test execution.")
+    public void testContentionBenchmark() throws InterruptedException {
+        int maxThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+        for (int numThreads = 1; numThreads <= maxThreads; numThreads *= 2) {
+            List<DistributedExecutionIndex> distributedExecutionIndexes = generateDistributedExecutionIndexes(maxThreads * RPCS_PER_THREAD);
+            ConcreteTestExecution concreteTestExecution = new ConcreteTestExecution("testName", UUID.randomUUID(), "className");
+
+            long elapsedTime = registerConcurrently(concreteTestExecution, distributedExecutionIndexes, numThreads, ConcurrentHashMap.newKeySet(), new AtomicInteger(0));
+
+            logger.info("[FILIBUSTER-CORE]: contention benchmark, threads: " + numThreads + ", rpcs: " + distributedExecutionIndexes.size() + ", elapsed ms: " + TimeUnit.NANOSECONDS.toMillis(elapsedTime));
+
+            assertEquals(distributedExecutionIndexes.size(), concreteTestExecution.getExecutedRPCs().size());
+        }
+    }
+}
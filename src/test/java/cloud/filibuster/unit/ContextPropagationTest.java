@@ -0,0 +1,183 @@
+package cloud.filibuster.unit;
+
+import cloud.filibuster.instrumentation.datatypes.VectorClock;
+import cloud.filibuster.instrumentation.storage.ContextPropagation;
+import cloud.filibuster.instrumentation.storage.ThreadLocalContextStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import static cloud.filibuster.instrumentation.Constants.FILIBUSTER_EXECUTION_INDEX;
+import static cloud.filibuster.instrumentation.Constants.FILIBUSTER_REQUEST_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ContextPropagationTest {
+    private static final Logger logger = Logger.getLogger(ContextPropagationTest.class.getName());
+
+    private static final int BENCHMARK_ITERATIONS = 1_000_000;
+
+    private final ThreadLocalContextStorage threadLocalContextStorage = new ThreadLocalContextStorage();
+
+    @AfterEach
+    public void clearContextStorage() {
+        ThreadLocalContextStorage.clear();
+    }
+
+    @Test
+    @DisplayName("Test threads do not inherit the context of the thread that starts them, unless their tasks are wrapped.")
+    public void testNoInheritance() throws ExecutionException, InterruptedException {
+        VectorClock vectorClock = new VectorClock();
+        vectorClock.incrementClock("service");
+
+        threadLocalContextStorage.setRequestId("request");
+        threadLocalContextStorage.setVectorClock(vectorClock);
+
+        AtomicReference<String> childRequestId = new AtomicReference<>();
+
+        Thread thread = new Thread(() -> childRequestId.set(threadLocalContextStorage.getRequestId()));
+        thread.start();
+        thread.join();
+
+        assertNull(childRequestId.get());
+
+        Thread wrappedThread = new Thread(ContextPropagation.wrap(() -> {
+            childRequestId.set(threadLocalContextStorage.getRequestId());
+            threadLocalContextStorage.setRequestId("another-request");
+            threadLocalContextStorage.getVectorClock().incrementClock("service");
+        }));
+        wrappedThread.start();
+        wrappedThread.join();
+
+        // Changes on the other thread are not seen by this one.
+        assertEquals("request", childRequestId.get());
+        assertEquals("request", threadLocalContextStorage.getRequestId());
+        assertEquals(1, threadLocalContextStorage.getVectorClock().get("service"));
+
+        // Pooled threads started while a request is handled do not keep its context.
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        try {
+            Callable<String> getRequestId = threadLocalContextStorage::getRequestId;
+            assertNull(executorService.submit(getRequestId).get());
+            assertEquals("request", executorService.submit(ContextPropagation.wrap(getRequestId)).get());
+            assertNull(executorService.submit(getRequestId).get());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Test wrapped executor services run tasks with the context of the thread that submits them.")
+    public void testExecutorService() throws ExecutionException, InterruptedException {
+        ExecutorService executorService = ContextPropagation.wrap(Executors.newSingleThreadExecutor());
+
+        try {
+            VectorClock vectorClock = new VectorClock();
+            vectorClock.incrementClock("service");
+
+            threadLocalContextStorage.setRequestId("request");
+            threadLocalContextStorage.setVectorClock(vectorClock);
+
+            Callable<String> getRequestIdAndSetAnother = () -> {
+                String requestId = threadLocalContextStorage.getRequestId();
+                threadLocalContextStorage.setRequestId("another-request");
+                VectorClock taskVectorClock = threadLocalContextStorage.getVectorClock();
+
+                if (taskVectorClock != null) {
+                    taskVectorClock.incrementClock("service");
+                }
+
+                return requestId;
+            };
+
+            assertEquals("request", executorService.submit(getRequestIdAndSetAnother).get());
+
+            // Changes on the other thread are not seen, and do not outlive the task.
+            assertEquals("request", threadLocalContextStorage.getRequestId());
+            assertEquals(1, threadLocalContextStorage.getVectorClock().get("service"));
+
+            // The executor's thread kept no context from the previous task.
+            ThreadLocalContextStorage.clear();
+            assertNull(executorService.submit(getRequestIdAndSetAnother).get());
+
+            threadLocalContextStorage.setRequestId("new-request");
+            assertEquals("new-request", executorService.submit(getRequestIdAndSetAnother).get());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Test completable future stages run with the context of the thread that creates them.")
+    public void testCompletableFuture() throws ExecutionException, InterruptedException {
+        threadLocalContextStorage.setDistributedExecutionIndex("[]");
+
+        Supplier<String> getDistributedExecutionIndex = threadLocalContextStorage::getDistributedExecutionIndex;
+        Function<String, String> appendRequestId = distributedExecutionIndex -> distributedExecutionIndex + threadLocalContextStorage.getRequestId();
+
+        CompletableFuture<String> future = CompletableFuture.supplyAsync(ContextPropagation.wrap(getDistributedExecutionIndex));
+
+        threadLocalContextStorage.setRequestId("request");
+
+        assertEquals("[]request", future.thenApplyAsync(ContextPropagation.wrap(appendRequestId)).get());
+    }
+
+    @Test
+    @DisplayName("Test access to the context by key, and the global context.")
+    public void testKeysAndGlobalContext() throws ExecutionException, InterruptedException {
+        ThreadLocalContextStorage.set(FILIBUSTER_REQUEST_ID, "request");
+        assertEquals("request", threadLocalContextStorage.getRequestId());
+        assertEquals("request", ThreadLocalContextStorage.get(FILIBUSTER_REQUEST_ID));
+
+        // Other keys are stored alongside the context.
+        ThreadLocalContextStorage.set("other", 1);
+        assertEquals(1, ThreadLocalContextStorage.<Integer>get("other"));
+        ThreadLocalContextStorage.set("other", null);
+        assertNull(ThreadLocalContextStorage.get("other"));
+
+        ThreadLocalContextStorage.useGlobalContext = true;
+
+        try {
+            ThreadLocalContextStorage.set(FILIBUSTER_EXECUTION_INDEX, "[]");
+            assertNull(ThreadLocalContextStorage.get(FILIBUSTER_REQUEST_ID));
+            assertEquals("[]", CompletableFuture.supplyAsync(threadLocalContextStorage::getDistributedExecutionIndex).get());
+        } finally {
+            ThreadLocalContextStorage.useGlobalContext = false;
+        }
+
+        assertNull(threadLocalContextStorage.getDistributedExecutionIndex());
+        assertEquals("request", threadLocalContextStorage.getRequestId());
+    }
+
+    @Test
+    @DisplayName("Benchmark reads and writes of the context of the current thread.")
+    public void testBenchmark() {
+        long start = System.nanoTime();
+        long found = 0;
+
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            threadLocalContextStorage.setRequestId("request");
+
+            if (threadLocalContextStorage.getRequestId() != null && threadLocalContextStorage.getDistributedExecutionIndex() == null) {
+                found++;
+            }
+        }
+
+        long end = System.nanoTime();
+
+        assertEquals(BENCHMARK_ITERATIONS, found);
+
+        logger.info("[FILIBUSTER-CONTEXT-STORAGE]: context storage benchmark, iterations: " + BENCHMARK_ITERATIONS + ", ns/op: " + (end - start) / BENCHMARK_ITERATIONS);
+    }
+}
@@ -0,0 +1,85 @@
+package cloud.filibuster.unit;
+
+import cloud.filibuster.junit.server.core.minimization.CounterexampleMinimization;
+import cloud.filibuster.junit.server.core.minimization.DeltaDebugging;
+import org.json.JSONObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static cloud.filibuster.instrumentation.helpers.Counterexample.loadCounterexampleAsJSONObject;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CounterexampleMinimizationTest {
+    private static final List<Integer> faults = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8);
+
+    private static List<List<Integer>> minimize(DeltaDebugging<Integer> deltaDebugging, Predicate<List<Integer>> fails) {
+        List<List<Integer>> candidates = new ArrayList<>();
+
+        while (!deltaDebugging.isComplete()) {
+            List<Integer> candidate = deltaDebugging.getCandidate();
+            candidates.add(candidate);
+            deltaDebugging.recordResult(fails.test(candidate));
+        }
+
+        return candidates;
+    }
+
+    @Test
+    @DisplayName("Test delta debugging finds the single fault that fails the test.")
+    public void testSingleFault() {
+        DeltaDebugging<Integer> deltaDebugging = new DeltaDebugging<>(faults);
+        minimize(deltaDebugging, candidate -> candidate.contains(5));
+
+        assertEquals(Arrays.asList(5), deltaDebugging.getMinimal());
+    }
+
+    @Test
+    @DisplayName("Test delta debugging finds the combination of faults that fails the test.")
+    public void testCombinationOfFaults() {
+        DeltaDebugging<Integer> deltaDebugging = new DeltaDebugging<>(faults);
+        minimize(deltaDebugging, candidate -> candidate.contains(3) && candidate.contains(6));
+
+        assertEquals(Arrays.asList(3, 6), deltaDebugging.getMinimal());
+        assertEquals(deltaDebugging.getNumberOfTests(), deltaDebugging.getTrace().size());
+        assertTrue(deltaDebugging.getTrace().get(deltaDebugging.getNumberOfTests() - 1).isFailed());
+    }
+
+    @Test
+    @DisplayName("Test delta debugging is deterministic and never tests the same candidate twice.")
+    public void testDeterministic() {
+        Predicate<List<Integer>> fails = candidate -> candidate.size() >= 3 && candidate.contains(1);
+
+        List<List<Integer>> candidates = minimize(new DeltaDebugging<>(faults), fails);
+        assertEquals(candidates, minimize(new DeltaDebugging<>(faults), fails));
+        assertEquals(candidates.size(), candidates.stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("Test delta debugging of a single fault requires no tests.")
+    public void testAlreadyMinimal() {
+        DeltaDebugging<Integer> deltaDebugging = new DeltaDebugging<>(Arrays.asList(1));
+
+        assertTrue(deltaDebugging.isComplete());
+        assertEquals(Arrays.asList(1), deltaDebugging.getMinimal());
+    }
+
+    @Test
+    @DisplayName("Test minimization of a counterexample file.")
+    public void testFromCounterexample() {
+        CounterexampleMinimization counterexampleMinimization = CounterexampleMinimization.fromCounterexample(loadCounterexampleAsJSONObject("counterexample.json"));
+
+        assertTrue(counterexampleMinimization.isComplete());
+        assertEquals(1, counterexampleMinimization.getMinimalFaultsToInject().size());
+
+        JSONObject result = counterexampleMinimization.toJSONObject();
+        assertEquals(1, result.getJSONArray("minimal_faults").length());
+        assertEquals(0, result.getJSONArray("trace").length());
+        assertTrue(result.getJSONArray("minimal_faults").getJSONObject(0).getJSONObject("fault").has("forced_exception"));
+    }
+}
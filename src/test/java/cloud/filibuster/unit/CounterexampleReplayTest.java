@@ -0,0 +1,78 @@
+package cloud.filibuster.unit;
+
+import cloud.filibuster.instrumentation.helpers.CounterexampleReplay;
+import cloud.filibuster.instrumentation.helpers.Property;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static cloud.filibuster.instrumentation.helpers.Counterexample.loadCounterexampleAsJSONObject;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CounterexampleReplayTest {
+    private static final String validDistributedExecutionIndex = "[[\"befdb58c6e8809aeb1a0e954bc665ca3\", 1], [\"5c172d74ea9e37459ad3bb923e92c6c2\", 1]]";
+
+    private static final String invalidDistributedExecutionIndex = "[[\"befdb58c6e8809aeb1a0e954bc665ca3\", 1]]";
+
+    @AfterEach
+    public void unsetCounterexampleProperty() {
+        Property.setInstrumentationCounterexampleFileProperty("");
+        CounterexampleReplay.reset();
+    }
+
+    @Test
+    @DisplayName("Test looking up failures in a counterexample by execution index.")
+    public void testShouldFailRequestWith() {
+        CounterexampleReplay counterexampleReplay = CounterexampleReplay.fromCounterexample(loadCounterexampleAsJSONObject("counterexample.json"));
+
+        JSONObject failure = counterexampleReplay.shouldFailRequestWith(validDistributedExecutionIndex);
+        assertNotNull(failure);
+        assertEquals("requests.exceptions.ConnectionError", failure.getJSONObject("forced_exception").getString("name"));
+
+        assertNull(counterexampleReplay.shouldFailRequestWith(invalidDistributedExecutionIndex));
+        assertEquals(invalidDistributedExecutionIndex, counterexampleReplay.shouldFailRequestWithOrDefault(invalidDistributedExecutionIndex).getString("execution_index"));
+    }
+
+    @Test
+    @DisplayName("Test the counterexample file is parsed once, and again only once it changes.")
+    public void testFromEnvironmentIsCached() throws IOException {
+        assertNull(CounterexampleReplay.fromEnvironment());
+
+        Path counterexampleFile = Files.createTempFile("counterexample", ".json");
+
+        try {
+            byte[] counterexample = Files.readAllBytes(Paths.get("counterexample.json"));
+            Files.write(counterexampleFile, counterexample);
+            Property.setInstrumentationCounterexampleFileProperty(counterexampleFile.toString());
+
+            CounterexampleReplay counterexampleReplay = CounterexampleReplay.fromEnvironment();
+            assertNotNull(counterexampleReplay);
+            assertSame(counterexampleReplay, CounterexampleReplay.fromEnvironment());
+
+            // Rewritten: size and modification time change.
+            Files.write(counterexampleFile, (new String(counterexample, StandardCharsets.UTF_8) + "\n").getBytes(StandardCharsets.UTF_8));
+            File file = counterexampleFile.toFile();
+            assertTrue(file.setLastModified(file.lastModified() + 2000));
+
+            CounterexampleReplay reloadedCounterexampleReplay = CounterexampleReplay.fromEnvironment();
+            assertNotNull(reloadedCounterexampleReplay);
+            assertNotSame(counterexampleReplay, reloadedCounterexampleReplay);
+            assertNotNull(reloadedCounterexampleReplay.shouldFailRequestWith(validDistributedExecutionIndex));
+        } finally {
+            Files.deleteIfExists(counterexampleFile);
+        }
+    }
+}
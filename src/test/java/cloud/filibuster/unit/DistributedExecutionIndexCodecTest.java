@@ -0,0 +1,116 @@
+package cloud.filibuster.unit;
+
+import cloud.filibuster.dei.DistributedExecutionIndex;
+import cloud.filibuster.dei.implementations.DistributedExecutionIndexV1;
+import cloud.filibuster.exceptions.distributed_execution_index.DistributedExecutionIndexSerializationException;
+import cloud.filibuster.instrumentation.datatypes.Callsite;
+import cloud.filibuster.instrumentation.datatypes.CallsiteArguments;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DistributedExecutionIndexCodecTest {
+    private static final Logger logger = Logger.getLogger(DistributedExecutionIndexCodecTest.class.getName());
+
+    private static final int BENCHMARK_MAX_DEPTH = 50;
+
+    private static final int BENCHMARK_ITERATIONS = 1000;
+
+    private static DistributedExecutionIndex generateDistributedExecutionIndex(int depth) {
+        DistributedExecutionIndex distributedExecutionIndex = new DistributedExecutionIndexV1();
+
+        for (int i = 0; i < depth; i++) {
+            distributedExecutionIndex.push(new Callsite("service", "klass", "method" + i, new CallsiteArguments(Object.class, "deadbeef")));
+        }
+
+        return distributedExecutionIndex;
+    }
+
+    private static DistributedExecutionIndex deserialize(String serialized) {
+        return new DistributedExecutionIndexV1().deserialize(serialized);
+    }
+
+    @Test
+    @DisplayName("Test serialize, deserialize round trip.")
+    public void testRoundTrip() {
+        for (int depth = 0; depth <= 5; depth++) {
+            DistributedExecutionIndex distributedExecutionIndex = generateDistributedExecutionIndex(depth);
+            DistributedExecutionIndex deserialized = deserialize(distributedExecutionIndex.toString());
+
+            assertEquals(distributedExecutionIndex.toString(), deserialized.toString());
+            assertEquals(deserialize(distributedExecutionIndex.toString()), deserialized);
+            assertEquals(distributedExecutionIndex.getSerializedCallstack(), deserialized.getSerializedCallstack());
+        }
+    }
+
+    @Test
+    @DisplayName("Test deserialize tolerates whitespace and serializes it canonically.")
+    public void testDeserializeWhitespace() {
+        DistributedExecutionIndex deserialized = deserialize("[ [\"V1-m-s-g-y-a\",1] ,[\"V1-m-s-g-y-b\" , 2 ] ]");
+        assertEquals("[[\"V1-m-s-g-y-a\", 1], [\"V1-m-s-g-y-b\", 2]]", deserialized.toString());
+    }
+
+    @Test
+    @DisplayName("Test deserialize skips entries without a counter.")
+    public void testDeserializeEntryWithoutCounter() {
+        assertEquals("[]", deserialize("[[\"V1-m-s-g-y-a\"]]").toString());
+        assertEquals("[[\"V1-m-s-g-y-a\", 1]]", deserialize("[[\"V1-m-s-g-y-a\", 1], [\"V1-m-s-g-y-b\"]]").toString());
+    }
+
+    @Test
+    @DisplayName("Test deserialize malformed execution strings.")
+    public void testDeserializeMalformed() {
+        assertThrows(DistributedExecutionIndexSerializationException.class, () -> deserialize("["));
+        assertThrows(DistributedExecutionIndexSerializationException.class, () -> deserialize("[[V1-m-s-g-y-a, 1]]"));
+        assertThrows(DistributedExecutionIndexSerializationException.class, () -> deserialize("[[\"V1-m-s-g-y-a\", ]]"));
+        assertThrows(DistributedExecutionIndexSerializationException.class, () -> deserialize("[[\"V1-m-s-g-y-a\", 1]"));
+        assertThrows(DistributedExecutionIndexSerializationException.class, () -> deserialize("[[\"V1-m-s-g-y-a\", 1]] "));
+        assertThrows(DistributedExecutionIndexSerializationException.class, () -> deserialize("[[\"V1-m-s-g-y-a\", 99999999999]]"));
+    }
+
+    @Test
+    @DisplayName("Test pushing onto a deserialized execution index extends its serialized form.")
+    public void testDeserializePush() {
+        DistributedExecutionIndex distributedExecutionIndex = generateDistributedExecutionIndex(3);
+        DistributedExecutionIndex deserialized = deserialize(generateDistributedExecutionIndex(2).toString());
+        deserialized.push(new Callsite("service", "klass", "method2", new CallsiteArguments(Object.class, "deadbeef")));
+
+        assertEquals(distributedExecutionIndex.toString(), deserialized.toString());
+
+        deserialized.pop();
+        assertEquals(generateDistributedExecutionIndex(2).toString(), deserialized.toString());
+    }
+
+    @Test
+    @DisplayName("Benchmark serialize and deserialize for callstacks of depth 1 to 50.")
+    public void testBenchmark() {
+        for (int depth = 1; depth <= BENCHMARK_MAX_DEPTH; depth++) {
+            DistributedExecutionIndex distributedExecutionIndex = generateDistributedExecutionIndex(depth);
+            String serialized = distributedExecutionIndex.toString();
+            Callsite callsite = new Callsite("service", "klass", "method" + (depth - 1), new CallsiteArguments(Object.class, "deadbeef"));
+
+            long serializeStart = System.nanoTime();
+
+            for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+                DistributedExecutionIndex cloned = (DistributedExecutionIndex) distributedExecutionIndex.clone();
+                cloned.pop();
+                cloned.push(callsite);
+                assertEquals(serialized.length(), cloned.toString().length());
+            }
+
+            long deserializeStart = System.nanoTime();
+
+            for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+                assertEquals(depth, deserialize(serialized).getSerializedCallstack().size());
+            }
+
+            long deserializeEnd = System.nanoTime();
+
+            logger.info("[FILIBUSTER-DEI]: codec benchmark, depth: " + depth + ", serialize ns/op: " + (deserializeStart - serializeStart) / BENCHMARK_ITERATIONS + ", deserialize ns/op: " + (deserializeEnd - deserializeStart) / BENCHMARK_ITERATIONS);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package cloud.filibuster.unit;
 
 import cloud.filibuster.dei.DistributedExecutionIndex;
+import cloud.filibuster.dei.DistributedExecutionIndexKeyTable;
 import cloud.filibuster.dei.implementations.DistributedExecutionIndexV1;
 import cloud.filibuster.exceptions.distributed_execution_index.DistributedExecutionIndexSerializationException;
 import cloud.filibuster.instrumentation.datatypes.Callsite;
@@ -156,8 +157,78 @@ public class DistributedExecutionIndexV1Test {
         ei.push(callsite);
         assertEquals("[[\"V1-da39a3ee5e6b4b0d3255bfef95601890afd80709-4cf5bc59bee9e1c44c6254b5f84e7f066bd8e5fe-572c339240d2ef65496a1cc48f38bd95c18f2458-eb1e7e8219cff88635d68a832300e07cd75bfebc-00aa7adca5809bf3003b7469bdf22140ac380041\", 2]]", ei.toString());
     }
-}
 
+    @Test
+    @DisplayName("Test deserialized execution indexes are equal and hash the same.")
+    public void testDeserializeEqualsHashCode() {
+        DistributedExecutionIndex ei = createInstance();
+        ei.push(generateCallsite());
+        ei.push(generateCallsite());
 
+        DistributedExecutionIndex ei1 = createInstanceFromSerialized(ei.toString());
+        DistributedExecutionIndex ei2 = createInstanceFromSerialized(ei.toString());
+        assertEquals(ei1, ei2);
+        assertEquals(ei1.hashCode(), ei2.hashCode());
 
+        ei2.pop();
+        assertNotEquals(ei1, ei2);
+        assertEquals(createInstanceFromSerialized(ei2.toString()), ei2);
+    }
+
+    @Test
+    @DisplayName("Test pushing onto an execution index does not affect its clones.")
+    public void testCloneIndependentCounters() {
+        Callsite callsite = generateCallsite();
+
+        DistributedExecutionIndex ei1 = createInstance();
+        ei1.push(callsite);
+
+        DistributedExecutionIndex ei2 = (DistributedExecutionIndex) ei1.clone();
+        ei1.pop();
+        ei1.push(callsite);
 
+        ei2.pop();
+        ei2.push(callsite);
+
+        assertEquals(ei1.toString(), ei2.toString());
+        assertEquals(ei1, ei2);
+        assertEquals(ei1.hashCode(), ei2.hashCode());
+        assertEquals(2, ei1.getSerializedCallstack().get(0).getValue());
+    }
+
+    @Test
+    @DisplayName("Test execution indexes built before the key table is cleared are equal to those built after.")
+    public void testKeyTableClear() {
+        Callsite firstCallsite = generateCallsite();
+        Callsite secondCallsite = generateCallsite();
+
+        DistributedExecutionIndex ei1 = createInstance();
+        ei1.push(firstCallsite);
+        ei1.push(secondCallsite);
+        String serialized = ei1.toString();
+        DistributedExecutionIndex deserializedEi1 = createInstanceFromSerialized(serialized);
+
+        DistributedExecutionIndexKeyTable.clear();
+        assertEquals(0, DistributedExecutionIndexKeyTable.size());
+
+        // Keys are interned again under new ids.
+        DistributedExecutionIndex ei2 = createInstance();
+        ei2.push(firstCallsite);
+        ei2.push(secondCallsite);
+        assertEquals(serialized, ei2.toString());
+        assertEquals(ei1, ei2);
+        assertEquals(ei1.hashCode(), ei2.hashCode());
+
+        DistributedExecutionIndex deserializedEi2 = createInstanceFromSerialized(serialized);
+        assertEquals(deserializedEi1, deserializedEi2);
+        assertEquals(deserializedEi1.hashCode(), deserializedEi2.hashCode());
+
+        // Counters of keys interned before and after are the same counters.
+        ei1.pop();
+        ei1.push(secondCallsite);
+        ei2.pop();
+        ei2.push(secondCallsite);
+        assertEquals(ei1, ei2);
+        assertEquals(2, ei1.getSerializedCallstack().get(1).getValue());
+    }
+}
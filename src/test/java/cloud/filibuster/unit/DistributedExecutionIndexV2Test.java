@@ -0,0 +1,157 @@
+package cloud.filibuster.unit;
+
+import cloud.filibuster.dei.DistributedExecutionIndex;
+import cloud.filibuster.dei.DistributedExecutionIndexHeaders;
+import cloud.filibuster.dei.implementations.DistributedExecutionIndexV1;
+import cloud.filibuster.dei.implementations.DistributedExecutionIndexV2;
+import cloud.filibuster.exceptions.distributed_execution_index.DistributedExecutionIndexSerializationException;
+import cloud.filibuster.instrumentation.datatypes.Callsite;
+import cloud.filibuster.instrumentation.datatypes.CallsiteArguments;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DistributedExecutionIndexV2Test {
+    private static final Logger logger = Logger.getLogger(DistributedExecutionIndexV2Test.class.getName());
+
+    private static final int BENCHMARK_MAX_DEPTH = 20;
+
+    private static final int BENCHMARK_ITERATIONS = 1000;
+
+    private static Callsite generateCallsite(int i) {
+        return new Callsite("service", "klass", "method" + i, new CallsiteArguments(Object.class, "deadbeef"));
+    }
+
+    private static DistributedExecutionIndex generateDistributedExecutionIndex(DistributedExecutionIndex distributedExecutionIndex, int depth) {
+        for (int i = 0; i < depth; i++) {
+            distributedExecutionIndex.push(generateCallsite(i));
+        }
+
+        return distributedExecutionIndex;
+    }
+
+    @Test
+    @DisplayName("Test V2 keys are made of fixed-width fingerprints.")
+    public void testKeyFormat() {
+        DistributedExecutionIndex ei = generateDistributedExecutionIndex(new DistributedExecutionIndexV2(), 1);
+        String serializedKey = ei.getSerializedCallstack().get(0).getKey();
+
+        assertTrue(serializedKey.matches("V2(-[0-9a-f]{16}){5}"), serializedKey);
+        assertEquals("klass", ei.projectionLastKeyWithOnlyDestination());
+        assertEquals(16, ei.projectionLastKeyWithOnlySignature().length());
+    }
+
+    @Test
+    @DisplayName("Test V2 execution indexes round trip through the propagation header.")
+    public void testHeaderRoundTrip() {
+        for (int depth = 0; depth <= 5; depth++) {
+            DistributedExecutionIndex ei = generateDistributedExecutionIndex(new DistributedExecutionIndexV2(), depth);
+            String header = DistributedExecutionIndexHeaders.toHeader(ei);
+
+            if (depth > 0) {
+                assertTrue(header.matches("[A-Za-z0-9_-]+"), header);
+            }
+
+            String serialized = DistributedExecutionIndexHeaders.fromHeader(header);
+            assertEquals(ei.toString(), serialized);
+            assertEquals(new DistributedExecutionIndexV2().deserialize(ei.toString()), new DistributedExecutionIndexV2().deserialize(serialized));
+        }
+    }
+
+    @Test
+    @DisplayName("Test counters that need more than one varint byte round trip through the propagation header.")
+    public void testHeaderLargeCounter() {
+        DistributedExecutionIndex ei = new DistributedExecutionIndexV2();
+
+        for (int i = 0; i < 300; i++) {
+            ei.push(generateCallsite(0));
+            ei.pop();
+        }
+
+        ei.push(generateCallsite(0));
+        ei.push(generateCallsite(1));
+
+        assertEquals(ei.toString(), DistributedExecutionIndexHeaders.fromHeader(DistributedExecutionIndexHeaders.toHeader(ei)));
+    }
+
+    @Test
+    @DisplayName("Test V1 execution indexes are propagated in their serialized form.")
+    public void testHeaderV1() {
+        DistributedExecutionIndex ei = generateDistributedExecutionIndex(new DistributedExecutionIndexV1(), 3);
+        String header = DistributedExecutionIndexHeaders.toHeader(ei);
+
+        assertEquals(ei.toString(), header);
+        assertEquals(header, DistributedExecutionIndexHeaders.fromHeader(header));
+        assertNull(DistributedExecutionIndexHeaders.fromHeader(null));
+    }
+
+    @Test
+    @DisplayName("Test V1 execution indexes received by V2 services are translated.")
+    public void testTranslateV1() {
+        String serialized = generateDistributedExecutionIndex(new DistributedExecutionIndexV1(), 3).toString();
+        DistributedExecutionIndex ei = new DistributedExecutionIndexV2().deserialize(serialized);
+
+        assertEquals(generateDistributedExecutionIndex(new DistributedExecutionIndexV2(), 3).toString(), ei.toString());
+        assertTrue(DistributedExecutionIndexHeaders.toHeader(ei).charAt(0) != '[');
+    }
+
+    @Test
+    @DisplayName("Test malformed propagation headers.")
+    public void testMalformedHeader() {
+        String header = DistributedExecutionIndexHeaders.toHeader(generateDistributedExecutionIndex(new DistributedExecutionIndexV2(), 2));
+
+        assertThrows(DistributedExecutionIndexSerializationException.class, () -> DistributedExecutionIndexHeaders.fromHeader("!!"));
+        assertThrows(DistributedExecutionIndexSerializationException.class, () -> DistributedExecutionIndexHeaders.fromHeader(header.substring(0, header.length() - 4)));
+        assertThrows(DistributedExecutionIndexSerializationException.class, () -> DistributedExecutionIndexHeaders.fromHeader("AQ"));
+    }
+
+    @Test
+    @DisplayName("Benchmark propagation header size and parse cost of V1 and V2 for callstacks of depth 1 to 20.")
+    public void testBenchmark() {
+        for (int depth = 1; depth <= BENCHMARK_MAX_DEPTH; depth++) {
+            DistributedExecutionIndex v1 = generateDistributedExecutionIndex(new DistributedExecutionIndexV1(), depth - 1);
+            DistributedExecutionIndex v2 = generateDistributedExecutionIndex(new DistributedExecutionIndexV2(), depth - 1);
+
+            // Every hop parses a header that it has not seen, so the last entry is made unique to defeat the caches.
+            String[] v1Headers = new String[BENCHMARK_ITERATIONS];
+            String[] v2Headers = new String[BENCHMARK_ITERATIONS];
+
+            for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+                DistributedExecutionIndex v1Clone = (DistributedExecutionIndex) v1.clone();
+                v1Clone.push(generateCallsite(BENCHMARK_MAX_DEPTH + i));
+                v1Headers[i] = DistributedExecutionIndexHeaders.toHeader(v1Clone);
+
+                DistributedExecutionIndex v2Clone = (DistributedExecutionIndex) v2.clone();
+                v2Clone.push(generateCallsite(BENCHMARK_MAX_DEPTH + i));
+                v2Headers[i] = DistributedExecutionIndexHeaders.toHeader(v2Clone);
+            }
+
+            long v1Start = System.nanoTime();
+
+            for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+                new DistributedExecutionIndexV1().deserialize(DistributedExecutionIndexHeaders.fromHeader(v1Headers[i]));
+            }
+
+            long v2Start = System.nanoTime();
+
+            for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+                new DistributedExecutionIndexV2().deserialize(DistributedExecutionIndexHeaders.fromHeader(v2Headers[i]));
+            }
+
+            long v2End = System.nanoTime();
+
+            String v1Header = v1Headers[0];
+            String v2Header = v2Headers[0];
+
+            logger.info("[FILIBUSTER-DEI]: header benchmark, depth: " + depth + ", V1 bytes: " + v1Header.length() + ", V2 bytes: " + v2Header.length() + ", V1 parse ns/op: " + (v2Start - v1Start) / BENCHMARK_ITERATIONS + ", V2 parse ns/op: " + (v2End - v2Start) / BENCHMARK_ITERATIONS);
+
+            assertTrue(v2Header.length() < v1Header.length());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package cloud.filibuster.unit;
+
+import cloud.filibuster.instrumentation.datatypes.FilibusterExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FilibusterExecutorDelayTest {
+    private static final int DELAY_MS = 500;
+
+    private static final int NUM_DELAYS = 10;
+
+    @Test
+    @DisplayName("Test a zero delay completes immediately.")
+    public void testZeroDelay() {
+        assertTrue(FilibusterExecutor.delay(0).isDone());
+    }
+
+    @Test
+    @DisplayName("Test delay waits at least the requested time.")
+    public void testDelay() {
+        long startTime = System.nanoTime();
+        FilibusterExecutor.delay(DELAY_MS).join();
+        long elapsedTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+        assertTrue(elapsedTime >= DELAY_MS);
+    }
+
+    @Test
+    @DisplayName("Test concurrent delays overlap instead of running one after another.")
+    public void testConcurrentDelaysOverlap() {
+        long startTime = System.nanoTime();
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (int i = 0; i < NUM_DELAYS; i++) {
+            futures.add(FilibusterExecutor.delay(DELAY_MS));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        long elapsedTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+        assertTrue(elapsedTime >= DELAY_MS);
+        assertTrue(elapsedTime < (long) DELAY_MS * NUM_DELAYS / 2);
+    }
+}
@@ -0,0 +1,66 @@
+package cloud.filibuster.unit;
+
+import cloud.filibuster.instrumentation.datatypes.FilibusterExecutorType;
+import cloud.filibuster.instrumentation.datatypes.FilibusterInstrumentedExecutorService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FilibusterExecutorTypeTest {
+    @Test
+    @DisplayName("Test every executor type runs tasks, including tasks that block on other tasks.")
+    public void testExecutorTypes() throws InterruptedException {
+        for (FilibusterExecutorType executorType : FilibusterExecutorType.values()) {
+            ExecutorService executorService = executorType.createExecutorService();
+
+            int result = CompletableFuture.supplyAsync(() -> CompletableFuture.supplyAsync(() -> 1, executorService).join() + 1, executorService).join();
+            assertEquals(2, result);
+            assertTrue(executorType.getEventLoopThreads() > 0);
+
+            executorService.shutdown();
+            assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Test the instrumented executor service reports queued, running and completed tasks.")
+    public void testInstrumentedExecutorService() throws InterruptedException {
+        FilibusterInstrumentedExecutorService executorService = new FilibusterInstrumentedExecutorService(FilibusterExecutorType.FIXED.createExecutorService());
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> blockedTask = CompletableFuture.runAsync(() -> {
+            started.countDown();
+
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, executorService);
+
+        started.await();
+        assertEquals(1, executorService.getRunningTasks());
+        assertEquals(0, executorService.getQueuedTasks());
+
+        release.countDown();
+        blockedTask.join();
+        CompletableFuture.runAsync(() -> { }, executorService).join();
+
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(2, executorService.getSubmittedTasks());
+        assertEquals(2, executorService.getCompletedTasks());
+        assertEquals(0, executorService.getRunningTasks());
+        assertTrue(executorService.getPeakRunningTasks() >= 1);
+    }
+}
@@ -0,0 +1,81 @@
+package cloud.filibuster.unit;
+
+import cloud.filibuster.junit.configuration.FilibusterAnalysisConfiguration;
+import cloud.filibuster.junit.configuration.FilibusterAnalysisConfiguration.MatcherType;
+import cloud.filibuster.junit.configuration.FilibusterCustomAnalysisConfigurationFile;
+import cloud.filibuster.junit.server.core.FilibusterFaultRuleEngine;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FilibusterFaultRuleEngineTest {
+    @SuppressWarnings("Java8ApiChecker")
+    private static FilibusterFaultRuleEngine createFilibusterFaultRuleEngine() {
+        FilibusterAnalysisConfiguration grpcConfiguration = new FilibusterAnalysisConfiguration.Builder()
+                .name("java.grpc")
+                .pattern("(.*Service/.*)")
+                .type("grpc")
+                .exception("io.grpc.StatusRuntimeException", Map.of(
+                        "cause", "",
+                        "code", "UNAVAILABLE"
+                ))
+                .latency(MatcherType.METHOD, "getUser", 100)
+                .latency(MatcherType.SERVICE, "BillingService", 200)
+                .build();
+
+        FilibusterAnalysisConfiguration httpConfiguration = new FilibusterAnalysisConfiguration.Builder()
+                .name("http")
+                .pattern("(.*)")
+                .error("user", Collections.singletonList(new JSONObject().put("return_value", new JSONObject().put("status_code", "503"))))
+                .build();
+
+        return new FilibusterFaultRuleEngine(new FilibusterCustomAnalysisConfigurationFile.Builder()
+                .analysisConfiguration(grpcConfiguration)
+                .analysisConfiguration(httpConfiguration)
+                .build());
+    }
+
+    @Test
+    public void testRulesAreGroupedByType() {
+        FilibusterFaultRuleEngine filibusterFaultRuleEngine = createFilibusterFaultRuleEngine();
+
+        // Typed RPCs only match rules of that type.
+        List<JSONObject> grpcFaultObjects = filibusterFaultRuleEngine.getFaultObjects("grpc", "UserService", "UserService/getUser");
+        assertEquals(2, grpcFaultObjects.size());
+        assertTrue(grpcFaultObjects.get(0).has("latency"));
+        assertTrue(grpcFaultObjects.get(1).has("forced_exception"));
+
+        // Untyped RPCs only match rules without a type; errors are restricted to the matching service.
+        List<JSONObject> httpFaultObjects = filibusterFaultRuleEngine.getFaultObjects(null, "user", "GET");
+        assertEquals(1, httpFaultObjects.size());
+        assertEquals("503", httpFaultObjects.get(0).getJSONObject("failure_metadata").getJSONObject("return_value").getString("status_code"));
+        assertEquals(0, filibusterFaultRuleEngine.getFaultObjects(null, "billing", "GET").size());
+
+        assertEquals(0, filibusterFaultRuleEngine.getFaultObjects("redis", "UserService", "UserService/getUser").size());
+    }
+
+    @Test
+    public void testLatencyMatchers() {
+        FilibusterFaultRuleEngine filibusterFaultRuleEngine = createFilibusterFaultRuleEngine();
+
+        List<JSONObject> faultObjects = filibusterFaultRuleEngine.getFaultObjects("grpc", "BillingService", "BillingService/charge");
+        assertEquals(2, faultObjects.size());
+        assertEquals(200, faultObjects.get(0).getJSONObject("latency").getInt("milliseconds"));
+    }
+
+    @Test
+    public void testFaultObjectsAreMemoized() {
+        FilibusterFaultRuleEngine filibusterFaultRuleEngine = createFilibusterFaultRuleEngine();
+
+        List<JSONObject> first = filibusterFaultRuleEngine.getFaultObjects("grpc", "UserService", "UserService/getUser");
+        List<JSONObject> second = filibusterFaultRuleEngine.getFaultObjects("grpc", "UserService", "UserService/getUser");
+        assertSame(first, second);
+    }
+}
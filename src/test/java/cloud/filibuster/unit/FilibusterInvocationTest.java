@@ -0,0 +1,153 @@
+package cloud.filibuster.unit;
+
+import cloud.filibuster.dei.DistributedExecutionIndex;
+import cloud.filibuster.dei.implementations.DistributedExecutionIndexV1;
+import cloud.filibuster.exceptions.filibuster.FilibusterFaultInjectionException;
+import cloud.filibuster.instrumentation.datatypes.Callsite;
+import cloud.filibuster.instrumentation.datatypes.CallsiteArguments;
+import cloud.filibuster.instrumentation.datatypes.VectorClock;
+import cloud.filibuster.junit.FilibusterSearchStrategy;
+import cloud.filibuster.junit.configuration.FilibusterConfiguration;
+import cloud.filibuster.junit.server.core.FilibusterCore;
+import cloud.filibuster.junit.server.core.invocations.FilibusterFault;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationResponse;
+import cloud.filibuster.junit.server.core.reports.TestExecutionReport;
+import org.json.JSONObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FilibusterInvocationTest {
+    private static FilibusterInvocation generateInvocation(DistributedExecutionIndex distributedExecutionIndex) {
+        VectorClock vectorClock = new VectorClock();
+        vectorClock.incrementClock("service");
+
+        return new FilibusterInvocation.Builder()
+                .sourceServiceName("service")
+                .moduleName("Hello")
+                .methodName("Hello/World")
+                .rpcType("grpc")
+                .arguments(new JSONObject().put("toString", "deadbeef"))
+                .callsite("file", "1", "traceback")
+                .vectorClock(vectorClock)
+                .originVectorClock(new VectorClock())
+                .distributedExecutionIndex(distributedExecutionIndex)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Test the payload of an invocation round trips to the same typed fields.")
+    public void testInvocationRoundTrip() {
+        DistributedExecutionIndex distributedExecutionIndex = new DistributedExecutionIndexV1();
+        distributedExecutionIndex.push(new Callsite("service", "Hello", "Hello/World", new CallsiteArguments(Object.class, "deadbeef")));
+
+        FilibusterInvocation invocation = generateInvocation(distributedExecutionIndex);
+        JSONObject payload = invocation.toJSONObject();
+
+        assertSame(payload, invocation.toJSONObject());
+        assertEquals("invocation", payload.getString("instrumentation_type"));
+        assertEquals("grpc", payload.getJSONObject("metadata").getString("rpc_type"));
+        assertEquals(distributedExecutionIndex.toString(), payload.getString("execution_index"));
+        assertFalse(payload.has("preliminary_execution_index"));
+
+        FilibusterInvocation receivedInvocation = FilibusterInvocation.fromJSONObject(new JSONObject(payload.toString()));
+        assertEquals("Hello", receivedInvocation.getModuleName());
+        assertEquals("Hello/World", receivedInvocation.getMethodName());
+        assertEquals("grpc", receivedInvocation.getRpcType());
+        assertEquals("service", receivedInvocation.getSourceServiceName());
+        assertEquals("deadbeef", receivedInvocation.getArguments().getString("toString"));
+        assertEquals(1, receivedInvocation.getVectorClock().get("service"));
+        assertTrue(receivedInvocation.similar(invocation));
+
+        // Both sides key executions on the same index, whichever way the invocation arrived.
+        assertEquals(invocation.getDistributedExecutionIndex(), receivedInvocation.getDistributedExecutionIndex());
+        assertEquals(new DistributedExecutionIndexV1().deserialize(distributedExecutionIndex.toString()), invocation.getDistributedExecutionIndex());
+    }
+
+    @Test
+    @DisplayName("Test invocation responses round trip, with latency kept apart from the fault.")
+    public void testInvocationResponseRoundTrip() {
+        JSONObject forcedException = new JSONObject().put("name", "io.grpc.StatusRuntimeException");
+        FilibusterInvocationResponse response = new FilibusterInvocationResponse(3, new FilibusterFault(FilibusterFault.Kind.FORCED_EXCEPTION, forcedException), 100);
+
+        JSONObject jsonObject = response.toJSONObject();
+        assertEquals(3, jsonObject.getInt("generated_id"));
+        assertEquals(100, jsonObject.getJSONObject("latency").getInt("milliseconds"));
+        assertTrue(jsonObject.getJSONObject("forced_exception").similar(forcedException));
+
+        FilibusterInvocationResponse receivedResponse = FilibusterInvocationResponse.fromJSONObject(jsonObject);
+        assertEquals(3, receivedResponse.getGeneratedId());
+        assertEquals(100, receivedResponse.getLatencyMilliseconds());
+        assertEquals(FilibusterFault.Kind.FORCED_EXCEPTION, receivedResponse.getFault().getKind());
+        assertNull(receivedResponse.getFaultConfiguration(FilibusterFault.Kind.FAILURE_METADATA));
+
+        FilibusterInvocationResponse emptyResponse = FilibusterInvocationResponse.fromJSONObject(new JSONObject().put("generated_id", 1));
+        assertNull(emptyResponse.getFault());
+        assertEquals(0, emptyResponse.getLatencyMilliseconds());
+        assertFalse(emptyResponse.toJSONObject().has("latency"));
+    }
+
+    @Test
+    @DisplayName("Test clock reset responses of the combined begin round trip.")
+    public void testResetClocksResponseRoundTrip() {
+        JSONObject jsonObject = FilibusterInvocationResponse.resetClocks().toJSONObject();
+        assertTrue(jsonObject.getBoolean("reset_clocks"));
+
+        FilibusterInvocationResponse receivedResponse = FilibusterInvocationResponse.fromJSONObject(jsonObject);
+        assertTrue(receivedResponse.shouldResetClocks());
+        assertEquals(-1, receivedResponse.getGeneratedId());
+        assertNull(receivedResponse.getFault());
+
+        assertFalse(FilibusterInvocationResponse.fromJSONObject(new JSONObject().put("generated_id", 1)).shouldResetClocks());
+    }
+
+    @Test
+    @DisplayName("Test fault objects parse to their kind.")
+    public void testFaultFromFaultObject() {
+        FilibusterFault latencyFault = FilibusterFault.fromFaultObject(new JSONObject().put("latency", new JSONObject().put("milliseconds", 50)));
+        assertEquals(FilibusterFault.Kind.LATENCY, latencyFault.getKind());
+        assertEquals(50, latencyFault.getLatencyMilliseconds());
+
+        assertThrows(FilibusterFaultInjectionException.class, () -> FilibusterFault.fromFaultObject(new JSONObject().put("unknown", new JSONObject())));
+    }
+
+    @Test
+    @DisplayName("Test the response of a successful RPC is recorded in the test execution report.")
+    public void testSuccessfulResponseRecorded() {
+        FilibusterConfiguration filibusterConfiguration = new FilibusterConfiguration.Builder()
+                .searchStrategy(FilibusterSearchStrategy.DFS)
+                .testName("testSuccessfulResponseRecorded")
+                .className(FilibusterInvocationTest.class.getName())
+                .build();
+        FilibusterCore filibusterCore = new FilibusterCore(filibusterConfiguration);
+
+        DistributedExecutionIndex distributedExecutionIndex = new DistributedExecutionIndexV1();
+        distributedExecutionIndex.push(new Callsite("service", "Hello", "Hello/World", new CallsiteArguments(Object.class, "deadbeef")));
+
+        FilibusterInvocation invocation = generateInvocation(distributedExecutionIndex);
+        FilibusterInvocationResponse response = filibusterCore.beginInvocation(invocation);
+
+        FilibusterInvocationComplete invocationComplete = new FilibusterInvocationComplete.Builder()
+                .generatedId(response.getGeneratedId())
+                .distributedExecutionIndex(distributedExecutionIndex)
+                .vectorClock(invocation.getVectorClock())
+                .returnValue(new JSONObject().put("__class__", "HelloReply").put("toString", "Hello, world!"))
+                .build();
+        filibusterCore.endInvocation(invocationComplete);
+
+        TestExecutionReport testExecutionReport = filibusterCore.getCurrentTestExecutionReport();
+        FilibusterInvocationComplete recordedInvocationComplete = testExecutionReport.getResponse(distributedExecutionIndex);
+        assertEquals("Hello, world!", recordedInvocationComplete.getReturnValue().getString("toString"));
+        assertFalse(recordedInvocationComplete.hasException());
+        assertSame(invocation, testExecutionReport.getInvocation(distributedExecutionIndex));
+        assertFalse(filibusterCore.failedRPCs().containsKey(distributedExecutionIndex));
+    }
+}
@@ -0,0 +1,218 @@
+package cloud.filibuster.unit;
+
+import cloud.filibuster.dei.DistributedExecutionIndex;
+import cloud.filibuster.dei.implementations.DistributedExecutionIndexV1;
+import cloud.filibuster.instrumentation.datatypes.Callsite;
+import cloud.filibuster.instrumentation.datatypes.CallsiteArguments;
+import cloud.filibuster.instrumentation.datatypes.VectorClock;
+import cloud.filibuster.junit.server.core.invocations.FilibusterFault;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationResponse;
+import cloud.filibuster.junit.server.protocol.FilibusterProtocolDecoder;
+import cloud.filibuster.junit.server.protocol.FilibusterProtocolEncoder;
+import cloud.filibuster.protocol.FilibusterProtocol;
+import org.json.JSONObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FilibusterProtocolTest {
+    private static final Logger logger = Logger.getLogger(FilibusterProtocolTest.class.getName());
+
+    private static DistributedExecutionIndex generateDistributedExecutionIndex() {
+        DistributedExecutionIndex distributedExecutionIndex = new DistributedExecutionIndexV1();
+        distributedExecutionIndex.push(new Callsite("service", "Hello", "Hello/World", new CallsiteArguments(Object.class, "deadbeef")));
+        distributedExecutionIndex.push(new Callsite("service", "World", "World/Hello", new CallsiteArguments(Object.class, "deadbeef")));
+        return distributedExecutionIndex;
+    }
+
+    private static FilibusterInvocation generateInvocation() {
+        VectorClock vectorClock = new VectorClock();
+        vectorClock.incrementClock("service");
+
+        return new FilibusterInvocation.Builder()
+                .sourceServiceName("service")
+                .moduleName("World")
+                .methodName("World/Hello")
+                .rpcType("grpc")
+                .arguments(new JSONObject().put("__class__", "java.lang.Object").put("toString", "deadbeef"))
+                .callsite("Test.java", "10", "at Test.test(Test.java:10)")
+                .vectorClock(vectorClock)
+                .originVectorClock(new VectorClock())
+                .distributedExecutionIndex(generateDistributedExecutionIndex())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Test invocations round trip through the binary protocol, defining each string once.")
+    public void testInvocationRoundTrip() {
+        FilibusterProtocolEncoder encoder = new FilibusterProtocolEncoder();
+        FilibusterProtocolDecoder decoder = new FilibusterProtocolDecoder();
+        FilibusterInvocation invocation = generateInvocation();
+
+        FilibusterProtocol.Invocation firstMessage = encoder.encodeInvocation(invocation, false);
+        FilibusterInvocation decodedInvocation = decoder.decodeInvocation(firstMessage);
+
+        assertNotNull(decodedInvocation);
+        assertEquals("World", decodedInvocation.getModuleName());
+        assertEquals("World/Hello", decodedInvocation.getMethodName());
+        assertEquals("grpc", decodedInvocation.getRpcType());
+        assertEquals(invocation.getExecutionIndex(), decodedInvocation.getExecutionIndex());
+        assertEquals(invocation.getDistributedExecutionIndex(), decodedInvocation.getDistributedExecutionIndex());
+        assertTrue(invocation.toJSONObject().similar(decodedInvocation.toJSONObject()));
+
+        // Later messages only reference what the session already defined.
+        FilibusterProtocol.Invocation secondMessage = encoder.encodeInvocation(invocation, false);
+        assertEquals(0, secondMessage.getDefinitionsCount());
+        assertNotNull(decoder.decodeInvocation(secondMessage));
+
+        int jsonBytes = invocation.toJSONObject().toString().getBytes(StandardCharsets.UTF_8).length;
+        logger.info("[FILIBUSTER-PROTOCOL]: invocation bytes, json: " + jsonBytes + ", first binary: " + firstMessage.toByteArray().length + ", later binary: " + secondMessage.toByteArray().length);
+        assertTrue(secondMessage.toByteArray().length < jsonBytes);
+    }
+
+    @Test
+    @DisplayName("Test unknown ids are reported, and resending with all definitions recovers.")
+    public void testUnknownDefinitions() {
+        FilibusterProtocolEncoder encoder = new FilibusterProtocolEncoder();
+        FilibusterInvocation invocation = generateInvocation();
+        assertNotNull(new FilibusterProtocolDecoder().decodeInvocation(encoder.encodeInvocation(invocation, false)));
+
+        // e.g., the server restarted.
+        FilibusterProtocolDecoder restartedDecoder = new FilibusterProtocolDecoder();
+        assertNull(restartedDecoder.decodeInvocation(encoder.encodeInvocation(invocation, false)));
+        assertNotNull(restartedDecoder.decodeInvocation(encoder.encodeInvocation(invocation, true)));
+        assertNotNull(restartedDecoder.decodeInvocation(encoder.encodeInvocation(invocation, false)));
+
+        // e.g., the test the session was used by is done.
+        restartedDecoder.clear();
+        assertNull(restartedDecoder.decodeInvocation(encoder.encodeInvocation(invocation, false)));
+        assertNotNull(restartedDecoder.decodeInvocation(encoder.encodeInvocation(invocation, true)));
+    }
+
+    @Test
+    @DisplayName("Test nested arguments and return values round trip without being flattened.")
+    public void testNestedValuesRoundTrip() {
+        FilibusterProtocolEncoder encoder = new FilibusterProtocolEncoder();
+        FilibusterProtocolDecoder decoder = new FilibusterProtocolDecoder();
+        JSONObject arguments = new JSONObject()
+                .put("toString", "deadbeef")
+                .put("headers", new JSONObject().put("content-type", "application/json"))
+                .put("count", 2);
+
+        FilibusterInvocation invocation = new FilibusterInvocation.Builder()
+                .sourceServiceName("service")
+                .moduleName("World")
+                .methodName("World/Hello")
+                .arguments(arguments)
+                .vectorClock(new VectorClock())
+                .originVectorClock(new VectorClock())
+                .distributedExecutionIndex(generateDistributedExecutionIndex())
+                .build();
+
+        FilibusterInvocation decodedInvocation = decoder.decodeInvocation(encoder.encodeInvocation(invocation, false));
+        assertNotNull(decodedInvocation);
+        assertTrue(arguments.similar(decodedInvocation.getArguments()));
+        assertEquals("application/json", decodedInvocation.getArguments().getJSONObject("headers").getString("content-type"));
+
+        JSONObject returnValue = new JSONObject()
+                .put("__class__", "HelloReply")
+                .put("body", new JSONObject().put("message", "Hello, world!"));
+
+        FilibusterInvocationComplete invocationComplete = new FilibusterInvocationComplete.Builder()
+                .generatedId(1)
+                .distributedExecutionIndex(generateDistributedExecutionIndex())
+                .vectorClock(new VectorClock())
+                .returnValue(returnValue)
+                .build();
+
+        FilibusterInvocationComplete decodedInvocationComplete = decoder.decodeInvocationComplete(encoder.encodeInvocationComplete(invocationComplete, false));
+        assertNotNull(decodedInvocationComplete);
+        assertTrue(returnValue.similar(decodedInvocationComplete.getReturnValue()));
+        assertTrue(invocationComplete.toJSONObject().similar(decodedInvocationComplete.toJSONObject()));
+    }
+
+    @Test
+    @DisplayName("Test completed invocations and responses round trip through the binary protocol.")
+    public void testInvocationCompleteAndResponseRoundTrip() {
+        FilibusterProtocolEncoder encoder = new FilibusterProtocolEncoder();
+        FilibusterProtocolDecoder decoder = new FilibusterProtocolDecoder();
+
+        FilibusterInvocationComplete invocationComplete = new FilibusterInvocationComplete.Builder()
+                .generatedId(1)
+                .distributedExecutionIndex(generateDistributedExecutionIndex())
+                .vectorClock(new VectorClock())
+                .exception(new JSONObject().put("name", "io.grpc.StatusRuntimeException").put("metadata", new JSONObject().put("abort", true)))
+                .build();
+
+        FilibusterInvocationComplete decodedInvocationComplete = decoder.decodeInvocationComplete(encoder.encodeInvocationComplete(invocationComplete, false));
+        assertNotNull(decodedInvocationComplete);
+        assertTrue(decodedInvocationComplete.hasException());
+        assertEquals(invocationComplete.getDistributedExecutionIndex(), decodedInvocationComplete.getDistributedExecutionIndex());
+        assertTrue(invocationComplete.toJSONObject().similar(decodedInvocationComplete.toJSONObject()));
+
+        JSONObject failureMetadata = new JSONObject().put("return_value", new JSONObject().put("status_code", "503"));
+        FilibusterInvocationResponse response = new FilibusterInvocationResponse(2, new FilibusterFault(FilibusterFault.Kind.FAILURE_METADATA, failureMetadata), 10);
+        FilibusterInvocationResponse decodedResponse = FilibusterProtocolEncoder.decodeInvocationResponse(FilibusterProtocolDecoder.encodeInvocationResponse(response));
+
+        assertEquals(2, decodedResponse.getGeneratedId());
+        assertEquals(10, decodedResponse.getLatencyMilliseconds());
+        assertTrue(decodedResponse.getFaultConfiguration(FilibusterFault.Kind.FAILURE_METADATA).similar(failureMetadata));
+    }
+
+    @Test
+    @DisplayName("Test the combined begin carries the clock reset request and decision.")
+    public void testCombinedBegin() {
+        FilibusterProtocolEncoder encoder = new FilibusterProtocolEncoder();
+        FilibusterInvocation invocation = generateInvocation();
+
+        assertTrue(encoder.encodeInvocation(invocation, false, true, 0).getResetClocksIfNewTestExecution());
+        assertEquals(2, encoder.encodeInvocation(invocation, false, true, 2).getClockEpoch());
+        assertFalse(encoder.encodeInvocation(invocation, false).getResetClocksIfNewTestExecution());
+
+        FilibusterInvocationResponse decodedResponse = FilibusterProtocolEncoder.decodeInvocationResponse(FilibusterProtocolDecoder.encodeInvocationResponse(FilibusterInvocationResponse.resetClocks()));
+        assertTrue(decodedResponse.shouldResetClocks());
+        assertNull(decodedResponse.getFault());
+    }
+
+    @Test
+    @DisplayName("Test batches of completed invocations round trip, and are rejected whole if any id is unknown.")
+    public void testInvocationCompleteBatchRoundTrip() {
+        FilibusterProtocolEncoder encoder = new FilibusterProtocolEncoder();
+        List<FilibusterInvocationComplete> invocationCompletes = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            invocationCompletes.add(new FilibusterInvocationComplete.Builder()
+                    .generatedId(i)
+                    .distributedExecutionIndex(generateDistributedExecutionIndex())
+                    .vectorClock(new VectorClock())
+                    .returnValue(new JSONObject().put("__class__", "java.lang.Object"))
+                    .build());
+        }
+
+        List<FilibusterInvocationComplete> decodedInvocationCompletes = new FilibusterProtocolDecoder().decodeInvocationCompletes(encoder.encodeInvocationCompletes(invocationCompletes, false));
+        assertNotNull(decodedInvocationCompletes);
+        assertEquals(3, decodedInvocationCompletes.size());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i, decodedInvocationCompletes.get(i).getGeneratedId());
+            assertTrue(invocationCompletes.get(i).toJSONObject().similar(decodedInvocationCompletes.get(i).toJSONObject()));
+        }
+
+        // e.g., the server restarted.
+        FilibusterProtocolDecoder restartedDecoder = new FilibusterProtocolDecoder();
+        assertNull(restartedDecoder.decodeInvocationCompletes(encoder.encodeInvocationCompletes(invocationCompletes, false)));
+        assertNotNull(restartedDecoder.decodeInvocationCompletes(encoder.encodeInvocationCompletes(invocationCompletes, true)));
+    }
+}
@@ -0,0 +1,48 @@
+package cloud.filibuster.unit;
+
+import cloud.filibuster.instrumentation.datatypes.FilibusterWebClientRegistry;
+import com.linecorp.armeria.client.WebClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class FilibusterWebClientRegistryTest {
+    private static final String baseUri = "http://localhost:5005/";
+
+    @AfterEach
+    public void resetWebClients() {
+        FilibusterWebClientRegistry.reset();
+    }
+
+    @Test
+    @DisplayName("Test web clients are reused per base URI and service.")
+    public void testWebClientsAreReused() {
+        long webClientsCreated = FilibusterWebClientRegistry.getWebClientsCreated();
+
+        WebClient webClient = FilibusterWebClientRegistry.getWebClient(baseUri);
+        assertSame(webClient, FilibusterWebClientRegistry.getWebClient(baseUri));
+
+        WebClient decoratedWebClient = FilibusterWebClientRegistry.getDecoratedWebClient(baseUri, "hello");
+        assertSame(decoratedWebClient, FilibusterWebClientRegistry.getDecoratedWebClient(baseUri, "hello"));
+        assertNotSame(webClient, decoratedWebClient);
+        assertNotSame(decoratedWebClient, FilibusterWebClientRegistry.getDecoratedWebClient(baseUri, "world"));
+
+        assertEquals(webClientsCreated + 3, FilibusterWebClientRegistry.getWebClientsCreated());
+    }
+
+    @Test
+    @DisplayName("Test web clients are created again after a reset.")
+    public void testWebClientsAfterReset() {
+        long resets = FilibusterWebClientRegistry.getResets();
+
+        WebClient webClient = FilibusterWebClientRegistry.getWebClient(baseUri);
+        FilibusterWebClientRegistry.reset();
+
+        assertEquals(resets + 1, FilibusterWebClientRegistry.getResets());
+        assertNotSame(webClient, FilibusterWebClientRegistry.getWebClient(baseUri));
+    }
+}
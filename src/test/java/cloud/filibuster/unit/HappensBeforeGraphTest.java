@@ -0,0 +1,249 @@
+package cloud.filibuster.unit;
+
+import cloud.filibuster.dei.DistributedExecutionIndex;
+import cloud.filibuster.dei.implementations.DistributedExecutionIndexV1;
+import cloud.filibuster.instrumentation.datatypes.Callsite;
+import cloud.filibuster.instrumentation.datatypes.CallsiteArguments;
+import cloud.filibuster.instrumentation.datatypes.VectorClock;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocationComplete;
+import cloud.filibuster.junit.server.core.lint.analyzers.test_execution_report.ResponseBecomesRequestAnalyzer;
+import cloud.filibuster.junit.server.core.lint.analyzers.warnings.FilibusterAnalyzerWarning;
+import cloud.filibuster.junit.server.core.reports.TestExecutionReport;
+import cloud.filibuster.junit.server.core.test_executions.HappensBeforeGraph;
+import org.json.JSONObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HappensBeforeGraphTest {
+    private static final Logger logger = Logger.getLogger(HappensBeforeGraphTest.class.getName());
+
+    private static final int BENCHMARK_SERVICES = 10;
+
+    private static final int BENCHMARK_RPCS_PER_SERVICE = 100;
+
+    private static DistributedExecutionIndex generateDistributedExecutionIndex(int i) {
+        Callsite callsite = new Callsite("service", "klass", "method" + i, new CallsiteArguments(Object.class, "deadbeef"));
+        DistributedExecutionIndex distributedExecutionIndex = new DistributedExecutionIndexV1();
+        distributedExecutionIndex.push(callsite);
+        return distributedExecutionIndex;
+    }
+
+    private static VectorClock generateVectorClock(String... actors) {
+        VectorClock vectorClock = new VectorClock();
+
+        for (String actor : actors) {
+            vectorClock.incrementClock(actor);
+        }
+
+        return vectorClock;
+    }
+
+    // a -> b -> d, with c issued by another service while handling b.
+    private static final DistributedExecutionIndex a = generateDistributedExecutionIndex(0);
+    private static final DistributedExecutionIndex b = generateDistributedExecutionIndex(1);
+    private static final DistributedExecutionIndex c = generateDistributedExecutionIndex(2);
+    private static final DistributedExecutionIndex d = generateDistributedExecutionIndex(3);
+
+    private static void addRPCs(HappensBeforeGraph happensBeforeGraph, List<DistributedExecutionIndex> order) {
+        for (DistributedExecutionIndex distributedExecutionIndex : order) {
+            if (distributedExecutionIndex == a) {
+                happensBeforeGraph.addRPC(a, generateVectorClock("test"));
+            } else if (distributedExecutionIndex == b) {
+                happensBeforeGraph.addRPC(b, generateVectorClock("test", "test"));
+            } else if (distributedExecutionIndex == c) {
+                happensBeforeGraph.addRPC(c, generateVectorClock("test", "test", "hello"));
+            } else {
+                happensBeforeGraph.addRPC(d, generateVectorClock("test", "test", "test"));
+            }
+        }
+    }
+
+    private static void assertOrder(HappensBeforeGraph happensBeforeGraph) {
+        assertEquals(4, happensBeforeGraph.size());
+
+        assertTrue(happensBeforeGraph.happensBefore(a, b));
+        assertTrue(happensBeforeGraph.happensBefore(a, d));
+        assertTrue(happensBeforeGraph.happensBefore(b, c));
+        assertFalse(happensBeforeGraph.happensBefore(d, a));
+        assertFalse(happensBeforeGraph.happensBefore(a, a));
+
+        assertTrue(happensBeforeGraph.isDirectPredecessor(b, d));
+        assertFalse(happensBeforeGraph.isDirectPredecessor(a, d));
+        assertEquals(Collections.singletonList(b), happensBeforeGraph.getDirectPredecessors(c));
+
+        assertTrue(happensBeforeGraph.isConcurrent(c, d));
+        assertFalse(happensBeforeGraph.isConcurrent(a, d));
+        assertFalse(happensBeforeGraph.isConcurrent(d, d));
+
+        assertEquals(2, happensBeforeGraph.getAncestors(c).size());
+        assertTrue(happensBeforeGraph.getAncestors(c).containsAll(Arrays.asList(a, b)));
+        assertEquals(3, happensBeforeGraph.getDescendants(a).size());
+        assertEquals(Collections.singletonList(c), happensBeforeGraph.getConcurrent(d));
+        assertEquals(2, happensBeforeGraph.getCausalFrontier().size());
+        assertTrue(happensBeforeGraph.getCausalFrontier().containsAll(Arrays.asList(c, d)));
+    }
+
+    @Test
+    @DisplayName("Test happens-before order of RPCs added in causal order.")
+    public void testCausalOrder() {
+        HappensBeforeGraph happensBeforeGraph = new HappensBeforeGraph();
+        addRPCs(happensBeforeGraph, Arrays.asList(a, b, c, d));
+        assertOrder(happensBeforeGraph);
+        assertEquals(0, happensBeforeGraph.getRebuilds());
+    }
+
+    @Test
+    @DisplayName("Test happens-before order of RPCs added out of causal order.")
+    public void testOutOfCausalOrder() {
+        HappensBeforeGraph happensBeforeGraph = new HappensBeforeGraph();
+        addRPCs(happensBeforeGraph, Arrays.asList(d, c, b, a));
+        assertOrder(happensBeforeGraph);
+        assertTrue(happensBeforeGraph.getRebuilds() > 0);
+    }
+
+    private static FilibusterInvocation.Builder generateInvocationBuilder(DistributedExecutionIndex distributedExecutionIndex, String method, String arguments) {
+        return new FilibusterInvocation.Builder()
+                .moduleName("klass")
+                .methodName(method)
+                .distributedExecutionIndex(distributedExecutionIndex)
+                .arguments(new JSONObject().put("toString", arguments));
+    }
+
+    private static FilibusterInvocation generateInvocation(DistributedExecutionIndex distributedExecutionIndex, VectorClock vectorClock) {
+        return generateInvocationBuilder(distributedExecutionIndex, "method", "deadbeef").vectorClock(vectorClock).build();
+    }
+
+    private static FilibusterInvocation generateInvocation(DistributedExecutionIndex distributedExecutionIndex, String method, String arguments, VectorClock vectorClock) {
+        return generateInvocationBuilder(distributedExecutionIndex, method, arguments).vectorClock(vectorClock).build();
+    }
+
+    private static FilibusterInvocationComplete generateInvocationComplete(DistributedExecutionIndex distributedExecutionIndex, JSONObject returnValue) {
+        return new FilibusterInvocationComplete.Builder()
+                .distributedExecutionIndex(distributedExecutionIndex)
+                .returnValue(returnValue)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Test RPCs are added from their invocations.")
+    public void testInvocations() {
+        HappensBeforeGraph happensBeforeGraph = new HappensBeforeGraph();
+
+        assertTrue(happensBeforeGraph.addRPC(a, generateInvocation(a, generateVectorClock("test"))));
+        assertTrue(happensBeforeGraph.addRPC(b, generateInvocation(b, generateVectorClock("test", "test"))));
+        assertFalse(happensBeforeGraph.addRPC(b, generateInvocation(b, generateVectorClock("test"))));
+        assertFalse(happensBeforeGraph.addRPC(c, generateInvocation(c, new VectorClock())));
+        assertFalse(happensBeforeGraph.addRPC(d, generateInvocationBuilder(d, "method", "deadbeef").build()));
+
+        assertEquals(2, happensBeforeGraph.size());
+        assertTrue(happensBeforeGraph.happensBefore(a, b));
+        assertFalse(happensBeforeGraph.contains(c));
+        assertFalse(happensBeforeGraph.isConcurrent(a, c));
+        assertTrue(happensBeforeGraph.getAncestors(d).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test test execution reports build the graph on demand from the invocations recorded so far.")
+    public void testTestExecutionReport() {
+        TestExecutionReport testExecutionReport = new TestExecutionReport("testName", UUID.randomUUID(), "className");
+
+        testExecutionReport.recordInvocation(a, generateInvocation(a, generateVectorClock("test")));
+        testExecutionReport.recordInvocation(b, generateInvocation(b, generateVectorClock("test", "test")));
+
+        HappensBeforeGraph happensBeforeGraph = testExecutionReport.getHappensBeforeGraph();
+        assertEquals(2, happensBeforeGraph.size());
+        assertTrue(happensBeforeGraph.happensBefore(a, b));
+
+        // Invocations recorded afterwards are added on the next call.
+        testExecutionReport.recordInvocation(c, generateInvocation(c, generateVectorClock("test", "test", "hello")));
+        testExecutionReport.recordInvocation(d, generateInvocation(d, generateVectorClock("test", "test", "test")));
+
+        assertOrder(testExecutionReport.getHappensBeforeGraph());
+        assertEquals(0, testExecutionReport.getHappensBeforeGraph().getRebuilds());
+    }
+
+    @Test
+    @DisplayName("Test a response used in a request is found in any direct causal predecessor, not only the previous invocation.")
+    public void testResponseBecomesRequestFromCausalPredecessor() {
+        TestExecutionReport testExecutionReport = new TestExecutionReport("testName", UUID.randomUUID(), "className");
+        String token = "0123456789abcdef";
+
+        // a returns the token; c, invoked after it, sends it.  b is invoked in between by another service,
+        // concurrently, so a is the direct predecessor of c but not the invocation directly before it.
+        testExecutionReport.recordInvocation(a, generateInvocation(a, "login", "user", generateVectorClock("test")));
+        testExecutionReport.recordInvocationComplete(a, generateInvocationComplete(a, new JSONObject().put("token", token)));
+        testExecutionReport.recordInvocation(b, generateInvocation(b, "audit", "event", generateVectorClock("hello")));
+        testExecutionReport.recordInvocationComplete(b, generateInvocationComplete(b, new JSONObject()));
+        testExecutionReport.recordInvocation(c, generateInvocation(c, "getProfile", "token: " + token, generateVectorClock("test", "test")));
+        testExecutionReport.recordInvocationComplete(c, generateInvocationComplete(c, new JSONObject()));
+
+        List<FilibusterAnalyzerWarning> warnings = new ResponseBecomesRequestAnalyzer(testExecutionReport).analyze(true);
+
+        assertEquals(1, warnings.size());
+        assertEquals(c, warnings.get(0).getDistributedExecutionIndex());
+    }
+
+    @Test
+    @DisplayName("Benchmark ancestor queries, and building the graph, against pairwise comparison of vector clocks.")
+    public void testBenchmark() {
+        // Each service issues a chain of RPCs, the first of which is issued while handling the test's RPC.
+        List<DistributedExecutionIndex> distributedExecutionIndexes = new ArrayList<>();
+        List<VectorClock> vectorClocks = new ArrayList<>();
+
+        for (int i = 0; i < BENCHMARK_SERVICES; i++) {
+            VectorClock vectorClock = generateVectorClock("test");
+
+            for (int j = 0; j < BENCHMARK_RPCS_PER_SERVICE; j++) {
+                vectorClock = vectorClock.clone();
+                vectorClock.incrementClock("service-" + i);
+                vectorClocks.add(vectorClock);
+                distributedExecutionIndexes.add(generateDistributedExecutionIndex(i * BENCHMARK_RPCS_PER_SERVICE + j));
+            }
+        }
+
+        long pairwiseStart = System.nanoTime();
+        long pairwiseAncestors = 0;
+
+        for (int i = 0; i < vectorClocks.size(); i++) {
+            for (int j = 0; j < vectorClocks.size(); j++) {
+                if (VectorClock.descends(vectorClocks.get(j), vectorClocks.get(i))) {
+                    pairwiseAncestors++;
+                }
+            }
+        }
+
+        long buildStart = System.nanoTime();
+
+        HappensBeforeGraph happensBeforeGraph = new HappensBeforeGraph();
+
+        for (int i = 0; i < vectorClocks.size(); i++) {
+            happensBeforeGraph.addRPC(distributedExecutionIndexes.get(i), vectorClocks.get(i));
+        }
+
+        long queryStart = System.nanoTime();
+        long graphAncestors = 0;
+
+        for (DistributedExecutionIndex distributedExecutionIndex : distributedExecutionIndexes) {
+            graphAncestors += happensBeforeGraph.getAncestors(distributedExecutionIndex).size();
+        }
+
+        long queryEnd = System.nanoTime();
+
+        assertEquals(pairwiseAncestors, graphAncestors);
+        assertEquals(BENCHMARK_SERVICES, happensBeforeGraph.getCausalFrontier().size());
+
+        logger.info("[FILIBUSTER-HAPPENS-BEFORE]: happens-before benchmark, rpcs: " + vectorClocks.size() + ", pairwise query ms: " + (buildStart - pairwiseStart) / 1_000_000 + ", graph build ms: " + (queryStart - buildStart) / 1_000_000 + ", graph query ms: " + (queryEnd - queryStart) / 1_000_000);
+    }
+}
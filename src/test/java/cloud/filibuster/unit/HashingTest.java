@@ -0,0 +1,119 @@
+package cloud.filibuster.unit;
+
+import cloud.filibuster.instrumentation.datatypes.FilibusterDigestType;
+import cloud.filibuster.instrumentation.helpers.Hashing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HashingTest {
+    private static final Logger logger = Logger.getLogger(HashingTest.class.getName());
+
+    private static final String INPUT = "The quick brown fox jumps over the lazy dog";
+
+    private static final int BENCHMARK_ITERATIONS = 10000;
+
+    private static String generateStackTrace(int i) {
+        StringBuilder sb = new StringBuilder();
+
+        for (int j = 0; j < 20; j++) {
+            sb.append("cloud.filibuster.examples.Service").append(i).append(".method").append(j).append("(Service.java:").append(j).append(")\n");
+        }
+
+        return sb.toString();
+    }
+
+    @Test
+    @DisplayName("Test SHA-1 digests are unchanged.")
+    public void testSha1() {
+        assertEquals("da39a3ee5e6b4b0d3255bfef95601890afd80709", Hashing.createDigest("", FilibusterDigestType.SHA1));
+        assertEquals("2fd4e1c67a2d28fced849ee1bb76e7391b93eb12", Hashing.createDigest(INPUT, FilibusterDigestType.SHA1));
+        assertEquals(Hashing.createDigest(INPUT, FilibusterDigestType.SHA1), Hashing.createDigest(INPUT));
+    }
+
+    @Test
+    @DisplayName("Test 128-bit MurmurHash3 digests match the reference implementation.")
+    public void testMurmur3() {
+        assertEquals("00000000000000000000000000000000", Hashing.createDigest("", FilibusterDigestType.MURMUR3_128));
+        assertEquals("6c1b07bc7bbc4be347939ac4a93c437a", Hashing.createDigest(INPUT, FilibusterDigestType.MURMUR3_128));
+    }
+
+    @Test
+    @DisplayName("Test digests are stable past the capacity of the digest cache.")
+    public void testDigestCacheEviction() {
+        List<String> digests = new ArrayList<>();
+
+        for (int i = 0; i < 2 * Hashing.DIGEST_CACHE_SIZE; i++) {
+            digests.add(Hashing.createDigest(String.valueOf(i), FilibusterDigestType.SHA1));
+        }
+
+        for (int i = 0; i < 2 * Hashing.DIGEST_CACHE_SIZE; i++) {
+            assertEquals(digests.get(i), Hashing.createDigest(String.valueOf(i), FilibusterDigestType.SHA1));
+        }
+    }
+
+    @Test
+    @DisplayName("Test digests computed concurrently agree.")
+    public void testConcurrentDigests() throws ExecutionException, InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Future<String>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 1000; i++) {
+                String input = generateStackTrace(i % 10);
+                futures.add(executorService.submit(() -> Hashing.createDigest(input, FilibusterDigestType.SHA1)));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(Hashing.createDigest(generateStackTrace(i % 10), FilibusterDigestType.SHA1), futures.get(i).get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark digests of unique and repeated stack traces.")
+    public void testBenchmark() {
+        for (FilibusterDigestType digestType : FilibusterDigestType.values()) {
+            // Unique inputs miss the digest cache.
+            List<String> uniqueInputs = new ArrayList<>();
+
+            for (int i = 0; i < BENCHMARK_ITERATIONS / 10; i++) {
+                uniqueInputs.add(generateStackTrace(i) + digestType);
+            }
+
+            // Fresh, but equal, strings for the same few callsites, as pushes produce them.
+            List<String> repeatedInputs = new ArrayList<>();
+
+            for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+                repeatedInputs.add(new String(uniqueInputs.get(i % 10).toCharArray()));
+            }
+
+            long uniqueStart = System.nanoTime();
+
+            for (String input : uniqueInputs) {
+                Hashing.createDigest(input, digestType);
+            }
+
+            long repeatedStart = System.nanoTime();
+
+            for (String input : repeatedInputs) {
+                Hashing.createDigest(input, digestType);
+            }
+
+            long repeatedEnd = System.nanoTime();
+
+            logger.info("[FILIBUSTER-HASHING]: digest benchmark, type: " + digestType + ", unique ns/op: " + (repeatedStart - uniqueStart) / uniqueInputs.size() + ", repeated ns/op: " + (repeatedEnd - repeatedStart) / BENCHMARK_ITERATIONS);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package cloud.filibuster.unit;
+
+import cloud.filibuster.dei.DistributedExecutionIndex;
+import cloud.filibuster.dei.implementations.DistributedExecutionIndexV1;
+import cloud.filibuster.instrumentation.datatypes.Callsite;
+import cloud.filibuster.instrumentation.datatypes.CallsiteArguments;
+import cloud.filibuster.junit.server.core.IndexedTestExecutionQueue;
+import cloud.filibuster.junit.server.core.IndexedTestExecutionStack;
+import cloud.filibuster.junit.server.core.PartialOrderReducedTestExecutionStack;
+import cloud.filibuster.junit.server.core.TestExecutionCollection;
+import cloud.filibuster.junit.server.core.TestExecutionQueue;
+import cloud.filibuster.junit.server.core.test_executions.AbstractTestExecution;
+import cloud.filibuster.junit.server.core.test_executions.ConcreteTestExecution;
+import org.json.JSONObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IndexedTestExecutionCollectionTest {
+    private static final Logger logger = Logger.getLogger(IndexedTestExecutionCollectionTest.class.getName());
+
+    private static final int BENCHMARK_EXECUTIONS = 10000;
+
+    private static final int BENCHMARK_LINEAR_EXECUTIONS = 2000;
+
+    private static DistributedExecutionIndex generateDistributedExecutionIndex(int i) {
+        Callsite callsite = new Callsite("service", "klass", "method" + i, new CallsiteArguments(Object.class, "deadbeef"));
+        DistributedExecutionIndex distributedExecutionIndex = new DistributedExecutionIndexV1();
+        distributedExecutionIndex.push(callsite);
+        return distributedExecutionIndex;
+    }
+
+    private static JSONObject generateFaultObject(String code) {
+        JSONObject metadata = new JSONObject();
+        metadata.put("code", code);
+
+        JSONObject forcedException = new JSONObject();
+        forcedException.put("name", "io.grpc.StatusRuntimeException");
+        forcedException.put("metadata", metadata);
+
+        JSONObject faultObject = new JSONObject();
+        faultObject.put("forced_exception", forcedException);
+        return faultObject;
+    }
+
+    private static List<AbstractTestExecution> generateAbstractTestExecutions(int count) {
+        List<DistributedExecutionIndex> distributedExecutionIndexes = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            distributedExecutionIndexes.add(generateDistributedExecutionIndex(i));
+        }
+
+        // Mix of single faults and pairs of faults, like the combinations produced by the exhaustive gRPC analysis.
+        List<AbstractTestExecution> abstractTestExecutions = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            AbstractTestExecution abstractTestExecution = new AbstractTestExecution();
+            abstractTestExecution.addFaultToInject(distributedExecutionIndexes.get(i), generateFaultObject("UNAVAILABLE"));
+
+            if (i % 2 == 1) {
+                abstractTestExecution.addFaultToInject(distributedExecutionIndexes.get(i - 1), generateFaultObject("DEADLINE_EXCEEDED"));
+            }
+
+            abstractTestExecutions.add(abstractTestExecution);
+        }
+
+        return abstractTestExecutions;
+    }
+
+    // RPCs issued from the same callsite, with the same arguments, numbered in the order they were issued.
+    private static List<DistributedExecutionIndex> generateRepeatedDistributedExecutionIndexes(int count) {
+        Callsite callsite = new Callsite("service", "klass", "method", new CallsiteArguments(Object.class, "deadbeef"));
+        DistributedExecutionIndex distributedExecutionIndex = new DistributedExecutionIndexV1();
+        List<DistributedExecutionIndex> distributedExecutionIndexes = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            distributedExecutionIndex.push(callsite);
+            distributedExecutionIndexes.add((DistributedExecutionIndex) distributedExecutionIndex.clone());
+            distributedExecutionIndex.pop();
+        }
+
+        return distributedExecutionIndexes;
+    }
+
+    private static JSONObject generateRequestPayload(JSONObject vectorClock) {
+        JSONObject payload = new JSONObject();
+        payload.put("instrumentation_type", "invocation");
+        payload.put("module", "klass");
+        payload.put("method", "method");
+        payload.put("args", new JSONObject().put("toString", "deadbeef"));
+        payload.put("vclock", vectorClock);
+        return payload;
+    }
+
+    // Abstract executions injecting the same fault on each of two RPCs from the same callsite, with the same arguments.
+    private static List<AbstractTestExecution> generateRepeatedRPCAbstractTestExecutions(JSONObject firstVectorClock, JSONObject secondVectorClock) {
+        List<DistributedExecutionIndex> distributedExecutionIndexes = generateRepeatedDistributedExecutionIndexes(2);
+
+        ConcreteTestExecution concreteTestExecution = new ConcreteTestExecution("test", UUID.randomUUID(), "class");
+        concreteTestExecution.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndexes.get(0), generateRequestPayload(firstVectorClock));
+        concreteTestExecution.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndexes.get(1), generateRequestPayload(secondVectorClock));
+
+        List<AbstractTestExecution> abstractTestExecutions = new ArrayList<>();
+
+        for (DistributedExecutionIndex distributedExecutionIndex : distributedExecutionIndexes) {
+            AbstractTestExecution abstractTestExecution = concreteTestExecution.toAbstractTestExecution();
+            abstractTestExecution.addFaultToInject(distributedExecutionIndex, generateFaultObject("UNAVAILABLE"));
+            abstractTestExecutions.add(abstractTestExecution);
+        }
+
+        return abstractTestExecutions;
+    }
+
+    // Schedule the way FilibusterCore does: check membership, then add.
+    private static long scheduleAll(TestExecutionCollection<AbstractTestExecution> collection, List<AbstractTestExecution> abstractTestExecutions) {
+        long startTime = System.nanoTime();
+
+        for (AbstractTestExecution abstractTestExecution : abstractTestExecutions) {
+            if (!collection.containsAbstractTestExecution(abstractTestExecution)) {
+                collection.addTestExecution(abstractTestExecution);
+            }
+        }
+
+        return System.nanoTime() - startTime;
+    }
+
+    @Test
+    @DisplayName("Test fingerprint is independent of fault insertion order.")
+    public void testFingerprintIsOrderIndependent() {
+        DistributedExecutionIndex distributedExecutionIndex1 = generateDistributedExecutionIndex(1);
+        DistributedExecutionIndex distributedExecutionIndex2 = generateDistributedExecutionIndex(2);
+
+        AbstractTestExecution ate1 = new AbstractTestExecution();
+        ate1.addFaultToInject(distributedExecutionIndex1, generateFaultObject("UNAVAILABLE"));
+        ate1.addFaultToInject(distributedExecutionIndex2, generateFaultObject("DEADLINE_EXCEEDED"));
+
+        AbstractTestExecution ate2 = new AbstractTestExecution();
+        ate2.addFaultToInject(distributedExecutionIndex2, generateFaultObject("DEADLINE_EXCEEDED"));
+        ate2.addFaultToInject(distributedExecutionIndex1, generateFaultObject("UNAVAILABLE"));
+
+        AbstractTestExecution ate3 = new AbstractTestExecution();
+        ate3.addFaultToInject(distributedExecutionIndex1, generateFaultObject("DEADLINE_EXCEEDED"));
+        ate3.addFaultToInject(distributedExecutionIndex2, generateFaultObject("UNAVAILABLE"));
+
+        assertTrue(ate1.matchesAbstractTestExecution(ate2));
+        assertEquals(ate1.getFaultsToInjectFingerprint(), ate2.getFaultsToInjectFingerprint());
+        assertFalse(ate1.matchesAbstractTestExecution(ate3));
+        assertFalse(ate1.getFaultsToInjectFingerprint().equals(ate3.getFaultsToInjectFingerprint()));
+    }
+
+    @Test
+    @DisplayName("Test indexed collections agree with the linear queue on membership.")
+    public void testMembershipMatchesLinearQueue() {
+        List<AbstractTestExecution> abstractTestExecutions = generateAbstractTestExecutions(100);
+
+        TestExecutionQueue<AbstractTestExecution> linearQueue = new TestExecutionQueue<>();
+        IndexedTestExecutionQueue<AbstractTestExecution> indexedQueue = new IndexedTestExecutionQueue<>();
+
+        for (int i = 0; i < abstractTestExecutions.size(); i += 2) {
+            linearQueue.addTestExecution(abstractTestExecutions.get(i));
+            indexedQueue.addTestExecution(abstractTestExecutions.get(i));
+        }
+
+        for (AbstractTestExecution abstractTestExecution : generateAbstractTestExecutions(100)) {
+            assertEquals(linearQueue.containsAbstractTestExecution(abstractTestExecution), indexedQueue.containsAbstractTestExecution(abstractTestExecution));
+            assertEquals(linearQueue.containsTestExecution(abstractTestExecution), indexedQueue.containsTestExecution(abstractTestExecution));
+        }
+    }
+
+    @Test
+    @DisplayName("Test indexed collections preserve DFS and BFS ordering and update the index on removal.")
+    public void testOrdering() {
+        List<AbstractTestExecution> abstractTestExecutions = generateAbstractTestExecutions(3);
+
+        IndexedTestExecutionStack<AbstractTestExecution> stack = new IndexedTestExecutionStack<>();
+        IndexedTestExecutionQueue<AbstractTestExecution> queue = new IndexedTestExecutionQueue<>();
+
+        for (AbstractTestExecution abstractTestExecution : abstractTestExecutions) {
+            stack.addTestExecution(abstractTestExecution);
+            queue.addTestExecution(abstractTestExecution);
+        }
+
+        assertEquals(3, stack.size());
+        assertEquals(3, queue.size());
+
+        assertSame(abstractTestExecutions.get(2), stack.removeAndReturnNextTestExecution());
+        assertSame(abstractTestExecutions.get(0), queue.removeAndReturnNextTestExecution());
+
+        assertFalse(stack.containsAbstractTestExecution(abstractTestExecutions.get(2)));
+        assertFalse(queue.containsAbstractTestExecution(abstractTestExecutions.get(0)));
+        assertTrue(stack.containsAbstractTestExecution(abstractTestExecutions.get(0)));
+        assertTrue(queue.containsAbstractTestExecution(abstractTestExecutions.get(2)));
+
+        stack.removeAndReturnNextTestExecution();
+        stack.removeAndReturnNextTestExecution();
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Scheduling benchmark for indexed and linear test execution collections.")
+    public void testSchedulingBenchmark() {
+        List<AbstractTestExecution> abstractTestExecutions = generateAbstractTestExecutions(BENCHMARK_EXECUTIONS);
+
+        IndexedTestExecutionQueue<AbstractTestExecution> indexedQueue = new IndexedTestExecutionQueue<>();
+        long indexedElapsedTime = scheduleAll(indexedQueue, abstractTestExecutions);
+
+        // Rescheduling the same executions must find every one of them.
+        scheduleAll(indexedQueue, generateAbstractTestExecutions(BENCHMARK_EXECUTIONS));
+        assertEquals(BENCHMARK_EXECUTIONS, indexedQueue.size());
+
+        // The linear collection is quadratic, so it is only measured at a smaller size.
+        TestExecutionQueue<AbstractTestExecution> linearQueue = new TestExecutionQueue<>();
+        long linearElapsedTime = scheduleAll(linearQueue, abstractTestExecutions.subList(0, BENCHMARK_LINEAR_EXECUTIONS));
+        assertEquals(BENCHMARK_LINEAR_EXECUTIONS, linearQueue.size());
+
+        logger.info("[FILIBUSTER-CORE]: scheduling benchmark, indexed, executions: " + BENCHMARK_EXECUTIONS + ", elapsed ms: " + TimeUnit.NANOSECONDS.toMillis(indexedElapsedTime));
+        logger.info("[FILIBUSTER-CORE]: scheduling benchmark, linear, executions: " + BENCHMARK_LINEAR_EXECUTIONS + ", elapsed ms: " + TimeUnit.NANOSECONDS.toMillis(linearElapsedTime));
+    }
+
+    @Test
+    @DisplayName("Test partial-order reduction treats faults on interchangeable concurrent RPCs as equivalent.")
+    public void testPartialOrderReduction() {
+        // Concurrent: issued by different services while handling the same RPC.
+        List<AbstractTestExecution> concurrentAbstractTestExecutions = generateRepeatedRPCAbstractTestExecutions(
+                new JSONObject().put("test", 1).put("a", 1),
+                new JSONObject().put("test", 1).put("b", 1));
+
+        // Ordered: issued one after the other by the same service.
+        List<AbstractTestExecution> orderedAbstractTestExecutions = generateRepeatedRPCAbstractTestExecutions(
+                new JSONObject().put("test", 1).put("a", 1),
+                new JSONObject().put("test", 1).put("a", 2));
+
+        PartialOrderReducedTestExecutionStack<AbstractTestExecution> stack = new PartialOrderReducedTestExecutionStack<>();
+        stack.addTestExecution(concurrentAbstractTestExecutions.get(0));
+        stack.addTestExecution(orderedAbstractTestExecutions.get(0));
+
+        assertFalse(stack.containsAbstractTestExecution(concurrentAbstractTestExecutions.get(1)));
+        assertTrue(stack.containsEquivalentTestExecution(concurrentAbstractTestExecutions.get(1)));
+        assertFalse(stack.containsEquivalentTestExecution(orderedAbstractTestExecutions.get(1)));
+
+        // Collections without partial-order reduction have no equivalent executions.
+        IndexedTestExecutionStack<AbstractTestExecution> indexedStack = new IndexedTestExecutionStack<>();
+        indexedStack.addTestExecution(concurrentAbstractTestExecutions.get(0));
+        assertFalse(indexedStack.containsEquivalentTestExecution(concurrentAbstractTestExecutions.get(1)));
+
+        // Removal updates the index.
+        assertSame(orderedAbstractTestExecutions.get(0), stack.removeAndReturnNextTestExecution());
+        assertSame(concurrentAbstractTestExecutions.get(0), stack.removeAndReturnNextTestExecution());
+        assertFalse(stack.containsEquivalentTestExecution(concurrentAbstractTestExecutions.get(1)));
+    }
+}
@@ -0,0 +1,207 @@
+package cloud.filibuster.unit;
+
+import cloud.filibuster.instrumentation.instrumentors.RequestContextStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestContextStoreTest {
+    private static final Logger logger = Logger.getLogger(RequestContextStoreTest.class.getName());
+
+    private static final int MAX_SIZE = 100;
+
+    private static final long TTL_MS = 60 * 1000;
+
+    private static final int THREADS = 8;
+
+    private static final int UPDATES_PER_THREAD = 10000;
+
+    @Test
+    @DisplayName("Test values are stored by service name and request id.")
+    public void testPutAndGet() {
+        RequestContextStore<Integer> store = new RequestContextStore<>(MAX_SIZE, TTL_MS);
+
+        store.put("hello", "1", 1);
+        store.put("world", "1", 2);
+
+        assertEquals(1, store.get("hello", "1"));
+        assertEquals(2, store.get("world", "1"));
+        assertNull(store.get("hello", "2"));
+        assertEquals(3, store.getOrDefault("hello", "2", 3));
+        assertTrue(store.contains("hello", "1"));
+        assertFalse(store.contains("hello", "2"));
+
+        assertEquals(1, store.computeIfAbsent("hello", "1", () -> 4));
+        assertEquals(4, store.computeIfAbsent("hello", "2", () -> 4));
+        assertEquals(5, store.compute("hello", "2", value -> value == null ? 0 : value + 1));
+        assertEquals(0, store.compute("hello", "3", value -> value == null ? 0 : value + 1));
+        assertEquals(4, store.getSize());
+    }
+
+    @Test
+    @DisplayName("Test invalidating the values of a service, and of every service.")
+    public void testInvalidation() {
+        RequestContextStore<Integer> store = new RequestContextStore<>(MAX_SIZE, TTL_MS);
+
+        store.put("hello", "1", 1);
+        store.put("world", "1", 2);
+        store.invalidate("hello");
+
+        assertNull(store.get("hello", "1"));
+        assertEquals(2, store.get("world", "1"));
+        assertEquals(1, store.getInvalidations());
+
+        store.put("hello", "1", 3);
+        assertEquals(3, store.get("hello", "1"));
+
+        store.invalidateAll();
+
+        assertTrue(store.values().isEmpty());
+        assertEquals(0, store.compute("hello", "1", value -> value == null ? 0 : value + 1));
+        assertFalse(store.contains("world", "1"));
+        assertEquals(3, store.getInvalidations());
+        assertEquals(1, store.getSize());
+    }
+
+    @Test
+    @DisplayName("Test values expire when not accessed within the time to live.")
+    public void testExpiration() throws InterruptedException {
+        RequestContextStore<Integer> store = new RequestContextStore<>(MAX_SIZE, 1);
+
+        store.put("hello", "1", 1);
+        Thread.sleep(10);
+
+        assertNull(store.get("hello", "1"));
+        assertEquals(1, store.getExpirations());
+        assertEquals(0, store.getSize());
+    }
+
+    @Test
+    @DisplayName("Test the least recently accessed values are evicted when the store is full.")
+    public void testEviction() {
+        RequestContextStore<Integer> store = new RequestContextStore<>(MAX_SIZE, TTL_MS);
+
+        for (int i = 0; i < MAX_SIZE; i++) {
+            store.put("hello", String.valueOf(i), i);
+        }
+
+        // Access the first value, so that it is the most recently accessed.
+        assertEquals(0, store.get("hello", "0"));
+        assertEquals(0, store.getEvictions());
+
+        store.put("hello", String.valueOf(MAX_SIZE), MAX_SIZE);
+
+        assertTrue(store.getSize() <= MAX_SIZE);
+        assertTrue(store.getEvictions() > 0);
+        assertEquals(0, store.get("hello", "0"));
+        assertEquals(MAX_SIZE, store.get("hello", String.valueOf(MAX_SIZE)));
+        assertNull(store.get("hello", "1"));
+
+        // Invalidated values are removed before live values are evicted.
+        long evictions = store.getEvictions();
+        store.invalidate("hello");
+
+        for (int i = 0; i < MAX_SIZE; i++) {
+            store.put("world", String.valueOf(i), i);
+        }
+
+        assertEquals(evictions, store.getEvictions());
+        assertEquals(MAX_SIZE, store.values().size());
+    }
+
+    @Test
+    @DisplayName("Test evicting the values of a request in flight is logged as a warning, and its values start over.")
+    public void testEvictionOfLiveRequest() {
+        RequestContextStore<Integer> store = new RequestContextStore<>(MAX_SIZE, TTL_MS);
+        List<LogRecord> warnings = new ArrayList<>();
+
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                if (record.getLevel() == Level.WARNING) {
+                    warnings.add(record);
+                }
+            }
+
+            @Override
+            public void flush() {
+
+            }
+
+            @Override
+            public void close() {
+
+            }
+        };
+
+        Logger storeLogger = Logger.getLogger(RequestContextStore.class.getName());
+        storeLogger.addHandler(handler);
+
+        try {
+            // The request in flight, updated once per RPC.
+            assertEquals(1, store.compute("hello", "in-flight", value -> value == null ? 1 : value + 1));
+            assertEquals(2, store.compute("hello", "in-flight", value -> value == null ? 1 : value + 1));
+
+            // Other requests fill the store while it is in flight, so it is the least recently accessed.
+            for (int i = 0; i < MAX_SIZE; i++) {
+                store.put("world", String.valueOf(i), i);
+            }
+
+            assertTrue(store.getEvictions() > 0);
+            assertEquals(1, warnings.size());
+            assertTrue(warnings.get(0).getMessage().contains("live entries"));
+
+            // Its next update starts over.
+            assertEquals(1, store.compute("hello", "in-flight", value -> value == null ? 1 : value + 1));
+        } finally {
+            storeLogger.removeHandler(handler);
+        }
+    }
+
+    @Test
+    @DisplayName("Test concurrent updates of the same request are atomic.")
+    public void testConcurrentUpdates() throws ExecutionException, InterruptedException {
+        RequestContextStore<Integer> store = new RequestContextStore<>(THREADS * MAX_SIZE + 1, TTL_MS);
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < THREADS; i++) {
+            String service = "service-" + i;
+
+            futures.add(executorService.submit(() -> {
+                for (int j = 0; j < UPDATES_PER_THREAD; j++) {
+                    store.compute("hello", "1", value -> value == null ? 1 : value + 1);
+                    store.compute(service, String.valueOf(j % MAX_SIZE), value -> value == null ? 1 : value + 1);
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        long end = System.nanoTime();
+        executorService.shutdown();
+
+        assertEquals(THREADS * UPDATES_PER_THREAD, store.get("hello", "1"));
+
+        logger.info("[FILIBUSTER-REQUEST-CONTEXT]: concurrent updates, threads: " + THREADS + ", updates: " + 2 * THREADS * UPDATES_PER_THREAD + ", ms: " + (end - start) / 1_000_000 + ", size: " + store.getSize() + ", evictions: " + store.getEvictions());
+    }
+}
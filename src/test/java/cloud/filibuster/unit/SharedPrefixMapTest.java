@@ -0,0 +1,133 @@
+package cloud.filibuster.unit;
+
+import cloud.filibuster.dei.DistributedExecutionIndex;
+import cloud.filibuster.dei.implementations.DistributedExecutionIndexV1;
+import cloud.filibuster.instrumentation.datatypes.Callsite;
+import cloud.filibuster.instrumentation.datatypes.CallsiteArguments;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
+import cloud.filibuster.junit.server.core.test_executions.AbstractTestExecution;
+import cloud.filibuster.junit.server.core.test_executions.ConcreteTestExecution;
+import cloud.filibuster.junit.server.core.test_executions.SharedPrefixMap;
+import org.json.JSONObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SharedPrefixMapTest {
+    private static final Logger logger = Logger.getLogger(SharedPrefixMapTest.class.getName());
+
+    private static final int BENCHMARK_RPCS = 1000;
+
+    private static final int BENCHMARK_FAULT_TYPES = 5;
+
+    private static DistributedExecutionIndex generateDistributedExecutionIndex(int i) {
+        Callsite callsite = new Callsite("service", "klass", "method" + i, new CallsiteArguments(Object.class, "deadbeef"));
+        DistributedExecutionIndex distributedExecutionIndex = new DistributedExecutionIndexV1();
+        distributedExecutionIndex.push(callsite);
+        return distributedExecutionIndex;
+    }
+
+    private static FilibusterInvocation generateInvocation(DistributedExecutionIndex distributedExecutionIndex, int i) {
+        return new FilibusterInvocation.Builder()
+                .moduleName("klass")
+                .methodName("method" + i)
+                .distributedExecutionIndex(distributedExecutionIndex)
+                .arguments(new JSONObject().put("toString", "deadbeef"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Test snapshots are isolated from later writes to either map.")
+    public void testSnapshotIsolation() {
+        SharedPrefixMap<String, Integer> map = new SharedPrefixMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+
+        SharedPrefixMap<String, Integer> snapshot = map.snapshot();
+
+        map.put("c", 3);
+        map.put("a", 4);
+
+        assertEquals(3, map.size());
+        assertEquals(Integer.valueOf(4), map.get("a"));
+        assertEquals(2, snapshot.size());
+        assertEquals(Integer.valueOf(1), snapshot.get("a"));
+        assertFalse(snapshot.containsKey("c"));
+
+        // Writing to the snapshot copies its view, leaving the original untouched.
+        snapshot.put("d", 5);
+
+        assertEquals(3, snapshot.size());
+        assertTrue(snapshot.containsKey("d"));
+        assertFalse(map.containsKey("d"));
+        assertNull(map.get("d"));
+
+        List<String> keys = new ArrayList<>();
+
+        for (Map.Entry<String, Integer> entry : snapshot.entrySet()) {
+            keys.add(entry.getKey());
+        }
+
+        assertEquals(Arrays.asList("a", "b", "d"), keys);
+    }
+
+    @Test
+    @DisplayName("Test abstract executions see the prefix of the concrete execution they were created from.")
+    public void testAbstractTestExecutionPrefix() {
+        ConcreteTestExecution concreteTestExecution = new ConcreteTestExecution("testName", UUID.randomUUID(), "className");
+
+        concreteTestExecution.addDistributedExecutionIndexWithRequestPayload(generateDistributedExecutionIndex(1), generateInvocation(generateDistributedExecutionIndex(1), 1));
+        AbstractTestExecution abstractTestExecution1 = concreteTestExecution.toAbstractTestExecution();
+
+        concreteTestExecution.addDistributedExecutionIndexWithRequestPayload(generateDistributedExecutionIndex(2), generateInvocation(generateDistributedExecutionIndex(2), 2));
+        AbstractTestExecution abstractTestExecution2 = concreteTestExecution.toAbstractTestExecution();
+
+        assertTrue(abstractTestExecution1.sawInConcreteTestExecution(generateDistributedExecutionIndex(1)));
+        assertFalse(abstractTestExecution1.sawInConcreteTestExecution(generateDistributedExecutionIndex(2)));
+        assertTrue(abstractTestExecution2.sawInConcreteTestExecution(generateDistributedExecutionIndex(2)));
+        assertFalse(abstractTestExecution1.equals(abstractTestExecution2));
+        assertEquals(2, concreteTestExecution.getExecutedRPCs().size());
+    }
+
+    @Test
+    @DisplayName("Heap benchmark for scheduling abstract executions from a concrete execution.")
+    public void testHeapBenchmark() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+
+        ConcreteTestExecution concreteTestExecution = new ConcreteTestExecution("testName", UUID.randomUUID(), "className");
+        List<AbstractTestExecution> abstractTestExecutions = new ArrayList<>();
+
+        // As FilibusterCore does: every RPC schedules one abstract execution per fault type.
+        for (int i = 0; i < BENCHMARK_RPCS; i++) {
+            DistributedExecutionIndex distributedExecutionIndex = generateDistributedExecutionIndex(i);
+            concreteTestExecution.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, i));
+
+            for (int j = 0; j < BENCHMARK_FAULT_TYPES; j++) {
+                AbstractTestExecution abstractTestExecution = concreteTestExecution.toAbstractTestExecution();
+                abstractTestExecution.addFaultToInject(distributedExecutionIndex, new JSONObject().put("fault", j));
+                abstractTestExecutions.add(abstractTestExecution);
+            }
+        }
+
+        System.gc();
+        long usedAfter = runtime.totalMemory() - runtime.freeMemory();
+
+        logger.info("[FILIBUSTER-CORE]: heap benchmark, rpcs: " + BENCHMARK_RPCS + ", abstract executions: " + abstractTestExecutions.size() + ", approximate heap bytes: " + (usedAfter - usedBefore));
+
+        assertEquals(BENCHMARK_RPCS * BENCHMARK_FAULT_TYPES, abstractTestExecutions.size());
+        assertTrue(abstractTestExecutions.get(abstractTestExecutions.size() - 1).sawInConcreteTestExecution(generateDistributedExecutionIndex(BENCHMARK_RPCS - 1)));
+    }
+}
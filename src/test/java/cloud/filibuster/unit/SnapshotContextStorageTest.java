@@ -0,0 +1,48 @@
+package cloud.filibuster.unit;
+
+import cloud.filibuster.instrumentation.datatypes.VectorClock;
+import cloud.filibuster.instrumentation.storage.SnapshotContextStorage;
+import cloud.filibuster.instrumentation.storage.ThreadLocalContextStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+public class SnapshotContextStorageTest {
+    @AfterEach
+    public void clearContextStorage() {
+        ThreadLocalContextStorage.clear();
+    }
+
+    @Test
+    @DisplayName("Test snapshots keep the values of the thread that took them.")
+    public void testSnapshotOnAnotherThread() throws ExecutionException, InterruptedException {
+        ThreadLocalContextStorage threadLocalContextStorage = new ThreadLocalContextStorage();
+
+        VectorClock vectorClock = new VectorClock();
+        vectorClock.incrementClock("service");
+
+        threadLocalContextStorage.setRequestId("request");
+        threadLocalContextStorage.setVectorClock(vectorClock);
+        threadLocalContextStorage.setDistributedExecutionIndex("[]");
+
+        SnapshotContextStorage snapshotContextStorage = SnapshotContextStorage.of(threadLocalContextStorage);
+
+        // Later changes to the context are not seen.
+        vectorClock.incrementClock("service");
+        threadLocalContextStorage.setRequestId("another-request");
+
+        // Read on a thread that does not inherit the context.
+        String requestId = CompletableFuture.supplyAsync(snapshotContextStorage::getRequestId).get();
+
+        assertEquals("request", requestId);
+        assertEquals("[]", snapshotContextStorage.getDistributedExecutionIndex());
+        assertEquals(1, snapshotContextStorage.getVectorClock().get("service"));
+        assertNotSame(vectorClock, snapshotContextStorage.getVectorClock());
+    }
+}
@@ -4,12 +4,15 @@ import cloud.filibuster.dei.DistributedExecutionIndex;
 import cloud.filibuster.dei.implementations.DistributedExecutionIndexV1;
 import cloud.filibuster.instrumentation.datatypes.Callsite;
 import cloud.filibuster.instrumentation.datatypes.CallsiteArguments;
+import cloud.filibuster.junit.server.core.invocations.FilibusterInvocation;
 import cloud.filibuster.junit.server.core.test_executions.AbstractTestExecution;
 import org.json.JSONObject;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 public class TestExecutionTest {
     @Test
@@ -33,8 +36,8 @@ public class TestExecutionTest {
         AbstractTestExecution pe1 = new AbstractTestExecution();
         AbstractTestExecution pe2 = new AbstractTestExecution();
 
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, jsonObject);
-        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, jsonObject);
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, jsonObject));
+        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, jsonObject));
         assertEquals(pe1, pe2);
     }
 
@@ -56,8 +59,8 @@ public class TestExecutionTest {
         AbstractTestExecution pe2 = new AbstractTestExecution();
 
         // If this fails, we know the difference has to be in the JSONObject comparison, since the keys are the same.
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex1, jsonObject);
-        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex2, jsonObject);
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex1, generateInvocation(distributedExecutionIndex1, jsonObject));
+        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex2, generateInvocation(distributedExecutionIndex2, jsonObject));
         assertEquals(pe1, pe2);
     }
 
@@ -72,14 +75,14 @@ public class TestExecutionTest {
         AbstractTestExecution pe2 = new AbstractTestExecution();
 
         // If this fails, we know the difference has to be in the JSONObject comparison, since the keys are the same.
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, new JSONObject());
-        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, new JSONObject());
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, new JSONObject()));
+        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, new JSONObject()));
         assertEquals(pe1, pe2);
 
         JSONObject jsonObject = new JSONObject();
         jsonObject.put("a", "b");
 
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, jsonObject);
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, jsonObject));
         assertNotEquals(pe1, pe2);
     }
 
@@ -99,8 +102,8 @@ public class TestExecutionTest {
         AbstractTestExecution pe2 = new AbstractTestExecution();
 
         // If this fails, we know the difference has to be in the JSONObject comparison, since the keys are the same.
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex1, new JSONObject());
-        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex2, new JSONObject());
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex1, generateInvocation(distributedExecutionIndex1, new JSONObject()));
+        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex2, generateInvocation(distributedExecutionIndex2, new JSONObject()));
         assertEquals(pe1, pe2);
     }
 
@@ -119,8 +122,8 @@ public class TestExecutionTest {
         JSONObject jsonObject = new JSONObject();
 
         // If this fails, we know the difference has to be in the JSONObject comparison, since the keys are the same.
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, jsonObject);
-        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, jsonObject);
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, jsonObject));
+        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, jsonObject));
         assertEquals(pe1, pe2);
     }
 
@@ -137,8 +140,8 @@ public class TestExecutionTest {
         AbstractTestExecution pe2 = new AbstractTestExecution();
 
         // If this fails, we know the difference has to be in the JSONObject comparison, since the keys are the same.
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, new JSONObject());
-        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, new JSONObject());
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, new JSONObject()));
+        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, new JSONObject()));
         assertEquals(pe1, pe2);
     }
 
@@ -161,8 +164,8 @@ public class TestExecutionTest {
         JSONObject jsonObject = new JSONObject();
 
         // If this fails, we know the difference has to be in the JSONObject comparison, since the keys are the same.
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex1, jsonObject);
-        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex2, jsonObject);
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex1, generateInvocation(distributedExecutionIndex1, jsonObject));
+        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex2, generateInvocation(distributedExecutionIndex2, jsonObject));
         assertEquals(pe1, pe2);
     }
 
@@ -183,8 +186,8 @@ public class TestExecutionTest {
         AbstractTestExecution pe2 = new AbstractTestExecution();
 
         // If this fails, we know the difference has to be in the JSONObject comparison, since the keys are the same.
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex1, new JSONObject());
-        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex2, new JSONObject());
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex1, generateInvocation(distributedExecutionIndex1, new JSONObject()));
+        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex2, generateInvocation(distributedExecutionIndex2, new JSONObject()));
         assertEquals(pe1, pe2);
     }
 
@@ -202,8 +205,8 @@ public class TestExecutionTest {
         AbstractTestExecution pe1 = new AbstractTestExecution();
         AbstractTestExecution pe2 = new AbstractTestExecution();
 
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, jsonObject);
-        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, jsonObject);
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, jsonObject));
+        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, jsonObject));
 
         pe1.addFaultToInject(distributedExecutionIndex, jsonObject);
         pe2.addFaultToInject(distributedExecutionIndex, jsonObject);
@@ -229,8 +232,8 @@ public class TestExecutionTest {
         AbstractTestExecution pe2 = new AbstractTestExecution();
 
         // If this fails, we know the difference has to be in the JSONObject comparison, since the keys are the same.
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex1, jsonObject);
-        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex2, jsonObject);
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex1, generateInvocation(distributedExecutionIndex1, jsonObject));
+        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex2, generateInvocation(distributedExecutionIndex2, jsonObject));
 
         pe1.addFaultToInject(distributedExecutionIndex1, jsonObject);
         pe2.addFaultToInject(distributedExecutionIndex2, jsonObject);
@@ -249,8 +252,8 @@ public class TestExecutionTest {
         AbstractTestExecution pe2 = new AbstractTestExecution();
 
         // If this fails, we know the difference has to be in the JSONObject comparison, since the keys are the same.
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, new JSONObject());
-        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, new JSONObject());
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, new JSONObject()));
+        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, new JSONObject()));
 
         pe1.addFaultToInject(distributedExecutionIndex, new JSONObject());
         pe2.addFaultToInject(distributedExecutionIndex, new JSONObject());
@@ -260,7 +263,7 @@ public class TestExecutionTest {
         JSONObject jsonObject = new JSONObject();
         jsonObject.put("a", "b");
 
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, jsonObject);
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, jsonObject));
         assertNotEquals(pe1, pe2);
     }
 
@@ -280,8 +283,8 @@ public class TestExecutionTest {
         AbstractTestExecution pe2 = new AbstractTestExecution();
 
         // If this fails, we know the difference has to be in the JSONObject comparison, since the keys are the same.
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex1, new JSONObject());
-        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex2, new JSONObject());
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex1, generateInvocation(distributedExecutionIndex1, new JSONObject()));
+        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex2, generateInvocation(distributedExecutionIndex2, new JSONObject()));
 
         pe1.addFaultToInject(distributedExecutionIndex1, new JSONObject());
         pe2.addFaultToInject(distributedExecutionIndex2, new JSONObject());
@@ -304,8 +307,8 @@ public class TestExecutionTest {
         JSONObject jsonObject = new JSONObject();
 
         // If this fails, we know the difference has to be in the JSONObject comparison, since the keys are the same.
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, jsonObject);
-        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, jsonObject);
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, jsonObject));
+        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, jsonObject));
 
         pe1.addFaultToInject(distributedExecutionIndex, jsonObject);
         pe2.addFaultToInject(distributedExecutionIndex, jsonObject);
@@ -326,8 +329,8 @@ public class TestExecutionTest {
         AbstractTestExecution pe2 = new AbstractTestExecution();
 
         // If this fails, we know the difference has to be in the JSONObject comparison, since the keys are the same.
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, new JSONObject());
-        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, new JSONObject());
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, new JSONObject()));
+        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, new JSONObject()));
 
         pe1.addFaultToInject(distributedExecutionIndex, new JSONObject());
         pe2.addFaultToInject(distributedExecutionIndex, new JSONObject());
@@ -354,8 +357,8 @@ public class TestExecutionTest {
         JSONObject jsonObject = new JSONObject();
 
         // If this fails, we know the difference has to be in the JSONObject comparison, since the keys are the same.
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex1, jsonObject);
-        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex2, jsonObject);
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex1, generateInvocation(distributedExecutionIndex1, jsonObject));
+        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex2, generateInvocation(distributedExecutionIndex2, jsonObject));
 
         pe1.addFaultToInject(distributedExecutionIndex1, jsonObject);
         pe2.addFaultToInject(distributedExecutionIndex2, jsonObject);
@@ -380,8 +383,8 @@ public class TestExecutionTest {
         AbstractTestExecution pe2 = new AbstractTestExecution();
 
         // If this fails, we know the difference has to be in the JSONObject comparison, since the keys are the same.
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex1, new JSONObject());
-        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex2, new JSONObject());
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex1, generateInvocation(distributedExecutionIndex1, new JSONObject()));
+        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex2, generateInvocation(distributedExecutionIndex2, new JSONObject()));
 
         pe1.addFaultToInject(distributedExecutionIndex1, new JSONObject());
         pe2.addFaultToInject(distributedExecutionIndex2, new JSONObject());
@@ -407,14 +410,14 @@ public class TestExecutionTest {
         jsonObject2.put("thing", "thing");
 
         // If this fails, we know the difference has to be in the JSONObject comparison, since the keys are the same.
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, jsonObject1);
-        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, jsonObject2);
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, jsonObject1));
+        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, jsonObject2));
         assertEquals(pe1, pe2);
 
         JSONObject jsonObject = new JSONObject();
         jsonObject.put("a", "b");
 
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, jsonObject);
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex, generateInvocation(distributedExecutionIndex, jsonObject));
         assertNotEquals(pe1, pe2);
     }
 
@@ -439,8 +442,54 @@ public class TestExecutionTest {
         jsonObject2.put("thing", "thing");
 
         // If this fails, we know the difference has to be in the JSONObject comparison, since the keys are the same.
-        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex1, jsonObject1);
-        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex2, jsonObject2);
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex1, generateInvocation(distributedExecutionIndex1, jsonObject1));
+        pe2.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex2, generateInvocation(distributedExecutionIndex2, jsonObject2));
         assertEquals(pe1, pe2);
     }
+
+    // Invocation of the same method, with the given arguments.
+    private static FilibusterInvocation generateInvocation(DistributedExecutionIndex distributedExecutionIndex, JSONObject arguments) {
+        return new FilibusterInvocation.Builder()
+                .moduleName("klass")
+                .methodName("theMethodName")
+                .rpcType("grpc")
+                .distributedExecutionIndex(distributedExecutionIndex)
+                .arguments(arguments)
+                .build();
+    }
+
+    // Redundant RPC detection.
+
+    private static FilibusterInvocation generateRequestInvocation(DistributedExecutionIndex distributedExecutionIndex, String callsiteLine, String arguments) {
+        return new FilibusterInvocation.Builder()
+                .moduleName("klass")
+                .methodName("theMethodName")
+                .rpcType("grpc")
+                .distributedExecutionIndex(distributedExecutionIndex)
+                .arguments(new JSONObject().put("toString", arguments))
+                .callsite("klass.java", callsiteLine, null)
+                .build();
+    }
+
+    @Test
+    public void testSeenRpcUnderDifferentDistributedExecutionIndex() {
+        Callsite callsite = new Callsite("service", "klass", "theMethodName", new CallsiteArguments(Object.class, "deadbeef"));
+
+        DistributedExecutionIndex distributedExecutionIndex1 = new DistributedExecutionIndexV1();
+        distributedExecutionIndex1.push(callsite);
+
+        DistributedExecutionIndex distributedExecutionIndex2 = new DistributedExecutionIndexV1();
+        distributedExecutionIndex2.push(callsite);
+        distributedExecutionIndex2.pop();
+        distributedExecutionIndex2.push(callsite);
+
+        AbstractTestExecution pe1 = new AbstractTestExecution();
+        assertFalse(pe1.hasSeenRpcUnderSameOrDifferentDistributedExecutionIndex(generateRequestInvocation(distributedExecutionIndex1, "1", "deadbeef")));
+
+        pe1.addDistributedExecutionIndexWithRequestPayload(distributedExecutionIndex1, generateRequestInvocation(distributedExecutionIndex1, "1", "deadbeef"));
+
+        // Execution index and callsite are ignored, arguments are not.
+        assertTrue(pe1.hasSeenRpcUnderSameOrDifferentDistributedExecutionIndex(generateRequestInvocation(distributedExecutionIndex2, "2", "deadbeef")));
+        assertFalse(pe1.hasSeenRpcUnderSameOrDifferentDistributedExecutionIndex(generateRequestInvocation(distributedExecutionIndex2, "2", "cafebabe")));
+    }
 }
@@ -1,15 +1,24 @@
 package cloud.filibuster.unit;
 
 import cloud.filibuster.instrumentation.datatypes.VectorClock;
+import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
 public class VectorClockTest {
+    private static final Logger logger = Logger.getLogger(VectorClockTest.class.getName());
+
+    private static final int BENCHMARK_ITERATIONS = 100_000;
+
     private VectorClock vc;
 
     @BeforeEach
@@ -95,4 +104,95 @@ public class VectorClockTest {
         assertFalse(VectorClock.descends(null, null));
         assertFalse(VectorClock.descends(vc, vc));
     }
+
+    @Test
+    @DisplayName("Test clones are independent.")
+    public void testClone() {
+        vc.incrementClock("chris");
+        VectorClock clonedVc = vc.clone();
+        assertEquals(1, clonedVc.get("chris"));
+
+        clonedVc.incrementClock("chris");
+        assertEquals(1, vc.get("chris"));
+        assertEquals(2, clonedVc.get("chris"));
+
+        vc.incrementClock("bob");
+        assertEquals(1, vc.get("bob"));
+        assertEquals(0, clonedVc.get("bob"));
+        assertEquals("{\"chris\":2}", clonedVc.toString());
+    }
+
+    @Test
+    @DisplayName("Test serialization round trip.")
+    public void testRoundTrip() {
+        vc.incrementClock("chris");
+        vc.incrementClock("bob");
+        vc.incrementClock("chris");
+
+        VectorClock parsedVc = new VectorClock();
+        parsedVc.fromString(vc.toString());
+        assertEquals(vc.toMap(), parsedVc.toMap());
+        assertEquals(vc.toString(), parsedVc.toString());
+        assertEquals(vc.toString(), VectorClock.fromMap(vc.toMap()).toString());
+    }
+
+    @Test
+    @DisplayName("Test entries of zero are kept.")
+    public void testZeroEntries() {
+        Map<String, Integer> clocks = new HashMap<>();
+        clocks.put("chris", 0);
+        VectorClock zeroVc = VectorClock.fromMap(clocks);
+
+        assertEquals(0, zeroVc.get("chris"));
+        assertEquals("{\"chris\":0}", zeroVc.toString());
+        assertTrue(VectorClock.descends(vc, zeroVc));
+        assertFalse(VectorClock.descends(zeroVc, vc));
+        assertEquals("{\"chris\":0}", VectorClock.merge(vc, zeroVc).toString());
+    }
+
+    @Test
+    @DisplayName("Benchmark cloning, incrementing, merging and comparing vector clocks, against vector clocks backed by JSON.")
+    public void testBenchmark() {
+        String[] services = new String[16];
+
+        for (int i = 0; i < services.length; i++) {
+            services[i] = "service-" + i;
+            vc.incrementClock(services[i]);
+        }
+
+        JSONObject jsonVc = new JSONObject(vc.toString());
+
+        long jsonStart = System.nanoTime();
+
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            JSONObject clonedJsonVc = new JSONObject(jsonVc.toString());
+            String service = services[i % services.length];
+            int currentValue = clonedJsonVc.has(service) ? clonedJsonVc.getInt(service) : 0;
+            clonedJsonVc.remove(service);
+            clonedJsonVc.put(service, currentValue + 1);
+
+            JSONObject mergedJsonVc = new JSONObject();
+            for (String key : jsonVc.keySet()) {
+                mergedJsonVc.put(key, Integer.max(jsonVc.getInt(key), clonedJsonVc.optInt(key)));
+            }
+
+            assertEquals(currentValue + 1, mergedJsonVc.getInt(service));
+        }
+
+        long primitiveStart = System.nanoTime();
+
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            VectorClock clonedVc = vc.clone();
+            String service = services[i % services.length];
+            int currentValue = clonedVc.get(service);
+            clonedVc.incrementClock(service);
+
+            VectorClock mergedVc = VectorClock.merge(vc, clonedVc);
+            assertEquals(currentValue + 1, mergedVc.get(service));
+        }
+
+        long primitiveEnd = System.nanoTime();
+
+        logger.info("[FILIBUSTER-VCLOCK]: vector clock benchmark, services: " + services.length + ", json ns/op: " + (primitiveStart - jsonStart) / BENCHMARK_ITERATIONS + ", primitive ns/op: " + (primitiveEnd - primitiveStart) / BENCHMARK_ITERATIONS);
+    }
 }